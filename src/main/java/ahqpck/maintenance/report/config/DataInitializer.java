@@ -9,7 +9,12 @@ import ahqpck.maintenance.report.entity.User;
 import ahqpck.maintenance.report.entity.Complaint.Priority;
 import ahqpck.maintenance.report.entity.Complaint.Category;
 import ahqpck.maintenance.report.entity.Complaint.Status;
+import ahqpck.maintenance.report.service.CalendarService;
 import ahqpck.maintenance.report.service.ComplaintService;
+import ahqpck.maintenance.report.service.DashboardRollupService;
+import ahqpck.maintenance.report.service.ImageStorageService;
+import ahqpck.maintenance.report.service.InventoryService;
+import ahqpck.maintenance.report.service.SearchIndexService;
 import ahqpck.maintenance.report.service.UserService;
 import jakarta.transaction.Transactional;
 import ahqpck.maintenance.report.repository.PartRepository;
@@ -45,11 +50,31 @@ public class DataInitializer {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private CalendarService calendarService;
+
     @PostConstruct
     public void init() {
         try {
             initDefaultRoles();
             initDefaultUser();
+            initDashboardRollups();
+            initSearchIndex();
+            initInventoryLedger();
+            initImageStore();
+            initCalendar();
             // initBulkUsers(); // ← New bulk user creation
         } catch (Exception e) {
             log.error("Error during data initialization", e);
@@ -110,6 +135,31 @@ public class DataInitializer {
         }
     }
 
+    private void initDashboardRollups() {
+        log.info("Checking dashboard rollup tables...");
+        dashboardRollupService.rebuildIfEmpty();
+    }
+
+    private void initSearchIndex() {
+        log.info("Checking search index...");
+        searchIndexService.initialize();
+    }
+
+    private void initInventoryLedger() {
+        log.info("Checking inventory ledger...");
+        inventoryService.initialize();
+    }
+
+    private void initImageStore() {
+        log.info("Checking uploaded images...");
+        imageStorageService.initialize();
+    }
+
+    private void initCalendar() {
+        log.info("Checking calendar...");
+        calendarService.initialize();
+    }
+
     // ================== BULK USER CREATION ==================
     private void initBulkUsers() {
         log.info("Initializing bulk users...");
@@ -0,0 +1,24 @@
+package ahqpck.maintenance.report.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Makes MySQL's {@code MATCH (col) AGAINST (query IN BOOLEAN MODE)} callable from criteria
+ * queries as {@code match_against(col, query)}. Registered through
+ * META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH_AGAINST = "match_against";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                MATCH_AGAINST,
+                "match(?1) against(?2 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.DOUBLE));
+    }
+}
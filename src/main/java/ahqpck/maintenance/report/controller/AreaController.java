@@ -7,9 +7,12 @@ import ahqpck.maintenance.report.dto.UserDTO;
 import ahqpck.maintenance.report.entity.User;
 import ahqpck.maintenance.report.repository.UserRepository;
 import ahqpck.maintenance.report.service.AreaService;
-import ahqpck.maintenance.report.service.UserService;
+import ahqpck.maintenance.report.service.ReferenceDataService;
+import ahqpck.maintenance.report.service.SpreadsheetImportService;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
 import ahqpck.maintenance.report.util.WebUtil;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
@@ -21,11 +24,13 @@ import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -36,7 +41,8 @@ import java.util.stream.Collectors;
 public class AreaController {
 
     private final AreaService areaService;
-    private final UserService userService;
+    private final ReferenceDataService referenceDataService;
+    private final SpreadsheetImportService spreadsheetImportService;
 
     @GetMapping
     public String listAreas(
@@ -49,7 +55,7 @@ public class AreaController {
 
         try {
             int zeroBasedPage = page - 1;
-            int parsedSize = "All".equalsIgnoreCase(size) ? Integer.MAX_VALUE : Integer.parseInt(size);
+            int parsedSize = WebUtil.parsePageSize(size);
 
             Page<AreaDTO> areaPage = areaService.getAllAreas(keyword, zeroBasedPage, parsedSize, sortBy, asc);
 
@@ -60,7 +66,7 @@ public class AreaController {
             model.addAttribute("sortBy", sortBy);
             model.addAttribute("asc", asc);
             model.addAttribute("title", "Areas");
-            model.addAttribute("users", getAllUsersForDropdown());
+            model.addAttribute("users", referenceDataService.getUsers());
 
             model.addAttribute("areaDTO", new AreaDTO());
 
@@ -72,6 +78,19 @@ public class AreaController {
         return "area/index";
     }
 
+    @GetMapping("/export")
+    public void exportAreas(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "true") boolean asc,
+            @RequestParam(defaultValue = "xlsx") String format,
+            HttpServletResponse response) throws IOException {
+
+        SpreadsheetWriter.Format exportFormat = SpreadsheetWriter.Format.of(format);
+        WebUtil.prepareDownload(response, "areas", exportFormat);
+        areaService.exportAreas(keyword, sortBy, asc, exportFormat, response.getOutputStream());
+    }
+
     @PostMapping
     public String createArea(
             @Valid @ModelAttribute AreaDTO areaDTO,
@@ -148,23 +167,7 @@ public class AreaController {
 
             ImportUtil.ImportResult result = areaService.importAreasFromExcel(data);
 
-            if (result.getImportedCount() > 0 && !result.hasErrors()) {
-                ra.addFlashAttribute("success",
-                        "Successfully imported " + result.getImportedCount() + " area record(s).");
-            } else if (result.getImportedCount() > 0) {
-                StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
-                        .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            } else {
-                StringBuilder msg = new StringBuilder("Failed to import any area:");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            }
+            addImportResultFlash(result, "area", ra);
 
             return "redirect:/areas";
 
@@ -174,9 +177,46 @@ public class AreaController {
         }
     }
 
-    private List<UserDTO> getAllUsersForDropdown() {
-        return userService.getAllUsers(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
+    /**
+     * Imports the uploaded file itself; it is parsed on the server in chunks instead of
+     * being posted as one JSON array.
+     */
+    @PostMapping("/import/file")
+    public String importAreasFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sheet", required = false) String sheet,
+            @RequestParam(value = "headerRow", required = false) Integer headerRow,
+            @RequestParam(value = "columns", required = false) String columnsJson,
+            RedirectAttributes ra) {
+
+        try {
+            ImportUtil.ImportResult result = spreadsheetImportService.importFile(file, sheet, headerRow,
+                    columnsJson, (rows, rowOffset, dates) -> areaService.importAreasFromExcel(rows, rowOffset));
+            addImportResultFlash(result, "area", ra);
+        } catch (Exception e) {
+            ra.addFlashAttribute("error", "Bulk import failed: " + e.getMessage());
+        }
+        return "redirect:/areas";
+    }
+
+    private void addImportResultFlash(ImportUtil.ImportResult result, String label, RedirectAttributes ra) {
+        if (result.getImportedCount() > 0 && !result.hasErrors()) {
+            ra.addFlashAttribute("success",
+                    "Successfully imported " + result.getImportedCount() + " " + label + " record(s).");
+        } else if (result.getImportedCount() > 0) {
+            StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
+                    .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
+            for (String err : result.getErrorMessages()) {
+                msg.append("|").append(err);
+            }
+            ra.addFlashAttribute("error", msg.toString());
+        } else {
+            StringBuilder msg = new StringBuilder("Failed to import any " + label + ":");
+            for (String err : result.getErrorMessages()) {
+                msg.append("|").append(err);
+            }
+            ra.addFlashAttribute("error", msg.toString());
+        }
     }
-}
\ No newline at end of file
+
+}
@@ -0,0 +1,46 @@
+package ahqpck.maintenance.report.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
+
+import ahqpck.maintenance.report.service.BlobStore;
+import lombok.RequiredArgsConstructor;
+
+@Controller
+@RequiredArgsConstructor
+public class BlobController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final BlobStore blobStore;
+
+    // A key names its content, so the response never changes: cache it for a year. Range
+    // requests (206) are answered by Spring from the Resource body.
+    @GetMapping("/blobs/{key}")
+    public ResponseEntity<Resource> getBlob(@PathVariable String key, WebRequest request) {
+        if (!BlobStore.isKey(key)) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + key + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(IMMUTABLE).build();
+        }
+        return blobStore.get(key)
+                .map(resource -> ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(IMMUTABLE)
+                        .contentType(MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                        .body(resource))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
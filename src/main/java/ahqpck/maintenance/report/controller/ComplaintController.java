@@ -11,13 +11,14 @@ import ahqpck.maintenance.report.repository.AreaRepository;
 import ahqpck.maintenance.report.repository.EquipmentRepository;
 import ahqpck.maintenance.report.repository.PartRepository;
 import ahqpck.maintenance.report.repository.UserRepository;
-import ahqpck.maintenance.report.service.AreaService;
 import ahqpck.maintenance.report.service.ComplaintService;
-import ahqpck.maintenance.report.service.EquipmentService;
+import ahqpck.maintenance.report.service.ReferenceDataService;
+import ahqpck.maintenance.report.service.SpreadsheetImportService;
 import ahqpck.maintenance.report.service.PartService;
-import ahqpck.maintenance.report.service.UserService;
 import ahqpck.maintenance.report.util.ImportUtil;
 import ahqpck.maintenance.report.util.WebUtil;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -32,6 +33,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -45,9 +47,8 @@ import java.util.stream.Collectors;
 public class ComplaintController {
 
     private final ComplaintService complaintService;
-    private final EquipmentService equipmentService;
-    private final AreaService areaService;
-    private final UserService userService;
+    private final ReferenceDataService referenceDataService;
+    private final SpreadsheetImportService spreadsheetImportService;
 
     @GetMapping
     public String listComplaints(
@@ -58,22 +59,37 @@ public class ComplaintController {
             @RequestParam(required = false) Complaint.Status status,
             @RequestParam(required = false) String equipmentCode,
             @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") String size,
             @RequestParam(defaultValue = "reportDate") String sortBy,
             @RequestParam(defaultValue = "false") boolean asc,
+            @RequestParam(required = false) String fragment,
             Model model) {
 
+        boolean rowsOnly = "rows".equals(fragment);
         try {
             int zeroBasedPage = page - 1;
-            int parsedSize = "All".equalsIgnoreCase(size) ? Integer.MAX_VALUE : Integer.parseInt(size);
+            int parsedSize = WebUtil.parsePageSize(size);
 
             LocalDateTime from = reportDateFrom != null ? reportDateFrom.atStartOfDay() : null;
             LocalDateTime to = reportDateTo != null ? reportDateTo.atTime(LocalTime.MAX) : null;
 
-            Page<ComplaintDTO> complaintPage = complaintService.getAllComplaints(keyword, from, to, assigneeEmpId,
-                    status, equipmentCode, zeroBasedPage, parsedSize, sortBy, asc);
-
-            model.addAttribute("complaints", complaintPage);
+            // size=All loads the list in chunks as the user scrolls instead of in one page
+            boolean infiniteScroll = WebUtil.isAllPageSize(size) && complaintService.isCursorSortable(sortBy);
+            // cursor present (even empty): keyset paging, see KeysetCursor
+            boolean cursorMode = infiniteScroll || cursor != null && complaintService.isCursorSortable(sortBy);
+            if (cursorMode) {
+                model.addAttribute("complaints", complaintService.scrollComplaints(keyword, from, to, assigneeEmpId,
+                        status, equipmentCode, cursor, infiniteScroll ? WebUtil.ALL_CHUNK_SIZE : parsedSize,
+                        sortBy, asc, cursor == null || cursor.isBlank()));
+            } else {
+                Page<ComplaintDTO> complaintPage = complaintService.getAllComplaints(keyword, from, to, assigneeEmpId,
+                        status, equipmentCode, zeroBasedPage, parsedSize, sortBy, asc);
+                model.addAttribute("complaints", complaintPage);
+            }
+            model.addAttribute("cursorMode", cursorMode);
+            model.addAttribute("infiniteScroll", infiniteScroll);
+            model.addAttribute("cursorSortable", complaintService.isCursorSortable(sortBy));
             model.addAttribute("keyword", keyword);
             model.addAttribute("reportDateFrom", reportDateFrom);
             model.addAttribute("reportDateTo", reportDateTo);
@@ -82,11 +98,15 @@ public class ComplaintController {
             model.addAttribute("sortBy", sortBy);
             model.addAttribute("asc", asc);
 
+            if (rowsOnly) {
+                return "complaint/index :: rows";
+            }
+
             model.addAttribute("title", "Complaint List");
 
-            model.addAttribute("users", getAllUsersForDropdown());
-            model.addAttribute("areas", getAllAreasForDropdown());
-            model.addAttribute("equipments", getAllEquipmentsForDropdown());
+            model.addAttribute("users", referenceDataService.getUsers());
+            model.addAttribute("areas", referenceDataService.getAreas());
+            model.addAttribute("equipments", referenceDataService.getEquipments());
 
             model.addAttribute("complaintDTO", new ComplaintDTO());
 
@@ -98,6 +118,28 @@ public class ComplaintController {
         return "complaint/index";
     }
 
+    @GetMapping("/export")
+    public void exportComplaints(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reportDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reportDateTo,
+            @RequestParam(required = false) String assigneeEmpId,
+            @RequestParam(required = false) Complaint.Status status,
+            @RequestParam(required = false) String equipmentCode,
+            @RequestParam(defaultValue = "reportDate") String sortBy,
+            @RequestParam(defaultValue = "false") boolean asc,
+            @RequestParam(defaultValue = "xlsx") String format,
+            HttpServletResponse response) throws IOException {
+
+        SpreadsheetWriter.Format exportFormat = SpreadsheetWriter.Format.of(format);
+        LocalDateTime from = reportDateFrom != null ? reportDateFrom.atStartOfDay() : null;
+        LocalDateTime to = reportDateTo != null ? reportDateTo.atTime(LocalTime.MAX) : null;
+
+        WebUtil.prepareDownload(response, "complaints", exportFormat);
+        complaintService.exportComplaints(keyword, from, to, assigneeEmpId, status, equipmentCode, sortBy, asc,
+                exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     public String getComplaintDetail(@PathVariable String id, Model model) {
         try {
@@ -105,9 +147,9 @@ public class ComplaintController {
             model.addAttribute("complaint", complaintDTO);
             model.addAttribute("title", "Complaint Detail");
 
-            model.addAttribute("users", getAllUsersForDropdown());
-            model.addAttribute("areas", getAllAreasForDropdown());
-            model.addAttribute("equipments", getAllEquipmentsForDropdown());
+            model.addAttribute("users", referenceDataService.getUsers());
+            model.addAttribute("areas", referenceDataService.getAreas());
+            model.addAttribute("equipments", referenceDataService.getEquipments());
 
             return "complaint/detail";
 
@@ -198,23 +240,7 @@ public class ComplaintController {
 
             ImportUtil.ImportResult result = complaintService.importComplaintsFromExcel(data);
 
-            if (result.getImportedCount() > 0 && !result.hasErrors()) {
-                ra.addFlashAttribute("success",
-                        "Successfully imported " + result.getImportedCount() + " complaint record(s).");
-            } else if (result.getImportedCount() > 0) {
-                StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
-                        .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            } else {
-                StringBuilder msg = new StringBuilder("Failed to import any complaint:");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            }
+            addImportResultFlash(result, "complaint", ra);
 
             return "redirect:/complaints";
 
@@ -224,21 +250,45 @@ public class ComplaintController {
         }
     }
 
-    private List<UserDTO> getAllUsersForDropdown() {
-        return userService.getAllUsers(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
-    }
+    /**
+     * Imports the uploaded file itself; it is parsed on the server in chunks instead of
+     * being posted as one JSON array.
+     */
+    @PostMapping("/import/file")
+    public String importComplaintsFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sheet", required = false) String sheet,
+            @RequestParam(value = "headerRow", required = false) Integer headerRow,
+            @RequestParam(value = "columns", required = false) String columnsJson,
+            RedirectAttributes ra) {
 
-    private List<AreaDTO> getAllAreasForDropdown() {
-        return areaService.getAllAreas(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
+        try {
+            ImportUtil.ImportResult result = spreadsheetImportService.importFile(file, sheet, headerRow,
+                    columnsJson, complaintService::importComplaintsFromExcel);
+            addImportResultFlash(result, "complaint", ra);
+        } catch (Exception e) {
+            ra.addFlashAttribute("error", "Bulk import failed: " + e.getMessage());
+        }
+        return "redirect:/complaints";
     }
 
-    private List<EquipmentDTO> getAllEquipmentsForDropdown() {
-        return equipmentService.getAllEquipments(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
+    private void addImportResultFlash(ImportUtil.ImportResult result, String label, RedirectAttributes ra) {
+        if (result.getImportedCount() > 0 && !result.hasErrors()) {
+            ra.addFlashAttribute("success",
+                    "Successfully imported " + result.getImportedCount() + " " + label + " record(s).");
+        } else if (result.getImportedCount() > 0) {
+            StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
+                    .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
+            for (String err : result.getErrorMessages()) {
+                msg.append("|").append(err);
+            }
+            ra.addFlashAttribute("error", msg.toString());
+        } else {
+            StringBuilder msg = new StringBuilder("Failed to import any " + label + ":");
+            for (String err : result.getErrorMessages()) {
+                msg.append("|").append(err);
+            }
+            ra.addFlashAttribute("error", msg.toString());
+        }
     }
 }
@@ -3,8 +3,11 @@ package ahqpck.maintenance.report.controller;
 import ahqpck.maintenance.report.dto.EquipmentDTO;
 import ahqpck.maintenance.report.dto.UserDTO;
 import ahqpck.maintenance.report.service.EquipmentService;
+import ahqpck.maintenance.report.service.SpreadsheetImportService;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
 import ahqpck.maintenance.report.util.WebUtil;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +25,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -32,6 +36,7 @@ import java.util.stream.Collectors;
 public class EquipmentController {
 
     private final EquipmentService equipmentService;
+    private final SpreadsheetImportService spreadsheetImportService;
 
     @Value("${app.upload-equipment-image.dir:src/main/resources/static/upload/equipment/image}")
     private String uploadDir;
@@ -47,7 +52,7 @@ public class EquipmentController {
 
         try {
             int zeroBasedPage = page - 1;
-            int parsedSize = "All".equalsIgnoreCase(size) ? Integer.MAX_VALUE : Integer.parseInt(size);
+            int parsedSize = WebUtil.parsePageSize(size);
 
             Page<EquipmentDTO> equipmentPage = equipmentService.getAllEquipments(keyword, zeroBasedPage, parsedSize, sortBy, asc);
 
@@ -70,6 +75,19 @@ public class EquipmentController {
         return "equipment/index";
     }
 
+    @GetMapping("/export")
+    public void exportEquipments(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "true") boolean asc,
+            @RequestParam(defaultValue = "xlsx") String format,
+            HttpServletResponse response) throws IOException {
+
+        SpreadsheetWriter.Format exportFormat = SpreadsheetWriter.Format.of(format);
+        WebUtil.prepareDownload(response, "equipments", exportFormat);
+        equipmentService.exportEquipments(keyword, sortBy, asc, exportFormat, response.getOutputStream());
+    }
+
     @PostMapping
     public String createEquipment(
             @Valid @ModelAttribute EquipmentDTO equipmentDTO,
@@ -145,23 +163,7 @@ public class EquipmentController {
 
             ImportUtil.ImportResult result = equipmentService.importEquipmentsFromExcel(data);
 
-            if (result.getImportedCount() > 0 && !result.hasErrors()) {
-                ra.addFlashAttribute("success",
-                        "Successfully imported " + result.getImportedCount() + " equipment record(s).");
-            } else if (result.getImportedCount() > 0) {
-                StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
-                        .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            } else {
-                StringBuilder msg = new StringBuilder("Failed to import any equipment:");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            }
+            addImportResultFlash(result, "equipment", ra);
 
             return "redirect:/equipments";
 
@@ -170,4 +172,46 @@ public class EquipmentController {
             return "redirect:/equipments";
         }
     }
+
+    /**
+     * Imports the uploaded file itself; it is parsed on the server in chunks instead of
+     * being posted as one JSON array.
+     */
+    @PostMapping("/import/file")
+    public String importEquipmentsFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sheet", required = false) String sheet,
+            @RequestParam(value = "headerRow", required = false) Integer headerRow,
+            @RequestParam(value = "columns", required = false) String columnsJson,
+            RedirectAttributes ra) {
+
+        try {
+            ImportUtil.ImportResult result = spreadsheetImportService.importFile(file, sheet, headerRow,
+                    columnsJson, equipmentService::importEquipmentsFromExcel);
+            addImportResultFlash(result, "equipment", ra);
+        } catch (Exception e) {
+            ra.addFlashAttribute("error", "Bulk import failed: " + e.getMessage());
+        }
+        return "redirect:/equipments";
+    }
+
+    private void addImportResultFlash(ImportUtil.ImportResult result, String label, RedirectAttributes ra) {
+        if (result.getImportedCount() > 0 && !result.hasErrors()) {
+            ra.addFlashAttribute("success",
+                    "Successfully imported " + result.getImportedCount() + " " + label + " record(s).");
+        } else if (result.getImportedCount() > 0) {
+            StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
+                    .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
+            for (String err : result.getErrorMessages()) {
+                msg.append("|").append(err);
+            }
+            ra.addFlashAttribute("error", msg.toString());
+        } else {
+            StringBuilder msg = new StringBuilder("Failed to import any " + label + ":");
+            for (String err : result.getErrorMessages()) {
+                msg.append("|").append(err);
+            }
+            ra.addFlashAttribute("error", msg.toString());
+        }
+    }
 }
\ No newline at end of file
@@ -7,9 +7,12 @@ import ahqpck.maintenance.report.exception.ImportException;
 import ahqpck.maintenance.report.exception.ValidationException;
 import ahqpck.maintenance.report.repository.RoleRepository;
 import ahqpck.maintenance.report.service.UserService;
+import ahqpck.maintenance.report.service.SpreadsheetImportService;
 import ahqpck.maintenance.report.util.WebUtil;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
 import jakarta.validation.Validation;
@@ -36,6 +39,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -52,6 +56,7 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private final UserService userService;
+    private final SpreadsheetImportService spreadsheetImportService;
 
     @Value("${app.upload-user-image.dir:src/main/resources/static/upload/user/image}")
     private String uploadDir;
@@ -60,23 +65,43 @@ public class UserController {
     public String listUsers(
             @RequestParam(required = false) String keyword,
             @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") String size,
             @RequestParam(defaultValue = "name") String sortBy,
             @RequestParam(defaultValue = "true") boolean asc,
+            @RequestParam(required = false) String fragment,
             Model model) {
 
+        boolean rowsOnly = "rows".equals(fragment);
         try {
             int zeroBasedPage = page - 1;
-            int parsedSize = "All".equalsIgnoreCase(size) ? Integer.MAX_VALUE : Integer.parseInt(size);
-
-            Page<UserDTO> userPage = userService.getAllUsers(keyword, zeroBasedPage, parsedSize, sortBy, asc);
-
-            model.addAttribute("users", userPage);
+            int parsedSize = WebUtil.parsePageSize(size);
+
+            // size=All loads the list in chunks as the user scrolls instead of in one page
+            boolean infiniteScroll = WebUtil.isAllPageSize(size) && userService.isCursorSortable(sortBy);
+            // cursor present (even empty): keyset paging, see KeysetCursor
+            boolean cursorMode = infiniteScroll || cursor != null && userService.isCursorSortable(sortBy);
+            if (cursorMode) {
+                model.addAttribute("users", userService.scrollUsers(keyword, cursor,
+                        infiniteScroll ? WebUtil.ALL_CHUNK_SIZE : parsedSize, sortBy, asc,
+                        cursor == null || cursor.isBlank()));
+            } else {
+                Page<UserDTO> userPage = userService.getAllUsers(keyword, zeroBasedPage, parsedSize, sortBy, asc);
+                model.addAttribute("users", userPage);
+            }
+            model.addAttribute("cursorMode", cursorMode);
+            model.addAttribute("infiniteScroll", infiniteScroll);
+            model.addAttribute("cursorSortable", userService.isCursorSortable(sortBy));
             model.addAttribute("keyword", keyword);
             model.addAttribute("currentPage", page);
             model.addAttribute("pageSize", size);
             model.addAttribute("sortBy", sortBy);
             model.addAttribute("asc", asc);
+
+            if (rowsOnly) {
+                return "user/index :: rows";
+            }
+
             model.addAttribute("title", "User Management");
             model.addAttribute("roles", userService.getAllRoles());
 
@@ -91,6 +116,19 @@ public class UserController {
         return "user/index";
     }
 
+    @GetMapping("/export")
+    public void exportUsers(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "true") boolean asc,
+            @RequestParam(defaultValue = "xlsx") String format,
+            HttpServletResponse response) throws IOException {
+
+        SpreadsheetWriter.Format exportFormat = SpreadsheetWriter.Format.of(format);
+        WebUtil.prepareDownload(response, "users", exportFormat);
+        userService.exportUsers(keyword, sortBy, asc, exportFormat, response.getOutputStream());
+    }
+
     // === CREATE USER ===
     @PostMapping
     public String createUser(
@@ -195,23 +233,7 @@ public class UserController {
 
             ImportUtil.ImportResult result = userService.importUsersFromExcel(data);
 
-            if (result.getImportedCount() > 0 && !result.hasErrors()) {
-                ra.addFlashAttribute("success",
-                        "Successfully imported " + result.getImportedCount() + " work report record(s).");
-            } else if (result.getImportedCount() > 0) {
-                StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
-                        .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            } else {
-                StringBuilder msg = new StringBuilder("Failed to import any work report:");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            }
+            addImportResultFlash(result, "user", ra);
 
             return "redirect:/users";
 
@@ -220,4 +242,46 @@ public class UserController {
             return "redirect:/users";
         }
     }
+
+    /**
+     * Imports the uploaded file itself; it is parsed on the server in chunks instead of
+     * being posted as one JSON array.
+     */
+    @PostMapping("/import/file")
+    public String importUsersFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sheet", required = false) String sheet,
+            @RequestParam(value = "headerRow", required = false) Integer headerRow,
+            @RequestParam(value = "columns", required = false) String columnsJson,
+            RedirectAttributes ra) {
+
+        try {
+            ImportUtil.ImportResult result = spreadsheetImportService.importFile(file, sheet, headerRow,
+                    columnsJson, userService::importUsersFromExcel);
+            addImportResultFlash(result, "user", ra);
+        } catch (Exception e) {
+            ra.addFlashAttribute("error", "Bulk import failed: " + e.getMessage());
+        }
+        return "redirect:/users";
+    }
+
+    private void addImportResultFlash(ImportUtil.ImportResult result, String label, RedirectAttributes ra) {
+        if (result.getImportedCount() > 0 && !result.hasErrors()) {
+            ra.addFlashAttribute("success",
+                    "Successfully imported " + result.getImportedCount() + " " + label + " record(s).");
+        } else if (result.getImportedCount() > 0) {
+            StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
+                    .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
+            for (String err : result.getErrorMessages()) {
+                msg.append("|").append(err);
+            }
+            ra.addFlashAttribute("error", msg.toString());
+        } else {
+            StringBuilder msg = new StringBuilder("Failed to import any " + label + ":");
+            for (String err : result.getErrorMessages()) {
+                msg.append("|").append(err);
+            }
+            ra.addFlashAttribute("error", msg.toString());
+        }
+    }
 }
\ No newline at end of file
@@ -7,12 +7,13 @@ import ahqpck.maintenance.report.dto.UserDTO;
 import ahqpck.maintenance.report.dto.WorkReportDTO;
 import ahqpck.maintenance.report.entity.Complaint;
 import ahqpck.maintenance.report.entity.WorkReport;
-import ahqpck.maintenance.report.service.AreaService;
-import ahqpck.maintenance.report.service.EquipmentService;
-import ahqpck.maintenance.report.service.UserService;
 import ahqpck.maintenance.report.service.WorkReportService;
+import ahqpck.maintenance.report.service.ReferenceDataService;
+import ahqpck.maintenance.report.service.SpreadsheetImportService;
 import ahqpck.maintenance.report.util.ImportUtil;
 import ahqpck.maintenance.report.util.WebUtil;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -22,11 +23,13 @@ import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -43,9 +46,8 @@ import java.util.stream.Collectors;
 public class WorkReportController {
 
     private final WorkReportService workReportService;
-    private final AreaService areaService;
-    private final EquipmentService equipmentService;
-    private final UserService userService;
+    private final ReferenceDataService referenceDataService;
+    private final SpreadsheetImportService spreadsheetImportService;
 
     @GetMapping
     public String listWorkReports(
@@ -55,22 +57,38 @@ public class WorkReportController {
             @RequestParam(required = false) WorkReport.Category group,
             @RequestParam(required = false) String equipmentCode,
             @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") String size,
             @RequestParam(defaultValue = "reportDate") String sortBy,
             @RequestParam(defaultValue = "false") boolean asc,
+            @RequestParam(required = false) String fragment,
             Model model) {
 
+        boolean rowsOnly = "rows".equals(fragment);
         try {
 
             int zeroBasedPage = page - 1;
-            int parsedSize = "All".equalsIgnoreCase(size) ? Integer.MAX_VALUE : Integer.parseInt(size);
+            int parsedSize = WebUtil.parsePageSize(size);
 
             LocalDateTime from = reportDateFrom != null ? reportDateFrom.atStartOfDay() : null;
             LocalDateTime to = reportDateTo != null ? reportDateTo.atTime(LocalTime.MAX) : null;
 
-            Page<WorkReportDTO> reportPage = workReportService.getAllWorkReports(keyword, from, to,
-                    group, equipmentCode, zeroBasedPage, parsedSize, sortBy, asc);
-            model.addAttribute("workReports", reportPage);
+            // size=All loads the list in chunks as the user scrolls instead of in one page
+            boolean infiniteScroll = WebUtil.isAllPageSize(size) && workReportService.isCursorSortable(sortBy);
+            // cursor present (even empty): keyset paging, see KeysetCursor
+            boolean cursorMode = infiniteScroll || cursor != null && workReportService.isCursorSortable(sortBy);
+            if (cursorMode) {
+                model.addAttribute("workReports", workReportService.scrollWorkReports(keyword, from, to, group,
+                        equipmentCode, cursor, infiniteScroll ? WebUtil.ALL_CHUNK_SIZE : parsedSize, sortBy, asc,
+                        cursor == null || cursor.isBlank()));
+            } else {
+                Page<WorkReportDTO> reportPage = workReportService.getAllWorkReports(keyword, from, to,
+                        group, equipmentCode, zeroBasedPage, parsedSize, sortBy, asc);
+                model.addAttribute("workReports", reportPage);
+            }
+            model.addAttribute("cursorMode", cursorMode);
+            model.addAttribute("infiniteScroll", infiniteScroll);
+            model.addAttribute("cursorSortable", workReportService.isCursorSortable(sortBy));
             model.addAttribute("keyword", keyword);
             model.addAttribute("reportDateFrom", reportDateFrom);
             model.addAttribute("reportDateTo", reportDateTo);
@@ -79,11 +97,15 @@ public class WorkReportController {
             model.addAttribute("sortBy", sortBy);
             model.addAttribute("asc", asc);
 
+            if (rowsOnly) {
+                return "work-report/index :: rows";
+            }
+
             model.addAttribute("title", "Work Report");
 
-            model.addAttribute("users", getAllUsersForDropdown());
-            model.addAttribute("areas", getAllAreasForDropdown());
-            model.addAttribute("equipments", getAllEquipmentsForDropdown());
+            model.addAttribute("users", referenceDataService.getUsers());
+            model.addAttribute("areas", referenceDataService.getAreas());
+            model.addAttribute("equipments", referenceDataService.getEquipments());
 
             model.addAttribute("workReportDTO", new WorkReportDTO());
 
@@ -96,6 +118,27 @@ public class WorkReportController {
         return "work-report/index";
     }
 
+    @GetMapping("/export")
+    public void exportWorkReports(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reportDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reportDateTo,
+            @RequestParam(required = false) WorkReport.Category group,
+            @RequestParam(required = false) String equipmentCode,
+            @RequestParam(defaultValue = "reportDate") String sortBy,
+            @RequestParam(defaultValue = "false") boolean asc,
+            @RequestParam(defaultValue = "xlsx") String format,
+            HttpServletResponse response) throws IOException {
+
+        SpreadsheetWriter.Format exportFormat = SpreadsheetWriter.Format.of(format);
+        LocalDateTime from = reportDateFrom != null ? reportDateFrom.atStartOfDay() : null;
+        LocalDateTime to = reportDateTo != null ? reportDateTo.atTime(LocalTime.MAX) : null;
+
+        WebUtil.prepareDownload(response, "work-reports", exportFormat);
+        workReportService.exportWorkReports(keyword, from, to, group, equipmentCode, sortBy, asc, exportFormat,
+                response.getOutputStream());
+    }
+
     @PostMapping
     public String createWorkReport(
             @Valid @ModelAttribute WorkReportDTO workReportDTO,
@@ -189,23 +232,7 @@ public class WorkReportController {
 
             ImportUtil.ImportResult result = workReportService.importWorkReportsFromExcel(data);
 
-            if (result.getImportedCount() > 0 && !result.hasErrors()) {
-                ra.addFlashAttribute("success",
-                        "Successfully imported " + result.getImportedCount() + " work report record(s).");
-            } else if (result.getImportedCount() > 0) {
-                StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
-                        .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            } else {
-                StringBuilder msg = new StringBuilder("Failed to import any work report:");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            }
+            addImportResultFlash(result, "work report", ra);
 
             return "redirect:/work-reports";
 
@@ -215,21 +242,45 @@ public class WorkReportController {
         }
     }
 
-    private List<UserDTO> getAllUsersForDropdown() {
-        return userService.getAllUsers(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
-    }
+    /**
+     * Imports the uploaded file itself; it is parsed on the server in chunks instead of
+     * being posted as one JSON array.
+     */
+    @PostMapping("/import/file")
+    public String importWorkReportsFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sheet", required = false) String sheet,
+            @RequestParam(value = "headerRow", required = false) Integer headerRow,
+            @RequestParam(value = "columns", required = false) String columnsJson,
+            RedirectAttributes ra) {
 
-    private List<AreaDTO> getAllAreasForDropdown() {
-        return areaService.getAllAreas(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
+        try {
+            ImportUtil.ImportResult result = spreadsheetImportService.importFile(file, sheet, headerRow,
+                    columnsJson, workReportService::importWorkReportsFromExcel);
+            addImportResultFlash(result, "work report", ra);
+        } catch (Exception e) {
+            ra.addFlashAttribute("error", "Bulk import failed: " + e.getMessage());
+        }
+        return "redirect:/work-reports";
     }
 
-    private List<EquipmentDTO> getAllEquipmentsForDropdown() {
-        return equipmentService.getAllEquipments(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
+    private void addImportResultFlash(ImportUtil.ImportResult result, String label, RedirectAttributes ra) {
+        if (result.getImportedCount() > 0 && !result.hasErrors()) {
+            ra.addFlashAttribute("success",
+                    "Successfully imported " + result.getImportedCount() + " " + label + " record(s).");
+        } else if (result.getImportedCount() > 0) {
+            StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
+                    .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
+            for (String err : result.getErrorMessages()) {
+                msg.append("|").append(err);
+            }
+            ra.addFlashAttribute("error", msg.toString());
+        } else {
+            StringBuilder msg = new StringBuilder("Failed to import any " + label + ":");
+            for (String err : result.getErrorMessages()) {
+                msg.append("|").append(err);
+            }
+            ra.addFlashAttribute("error", msg.toString());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package ahqpck.maintenance.report.controller.rest;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import ahqpck.maintenance.report.dto.OptionDTO;
+import ahqpck.maintenance.report.service.AutocompleteService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+public class AutocompleteRestController {
+
+    private final AutocompleteService autocompleteService;
+
+    // type: users, areas, equipments or parts; matches word prefixes of code and name
+    @GetMapping("/{type}")
+    public ResponseEntity<List<OptionDTO>> suggest(
+            @PathVariable String type,
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(type, q, limit));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -0,0 +1,79 @@
+package ahqpck.maintenance.report.controller.rest;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import ahqpck.maintenance.report.dto.DashboardReportDTO;
+import ahqpck.maintenance.report.exception.NotFoundException;
+import ahqpck.maintenance.report.service.DashboardReportService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/dashboard-reports")
+@RequiredArgsConstructor
+public class DashboardReportRestController {
+
+    private final DashboardReportService dashboardReportService;
+
+    // Example: ?from=2025-08-01&to=2025-08-31&format=pdf (or xlsx); 200 when already generated
+    @PostMapping
+    public ResponseEntity<DashboardReportDTO> submitReport(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "format", required = false) String format) {
+        DashboardReportDTO report = dashboardReportService.submit(from, to, format);
+        HttpStatus status = "COMPLETED".equals(report.getStatus()) ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(report);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DashboardReportDTO> getReport(@PathVariable String id) {
+        return ResponseEntity.ok(dashboardReportService.getReport(id));
+    }
+
+    // 409 with the report status while it is still being generated
+    @GetMapping("/{id}/file")
+    public ResponseEntity<?> downloadReport(@PathVariable String id) {
+        Optional<DashboardReportService.Artifact> artifact = dashboardReportService.getArtifact(id);
+        if (artifact.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(dashboardReportService.getReport(id));
+        }
+        DashboardReportService.Artifact file = artifact.get();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.fileName()).build().toString())
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .body(new FileSystemResource(file.file()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleUnavailable(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(NotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+}
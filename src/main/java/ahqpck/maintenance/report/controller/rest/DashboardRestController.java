@@ -3,23 +3,36 @@ package ahqpck.maintenance.report.controller.rest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import ahqpck.maintenance.report.dto.AssigneeDailyStatusDTO;
+import ahqpck.maintenance.report.dto.ComplaintBucketDTO;
 import ahqpck.maintenance.report.dto.DailyBreakdownDTO;
 import ahqpck.maintenance.report.dto.DailyComplaintDTO;
 import ahqpck.maintenance.report.dto.DailyWorkReportDTO;
 import ahqpck.maintenance.report.dto.DailyWorkReportEquipmentDTO;
+import ahqpck.maintenance.report.dto.DashboardCacheStatsDTO;
+import ahqpck.maintenance.report.dto.DashboardOverviewRequestDTO;
 import ahqpck.maintenance.report.dto.EquipmentComplaintCountDTO;
 import ahqpck.maintenance.report.dto.EquipmentCountDTO;
 import ahqpck.maintenance.report.dto.EquipmentWorkReportDTO;
@@ -28,6 +41,9 @@ import ahqpck.maintenance.report.dto.MonthlyComplaintDTO;
 import ahqpck.maintenance.report.dto.MonthlyWorkReportDTO;
 import ahqpck.maintenance.report.dto.MonthlyWorkReportEquipmentDTO;
 import ahqpck.maintenance.report.dto.StatusCountDTO;
+import ahqpck.maintenance.report.service.DashboardCache;
+import ahqpck.maintenance.report.service.DashboardOverviewService;
+import ahqpck.maintenance.report.service.DashboardRollupService;
 import ahqpck.maintenance.report.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 
@@ -37,6 +53,10 @@ import lombok.RequiredArgsConstructor;
 public class DashboardRestController {
 
     private final DashboardService dashboardService;
+    private final DashboardRollupService dashboardRollupService;
+    private final DashboardCache dashboardCache;
+    private final DashboardOverviewService dashboardOverviewService;
+    private final ObjectMapper objectMapper;
 
     // Example: ?from=2025-08-01T00:00&to=2025-08-10T23:59
     @GetMapping("/status-count")
@@ -58,6 +78,17 @@ public class DashboardRestController {
         return ResponseEntity.ok(result);
     }
 
+    // granularity: hour, shift, day (default), week, month or quarter; any range
+    @GetMapping("/complaint-buckets")
+    public ResponseEntity<List<ComplaintBucketDTO>> getComplaintBuckets(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "granularity", required = false) String granularity) {
+
+        List<ComplaintBucketDTO> result = dashboardService.getComplaintBuckets(from, to, granularity);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/monthly-complaint")
     public ResponseEntity<List<MonthlyComplaintDTO>> getMonthlyComplaint(
             @RequestParam(name = "year", required = false) Integer year) {
@@ -66,13 +97,15 @@ public class DashboardRestController {
         return ResponseEntity.ok(result);
     }
 
+    // granularity: day (default), week or month
     @GetMapping("/assignee-daily-status")
     public ResponseEntity<AssigneeDailyStatusDTO> getAssigneeDailyStatus(
             @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
 
-            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "granularity", required = false) String granularity) {
 
-        AssigneeDailyStatusDTO result = dashboardService.getAssigneeDailyStatus(from, to);
+        AssigneeDailyStatusDTO result = dashboardService.getAssigneeDailyStatus(from, to, granularity);
         return ResponseEntity.ok(result);
     }
 
@@ -143,9 +176,57 @@ public class DashboardRestController {
         return ResponseEntity.ok(result);
     }
 
+    // Example: ?limit=5&page=0&rankBy=time, or ?offset=10&limit=6 to read one row past a page of 5
     @GetMapping("/equipment-count")
-    public ResponseEntity<List<EquipmentCountDTO>> getEquipmentCount() {
-        List<EquipmentCountDTO> data = dashboardService.getEquipmentCount();
+    public ResponseEntity<List<EquipmentCountDTO>> getEquipmentCount(
+            @RequestParam(name = "page", required = false) Integer page,
+            @RequestParam(name = "offset", required = false) Integer offset,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "rankBy", required = false) String rankBy) {
+        List<EquipmentCountDTO> data = dashboardService.getEquipmentCount(page, offset, limit, rankBy);
         return ResponseEntity.ok(data);
     }
+
+    // Recompute the rollup tables from complaints / work_reports (backfill after bulk loads)
+    @PreAuthorize("hasAnyRole('SUPERADMIN', 'ADMIN')")
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Void> rebuildRollups() {
+        dashboardRollupService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    // All widgets of a page in one round trip; results are streamed in request order as they finish.
+    // Body: {"widgets":[{"id":"stats","type":"status-count","params":{"from":"2025-08-01T00:00"}}, ...]}
+    @PostMapping("/overview")
+    public ResponseEntity<StreamingResponseBody> getOverview(@RequestBody DashboardOverviewRequestDTO request) {
+        Map<String, CompletableFuture<Object>> widgets;
+        try {
+            widgets = dashboardOverviewService.submit(request);
+        } catch (IllegalArgumentException e) {
+            StreamingResponseBody error = out -> objectMapper.writeValue(out, Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(error);
+        }
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.createGenerator(out)) {
+                json.writeStartObject();
+                for (Map.Entry<String, CompletableFuture<Object>> widget : widgets.entrySet()) {
+                    json.writeFieldName(widget.getKey());
+                    json.writeObject(dashboardOverviewService.awaitResult(widget.getValue()));
+                    json.flush();
+                }
+                json.writeEndObject();
+            } finally {
+                // Client went away: stop whatever is still running
+                widgets.values().forEach(future -> future.cancel(true));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Hit/miss counters of the dashboard result cache
+    @GetMapping("/cache/stats")
+    public ResponseEntity<DashboardCacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(dashboardCache.getStats());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package ahqpck.maintenance.report.controller.rest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import ahqpck.maintenance.report.dto.ImportJobDTO;
+import ahqpck.maintenance.report.exception.NotFoundException;
+import ahqpck.maintenance.report.service.ImportJobService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/import-jobs")
+@RequiredArgsConstructor
+public class ImportJobRestController {
+
+    private final ImportJobService importJobService;
+
+    // type: complaints, work-reports, users, equipments or areas
+    @PostMapping
+    public ResponseEntity<ImportJobDTO> submitJob(
+            @RequestParam("type") String type,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sheet", required = false) String sheet,
+            @RequestParam(value = "headerRow", required = false) Integer headerRow,
+            @RequestParam(value = "columns", required = false) String columnsJson) throws IOException {
+        ImportJobDTO job = importJobService.submit(type, file, sheet, headerRow, columnsJson);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportJobDTO>> getJobs() {
+        return ResponseEntity.ok(importJobService.getJobs());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(importJobService.getJob(id));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ImportJobDTO> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(importJobService.cancel(id));
+    }
+
+    // Row errors collected so far, as a text file
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<String> getErrors(@PathVariable String id) {
+        String body = String.join("\n", importJobService.getErrors(id));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-" + id + "-errors.txt\"")
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleBusy(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(NotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+}
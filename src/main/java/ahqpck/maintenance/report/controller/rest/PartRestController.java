@@ -1,5 +1,6 @@
 package ahqpck.maintenance.report.controller.rest;
 
+import ahqpck.maintenance.report.dto.CursorPageDTO;
 import ahqpck.maintenance.report.dto.PartDTO;
 import ahqpck.maintenance.report.service.PartService;
 import jakarta.validation.Valid;
@@ -39,6 +40,26 @@ public class PartRestController {
     return ResponseEntity.ok(pageResponse);
   }
 
+  // Cursor paged list; pass nextCursor back as cursor with the same sortBy/asc
+  @GetMapping("/scroll")
+  public ResponseEntity<CursorPageDTO<PartDTO>> scrollParts(
+      @RequestParam(required = false) String keyword,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "name") String sortBy,
+      @RequestParam(defaultValue = "true") boolean asc,
+      @RequestParam(defaultValue = "false") boolean withTotal) {
+    return ResponseEntity.ok(partService.scrollParts(keyword, cursor, size, sortBy, asc, withTotal));
+  }
+
+  // Part picker typeahead: prefix matches on code and name, best first
+  @GetMapping("/suggest")
+  public ResponseEntity<List<PartDTO>> suggestParts(
+      @RequestParam(defaultValue = "") String q,
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(partService.suggestParts(q, limit));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<PartDTO> getPartById(@PathVariable String id) {
     PartDTO dto = partService.getPartById(id);
@@ -0,0 +1,35 @@
+package ahqpck.maintenance.report.controller.rest;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import ahqpck.maintenance.report.dto.ReferenceDataDTO;
+import ahqpck.maintenance.report.service.ReferenceDataService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/reference-data")
+@RequiredArgsConstructor
+public class ReferenceDataRestController {
+
+    private final ReferenceDataService referenceDataService;
+
+    // Select box options; send If-None-Match with the last ETag to get 304 while nothing changed
+    @GetMapping
+    public ResponseEntity<ReferenceDataDTO> getReferenceData(WebRequest request) {
+        ReferenceDataDTO snapshot = referenceDataService.getSnapshot();
+        String etag = "\"" + snapshot.getVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(snapshot);
+    }
+}
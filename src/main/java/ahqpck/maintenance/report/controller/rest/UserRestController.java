@@ -0,0 +1,40 @@
+package ahqpck.maintenance.report.controller.rest;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import ahqpck.maintenance.report.dto.CursorPageDTO;
+import ahqpck.maintenance.report.dto.UserDTO;
+import ahqpck.maintenance.report.service.UserService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserRestController {
+
+    private final UserService userService;
+
+    // Cursor paged list; pass nextCursor back as cursor with the same sortBy/asc
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<UserDTO>> scrollUsers(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "true") boolean asc,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(userService.scrollUsers(keyword, cursor, size, sortBy, asc, withTotal));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
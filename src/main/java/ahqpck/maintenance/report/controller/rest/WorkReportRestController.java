@@ -0,0 +1,54 @@
+package ahqpck.maintenance.report.controller.rest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import ahqpck.maintenance.report.dto.CursorPageDTO;
+import ahqpck.maintenance.report.dto.WorkReportDTO;
+import ahqpck.maintenance.report.entity.WorkReport;
+import ahqpck.maintenance.report.service.WorkReportService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/work-reports")
+@RequiredArgsConstructor
+public class WorkReportRestController {
+
+    private final WorkReportService workReportService;
+
+    // Cursor paged list; pass nextCursor back as cursor with the same sortBy/asc
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<WorkReportDTO>> scrollWorkReports(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reportDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reportDateTo,
+            @RequestParam(required = false) WorkReport.Category group,
+            @RequestParam(required = false) String equipmentCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "reportDate") String sortBy,
+            @RequestParam(defaultValue = "false") boolean asc,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        LocalDateTime from = reportDateFrom != null ? reportDateFrom.atStartOfDay() : null;
+        LocalDateTime to = reportDateTo != null ? reportDateTo.atTime(LocalTime.MAX) : null;
+
+        return ResponseEntity.ok(workReportService.scrollWorkReports(keyword, from, to, group, equipmentCode,
+                cursor, size, sortBy, asc, withTotal));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -1,7 +1,5 @@
 package ahqpck.maintenance.report.dto;
 
-import java.util.List;
-
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,7 +10,8 @@ import lombok.NoArgsConstructor;
 public class AssigneeDailyStatusDetailDTO {
     private String assigneeName;
     private String assigneeEmpId;
-    private List<Integer> open;
-    private List<Integer> pending;
-    private List<Integer> closed;
+    // one count per date bucket; int arrays serialize as JSON arrays without boxing
+    private int[] open;
+    private int[] pending;
+    private int[] closed;
 }
\ No newline at end of file
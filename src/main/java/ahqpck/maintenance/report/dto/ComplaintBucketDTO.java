@@ -0,0 +1,16 @@
+package ahqpck.maintenance.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintBucketDTO {
+    // start of the bucket: yyyy-MM-dd, or yyyy-MM-ddTHH:mm for hours and shifts
+    private String bucket;
+    private Long open;
+    private Long closed;
+    private Long pending;
+}
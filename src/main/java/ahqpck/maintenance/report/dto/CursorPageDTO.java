@@ -0,0 +1,27 @@
+package ahqpck.maintenance.report.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a cursor (keyset) paged list.
+ *
+ * {@code nextCursor} is opaque; pass it back as {@code cursor} with the same sort to get the
+ * following page. {@code total} is only filled when asked for: an exact count for filtered
+ * lists, otherwise MySQL's row estimate for the table ({@code totalExact = false}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long total;
+    private Boolean totalExact;
+}
@@ -2,8 +2,15 @@ package ahqpck.maintenance.report.dto;
 
 import java.time.LocalDate;
 
-public interface DailyBreakdownDTO {
-    LocalDate getDate();
-    Long getBreakdownCount();
-    Integer getTotalTimeMinutes();
-}
\ No newline at end of file
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyBreakdownDTO {
+    private LocalDate date;
+    private Long breakdownCount;
+    private Integer totalTimeMinutes;
+}
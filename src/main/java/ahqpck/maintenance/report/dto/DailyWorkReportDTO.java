@@ -1,9 +1,16 @@
 package ahqpck.maintenance.report.dto;
 
-public interface DailyWorkReportDTO {
-    String getDate();
-    Integer getCorrectiveMaintenanceCount();
-    Integer getPreventiveMaintenanceCount();
-    Integer getBreakdownCount();
-    Integer getOtherCount();
-}
\ No newline at end of file
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyWorkReportDTO {
+    private String date;
+    private Integer correctiveMaintenanceCount;
+    private Integer preventiveMaintenanceCount;
+    private Integer breakdownCount;
+    private Integer otherCount;
+}
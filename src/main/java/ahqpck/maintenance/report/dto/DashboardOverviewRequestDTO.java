@@ -0,0 +1,27 @@
+package ahqpck.maintenance.report.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardOverviewRequestDTO {
+
+    private List<Widget> widgets = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Widget {
+        private String id;      // key of this widget in the response document
+        private String type;    // same name as the single endpoint, e.g. "daily-complaint"
+        private Map<String, String> params = new HashMap<>();
+    }
+}
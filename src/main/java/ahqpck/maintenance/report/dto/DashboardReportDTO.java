@@ -0,0 +1,23 @@
+package ahqpck.maintenance.report.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardReportDTO {
+    private String id;
+    private String format;
+    private LocalDate from;
+    private LocalDate to;
+    private String status;
+    private long sizeBytes;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+}
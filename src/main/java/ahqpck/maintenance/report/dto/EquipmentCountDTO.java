@@ -1,11 +1,17 @@
 package ahqpck.maintenance.report.dto;
 
-public interface EquipmentCountDTO {
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 
-    String getEquipmentName();
-    String getEquipmentCode();
-    Integer getTotalTime();
-    Long getTotalWorkReports();
-    Long getTotalComplaints();
-    Long getTotalOccurrences();
-}
\ No newline at end of file
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentCountDTO {
+    private String equipmentName;
+    private String equipmentCode;
+    private Long totalTime;
+    private Long totalWorkReports;
+    private Long totalComplaints;
+    private Long totalOccurrences;
+}
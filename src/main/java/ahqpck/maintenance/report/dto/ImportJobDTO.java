@@ -0,0 +1,25 @@
+package ahqpck.maintenance.report.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private String id;
+    private String type;
+    private String fileName;
+    private String status;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private double rowsPerSecond;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+}
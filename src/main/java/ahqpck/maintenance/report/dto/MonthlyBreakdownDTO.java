@@ -1,8 +1,15 @@
 package ahqpck.maintenance.report.dto;
 
-public interface MonthlyBreakdownDTO {
-    int getYear();
-    int getMonth();
-    Long getBreakdownCount();
-    Integer getTotalTimeMinutes();
-}
\ No newline at end of file
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyBreakdownDTO {
+    private int year;
+    private int month;
+    private Long breakdownCount;
+    private Integer totalTimeMinutes;
+}
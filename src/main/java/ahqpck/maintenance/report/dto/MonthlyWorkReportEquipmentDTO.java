@@ -1,10 +1,17 @@
 package ahqpck.maintenance.report.dto;
 
-public interface MonthlyWorkReportEquipmentDTO {
-    Integer getYear();
-    Integer getMonth();
-    Integer getCorrectiveMaintenanceCount();
-    Integer getPreventiveMaintenanceCount();
-    Integer getBreakdownCount();
-    Integer getOtherCount();
-}
\ No newline at end of file
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyWorkReportEquipmentDTO {
+    private Integer year;
+    private Integer month;
+    private Integer correctiveMaintenanceCount;
+    private Integer preventiveMaintenanceCount;
+    private Integer breakdownCount;
+    private Integer otherCount;
+}
@@ -0,0 +1,15 @@
+package ahqpck.maintenance.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** An area, equipment or part as shown in select boxes. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptionDTO {
+    private String id;
+    private String code;
+    private String name;
+}
@@ -25,4 +25,7 @@ public class PartDTO {
 
     @NotNull(message = "Stock quantity is required")
     private Integer stockQuantity = 0;
+
+    // Part version the edit form was opened with; null skips the check
+    private Long version;
 }
\ No newline at end of file
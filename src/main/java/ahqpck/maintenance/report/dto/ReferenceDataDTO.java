@@ -0,0 +1,22 @@
+package ahqpck.maintenance.report.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The select box options of the forms, all sorted by name. {@code version} changes whenever
+ * any of the lists does and is used as the ETag of /api/reference-data.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceDataDTO {
+    private String version;
+    private List<UserOptionDTO> users;
+    private List<OptionDTO> areas;
+    private List<OptionDTO> equipments;
+    private List<OptionDTO> parts;
+}
@@ -0,0 +1,15 @@
+package ahqpck.maintenance.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A user as shown in select boxes. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOptionDTO {
+    private String id;
+    private String employeeId;
+    private String name;
+}
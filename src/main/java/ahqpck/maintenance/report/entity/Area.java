@@ -3,9 +3,8 @@ package ahqpck.maintenance.report.entity;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
 
-import ahqpck.maintenance.report.util.Base62;
+import ahqpck.maintenance.report.util.IdGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
@@ -31,7 +30,7 @@ import lombok.NoArgsConstructor;
 public class Area {
 
     @Id
-    @Column(name = "id", length = 22, nullable = false, updatable = false)
+    @Column(name = "id", length = 22, nullable = false, updatable = false, columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     private String id;
 
     @Column(nullable = false, unique = true)
@@ -63,7 +62,7 @@ public class Area {
 
     @PrePersist
     public void prePersist() {
-        this.id = this.id == null ? Base62.encode(UUID.randomUUID()) : this.id;
+        this.id = this.id == null ? IdGenerator.newId() : this.id;
         this.status = this.status != null ? this.status : Status.INACTIVE;
     }
 }
\ No newline at end of file
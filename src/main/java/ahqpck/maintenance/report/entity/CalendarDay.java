@@ -0,0 +1,64 @@
+package ahqpck.maintenance.report.entity;
+
+import java.time.LocalDate;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per calendar day with the periods it belongs to. Dashboards join the daily rollups
+ * on {@code day} and group by one of the *_start columns to get any bucket size over any
+ * range. Filled by CalendarService.
+ */
+@Entity
+@Immutable
+@Table(name = "calendar_days", indexes = {
+        @Index(name = "idx_calendar_days_week", columnList = "week_start, day"),
+        @Index(name = "idx_calendar_days_month", columnList = "month_start, day"),
+        @Index(name = "idx_calendar_days_quarter", columnList = "quarter_start, day")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDay {
+
+    @Id
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer quarter;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    /** ISO-8601 week-based year and week; weeks start on Monday. */
+    @Column(name = "iso_year", nullable = false)
+    private Integer isoYear;
+
+    @Column(name = "iso_week", nullable = false)
+    private Integer isoWeek;
+
+    /** 1 (Monday) to 7 (Sunday). */
+    @Column(name = "day_of_week", nullable = false)
+    private Integer dayOfWeek;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "quarter_start", nullable = false)
+    private LocalDate quarterStart;
+}
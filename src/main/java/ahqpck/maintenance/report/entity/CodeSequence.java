@@ -0,0 +1,28 @@
+package ahqpck.maintenance.report.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Next unreserved number for each code prefix (CP, WR, ...). Application nodes reserve
+ * blocks of numbers from here through ZeroPaddedCodeGenerator.
+ */
+@Entity
+@Table(name = "code_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeSequence {
+
+    @Id
+    @Column(name = "prefix", length = 16)
+    private String prefix;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
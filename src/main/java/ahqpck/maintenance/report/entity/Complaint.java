@@ -1,12 +1,11 @@
 package ahqpck.maintenance.report.entity;
 
-import ahqpck.maintenance.report.util.Base62;
+import ahqpck.maintenance.report.util.IdGenerator;
 
 import java.time.LocalDateTime;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -15,6 +14,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -28,7 +28,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "complaints")
+@Table(name = "complaints", indexes = {
+        @Index(name = "idx_complaint_date_status", columnList = "report_date, status"),
+        @Index(name = "idx_complaint_date_category", columnList = "report_date, category"),
+        @Index(name = "idx_complaint_equipment_date", columnList = "equipment_code, report_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,7 +40,7 @@ import lombok.NoArgsConstructor;
 public class Complaint {
 
     @Id
-    @Column(length = 22, updatable = false, nullable = false)
+    @Column(length = 22, updatable = false, nullable = false, columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     private String id;
 
     @Column(nullable = false, unique = true)
@@ -128,7 +132,7 @@ public class Complaint {
 
     @PrePersist
     public void prePersist() {
-        this.id = (this.id == null) ? Base62.encode(UUID.randomUUID()) : this.id;
+        this.id = (this.id == null) ? IdGenerator.newId() : this.id;
         
         LocalDateTime now = LocalDateTime.now();
 
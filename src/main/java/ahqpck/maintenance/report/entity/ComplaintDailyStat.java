@@ -0,0 +1,31 @@
+package ahqpck.maintenance.report.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pre-aggregated complaint counters per day, status, category, equipment and assignee.
+ * Maintained incrementally by DashboardRollupService; the dashboard reads from here
+ * instead of scanning the complaints table.
+ */
+@Entity
+@Table(name = "complaint_daily_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintDailyStat {
+
+    @EmbeddedId
+    private ComplaintDailyStatId id;
+
+    @Column(name = "complaint_count", nullable = false)
+    private Long complaintCount = 0L;
+
+    @Column(name = "total_time_minutes", nullable = false)
+    private Long totalTimeMinutes = 0L;
+}
@@ -1,5 +1,6 @@
 package ahqpck.maintenance.report.entity;
 
+import ahqpck.maintenance.report.util.IdGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
@@ -26,12 +27,12 @@ public class ComplaintPart {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("complaintId")
-    @JoinColumn(name = "complaint_id")
+    @JoinColumn(name = "complaint_id", columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     private Complaint complaint;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("partId")
-    @JoinColumn(name = "part_id")
+    @JoinColumn(name = "part_id", columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     private Part part;
 
     @Column(nullable = false)
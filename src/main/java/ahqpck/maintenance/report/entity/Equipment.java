@@ -3,11 +3,10 @@ package ahqpck.maintenance.report.entity;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 
-import ahqpck.maintenance.report.util.Base62;
+import ahqpck.maintenance.report.util.IdGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -27,7 +26,7 @@ import lombok.NoArgsConstructor;
 public class Equipment {
 
     @Id
-    @Column(length = 22, updatable = false, nullable = false)
+    @Column(length = 22, updatable = false, nullable = false, columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     private String id;
 
     @Column(nullable = false, unique = true)
@@ -66,7 +65,7 @@ public class Equipment {
     @PrePersist
     public void prePersist() {
         if (this.id == null) {
-            this.id = Base62.encode(UUID.randomUUID());
+            this.id = IdGenerator.newId();
         }
     }
 }
@@ -1,13 +1,12 @@
 package ahqpck.maintenance.report.entity;
 
-import java.util.UUID;
-
-import ahqpck.maintenance.report.util.Base62;
+import ahqpck.maintenance.report.util.IdGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,7 +21,7 @@ import lombok.NoArgsConstructor;
 public class Part {
 
     @Id
-    @Column(length = 22, updatable = false, nullable = false)
+    @Column(length = 22, updatable = false, nullable = false, columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     private String id;
 
     @Column(nullable = false, unique = true)
@@ -42,29 +41,16 @@ public class Part {
     @Builder.Default
     private Integer stockQuantity = 0;
 
+    // Bumped by every stock UPDATE of InventoryService as well as by Hibernate
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+
     @PrePersist
     public void prePersist() {
         if (this.id == null) {
-            this.id = Base62.encode(UUID.randomUUID());
-        }
-    }
-
-    public void useParts(Integer quantity) {
-        if (quantity == null || quantity <= 0) {
-            throw new IllegalArgumentException("Quantity to use must be positive");
-        }
-        if (this.stockQuantity < quantity) {
-            throw new IllegalStateException("Not enough stock for part: " + name +
-                    " (Available: " + this.stockQuantity + ", Requested: " + quantity + ")");
-        }
-        this.stockQuantity -= quantity;
-    }
-
-    public void addStock(Integer quantity) {
-        if (quantity == null || quantity <= 0) {
-            throw new IllegalArgumentException("Quantity to add must be positive");
+            this.id = IdGenerator.newId();
         }
-        this.stockQuantity += quantity;
     }
 
     public void setStockQuantity(Integer quantity) {
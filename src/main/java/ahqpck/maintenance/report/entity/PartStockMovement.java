@@ -0,0 +1,65 @@
+package ahqpck.maintenance.report.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import ahqpck.maintenance.report.util.IdGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One change of a part's stock. Rows are only ever inserted (by InventoryService); the sum of
+ * {@code delta} per part is the stock the parts table should show.
+ */
+@Entity
+@Immutable
+@Table(name = "part_stock_movements", indexes = {
+        @Index(name = "idx_part_stock_movements_part", columnList = "part_id"),
+        @Index(name = "idx_part_stock_movements_source", columnList = "source_type, source_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartStockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "part_id", length = 22, nullable = false, columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
+    private String partId;
+
+    /** Negative when parts were taken out of stock. */
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", length = 20, nullable = false)
+    private SourceType sourceType;
+
+    /**
+     * Complaint or work report id; null for manual adjustments and part opening balances. An
+     * OPENING row carries the job id when it balances a job closed before the ledger.
+     */
+    @Column(name = "source_id", length = 22, columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
+    private String sourceId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum SourceType {
+        OPENING, ADJUSTMENT, COMPLAINT, WORK_REPORT
+    }
+}
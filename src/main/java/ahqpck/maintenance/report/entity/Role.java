@@ -3,9 +3,8 @@ package ahqpck.maintenance.report.entity;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
-import ahqpck.maintenance.report.util.Base62;
+import ahqpck.maintenance.report.util.IdGenerator;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -30,7 +29,7 @@ import lombok.NoArgsConstructor;
 public class Role {
 
     @Id
-    @Column(name = "id", length = 22, nullable = false, updatable = false)
+    @Column(name = "id", length = 22, nullable = false, updatable = false, columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     private String id;
 
     @Enumerated(EnumType.STRING)
@@ -43,6 +42,6 @@ public class Role {
 
     @PrePersist
     public void prePersist() {
-        this.id = this.id == null ? Base62.encode(UUID.randomUUID()) : this.id;
+        this.id = this.id == null ? IdGenerator.newId() : this.id;
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package ahqpck.maintenance.report.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalized search text of one complaint or work report: its own text columns plus the
+ * names and codes of the people, area and equipment it references. The content column carries
+ * a FULLTEXT index (created by SearchIndexService) so list searches use MATCH ... AGAINST
+ * instead of LIKE over the joined tables.
+ */
+@Entity
+@Table(name = "search_documents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchDocument {
+
+    public static final String COMPLAINT = "COMPLAINT";
+    public static final String WORK_REPORT = "WORK_REPORT";
+
+    @EmbeddedId
+    private SearchDocumentId id;
+
+    @Column(columnDefinition = "MEDIUMTEXT", nullable = false)
+    private String content;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
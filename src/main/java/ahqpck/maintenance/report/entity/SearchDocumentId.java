@@ -0,0 +1,27 @@
+package ahqpck.maintenance.report.entity;
+
+import java.io.Serializable;
+
+import ahqpck.maintenance.report.util.IdGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Key of a {@link SearchDocument}: the indexed table (COMPLAINT or WORK_REPORT) and the row id.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchDocumentId implements Serializable {
+
+    @Column(name = "doc_type", length = 16, nullable = false)
+    private String docType;
+
+    @Column(name = "doc_id", length = 22, nullable = false, columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
+    private String docId;
+}
@@ -7,9 +7,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.UUID;
 
-import ahqpck.maintenance.report.util.Base62;
+import ahqpck.maintenance.report.util.IdGenerator;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -44,7 +43,7 @@ import lombok.ToString;
 public class User {
 
     @Id
-    @Column(name = "id", length = 22, nullable = false, updatable = false)
+    @Column(name = "id", length = 22, nullable = false, updatable = false, columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     @EqualsAndHashCode.Include
     private String id;
 
@@ -103,7 +102,9 @@ public class User {
     private final Set<Complaint> assignedComplaints = new HashSet<>();
 
     @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
+    @JoinTable(name = "user_roles",
+            joinColumns = @JoinColumn(name = "user_id", columnDefinition = IdGenerator.ID_COLUMN_DEFINITION),
+            inverseJoinColumns = @JoinColumn(name = "role_id", columnDefinition = IdGenerator.ID_COLUMN_DEFINITION))
     private final Set<Role> roles = new HashSet<>();
 
     public enum Status {
@@ -112,7 +113,7 @@ public class User {
 
     @PrePersist
     public void prePersist() {
-        this.id = this.id == null ? Base62.encode(UUID.randomUUID()) : this.id;
+        this.id = this.id == null ? IdGenerator.newId() : this.id;
         this.createdAt = LocalDateTime.now();
         this.status = this.status != null ? this.status : Status.INACTIVE;
     }
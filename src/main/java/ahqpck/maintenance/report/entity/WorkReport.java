@@ -6,9 +6,8 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.UUID;
 
-import ahqpck.maintenance.report.util.Base62;
+import ahqpck.maintenance.report.util.IdGenerator;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -16,6 +15,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -30,7 +30,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "work_reports")
+@Table(name = "work_reports", indexes = {
+        @Index(name = "idx_work_report_date_status", columnList = "report_date, status"),
+        @Index(name = "idx_work_report_date_category", columnList = "report_date, category"),
+        @Index(name = "idx_work_report_equipment_date", columnList = "equipment_code, report_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,7 +42,7 @@ import lombok.NoArgsConstructor;
 public class WorkReport {
 
     @Id
-    @Column(length = 22, updatable = false, nullable = false)
+    @Column(length = 22, updatable = false, nullable = false, columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     private String id;
 
     @Column(nullable = false, unique = true)
@@ -100,7 +104,9 @@ public class WorkReport {
     private User supervisor;
 
     @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(name = "work_report_technicians", joinColumns = @JoinColumn(name = "work_report_id"), inverseJoinColumns = @JoinColumn(name = "user_id"))
+    @JoinTable(name = "work_report_technicians",
+            joinColumns = @JoinColumn(name = "work_report_id", columnDefinition = IdGenerator.ID_COLUMN_DEFINITION),
+            inverseJoinColumns = @JoinColumn(name = "user_id", columnDefinition = IdGenerator.ID_COLUMN_DEFINITION))
     private final Set<User> technicians = new HashSet<>();
 
     @OneToMany(mappedBy = "workReport", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -144,7 +150,7 @@ public class WorkReport {
     
     @PrePersist
     public void prePersist() {
-        this.id = (this.id == null) ? Base62.encode(UUID.randomUUID()) : this.id;
+        this.id = (this.id == null) ? IdGenerator.newId() : this.id;
         
         LocalDateTime now = LocalDateTime.now();
 
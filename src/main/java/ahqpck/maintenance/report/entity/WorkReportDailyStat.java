@@ -0,0 +1,30 @@
+package ahqpck.maintenance.report.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pre-aggregated work report counters per day, status, category and equipment.
+ * Maintained incrementally by DashboardRollupService.
+ */
+@Entity
+@Table(name = "work_report_daily_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkReportDailyStat {
+
+    @EmbeddedId
+    private WorkReportDailyStatId id;
+
+    @Column(name = "report_count", nullable = false)
+    private Long reportCount = 0L;
+
+    @Column(name = "total_time_minutes", nullable = false)
+    private Long totalTimeMinutes = 0L;
+}
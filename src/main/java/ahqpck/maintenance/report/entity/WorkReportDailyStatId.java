@@ -0,0 +1,34 @@
+package ahqpck.maintenance.report.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rollup dimensions for {@link WorkReportDailyStat}.
+ * Missing equipment is stored as an empty string so every column can take
+ * part in the primary key.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkReportDailyStatId implements Serializable {
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(length = 20, nullable = false)
+    private String status;
+
+    @Column(length = 30, nullable = false)
+    private String category;
+
+    @Column(name = "equipment_code", nullable = false)
+    private String equipmentCode;
+}
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import ahqpck.maintenance.report.util.Base62;
+import ahqpck.maintenance.report.util.IdGenerator;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
@@ -38,12 +39,12 @@ public class WorkReportPart {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("workReportId")
-    @JoinColumn(name = "work_report_id")
+    @JoinColumn(name = "work_report_id", columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     private WorkReport workReport;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("partId")
-    @JoinColumn(name = "part_id")
+    @JoinColumn(name = "part_id", columnDefinition = IdGenerator.ID_COLUMN_DEFINITION)
     private Part part;
 
     @Column(nullable = false)
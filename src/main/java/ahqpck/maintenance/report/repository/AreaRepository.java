@@ -1,17 +1,34 @@
 package ahqpck.maintenance.report.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import ahqpck.maintenance.report.dto.OptionDTO;
 import ahqpck.maintenance.report.entity.Area;
 
 @Repository
 public interface AreaRepository extends JpaRepository<Area, String>, JpaSpecificationExecutor<Area> {
 
+    // The list shows each area's responsible person (joined by employee_id, never proxied)
+    @Override
+    @EntityGraph(attributePaths = {"responsiblePerson"})
+    Page<Area> findAll(Specification<Area> spec, Pageable pageable);
+
     Optional<Area> findByCode(String code);
+    List<Area> findByCodeIn(Collection<String> codes);
     boolean existsByCodeIgnoreCase(String code);
     boolean existsByCodeIgnoreCaseAndIdNot(String code, String id);
-}
\ No newline at end of file
+
+    @Query("SELECT new ahqpck.maintenance.report.dto.OptionDTO(a.id, a.code, a.name) FROM Area a ORDER BY a.name")
+    List<OptionDTO> findOptions();
+}
@@ -0,0 +1,19 @@
+package ahqpck.maintenance.report.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import ahqpck.maintenance.report.entity.CalendarDay;
+
+@Repository
+public interface CalendarDayRepository extends JpaRepository<CalendarDay, LocalDate> {
+
+    @Query("SELECT MIN(c.day) FROM CalendarDay c")
+    LocalDate findFirstDay();
+
+    @Query("SELECT MAX(c.day) FROM CalendarDay c")
+    LocalDate findLastDay();
+}
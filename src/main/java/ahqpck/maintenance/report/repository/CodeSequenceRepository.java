@@ -0,0 +1,40 @@
+package ahqpck.maintenance.report.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ahqpck.maintenance.report.entity.CodeSequence;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface CodeSequenceRepository extends JpaRepository<CodeSequence, String> {
+
+    /**
+     * SELECT ... FOR UPDATE on one prefix; the row stays locked until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CodeSequence s WHERE s.prefix = :prefix")
+    Optional<CodeSequence> findForUpdate(@Param("prefix") String prefix);
+
+    /**
+     * Creates the row for a new prefix; a row created concurrently by another node wins.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO code_sequences (prefix, next_value) VALUES (:prefix, :nextValue)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("prefix") String prefix, @Param("nextValue") long nextValue);
+
+    /**
+     * Moves the sequence past {@code number} unless it already is.
+     */
+    @Modifying
+    @Query(value = "UPDATE code_sequences SET next_value = GREATEST(next_value, :number + 1) WHERE prefix = :prefix",
+            nativeQuery = true)
+    int advancePast(@Param("prefix") String prefix, @Param("number") long number);
+}
@@ -0,0 +1,107 @@
+package ahqpck.maintenance.report.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.entity.ComplaintDailyStat;
+import ahqpck.maintenance.report.entity.ComplaintDailyStatId;
+
+@Repository
+public interface ComplaintDailyStatRepository extends JpaRepository<ComplaintDailyStat, ComplaintDailyStatId> {
+
+    /**
+     * Adds the given deltas to a rollup row, creating it when missing.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO complaint_daily_stats
+                (stat_date, status, category, equipment_code, assignee, complaint_count, total_time_minutes)
+            VALUES (:statDate, :status, :category, :equipmentCode, :assignee, :countDelta, :minutesDelta)
+            ON DUPLICATE KEY UPDATE
+                complaint_count = complaint_count + VALUES(complaint_count),
+                total_time_minutes = total_time_minutes + VALUES(total_time_minutes)
+            """, nativeQuery = true)
+    void upsert(@Param("statDate") LocalDate statDate,
+            @Param("status") String status,
+            @Param("category") String category,
+            @Param("equipmentCode") String equipmentCode,
+            @Param("assignee") String assignee,
+            @Param("countDelta") long countDelta,
+            @Param("minutesDelta") long minutesDelta);
+
+    /**
+     * Deletes a rollup row whose count has dropped to zero, so moved and deleted rows do not
+     * leave empty buckets behind.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM complaint_daily_stats
+            WHERE stat_date = :statDate
+              AND status = :status
+              AND category = :category
+              AND equipment_code = :equipmentCode
+              AND assignee = :assignee
+              AND complaint_count <= 0
+            """, nativeQuery = true)
+    void deleteIfEmpty(@Param("statDate") LocalDate statDate,
+            @Param("status") String status,
+            @Param("category") String category,
+            @Param("equipmentCode") String equipmentCode,
+            @Param("assignee") String assignee);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM complaint_daily_stats WHERE stat_date >= :from AND stat_date < :to", nativeQuery = true)
+    int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate toExclusive);
+
+    /** First day that has complaints or rollup rows, or null when both are empty. */
+    @Query(value = """
+            SELECT MIN(d) FROM (
+                SELECT MIN(stat_date) AS d FROM complaint_daily_stats
+                UNION ALL
+                SELECT DATE(MIN(report_date)) FROM complaints
+            ) bounds
+            """, nativeQuery = true)
+    LocalDate findFirstDay();
+
+    /** Last day that has complaints or rollup rows, or null when both are empty. */
+    @Query(value = """
+            SELECT MAX(d) FROM (
+                SELECT MAX(stat_date) AS d FROM complaint_daily_stats
+                UNION ALL
+                SELECT DATE(MAX(report_date)) FROM complaints
+            ) bounds
+            """, nativeQuery = true)
+    LocalDate findLastDay();
+
+    /**
+     * Recomputes the rollup rows of {@code [from, toExclusive)} from the complaints table
+     * (backfill); the range must have been deleted first.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO complaint_daily_stats
+                (stat_date, status, category, equipment_code, assignee, complaint_count, total_time_minutes)
+            SELECT
+                DATE(c.report_date),
+                c.status,
+                c.category,
+                TRIM(COALESCE(c.equipment_code, '')),
+                COALESCE(c.assignee, ''),
+                COUNT(*),
+                COALESCE(SUM(c.total_time_minutes), 0)
+            FROM complaints c
+            WHERE c.report_date >= :from AND c.report_date < :to
+            GROUP BY DATE(c.report_date), c.status, c.category, TRIM(COALESCE(c.equipment_code, '')), COALESCE(c.assignee, '')
+            """, nativeQuery = true)
+    int rebuildFromComplaints(@Param("from") LocalDate from, @Param("to") LocalDate toExclusive);
+}
@@ -2,18 +2,37 @@ package ahqpck.maintenance.report.repository;
 
 import ahqpck.maintenance.report.dto.StatusCountDTO;
 import ahqpck.maintenance.report.entity.Complaint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ComplaintRepository extends JpaRepository<Complaint, String>, JpaSpecificationExecutor<Complaint> {
+
+    // List pages: the to-one associations are joined on a business key, which Hibernate cannot
+    // proxy, so without the graph each row would load them with separate SELECTs
+    @Override
+    @EntityGraph(attributePaths = {"reporter", "assignee", "area", "equipment"})
+    Page<Complaint> findAll(Specification<Complaint> spec, Pageable pageable);
+
     List<Complaint> findByStatus(Complaint.Status status);
     boolean existsByCodeIgnoreCase(String code);
+
+    @Query("SELECT c.code FROM Complaint c WHERE c.code IN :codes")
+    List<String> findExistingCodes(@Param("codes") Collection<String> codes);
     // List<Complaint> findByEquipment(String equipment);
     // All-time count grouped by status
-    
-}
\ No newline at end of file
+
+    // Row estimate from InnoDB statistics, no table scan (approximate list totals)
+    @Query(value = "SELECT TABLE_ROWS FROM information_schema.tables "
+            + "WHERE table_schema = DATABASE() AND table_name = 'complaints'", nativeQuery = true)
+    Long estimateRowCount();
+}
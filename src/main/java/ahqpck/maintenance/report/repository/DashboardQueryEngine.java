@@ -0,0 +1,81 @@
+package ahqpck.maintenance.report.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import ahqpck.maintenance.report.dto.ComplaintBucketDTO;
+import ahqpck.maintenance.report.dto.DailyBreakdownDTO;
+import ahqpck.maintenance.report.dto.DailyComplaintDTO;
+import ahqpck.maintenance.report.dto.DailyWorkReportDTO;
+import ahqpck.maintenance.report.dto.DailyWorkReportEquipmentDTO;
+import ahqpck.maintenance.report.dto.EquipmentCountDTO;
+import ahqpck.maintenance.report.dto.MonthlyBreakdownDTO;
+import ahqpck.maintenance.report.dto.MonthlyComplaintDTO;
+import ahqpck.maintenance.report.dto.MonthlyWorkReportDTO;
+import ahqpck.maintenance.report.dto.MonthlyWorkReportEquipmentDTO;
+import ahqpck.maintenance.report.dto.StatusCountDTO;
+
+/**
+ * Repository fragment for the time-bucketed dashboard widgets.
+ *
+ * Every range is half-open: {@code from} is inclusive, {@code toExclusive} is exclusive.
+ * Each widget is answered by a single GROUP BY over the rollup tables with a plain
+ * {@code stat_date >= ? AND stat_date < ?} predicate; buckets without data are filled
+ * with zeros in Java, so there is no limit on the length of the range.
+ */
+public interface DashboardQueryEngine {
+
+    /** Ranking used by the equipment health list. */
+    enum EquipmentRanking {
+        OCCURRENCES,
+        TIME
+    }
+
+    /** Bucket sizes of {@link #getComplaintBuckets}. */
+    enum BucketSize {
+        HOUR,
+        SHIFT,
+        DAY,
+        WEEK,
+        MONTH,
+        QUARTER
+    }
+
+    StatusCountDTO getStatusCount(LocalDate from, LocalDate toExclusive);
+
+    List<DailyComplaintDTO> getDailyComplaint(LocalDate from, LocalDate toExclusive);
+
+    /**
+     * Complaint counts per status for every bucket of the range, empty buckets included.
+     * Days and longer join the rollup to calendar_days (which must cover the range) and group
+     * by its period columns; hours and shifts are counted from complaints.report_date. A bucket
+     * is labelled by its start, which may lie before {@code from} for weeks and for a shift
+     * running over midnight.
+     */
+    List<ComplaintBucketDTO> getComplaintBuckets(BucketSize size, LocalDate from, LocalDate toExclusive,
+            List<LocalTime> shiftStarts);
+
+    List<MonthlyComplaintDTO> getMonthlyComplaint(LocalDate from, LocalDate toExclusive);
+
+    List<DailyBreakdownDTO> getDailyBreakdownTime(LocalDate from, LocalDate toExclusive);
+
+    List<MonthlyBreakdownDTO> getMonthlyBreakdownTime(LocalDate from, LocalDate toExclusive);
+
+    List<DailyWorkReportDTO> getDailyWorkReport(LocalDate from, LocalDate toExclusive);
+
+    List<MonthlyWorkReportDTO> getMonthlyWorkReport(LocalDate from, LocalDate toExclusive);
+
+    List<DailyWorkReportEquipmentDTO> getDailyWorkReportEquipment(LocalDate from, LocalDate toExclusive,
+            String equipmentCode);
+
+    List<MonthlyWorkReportEquipmentDTO> getMonthlyWorkReportEquipment(LocalDate from, LocalDate toExclusive,
+            String equipmentCode);
+
+    /**
+     * Equipment health statistics: work reports and complaints are aggregated per
+     * equipment_code independently and only the requested page of the ranking is joined
+     * back to equipments. Pass {@code limit = null} for the full list.
+     */
+    List<EquipmentCountDTO> getEquipmentCount(EquipmentRanking ranking, int offset, Integer limit);
+}
@@ -0,0 +1,465 @@
+package ahqpck.maintenance.report.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import ahqpck.maintenance.report.dto.ComplaintBucketDTO;
+import ahqpck.maintenance.report.dto.DailyBreakdownDTO;
+import ahqpck.maintenance.report.dto.DailyComplaintDTO;
+import ahqpck.maintenance.report.dto.DailyWorkReportDTO;
+import ahqpck.maintenance.report.dto.DailyWorkReportEquipmentDTO;
+import ahqpck.maintenance.report.dto.EquipmentCountDTO;
+import ahqpck.maintenance.report.dto.MonthlyBreakdownDTO;
+import ahqpck.maintenance.report.dto.MonthlyComplaintDTO;
+import ahqpck.maintenance.report.dto.MonthlyWorkReportDTO;
+import ahqpck.maintenance.report.dto.MonthlyWorkReportEquipmentDTO;
+import ahqpck.maintenance.report.dto.StatusCountDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Spring Data fragment implementation backing {@link DashboardQueryEngine}.
+ */
+class DashboardQueryEngineImpl implements DashboardQueryEngine {
+
+    private static final String COMPLAINT_STATS = "complaint_daily_stats";
+    private static final String WORK_REPORT_STATS = "work_report_daily_stats";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Bucket width: the SQL expression used in the GROUP BY and its Java counterpart. */
+    private enum Bucket {
+        DAY("s.stat_date"),
+        MONTH("DATE_SUB(s.stat_date, INTERVAL DAYOFMONTH(s.stat_date) - 1 DAY)");
+
+        private final String sql;
+
+        Bucket(String sql) {
+            this.sql = sql;
+        }
+
+        LocalDate floor(LocalDate date) {
+            return this == DAY ? date : date.withDayOfMonth(1);
+        }
+
+        LocalDate next(LocalDate bucketStart) {
+            return this == DAY ? bucketStart.plusDays(1) : bucketStart.plusMonths(1);
+        }
+    }
+
+    /** Per-bucket, per-dimension totals read from a rollup table. */
+    private record Totals(Map<LocalDate, Map<String, long[]>> byBucket) {
+
+        long count(LocalDate bucket, String key) {
+            return value(bucket, key, 0);
+        }
+
+        long minutes(LocalDate bucket, String key) {
+            return value(bucket, key, 1);
+        }
+
+        private long value(LocalDate bucket, String key, int index) {
+            Map<String, long[]> row = byBucket.get(bucket);
+            if (row == null) {
+                return 0L;
+            }
+            long[] values = row.get(key);
+            return values != null ? values[index] : 0L;
+        }
+    }
+
+    @Override
+    public StatusCountDTO getStatusCount(LocalDate from, LocalDate toExclusive) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT s.status, SUM(s.complaint_count)
+                FROM complaint_daily_stats s
+                WHERE 1 = 1
+                """);
+        Map<String, Object> params = new HashMap<>();
+        if (from != null) {
+            sql.append(" AND s.stat_date >= :from");
+            params.put("from", from);
+        }
+        if (toExclusive != null) {
+            sql.append(" AND s.stat_date < :to");
+            params.put("to", toExclusive);
+        }
+        sql.append(" GROUP BY s.status");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+
+        long open = 0L;
+        long closed = 0L;
+        long pending = 0L;
+        long total = 0L;
+        for (Object rowObject : query.getResultList()) {
+            Object[] row = (Object[]) rowObject;
+            String status = (String) row[0];
+            long count = toLong(row[1]);
+            total += count;
+            switch (status) {
+                case "OPEN", "IN_PROGRESS" -> open += count;
+                case "DONE", "CLOSED" -> closed += count;
+                case "PENDING" -> pending += count;
+                default -> {
+                }
+            }
+        }
+        return new StatusCountDTO(total, open, closed, pending);
+    }
+
+    @Override
+    public List<DailyComplaintDTO> getDailyComplaint(LocalDate from, LocalDate toExclusive) {
+        Totals totals = aggregate(COMPLAINT_STATS, "complaint_count", "status", Bucket.DAY, from, toExclusive,
+                null);
+        return fill(Bucket.DAY, from, toExclusive, (day, t) -> new DailyComplaintDTO(
+                day.toString(),
+                t.count(day, "OPEN"),
+                t.count(day, "CLOSED"),
+                t.count(day, "PENDING")), totals);
+    }
+
+    @Override
+    public List<ComplaintBucketDTO> getComplaintBuckets(BucketSize size, LocalDate from, LocalDate toExclusive,
+            List<LocalTime> shiftStarts) {
+        if (!from.isBefore(toExclusive)) {
+            return List.of();
+        }
+        return switch (size) {
+            case HOUR -> timeBuckets(from, toExclusive, null);
+            case SHIFT -> timeBuckets(from, toExclusive, shiftStarts);
+            default -> calendarBuckets(size, from, toExclusive);
+        };
+    }
+
+    @Override
+    public List<MonthlyComplaintDTO> getMonthlyComplaint(LocalDate from, LocalDate toExclusive) {
+        Totals totals = aggregate(COMPLAINT_STATS, "complaint_count", "status", Bucket.MONTH, from, toExclusive,
+                null);
+        return fill(Bucket.MONTH, from, toExclusive, (month, t) -> new MonthlyComplaintDTO(
+                YearMonth.from(month).toString(),
+                t.count(month, "OPEN"),
+                t.count(month, "CLOSED"),
+                t.count(month, "PENDING")), totals);
+    }
+
+    @Override
+    public List<DailyBreakdownDTO> getDailyBreakdownTime(LocalDate from, LocalDate toExclusive) {
+        Totals totals = aggregate(WORK_REPORT_STATS, "report_count", "category", Bucket.DAY, from, toExclusive,
+                null);
+        return fill(Bucket.DAY, from, toExclusive, (day, t) -> new DailyBreakdownDTO(
+                day,
+                t.count(day, "BREAKDOWN"),
+                Math.toIntExact(t.minutes(day, "BREAKDOWN"))), totals);
+    }
+
+    @Override
+    public List<MonthlyBreakdownDTO> getMonthlyBreakdownTime(LocalDate from, LocalDate toExclusive) {
+        Totals totals = aggregate(WORK_REPORT_STATS, "report_count", "category", Bucket.MONTH, from, toExclusive,
+                null);
+        return fill(Bucket.MONTH, from, toExclusive, (month, t) -> new MonthlyBreakdownDTO(
+                month.getYear(),
+                month.getMonthValue(),
+                t.count(month, "BREAKDOWN"),
+                Math.toIntExact(t.minutes(month, "BREAKDOWN"))), totals);
+    }
+
+    @Override
+    public List<DailyWorkReportDTO> getDailyWorkReport(LocalDate from, LocalDate toExclusive) {
+        Totals totals = aggregate(WORK_REPORT_STATS, "report_count", "category", Bucket.DAY, from, toExclusive,
+                null);
+        return fill(Bucket.DAY, from, toExclusive, (day, t) -> new DailyWorkReportDTO(
+                day.toString(),
+                countAsInt(t, day, "CORRECTIVE_MAINTENANCE"),
+                countAsInt(t, day, "PREVENTIVE_MAINTENANCE"),
+                countAsInt(t, day, "BREAKDOWN"),
+                countAsInt(t, day, "OTHER")), totals);
+    }
+
+    @Override
+    public List<MonthlyWorkReportDTO> getMonthlyWorkReport(LocalDate from, LocalDate toExclusive) {
+        Totals totals = aggregate(WORK_REPORT_STATS, "report_count", "category", Bucket.MONTH, from, toExclusive,
+                null);
+        return fill(Bucket.MONTH, from, toExclusive, (month, t) -> new MonthlyWorkReportDTO(
+                month.getYear(),
+                month.getMonthValue(),
+                countAsInt(t, month, "CORRECTIVE_MAINTENANCE"),
+                countAsInt(t, month, "PREVENTIVE_MAINTENANCE"),
+                countAsInt(t, month, "BREAKDOWN"),
+                countAsInt(t, month, "OTHER")), totals);
+    }
+
+    @Override
+    public List<DailyWorkReportEquipmentDTO> getDailyWorkReportEquipment(LocalDate from, LocalDate toExclusive,
+            String equipmentCode) {
+        Totals totals = aggregate(WORK_REPORT_STATS, "report_count", "category", Bucket.DAY, from, toExclusive,
+                equipmentCode);
+        return fill(Bucket.DAY, from, toExclusive, (day, t) -> new DailyWorkReportEquipmentDTO(
+                day.toString(),
+                countAsInt(t, day, "CORRECTIVE_MAINTENANCE"),
+                countAsInt(t, day, "PREVENTIVE_MAINTENANCE"),
+                countAsInt(t, day, "BREAKDOWN"),
+                countAsInt(t, day, "OTHER")), totals);
+    }
+
+    @Override
+    public List<MonthlyWorkReportEquipmentDTO> getMonthlyWorkReportEquipment(LocalDate from, LocalDate toExclusive,
+            String equipmentCode) {
+        Totals totals = aggregate(WORK_REPORT_STATS, "report_count", "category", Bucket.MONTH, from, toExclusive,
+                equipmentCode);
+        return fill(Bucket.MONTH, from, toExclusive, (month, t) -> new MonthlyWorkReportEquipmentDTO(
+                month.getYear(),
+                month.getMonthValue(),
+                countAsInt(t, month, "CORRECTIVE_MAINTENANCE"),
+                countAsInt(t, month, "PREVENTIVE_MAINTENANCE"),
+                countAsInt(t, month, "BREAKDOWN"),
+                countAsInt(t, month, "OTHER")), totals);
+    }
+
+    @Override
+    public List<EquipmentCountDTO> getEquipmentCount(EquipmentRanking ranking, int offset, Integer limit) {
+        String orderBy = ranking == EquipmentRanking.TIME
+                ? "total_time DESC, total_occurrences DESC"
+                : "total_occurrences DESC, total_time DESC";
+
+        String sql = """
+                SELECT
+                    e.name,
+                    e.code,
+                    COALESCE(wr.total_time, 0) + COALESCE(c.total_time, 0) AS total_time,
+                    COALESCE(wr.total_work_reports, 0) AS total_work_reports,
+                    COALESCE(c.total_complaints, 0) AS total_complaints,
+                    COALESCE(wr.total_work_reports, 0) + COALESCE(c.total_complaints, 0) AS total_occurrences
+                FROM equipments e
+                LEFT JOIN (
+                    SELECT s.equipment_code,
+                           SUM(s.total_time_minutes) AS total_time,
+                           SUM(s.report_count) AS total_work_reports
+                    FROM work_report_daily_stats s
+                    GROUP BY s.equipment_code
+                ) wr ON wr.equipment_code = TRIM(e.code)
+                LEFT JOIN (
+                    SELECT s.equipment_code,
+                           SUM(s.total_time_minutes) AS total_time,
+                           SUM(s.complaint_count) AS total_complaints
+                    FROM complaint_daily_stats s
+                    GROUP BY s.equipment_code
+                ) c ON c.equipment_code = TRIM(e.code)
+                """ + "ORDER BY " + orderBy + ", e.code";
+
+        Query query = entityManager.createNativeQuery(sql).setFirstResult(Math.max(offset, 0));
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+
+        List<EquipmentCountDTO> result = new ArrayList<>();
+        for (Object rowObject : query.getResultList()) {
+            Object[] row = (Object[]) rowObject;
+            result.add(new EquipmentCountDTO(
+                    (String) row[0],
+                    (String) row[1],
+                    toLong(row[2]),
+                    toLong(row[3]),
+                    toLong(row[4]),
+                    toLong(row[5])));
+        }
+        return result;
+    }
+
+    /**
+     * Day, week, month or quarter buckets: every calendar day of the range joined to its
+     * rollup rows, so empty buckets come back too.
+     */
+    private List<ComplaintBucketDTO> calendarBuckets(BucketSize size, LocalDate from, LocalDate toExclusive) {
+        String column = switch (size) {
+            case WEEK -> "c.week_start";
+            case MONTH -> "c.month_start";
+            case QUARTER -> "c.quarter_start";
+            default -> "c.day";
+        };
+        String sql = "SELECT " + column + " AS bucket, s.status, SUM(s.complaint_count) "
+                + "FROM calendar_days c "
+                + "LEFT JOIN complaint_daily_stats s ON s.stat_date = c.day "
+                + "WHERE c.day >= :from AND c.day < :to "
+                + "GROUP BY " + column + ", s.status "
+                + "ORDER BY bucket";
+
+        Map<String, long[]> counts = new LinkedHashMap<>();
+        for (Object rowObject : entityManager.createNativeQuery(sql)
+                .setParameter("from", from)
+                .setParameter("to", toExclusive)
+                .getResultList()) {
+            Object[] row = (Object[]) rowObject;
+            long[] bucket = counts.computeIfAbsent(toLocalDate(row[0]).toString(), k -> new long[3]);
+            addStatusCount(bucket, (String) row[1], toLong(row[2]));
+        }
+        return toComplaintBuckets(counts);
+    }
+
+    /**
+     * Hour buckets, or shifts when {@code shiftStarts} is given (whole hours, in order): complaints
+     * are counted per hour and each hour is added to the shift it starts in.
+     */
+    private List<ComplaintBucketDTO> timeBuckets(LocalDate from, LocalDate toExclusive, List<LocalTime> shiftStarts) {
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = toExclusive.atStartOfDay();
+
+        Map<String, long[]> counts = new LinkedHashMap<>();
+        if (shiftStarts == null) {
+            for (LocalDateTime hour = rangeStart; hour.isBefore(rangeEnd); hour = hour.plusHours(1)) {
+                counts.put(hour.toString(), new long[3]);
+            }
+        } else {
+            for (LocalDate day = from.minusDays(1); day.isBefore(toExclusive); day = day.plusDays(1)) {
+                for (int i = 0; i < shiftStarts.size(); i++) {
+                    LocalDateTime start = day.atTime(shiftStarts.get(i));
+                    LocalDateTime end = i + 1 < shiftStarts.size() ? day.atTime(shiftStarts.get(i + 1))
+                            : day.plusDays(1).atTime(shiftStarts.get(0));
+                    if (start.isBefore(rangeEnd) && end.isAfter(rangeStart)) {
+                        counts.put(start.toString(), new long[3]);
+                    }
+                }
+            }
+        }
+
+        String sql = "SELECT DATE_ADD(DATE(c.report_date), INTERVAL HOUR(c.report_date) HOUR) AS bucket, "
+                + "c.status, COUNT(*) "
+                + "FROM complaints c "
+                + "WHERE c.report_date >= :from AND c.report_date < :to "
+                + "GROUP BY bucket, c.status";
+        for (Object rowObject : entityManager.createNativeQuery(sql)
+                .setParameter("from", rangeStart)
+                .setParameter("to", rangeEnd)
+                .getResultList()) {
+            Object[] row = (Object[]) rowObject;
+            LocalDateTime hour = toLocalDateTime(row[0]);
+            LocalDateTime slot = shiftStarts == null ? hour : shiftOf(hour, shiftStarts);
+            long[] bucket = counts.get(slot.toString());
+            if (bucket != null) {
+                addStatusCount(bucket, (String) row[1], toLong(row[2]));
+            }
+        }
+        return toComplaintBuckets(counts);
+    }
+
+    /** Start of the shift {@code time} falls in; before the first start it is the previous day's last. */
+    private static LocalDateTime shiftOf(LocalDateTime time, List<LocalTime> shiftStarts) {
+        LocalTime start = null;
+        for (LocalTime shiftStart : shiftStarts) {
+            if (!shiftStart.isAfter(time.toLocalTime())) {
+                start = shiftStart;
+            }
+        }
+        return start != null ? time.toLocalDate().atTime(start)
+                : time.toLocalDate().minusDays(1).atTime(shiftStarts.get(shiftStarts.size() - 1));
+    }
+
+    // counts are kept as [open, closed, pending]
+    private static void addStatusCount(long[] bucket, String status, long count) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case "OPEN" -> bucket[0] += count;
+            case "CLOSED" -> bucket[1] += count;
+            case "PENDING" -> bucket[2] += count;
+            default -> {
+            }
+        }
+    }
+
+    private static List<ComplaintBucketDTO> toComplaintBuckets(Map<String, long[]> counts) {
+        List<ComplaintBucketDTO> result = new ArrayList<>(counts.size());
+        counts.forEach((bucket, c) -> result.add(new ComplaintBucketDTO(bucket, c[0], c[1], c[2])));
+        return result;
+    }
+
+    /**
+     * Runs one GROUP BY (bucket, dimension) over a rollup table for the half-open range.
+     */
+    private Totals aggregate(String table, String countColumn, String dimension, Bucket bucket,
+            LocalDate from, LocalDate toExclusive, String equipmentCode) {
+
+        if (!from.isBefore(toExclusive)) {
+            return new Totals(Map.of());
+        }
+
+        String sql = "SELECT " + bucket.sql + " AS bucket, s." + dimension + ", "
+                + "SUM(s." + countColumn + "), SUM(s.total_time_minutes) "
+                + "FROM " + table + " s "
+                + "WHERE s.stat_date >= :from AND s.stat_date < :to"
+                + (equipmentCode != null ? " AND s.equipment_code = :equipmentCode" : "")
+                + " GROUP BY bucket, s." + dimension;
+
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("from", from)
+                .setParameter("to", toExclusive);
+        if (equipmentCode != null) {
+            query.setParameter("equipmentCode", equipmentCode);
+        }
+
+        Map<LocalDate, Map<String, long[]>> byBucket = new HashMap<>();
+        for (Object rowObject : query.getResultList()) {
+            Object[] row = (Object[]) rowObject;
+            LocalDate bucketStart = toLocalDate(row[0]);
+            String key = (String) row[1];
+            long[] values = byBucket.computeIfAbsent(bucketStart, k -> new HashMap<>())
+                    .computeIfAbsent(key, k -> new long[2]);
+            values[0] += toLong(row[2]);
+            values[1] += toLong(row[3]);
+        }
+        return new Totals(byBucket);
+    }
+
+    /**
+     * Emits one DTO per bucket in the range, including buckets that had no rows.
+     */
+    private <T> List<T> fill(Bucket bucket, LocalDate from, LocalDate toExclusive,
+            BiFunction<LocalDate, Totals, T> mapper, Totals totals) {
+
+        List<T> result = new ArrayList<>();
+        for (LocalDate b = bucket.floor(from); b.isBefore(toExclusive); b = bucket.next(b)) {
+            result.add(mapper.apply(b, totals));
+        }
+        return result;
+    }
+
+    private static Integer countAsInt(Totals totals, LocalDate bucket, String key) {
+        return Math.toIntExact(totals.count(bucket, key));
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return LocalDateTime.parse(value.toString().substring(0, 19).replace(' ', 'T'));
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return LocalDate.parse(value.toString().substring(0, 10));
+    }
+}
@@ -1,17 +1,25 @@
 package ahqpck.maintenance.report.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import ahqpck.maintenance.report.dto.OptionDTO;
 import ahqpck.maintenance.report.entity.Equipment;
 
 @Repository
 public interface EquipmentRepository extends JpaRepository<Equipment, String>, JpaSpecificationExecutor<Equipment> {
 
     Optional<Equipment> findByCode(String code);
+    List<Equipment> findByCodeIn(Collection<String> codes);
     boolean existsByCodeIgnoreCase(String code);
     boolean existsByCodeIgnoreCaseAndIdNot(String code, String id);
-}
\ No newline at end of file
+
+    @Query("SELECT new ahqpck.maintenance.report.dto.OptionDTO(e.id, e.code, e.name) FROM Equipment e ORDER BY e.name")
+    List<OptionDTO> findOptions();
+}
@@ -1,11 +1,14 @@
 package ahqpck.maintenance.report.repository;
 
+import ahqpck.maintenance.report.dto.OptionDTO;
 import ahqpck.maintenance.report.entity.Part;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -17,4 +20,16 @@ public interface PartRepository extends JpaRepository<Part, String>, JpaSpecific
 
     // Optional: For update case, exclude current ID
     boolean existsByCodeIgnoreCaseAndIdNot(String code, String id);
-}
\ No newline at end of file
+
+    // Row estimate from InnoDB statistics, no table scan (approximate list totals)
+    @Query(value = "SELECT TABLE_ROWS FROM information_schema.tables "
+            + "WHERE table_schema = DATABASE() AND table_name = 'parts'", nativeQuery = true)
+    Long estimateRowCount();
+
+    @Query("SELECT new ahqpck.maintenance.report.dto.OptionDTO(p.id, p.code, p.name) FROM Part p ORDER BY p.name")
+    List<OptionDTO> findOptions();
+
+    // Row locks on every part, taken before the stock is reconciled with the ledger
+    @Query(value = "SELECT id FROM parts FOR UPDATE", nativeQuery = true)
+    List<String> lockAll();
+}
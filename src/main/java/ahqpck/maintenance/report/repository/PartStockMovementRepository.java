@@ -0,0 +1,109 @@
+package ahqpck.maintenance.report.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.entity.PartStockMovement;
+
+@Repository
+public interface PartStockMovementRepository extends JpaRepository<PartStockMovement, Long> {
+
+    /**
+     * Quantity of each part a job currently holds: [part_id, quantity].
+     */
+    @Query(value = """
+            SELECT m.part_id, CAST(-SUM(m.delta) AS SIGNED)
+            FROM part_stock_movements m
+            WHERE m.source_type = :sourceType AND m.source_id = :sourceId
+            GROUP BY m.part_id
+            HAVING SUM(m.delta) <> 0
+            """, nativeQuery = true)
+    List<Object[]> findHeldBySource(@Param("sourceType") String sourceType, @Param("sourceId") String sourceId);
+
+    /**
+     * Records the current stock of every part that has no movement yet as its opening balance.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO part_stock_movements (part_id, delta, source_type, source_id, created_at)
+            SELECT p.id, COALESCE(p.stock_quantity, 0), 'OPENING', NULL, NOW()
+            FROM parts p
+            WHERE NOT EXISTS (SELECT 1 FROM part_stock_movements m WHERE m.part_id = p.id)
+            """, nativeQuery = true)
+    int insertOpeningBalances();
+
+    /**
+     * Adopts CLOSED complaints that hold parts but have no movements, i.e. were closed before
+     * the ledger. Each part line gets an OPENING credit and a COMPLAINT debit of its quantity,
+     * both keyed by the complaint id, so the ledger sum and the part stock stay as they are.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO part_stock_movements (part_id, delta, source_type, source_id, created_at)
+            SELECT cp.part_id, s.sign * cp.quantity, s.source_type, c.id, NOW()
+            FROM complaints c
+            JOIN complaint_parts cp ON cp.complaint_id = c.id
+            CROSS JOIN (SELECT 1 AS sign, 'OPENING' AS source_type UNION ALL SELECT -1, 'COMPLAINT') s
+            WHERE c.status = 'CLOSED' AND cp.quantity > 0
+              AND NOT EXISTS (SELECT 1 FROM part_stock_movements m
+                              WHERE m.source_type IN ('OPENING', 'COMPLAINT') AND m.source_id = c.id)
+            """, nativeQuery = true)
+    int adoptClosedComplaints();
+
+    /**
+     * Same as {@link #adoptClosedComplaints()} for CLOSED work reports.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO part_stock_movements (part_id, delta, source_type, source_id, created_at)
+            SELECT wp.part_id, s.sign * wp.quantity, s.source_type, w.id, NOW()
+            FROM work_reports w
+            JOIN work_report_parts wp ON wp.work_report_id = w.id
+            CROSS JOIN (SELECT 1 AS sign, 'OPENING' AS source_type UNION ALL SELECT -1, 'WORK_REPORT') s
+            WHERE w.status = 'CLOSED' AND wp.quantity > 0
+              AND NOT EXISTS (SELECT 1 FROM part_stock_movements m
+                              WHERE m.source_type IN ('OPENING', 'WORK_REPORT') AND m.source_id = w.id)
+            """, nativeQuery = true)
+    int adoptClosedWorkReports();
+
+    /**
+     * Parts whose stock differs from the ledger: [part_id, code, stock_quantity, ledger_quantity].
+     */
+    @Query(value = """
+            SELECT p.id, p.code, p.stock_quantity, CAST(COALESCE(l.quantity, 0) AS SIGNED)
+            FROM parts p
+            LEFT JOIN (
+                SELECT m.part_id, SUM(m.delta) AS quantity
+                FROM part_stock_movements m
+                GROUP BY m.part_id
+            ) l ON l.part_id = p.id
+            WHERE COALESCE(p.stock_quantity, 0) <> COALESCE(l.quantity, 0)
+            """, nativeQuery = true)
+    List<Object[]> findStockMismatches();
+
+    /**
+     * Sets the stock of every mismatched part to its ledger sum.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE parts p
+            LEFT JOIN (
+                SELECT m.part_id, SUM(m.delta) AS quantity
+                FROM part_stock_movements m
+                GROUP BY m.part_id
+            ) l ON l.part_id = p.id
+            SET p.stock_quantity = COALESCE(l.quantity, 0), p.version = p.version + 1
+            WHERE COALESCE(p.stock_quantity, 0) <> COALESCE(l.quantity, 0)
+            """, nativeQuery = true)
+    int applyLedgerStock();
+}
@@ -0,0 +1,98 @@
+package ahqpck.maintenance.report.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.entity.SearchDocument;
+import ahqpck.maintenance.report.entity.SearchDocumentId;
+
+@Repository
+public interface SearchDocumentRepository extends JpaRepository<SearchDocument, SearchDocumentId> {
+
+    String FULLTEXT_INDEX = "ft_search_documents_content";
+
+    String INSERT = "INSERT INTO search_documents (doc_type, doc_id, content, updated_at) ";
+
+    String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE content = VALUES(content), updated_at = VALUES(updated_at)";
+
+    String SELECT_COMPLAINTS = """
+            SELECT 'COMPLAINT', c.id,
+                CONCAT_WS(' ', c.code, c.subject, c.description, c.action_taken, c.priority, c.category, c.status,
+                    r.name, r.employee_id, r.email, a.name, a.employee_id, a.email,
+                    ar.name, ar.code, e.name, e.code),
+                NOW()
+            FROM complaints c
+            LEFT JOIN users r ON r.employee_id = c.reporter
+            LEFT JOIN users a ON a.employee_id = c.assignee
+            LEFT JOIN areas ar ON ar.code = c.area_code
+            LEFT JOIN equipments e ON e.code = c.equipment_code
+            """;
+
+    String SELECT_WORK_REPORTS = """
+            SELECT 'WORK_REPORT', w.id,
+                CONCAT_WS(' ', w.code, w.problem, w.solution, w.work_type, w.remark, w.shift, w.category, w.status,
+                    w.scope, e.name, e.code, ar.name, ar.code, s.name, s.employee_id, s.email),
+                NOW()
+            FROM work_reports w
+            LEFT JOIN equipments e ON e.code = w.equipment_code
+            LEFT JOIN areas ar ON ar.code = w.area_code
+            LEFT JOIN users s ON s.employee_id = w.supervisor
+            """;
+
+    /**
+     * Re-renders the documents of the given complaints from the current rows.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = INSERT + SELECT_COMPLAINTS + " WHERE c.id IN (:ids)" + ON_DUPLICATE, nativeQuery = true)
+    int indexComplaints(@Param("ids") Collection<String> ids);
+
+    /**
+     * Re-renders the documents of the given work reports from the current rows.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = INSERT + SELECT_WORK_REPORTS + " WHERE w.id IN (:ids)" + ON_DUPLICATE, nativeQuery = true)
+    int indexWorkReports(@Param("ids") Collection<String> ids);
+
+    @Transactional
+    @Modifying
+    @Query(value = INSERT + SELECT_COMPLAINTS + ON_DUPLICATE, nativeQuery = true)
+    int rebuildFromComplaints();
+
+    @Transactional
+    @Modifying
+    @Query(value = INSERT + SELECT_WORK_REPORTS + ON_DUPLICATE, nativeQuery = true)
+    int rebuildFromWorkReports();
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM search_documents WHERE doc_type = :docType AND doc_id = :docId", nativeQuery = true)
+    void deleteDocument(@Param("docType") String docType, @Param("docId") String docId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM search_documents", nativeQuery = true)
+    void deleteAllRows();
+
+    @Query(value = """
+            SELECT COUNT(*) FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'search_documents' AND index_name = '"""
+            + FULLTEXT_INDEX + "'", nativeQuery = true)
+    long countFulltextIndex();
+
+    /**
+     * DDL; MySQL commits implicitly around it.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "ALTER TABLE search_documents ADD FULLTEXT INDEX " + FULLTEXT_INDEX + " (content)",
+            nativeQuery = true)
+    void createFulltextIndex();
+}
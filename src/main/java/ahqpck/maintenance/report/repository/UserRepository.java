@@ -1,5 +1,6 @@
 package ahqpck.maintenance.report.repository;
 
+import ahqpck.maintenance.report.dto.UserOptionDTO;
 import ahqpck.maintenance.report.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -7,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -21,9 +24,27 @@ public interface UserRepository extends JpaRepository<User, String>, JpaSpecific
     @Query("SELECT u FROM User u WHERE u.employeeId = :employeeId")
     Optional<User> findByEmployeeId(@Param("employeeId") String employeeId);
 
+    List<User> findByEmployeeIdIn(Collection<String> employeeIds);
+
     Optional<User> findByPasswordResetToken(String token);
 
     boolean existsByEmailIgnoringCase(String email);
 
     boolean existsByEmployeeIdIgnoringCase(String employeeId);
-}
\ No newline at end of file
+
+    // Case-insensitive under the column's default collation, like the lookups by employee id
+    @Query("SELECT u.employeeId FROM User u WHERE u.employeeId IN :employeeIds")
+    List<String> findExistingEmployeeIds(@Param("employeeIds") Collection<String> employeeIds);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Row estimate from InnoDB statistics, no table scan (approximate list totals)
+    @Query(value = "SELECT TABLE_ROWS FROM information_schema.tables "
+            + "WHERE table_schema = DATABASE() AND table_name = 'users'", nativeQuery = true)
+    Long estimateRowCount();
+
+    @Query("SELECT new ahqpck.maintenance.report.dto.UserOptionDTO(u.id, u.employeeId, u.name) "
+            + "FROM User u ORDER BY u.name")
+    List<UserOptionDTO> findOptions();
+}
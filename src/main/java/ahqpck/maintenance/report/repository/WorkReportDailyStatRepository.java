@@ -0,0 +1,103 @@
+package ahqpck.maintenance.report.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.entity.WorkReportDailyStat;
+import ahqpck.maintenance.report.entity.WorkReportDailyStatId;
+
+@Repository
+public interface WorkReportDailyStatRepository extends JpaRepository<WorkReportDailyStat, WorkReportDailyStatId> {
+
+    /**
+     * Adds the given deltas to a rollup row, creating it when missing.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO work_report_daily_stats
+                (stat_date, status, category, equipment_code, report_count, total_time_minutes)
+            VALUES (:statDate, :status, :category, :equipmentCode, :countDelta, :minutesDelta)
+            ON DUPLICATE KEY UPDATE
+                report_count = report_count + VALUES(report_count),
+                total_time_minutes = total_time_minutes + VALUES(total_time_minutes)
+            """, nativeQuery = true)
+    void upsert(@Param("statDate") LocalDate statDate,
+            @Param("status") String status,
+            @Param("category") String category,
+            @Param("equipmentCode") String equipmentCode,
+            @Param("countDelta") long countDelta,
+            @Param("minutesDelta") long minutesDelta);
+
+    /**
+     * Deletes a rollup row whose count has dropped to zero, so moved and deleted rows do not
+     * leave empty buckets behind.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM work_report_daily_stats
+            WHERE stat_date = :statDate
+              AND status = :status
+              AND category = :category
+              AND equipment_code = :equipmentCode
+              AND report_count <= 0
+            """, nativeQuery = true)
+    void deleteIfEmpty(@Param("statDate") LocalDate statDate,
+            @Param("status") String status,
+            @Param("category") String category,
+            @Param("equipmentCode") String equipmentCode);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM work_report_daily_stats WHERE stat_date >= :from AND stat_date < :to", nativeQuery = true)
+    int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate toExclusive);
+
+    /** First day that has work reports or rollup rows, or null when both are empty. */
+    @Query(value = """
+            SELECT MIN(d) FROM (
+                SELECT MIN(stat_date) AS d FROM work_report_daily_stats
+                UNION ALL
+                SELECT MIN(report_date) FROM work_reports
+            ) bounds
+            """, nativeQuery = true)
+    LocalDate findFirstDay();
+
+    /** Last day that has work reports or rollup rows, or null when both are empty. */
+    @Query(value = """
+            SELECT MAX(d) FROM (
+                SELECT MAX(stat_date) AS d FROM work_report_daily_stats
+                UNION ALL
+                SELECT MAX(report_date) FROM work_reports
+            ) bounds
+            """, nativeQuery = true)
+    LocalDate findLastDay();
+
+    /**
+     * Recomputes the rollup rows of {@code [from, toExclusive)} from the work_reports table
+     * (backfill); the range must have been deleted first.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO work_report_daily_stats
+                (stat_date, status, category, equipment_code, report_count, total_time_minutes)
+            SELECT
+                wr.report_date,
+                wr.status,
+                wr.category,
+                TRIM(COALESCE(wr.equipment_code, '')),
+                COUNT(*),
+                COALESCE(SUM(wr.total_time_minutes), 0)
+            FROM work_reports wr
+            WHERE wr.report_date >= :from AND wr.report_date < :to
+            GROUP BY wr.report_date, wr.status, wr.category, TRIM(COALESCE(wr.equipment_code, ''))
+            """, nativeQuery = true)
+    int rebuildFromWorkReports(@Param("from") LocalDate from, @Param("to") LocalDate toExclusive);
+}
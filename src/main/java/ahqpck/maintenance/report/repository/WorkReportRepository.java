@@ -1,5 +1,9 @@
 package ahqpck.maintenance.report.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -17,6 +21,12 @@ import java.util.List;
 @Repository
 public interface WorkReportRepository extends JpaRepository<WorkReport, String>, JpaSpecificationExecutor<WorkReport> {
 
+    // List pages: joins what toDTO reads, as in ComplaintRepository; technicians and parts are batch fetched
+    @Override
+    @EntityGraph(attributePaths = {"area", "equipment", "supervisor"})
+    Page<WorkReport> findAll(Specification<WorkReport> spec, Pageable pageable);
+
+
     /**
      * Find all work reports by status
      */
@@ -77,4 +87,9 @@ public interface WorkReportRepository extends JpaRepository<WorkReport, String>,
      * Optional: check if a code exists (for uniqueness)
      */
     // boolean existsByCodeIgnoreCase(String code);
-}
\ No newline at end of file
+
+    // Row estimate from InnoDB statistics, no table scan (approximate list totals)
+    @Query(value = "SELECT TABLE_ROWS FROM information_schema.tables "
+            + "WHERE table_schema = DATABASE() AND table_name = 'work_reports'", nativeQuery = true)
+    Long estimateRowCount();
+}
@@ -12,10 +12,12 @@ import ahqpck.maintenance.report.repository.AreaRepository;
 import ahqpck.maintenance.report.repository.UserRepository;
 import ahqpck.maintenance.report.specification.AreaSpecification;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,6 +27,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -36,8 +40,18 @@ import java.util.stream.Collectors;
 public class AreaService {
 
     private final AreaRepository areaRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final UserRepository userRepository;
     private final ImportUtil importUtil;
+    private final ExportService exportService;
+
+    private static final List<ExportService.Column<Area>> EXPORT_COLUMNS = List.of(
+            new ExportService.Column<>("code", Area::getCode),
+            new ExportService.Column<>("name", Area::getName),
+            new ExportService.Column<>("status", Area::getStatus),
+            new ExportService.Column<>("responsiblePerson",
+                    a -> a.getResponsiblePerson() != null ? a.getResponsiblePerson().getEmployeeId() : null),
+            new ExportService.Column<>("description", Area::getDescription));
 
     public Page<AreaDTO> getAllAreas(String keyword, int page, int size, String sortBy, boolean asc) {
         Sort sort = asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
@@ -49,6 +63,15 @@ public class AreaService {
         return areaPage.map(this::toDTO);
     }
 
+    /**
+     * Writes every area matching the keyword to {@code out}, in list order.
+     */
+    public long exportAreas(String keyword, String sortBy, boolean asc, SpreadsheetWriter.Format format,
+            OutputStream out) throws IOException {
+        return exportService.export(Area.class, AreaSpecification.search(keyword), ExportService.sort(sortBy, asc),
+                List.of("responsiblePerson"), EXPORT_COLUMNS, format, "Areas", out);
+    }
+
     public AreaDTO getAreaById(String id) {
         Area area = areaRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Area not found with ID: " + id));
@@ -63,6 +86,7 @@ public class AreaService {
         Area area = new Area();
         mapToEntity(area, dto);
         areaRepository.save(area);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("areas"));
     }
 
     public void updateArea(AreaDTO dto) {
@@ -71,6 +95,7 @@ public class AreaService {
 
         mapToEntity(area, dto);
         areaRepository.save(area);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("areas"));
     }
 
     public void deleteArea(String id) {
@@ -78,9 +103,18 @@ public class AreaService {
                 .orElseThrow(() -> new NotFoundException("Area not found with ID: " + id));
 
         areaRepository.delete(area);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("areas"));
     }
 
     public ImportUtil.ImportResult importAreasFromExcel(List<Map<String, Object>> data) {
+        return importAreasFromExcel(data, 0);
+    }
+
+    /**
+     * Imports one chunk of a larger file; {@code rowOffset} is the number of data rows
+     * before this chunk, so error messages keep the row numbers of the whole file.
+     */
+    public ImportUtil.ImportResult importAreasFromExcel(List<Map<String, Object>> data, int rowOffset) {
         List<String> errorMessages = new ArrayList<>();
         int importedCount = 0;
 
@@ -136,7 +170,7 @@ public class AreaService {
 
             } catch (Exception e) {
                 String message = e.getMessage() != null ? e.getMessage() : "Unknown error";
-                errorMessages.add("Row " + (i + 1) + ": " + message);
+                errorMessages.add("Row " + (rowOffset + i + 1) + ": " + message);
             }
         }
 
@@ -0,0 +1,89 @@
+package ahqpck.maintenance.report.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import ahqpck.maintenance.report.dto.OptionDTO;
+import ahqpck.maintenance.report.dto.ReferenceDataDTO;
+import ahqpck.maintenance.report.util.PrefixIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Typeahead over users, areas, equipment and parts, matching word prefixes of their code
+ * and name.
+ *
+ * The indexes are built in memory from the {@link ReferenceDataService} snapshot and rebuilt
+ * when its version changes, so they follow entity writes without touching the database per
+ * keystroke. Users are returned with their employee ID as code.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutocompleteService {
+
+    public static final int MAX_LIMIT = 50;
+
+    private record Indexes(String version, Map<String, PrefixIndex<OptionDTO>> byType) {
+    }
+
+    private final ReferenceDataService referenceDataService;
+
+    private volatile Indexes indexes;
+
+    /**
+     * @param type users, areas, equipments or parts
+     * @return the best matches first; empty for a blank query
+     */
+    public List<OptionDTO> suggest(String type, String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        String normalizedType = type != null ? type.trim().toLowerCase(Locale.ROOT) : "";
+        PrefixIndex<OptionDTO> index = current().byType().get(normalizedType);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown autocomplete type: " + type + ". Use one of "
+                    + current().byType().keySet() + ".");
+        }
+        return index.search(query, limit);
+    }
+
+    private Indexes current() {
+        ReferenceDataDTO snapshot = referenceDataService.getSnapshot();
+        Indexes current = indexes;
+        if (current != null && current.version().equals(snapshot.getVersion())) {
+            return current;
+        }
+        synchronized (this) {
+            current = indexes;
+            if (current == null || !current.version().equals(snapshot.getVersion())) {
+                current = build(snapshot);
+                indexes = current;
+            }
+            return current;
+        }
+    }
+
+    private static Indexes build(ReferenceDataDTO snapshot) {
+        long started = System.nanoTime();
+        List<OptionDTO> users = snapshot.getUsers().stream()
+                .map(user -> new OptionDTO(user.getId(), user.getEmployeeId(), user.getName()))
+                .toList();
+        Indexes built = new Indexes(snapshot.getVersion(), Map.of(
+                "users", index(users),
+                "areas", index(snapshot.getAreas()),
+                "equipments", index(snapshot.getEquipments()),
+                "parts", index(snapshot.getParts())));
+        log.debug("Built autocomplete indexes for reference data {} in {} ms", snapshot.getVersion(),
+                (System.nanoTime() - started) / 1_000_000);
+        return built;
+    }
+
+    private static PrefixIndex<OptionDTO> index(List<OptionDTO> options) {
+        return PrefixIndex.build(options, option -> Arrays.asList(option.getCode(), option.getName()));
+    }
+}
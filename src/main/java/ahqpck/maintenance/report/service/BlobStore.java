@@ -0,0 +1,54 @@
+package ahqpck.maintenance.report.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Storage for uploaded files, addressed by content.
+ *
+ * {@link #put} names a blob after the SHA-256 of its bytes plus its extension
+ * ({@code <64 hex>.jpg}), so a file uploaded many times is stored once and a key never points at
+ * other content; that is what lets /blobs/{key} be cached forever. Files made from a blob, such
+ * as thumbnails, are stored with {@link #putDerived} under {@code <same hash>.<suffix>} keys and
+ * go away with it.
+ *
+ * Blobs may be shared by several rows, so callers never delete them; unreferenced blobs are
+ * removed by {@link ImageStorageService#cleanUp()}.
+ */
+public interface BlobStore {
+
+    Pattern KEY = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]+)+");
+
+    static boolean isKey(String value) {
+        return value != null && KEY.matcher(value).matches();
+    }
+
+    /** The content hash a key (or derived key) starts with. */
+    static String hashOf(String key) {
+        return key.substring(0, 64);
+    }
+
+    /**
+     * Stores the content unless the same bytes are already stored.
+     *
+     * @param extension lower-case file extension without the dot, e.g. "jpg"
+     * @return key of the blob
+     */
+    String put(InputStream content, String extension) throws IOException;
+
+    /** Stores a file made from blob {@code hashOf(key)}, replacing an earlier version. */
+    void putDerived(String key, byte[] content) throws IOException;
+
+    Optional<Resource> get(String key);
+
+    /** Calls {@code action} with the key and last store time of every blob and derived file. */
+    void forEach(BiConsumer<String, Instant> action) throws IOException;
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,172 @@
+package ahqpck.maintenance.report.service;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import ahqpck.maintenance.report.repository.CalendarDayRepository;
+
+/**
+ * Fills the calendar_days table and knows the shift times.
+ *
+ * The table is filled from {@code app.calendar.first-day} to {@code app.calendar.years-ahead}
+ * years after start-up and extended on demand when a dashboard asks for days outside it, but
+ * never past those bounds: days before the first day or further ahead than {@code years-ahead}
+ * years from today are not added, so their buckets stay empty.
+ * Shifts start at the whole hours in {@code app.calendar.shift-starts}; each runs until the next.
+ */
+@Service
+public class CalendarService {
+
+    private static final Logger log = LoggerFactory.getLogger(CalendarService.class);
+
+    private static final String INSERT_SQL = "INSERT IGNORE INTO calendar_days "
+            + "(day, year, quarter, month, iso_year, iso_week, day_of_week, week_start, month_start, quarter_start) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CalendarDayRepository calendarDayRepository;
+    private final LocalDate firstDay;
+    private final int yearsAhead;
+    private final List<LocalTime> shiftStarts;
+
+    // days known to be in the table, both inclusive; null until first checked
+    private volatile LocalDate coveredFrom;
+    private volatile LocalDate coveredTo;
+
+    public CalendarService(JdbcTemplate jdbcTemplate, CalendarDayRepository calendarDayRepository,
+            @Value("${app.calendar.first-day:2015-01-01}") String firstDay,
+            @Value("${app.calendar.years-ahead:5}") int yearsAhead,
+            @Value("${app.calendar.shift-starts:07:00,15:00,23:00}") String shiftStarts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.calendarDayRepository = calendarDayRepository;
+        this.firstDay = LocalDate.parse(firstDay.trim());
+        this.yearsAhead = yearsAhead;
+        this.shiftStarts = parseShiftStarts(shiftStarts);
+    }
+
+    public void initialize() {
+        ensureCovered(firstDay, LocalDate.now().plusYears(yearsAhead));
+    }
+
+    /** Shift start times in order; at least one. */
+    public List<LocalTime> getShiftStarts() {
+        return shiftStarts;
+    }
+
+    /**
+     * Makes sure calendar_days has a row for every day from {@code from} to {@code to} inclusive,
+     * as far as the range lies within the calendar's bounds.
+     */
+    public void ensureCovered(LocalDate from, LocalDate to) {
+        LocalDate lastDay = LocalDate.now().plusYears(yearsAhead);
+        if (from.isBefore(firstDay)) {
+            from = firstDay;
+        }
+        if (to.isAfter(lastDay)) {
+            to = lastDay;
+        }
+        if (from.isAfter(to)) {
+            return;
+        }
+        LocalDate knownFrom = coveredFrom;
+        LocalDate knownTo = coveredTo;
+        if (knownFrom != null && !from.isBefore(knownFrom) && !to.isAfter(knownTo)) {
+            return;
+        }
+        synchronized (this) {
+            if (coveredFrom == null) {
+                coveredFrom = calendarDayRepository.findFirstDay();
+                coveredTo = calendarDayRepository.findLastDay();
+            }
+            if (coveredFrom == null) {
+                insert(from, to);
+                coveredTo = to;
+                coveredFrom = from;
+                return;
+            }
+            if (from.isBefore(coveredFrom)) {
+                insert(from, coveredFrom.minusDays(1));
+                coveredFrom = from;
+            }
+            if (to.isAfter(coveredTo)) {
+                insert(coveredTo.plusDays(1), to);
+                coveredTo = to;
+            }
+        }
+    }
+
+    private void insert(LocalDate from, LocalDate to) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int inserted = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            batch.add(row(day));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                inserted += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            inserted += batch.size();
+        }
+        log.info("Calendar filled from {} to {} ({} day(s))", from, to, inserted);
+    }
+
+    private static Object[] row(LocalDate day) {
+        int quarter = (day.getMonthValue() - 1) / 3 + 1;
+        LocalDate weekStart = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate monthStart = day.withDayOfMonth(1);
+        LocalDate quarterStart = LocalDate.of(day.getYear(), (quarter - 1) * 3 + 1, 1);
+        return new Object[] {
+                Date.valueOf(day),
+                day.getYear(),
+                quarter,
+                day.getMonthValue(),
+                day.get(IsoFields.WEEK_BASED_YEAR),
+                day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR),
+                day.getDayOfWeek().getValue(),
+                Date.valueOf(weekStart),
+                Date.valueOf(monthStart),
+                Date.valueOf(quarterStart)
+        };
+    }
+
+    private static List<LocalTime> parseShiftStarts(String value) {
+        try {
+            List<LocalTime> starts = Arrays.stream(value.split(","))
+                    .map(String::trim)
+                    .filter(start -> !start.isEmpty())
+                    .map(LocalTime::parse)
+                    .sorted()
+                    .distinct()
+                    .toList();
+            if (starts.isEmpty()) {
+                throw new IllegalArgumentException("app.calendar.shift-starts must list at least one time");
+            }
+            // shift buckets are summed from hourly counts
+            if (starts.stream().anyMatch(start -> start.getMinute() != 0 || start.getSecond() != 0)) {
+                throw new IllegalArgumentException("app.calendar.shift-starts must be whole hours: " + value);
+            }
+            return starts;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid app.calendar.shift-starts: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.entity.Area;
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.entity.Equipment;
+import ahqpck.maintenance.report.entity.User;
+import ahqpck.maintenance.report.repository.AreaRepository;
+import ahqpck.maintenance.report.repository.ComplaintRepository;
+import ahqpck.maintenance.report.repository.EquipmentRepository;
+import ahqpck.maintenance.report.repository.UserRepository;
+import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.ZeroPaddedCodeGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Set-based complaint import.
+ *
+ * Rows are parsed and validated in memory, every referenced user, area and equipment is
+ * resolved with a few {@code IN (...)} queries, codes are allocated as one block, and the
+ * complaints are written in chunks of {@value #CHUNK_SIZE}, each in its own transaction
+ * with JDBC batching. If a chunk fails, its rows are retried one by one so the error
+ * report still points at the offending rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class ComplaintImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintImportService.class);
+
+    static final int CHUNK_SIZE = 500;
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+    private static final String CODE_PREFIX = "CP";
+
+    private final ComplaintRepository complaintRepository;
+    private final UserRepository userRepository;
+    private final AreaRepository areaRepository;
+    private final EquipmentRepository equipmentRepository;
+
+    private final DashboardRollupService dashboardRollupService;
+    private final SearchIndexService searchIndexService;
+
+    private final ImportUtil importUtil;
+    private final ZeroPaddedCodeGenerator codeGenerator;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private record ParsedRow(int rowNumber, String code, LocalDateTime reportDate, Complaint.Priority priority,
+            Complaint.Category category, Complaint.Status status, String reporter, String assignee, String area,
+            String equipment, String subject, String description, String actionTaken, LocalDateTime closeTime,
+            Integer totalTimeMinutes) {
+    }
+
+    /** Reference data for one import, keyed by upper-cased code / employee id. */
+    private record References(Map<String, User> users, Map<String, Area> areas, Map<String, Equipment> equipments,
+            Set<String> existingCodes) {
+    }
+
+    public ImportUtil.ImportResult importComplaints(List<Map<String, Object>> data) {
+        return importComplaints(data, 0, new ImportUtil.ParseContext());
+    }
+
+    /**
+     * Imports one chunk of a larger file; {@code rowOffset} is the number of data rows before
+     * this chunk, so error messages keep the row numbers of the whole file.
+     * {@code dates} is shared by all chunks of the file, so each date column keeps one format.
+     */
+    public ImportUtil.ImportResult importComplaints(List<Map<String, Object>> data, int rowOffset,
+            ImportUtil.ParseContext dates) {
+        if (data == null || data.isEmpty()) {
+            throw new IllegalArgumentException("No data to import.");
+        }
+
+        TreeMap<Integer, String> errors = new TreeMap<>();
+
+        // 1. Parse every row in memory
+        List<ParsedRow> parsed = new ArrayList<>(data.size());
+        for (int i = 0; i < data.size(); i++) {
+            try {
+                parsed.add(parseRow(rowOffset + i + 1, data.get(i), dates));
+            } catch (Exception e) {
+                errors.put(rowOffset + i + 1, messageOf(e));
+            }
+        }
+
+        // 2. Resolve all references at once
+        References refs = loadReferences(parsed);
+
+        // 3. Validate against the references and against earlier rows of the same file
+        List<ParsedRow> valid = new ArrayList<>(parsed.size());
+        Set<String> codesInFile = new HashSet<>();
+        for (ParsedRow row : parsed) {
+            try {
+                validate(row, refs, codesInFile);
+                valid.add(row);
+            } catch (IllegalArgumentException e) {
+                errors.put(row.rowNumber(), messageOf(e));
+            }
+        }
+
+        // 4. Allocate codes for rows without one in a single step
+        Iterator<String> generatedCodes = allocateCodes(valid);
+
+        List<Complaint> complaints = new ArrayList<>(valid.size());
+        List<Integer> rowNumbers = new ArrayList<>(valid.size());
+        for (ParsedRow row : valid) {
+            complaints.add(toEntity(row, refs, row.code() != null ? row.code() : generatedCodes.next()));
+            rowNumbers.add(row.rowNumber());
+        }
+
+        // 5. Persist in chunked transactions
+        int importedCount = 0;
+        for (int from = 0; from < complaints.size(); from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, complaints.size());
+            importedCount += persistChunk(complaints.subList(from, to), rowNumbers.subList(from, to), errors);
+        }
+
+        log.info("Complaint import finished: {} imported, {} rejected", importedCount, errors.size());
+
+        List<String> errorMessages = new ArrayList<>(errors.size());
+        errors.forEach((rowNumber, message) -> errorMessages.add("Row " + rowNumber + ": " + message));
+        return new ImportUtil.ImportResult(importedCount, errorMessages);
+    }
+
+    private ParsedRow parseRow(int rowNumber, Map<String, Object> row, ImportUtil.ParseContext dates) {
+        // === REQUIRED FIELDS (match @NotNull in DTO) ===
+
+        LocalDateTime reportDate = dates.toLocalDateTime(row, "reportDate");
+        if (reportDate == null) {
+            throw new IllegalArgumentException("Report date is mandatory");
+        }
+
+        String priorityStr = importUtil.toString(row.get("priority"));
+        if (priorityStr == null || priorityStr.trim().isEmpty()) {
+            throw new IllegalArgumentException("Priority is mandatory");
+        }
+        Complaint.Priority priority;
+        try {
+            priority = Complaint.Priority.valueOf(priorityStr.trim().toUpperCase());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid Priority: " + priorityStr + ". Use: LOW, MEDIUM, HIGH");
+        }
+
+        String categoryStr = importUtil.toString(row.get("category"));
+        if (categoryStr == null || categoryStr.trim().isEmpty()) {
+            throw new IllegalArgumentException("Category is mandatory");
+        }
+        Complaint.Category category;
+        try {
+            category = Complaint.Category.valueOf(categoryStr.trim().toUpperCase());
+        } catch (Exception e) {
+            throw new IllegalArgumentException(
+                    "Invalid Category: " + categoryStr + ". Use: MECHANICAL, ELECTRICAL, IT");
+        }
+
+        String reporter = trimToNull(importUtil.toString(row.get("reporter")));
+        if (reporter == null) {
+            throw new IllegalArgumentException("Reporter is mandatory");
+        }
+
+        // === OPTIONAL FIELDS ===
+
+        Complaint.Status status = null;
+        String statusStr = importUtil.toString(row.get("status"));
+        if (statusStr != null && !statusStr.trim().isEmpty()) {
+            try {
+                status = Complaint.Status.valueOf(statusStr.trim().toUpperCase());
+            } catch (Exception ignored) {
+                throw new IllegalArgumentException(
+                        "Invalid Status: " + statusStr + ". Use: OPEN, PENDING, CLOSED");
+            }
+        }
+
+        return new ParsedRow(
+                rowNumber,
+                trimToNull(importUtil.toString(row.get("code"))),
+                reportDate,
+                priority,
+                category,
+                status,
+                reporter,
+                trimToNull(importUtil.toString(row.get("assignee"))),
+                trimToNull(importUtil.toString(row.get("area"))),
+                trimToNull(importUtil.toString(row.get("equipment"))),
+                importUtil.toString(row.get("subject")),
+                importUtil.toString(row.get("description")),
+                importUtil.toString(row.get("actionTaken")),
+                dates.toLocalDateTime(row, "closeTime"),
+                importUtil.toDurationInMinutes(row.get("totalTimeMinutes")));
+    }
+
+    private References loadReferences(List<ParsedRow> rows) {
+        Set<String> employeeIds = new LinkedHashSet<>();
+        Set<String> areaCodes = new LinkedHashSet<>();
+        Set<String> equipmentCodes = new LinkedHashSet<>();
+        Set<String> codes = new LinkedHashSet<>();
+
+        for (ParsedRow row : rows) {
+            employeeIds.add(row.reporter());
+            if (row.assignee() != null) {
+                employeeIds.add(row.assignee());
+            }
+            if (row.area() != null) {
+                areaCodes.add(row.area());
+            }
+            if (row.equipment() != null) {
+                equipmentCodes.add(row.equipment());
+            }
+            if (row.code() != null) {
+                codes.add(row.code());
+            }
+        }
+
+        Map<String, User> users = new HashMap<>();
+        for (User user : findInBatches(employeeIds, userRepository::findByEmployeeIdIn)) {
+            users.put(key(user.getEmployeeId()), user);
+        }
+        Map<String, Area> areas = new HashMap<>();
+        for (Area area : findInBatches(areaCodes, areaRepository::findByCodeIn)) {
+            areas.put(key(area.getCode()), area);
+        }
+        Map<String, Equipment> equipments = new HashMap<>();
+        for (Equipment equipment : findInBatches(equipmentCodes, equipmentRepository::findByCodeIn)) {
+            equipments.put(key(equipment.getCode()), equipment);
+        }
+        Set<String> existingCodes = new HashSet<>();
+        for (String code : findInBatches(codes, complaintRepository::findExistingCodes)) {
+            existingCodes.add(key(code));
+        }
+
+        return new References(users, areas, equipments, existingCodes);
+    }
+
+    private void validate(ParsedRow row, References refs, Set<String> codesInFile) {
+        if (!refs.users().containsKey(key(row.reporter()))) {
+            throw new IllegalArgumentException("Reporter not found with employeeId: " + row.reporter());
+        }
+        if (row.assignee() != null && !refs.users().containsKey(key(row.assignee()))) {
+            throw new IllegalArgumentException("Assignee not found with employeeId: " + row.assignee());
+        }
+        if (row.area() != null && !refs.areas().containsKey(key(row.area()))) {
+            throw new IllegalArgumentException("Area not found with code: " + row.area());
+        }
+        if (row.equipment() != null && !refs.equipments().containsKey(key(row.equipment()))) {
+            throw new IllegalArgumentException("Equipment not found with code: " + row.equipment());
+        }
+        if (row.code() != null) {
+            String code = key(row.code());
+            if (refs.existingCodes().contains(code) || !codesInFile.add(code)) {
+                throw new IllegalArgumentException("Duplicate complaint code: " + row.code());
+            }
+        }
+    }
+
+    /**
+     * One sequence reservation for the whole file. The sequence is first moved past the
+     * explicit codes of the file, so generated codes cannot collide with them.
+     */
+    private Iterator<String> allocateCodes(List<ParsedRow> rows) {
+        List<String> explicitCodes = rows.stream().map(ParsedRow::code).filter(Objects::nonNull).toList();
+        if (!explicitCodes.isEmpty()) {
+            codeGenerator.advancePast(Complaint.class, "code", CODE_PREFIX, explicitCodes);
+        }
+
+        int needed = rows.size() - explicitCodes.size();
+        if (needed == 0) {
+            return Collections.emptyIterator();
+        }
+        return codeGenerator.generate(Complaint.class, "code", CODE_PREFIX, needed).iterator();
+    }
+
+    private Complaint toEntity(ParsedRow row, References refs, String code) {
+        Complaint complaint = new Complaint();
+        complaint.setCode(code);
+        complaint.setReportDate(row.reportDate());
+        complaint.setPriority(row.priority());
+        complaint.setCategory(row.category());
+        complaint.setStatus(row.status());
+        complaint.setSubject(row.subject());
+        complaint.setDescription(row.description());
+        complaint.setActionTaken(row.actionTaken());
+        complaint.setCloseTime(row.closeTime());
+        complaint.setTotalTimeMinutes(row.totalTimeMinutes());
+        complaint.setReporter(refs.users().get(key(row.reporter())));
+        complaint.setAssignee(row.assignee() != null ? refs.users().get(key(row.assignee())) : null);
+        complaint.setArea(row.area() != null ? refs.areas().get(key(row.area())) : null);
+        complaint.setEquipment(row.equipment() != null ? refs.equipments().get(key(row.equipment())) : null);
+        return complaint;
+    }
+
+    /**
+     * Writes one chunk in a single transaction. On failure the chunk is rolled back and its
+     * rows are retried individually so only the bad rows are reported.
+     */
+    private int persistChunk(List<Complaint> chunk, List<Integer> rowNumbers, Map<Integer, String> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveAndRecord(chunk));
+            return chunk.size();
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Complaint import chunk of {} rows failed, retrying row by row: {}",
+                    chunk.size(), rootMessageOf(chunkFailure));
+        }
+
+        int imported = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            Complaint complaint = chunk.get(i);
+            // The rolled back attempt may have assigned an id in @PrePersist
+            complaint.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveAndRecord(List.of(complaint)));
+                imported++;
+            } catch (RuntimeException e) {
+                errors.put(rowNumbers.get(i), rootMessageOf(e));
+            }
+        }
+        return imported;
+    }
+
+    private void saveAndRecord(List<Complaint> complaints) {
+        complaintRepository.saveAll(complaints);
+        complaintRepository.flush();
+
+        List<DashboardRollupService.ComplaintFacts> facts = new ArrayList<>(complaints.size());
+        List<String> ids = new ArrayList<>(complaints.size());
+        for (Complaint complaint : complaints) {
+            facts.add(DashboardRollupService.ComplaintFacts.of(complaint));
+            ids.add(complaint.getId());
+        }
+        dashboardRollupService.recordNewComplaints(facts);
+        searchIndexService.indexComplaints(ids);
+
+        // Keep the persistence context small across chunks
+        complaints.forEach(entityManager::detach);
+    }
+
+    private static <T> List<T> findInBatches(Collection<String> keys, Function<Collection<String>, List<T>> finder) {
+        List<T> result = new ArrayList<>();
+        List<String> all = new ArrayList<>(keys);
+        for (int from = 0; from < all.size(); from += LOOKUP_BATCH_SIZE) {
+            result.addAll(finder.apply(all.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, all.size()))));
+        }
+        return result;
+    }
+
+    private static String key(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private static String messageOf(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : "Unknown error";
+    }
+
+    // Persistence failures wrap the useful message (e.g. a constraint violation) several levels deep
+    private static String rootMessageOf(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String message = root.getMessage() != null ? root.getMessage() : e.getMessage();
+        return message != null ? message : "Unknown error";
+    }
+}
@@ -3,6 +3,7 @@ package ahqpck.maintenance.report.service;
 import ahqpck.maintenance.report.dto.AreaDTO;
 import ahqpck.maintenance.report.dto.ComplaintDTO;
 import ahqpck.maintenance.report.dto.ComplaintPartDTO;
+import ahqpck.maintenance.report.dto.CursorPageDTO;
 import ahqpck.maintenance.report.dto.EquipmentDTO;
 import ahqpck.maintenance.report.dto.PartDTO;
 import ahqpck.maintenance.report.dto.UserDTO;
@@ -12,6 +13,7 @@ import ahqpck.maintenance.report.entity.ComplaintPart;
 import ahqpck.maintenance.report.entity.ComplaintPartId;
 import ahqpck.maintenance.report.entity.Equipment;
 import ahqpck.maintenance.report.entity.Part;
+import ahqpck.maintenance.report.entity.PartStockMovement;
 import ahqpck.maintenance.report.entity.User;
 import ahqpck.maintenance.report.exception.NotFoundException;
 import ahqpck.maintenance.report.repository.AreaRepository;
@@ -20,25 +22,30 @@ import ahqpck.maintenance.report.repository.EquipmentRepository;
 import ahqpck.maintenance.report.repository.PartRepository;
 import ahqpck.maintenance.report.repository.UserRepository;
 import ahqpck.maintenance.report.specification.ComplaintSpecification;
-import ahqpck.maintenance.report.util.FileUploadUtil;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.KeysetCursor;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
 import ahqpck.maintenance.report.util.ZeroPaddedCodeGenerator;
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -48,38 +55,113 @@ import org.slf4j.LoggerFactory;
 @RequiredArgsConstructor
 public class ComplaintService {
 
-    @Value("${app.upload-complaint-image-before.dir:src/main/resources/static/upload/complaint/image/before}")
-    private String uploadBeforeDir;
-
-    @Value("${app.upload-complaint-image-after.dir:src/main/resources/static/upload/complaint/image/after}")
-    private String uploadAfterDir;
-
     private static final Logger log = LoggerFactory.getLogger(ComplaintService.class);
 
+    /** Columns the complaint list can be cursor paged by. */
+    private static final Map<String, Function<String, ?>> CURSOR_SORT_KEYS = Map.of(
+            "reportDate", LocalDateTime::parse,
+            "updatedAt", LocalDateTime::parse,
+            "code", Function.identity());
+
+    /** To-one associations read by toDTO and the export, fetched in the list query itself. */
+    private static final List<String> LIST_FETCHES = List.of("reporter", "assignee", "area", "equipment");
+
+    private static final List<ExportService.Column<Complaint>> EXPORT_COLUMNS = List.of(
+            new ExportService.Column<>("code", Complaint::getCode),
+            new ExportService.Column<>("reportDate", Complaint::getReportDate),
+            new ExportService.Column<>("subject", Complaint::getSubject),
+            new ExportService.Column<>("description", Complaint::getDescription),
+            new ExportService.Column<>("priority", Complaint::getPriority),
+            new ExportService.Column<>("category", Complaint::getCategory),
+            new ExportService.Column<>("status", Complaint::getStatus),
+            new ExportService.Column<>("reporter", c -> c.getReporter() != null ? c.getReporter().getEmployeeId() : null),
+            new ExportService.Column<>("assignee", c -> c.getAssignee() != null ? c.getAssignee().getEmployeeId() : null),
+            new ExportService.Column<>("area", c -> c.getArea() != null ? c.getArea().getCode() : null),
+            new ExportService.Column<>("equipment", c -> c.getEquipment() != null ? c.getEquipment().getCode() : null),
+            new ExportService.Column<>("actionTaken", Complaint::getActionTaken),
+            new ExportService.Column<>("closeTime", Complaint::getCloseTime),
+            new ExportService.Column<>("totalTimeMinutes", Complaint::getTotalTimeMinutes));
+
     private final ComplaintRepository complaintRepository;
     private final UserRepository userRepository;
     private final EquipmentRepository equipmentRepository;
     private final AreaRepository areaRepository;
     private final PartRepository partRepository;
 
-    private final FileUploadUtil fileUploadUtil;
-    private final ImportUtil importUtil;
+    private final DashboardRollupService dashboardRollupService;
+    private final SearchIndexService searchIndexService;
+    private final InventoryService inventoryService;
+    private final ExportService exportService;
+    private final ComplaintImportService complaintImportService;
+
+    private final ImageStorageService imageStorageService;
     private final ZeroPaddedCodeGenerator codeGenerator;
 
     public Page<ComplaintDTO> getAllComplaints(String keyword, LocalDateTime reportDateFrom, LocalDateTime reportDateTo,
             String assigneeEmpId, Complaint.Status status, String equipmentCode, int page, int size, String sortBy,
             boolean asc) {
-        Sort sort = asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        boolean byRelevance = SearchIndexService.RELEVANCE_SORT.equals(sortBy);
+        Sort sort = byRelevance ? Sort.unsorted() : asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Specification<Complaint> spec = ComplaintSpecification.search(keyword)
+        Specification<Complaint> spec = filter(keyword, reportDateFrom, reportDateTo, assigneeEmpId, status,
+                equipmentCode, byRelevance);
+        Page<Complaint> complaintPage = complaintRepository.findAll(spec, pageable);
+
+        return complaintPage.map(this::toDTO);
+    }
+
+    /**
+     * Keyset paged variant of {@link #getAllComplaints}: no OFFSET and no COUNT query.
+     *
+     * @param cursor    {@code nextCursor} of the previous page, blank for the first page
+     * @param withTotal also return a total (exact when filtered, the table estimate otherwise)
+     */
+    public CursorPageDTO<ComplaintDTO> scrollComplaints(String keyword, LocalDateTime reportDateFrom,
+            LocalDateTime reportDateTo, String assigneeEmpId, Complaint.Status status, String equipmentCode,
+            String cursor, int size, String sortBy, boolean asc, boolean withTotal) {
+        Specification<Complaint> spec = filter(keyword, reportDateFrom, reportDateTo, assigneeEmpId, status,
+                equipmentCode, false);
+        CursorPageDTO<ComplaintDTO> result = KeysetCursor.scroll(complaintRepository, spec, cursor, size, sortBy, asc,
+                CURSOR_SORT_KEYS, LIST_FETCHES, this::toDTO);
+
+        if (withTotal) {
+            boolean filtered = (keyword != null && !keyword.isBlank()) || reportDateFrom != null
+                    || reportDateTo != null || (assigneeEmpId != null && !assigneeEmpId.isBlank()) || status != null
+                    || (equipmentCode != null && !equipmentCode.isBlank());
+            result.setTotal(filtered ? complaintRepository.count(spec) : complaintRepository.estimateRowCount());
+            result.setTotalExact(filtered);
+        }
+        return result;
+    }
+
+    /** Whether the list can be cursor paged when sorted by {@code sortBy}. */
+    public boolean isCursorSortable(String sortBy) {
+        return CURSOR_SORT_KEYS.containsKey(sortBy);
+    }
+
+    /**
+     * Writes every complaint matching the list filters to {@code out}, in list order.
+     * Columns use the import keys so the file can be imported again.
+     */
+    public long exportComplaints(String keyword, LocalDateTime reportDateFrom, LocalDateTime reportDateTo,
+            String assigneeEmpId, Complaint.Status status, String equipmentCode, String sortBy, boolean asc,
+            SpreadsheetWriter.Format format, OutputStream out) throws IOException {
+        boolean byRelevance = SearchIndexService.RELEVANCE_SORT.equals(sortBy);
+        Specification<Complaint> spec = filter(keyword, reportDateFrom, reportDateTo, assigneeEmpId, status,
+                equipmentCode, byRelevance);
+        return exportService.export(Complaint.class, spec,
+                byRelevance ? Sort.unsorted() : ExportService.sort(sortBy, asc),
+                LIST_FETCHES, EXPORT_COLUMNS, format, "Complaints", out);
+    }
+
+    private Specification<Complaint> filter(String keyword, LocalDateTime reportDateFrom, LocalDateTime reportDateTo,
+            String assigneeEmpId, Complaint.Status status, String equipmentCode, boolean byRelevance) {
+        return searchIndexService.searchComplaints(keyword, byRelevance)
                 .and(ComplaintSpecification.withReportDateRange(reportDateFrom, reportDateTo))
                 .and(ComplaintSpecification.withAssignee(assigneeEmpId))
                 .and(ComplaintSpecification.withStatus(status))
                 .and(ComplaintSpecification.withEquipment(equipmentCode));
-        Page<Complaint> complaintPage = complaintRepository.findAll(spec, pageable);
-
-        return complaintPage.map(this::toDTO);
     }
 
     public ComplaintDTO getComplaintById(String id) {
@@ -88,39 +170,47 @@ public class ComplaintService {
         return toDTO(complaint);
     }
 
+    @Transactional
     public void createComplaint(ComplaintDTO dto, MultipartFile imageBefore) {
         Complaint complaint = new Complaint();
 
         if (dto.getCode() == null || dto.getCode().trim().isEmpty()) {
             String generatedCode = codeGenerator.generate(Complaint.class, "code", "CP");
             complaint.setCode(generatedCode);
+        } else {
+            complaint.setCode(dto.getCode().trim());
+            codeGenerator.advancePast(Complaint.class, "code", "CP", complaint.getCode());
         }
 
-        System.out.println("check dto " + dto);
-
         mapToEntity(complaint, dto);
 
         if (imageBefore != null && !imageBefore.isEmpty()) {
             try {
-                String fileName = fileUploadUtil.saveFile(uploadBeforeDir, imageBefore, "image");
+                String fileName = imageStorageService.store(imageBefore);
                 complaint.setImageBefore(fileName);
             } catch (IOException e) {
                 throw new IllegalArgumentException("Failed to save image: " + e.getMessage());
             }
         }
 
-        complaintRepository.save(complaint);
+        complaintRepository.saveAndFlush(complaint);
+        syncPartsInventory(complaint);
+        dashboardRollupService.recordComplaint(null, DashboardRollupService.ComplaintFacts.of(complaint));
+        searchIndexService.indexComplaints(List.of(complaint.getId()));
     }
 
+    @Transactional
     public void updateComplaint(ComplaintDTO dto, MultipartFile imageBefore, MultipartFile imageAfter,
             Boolean deleteImageBefore,
             Boolean deleteImageAfter) {
         Complaint complaint = complaintRepository.findById(dto.getId())
                 .orElseThrow(() -> new NotFoundException("Complaint not found with ID: " + dto.getId()));
 
+        DashboardRollupService.ComplaintFacts before = DashboardRollupService.ComplaintFacts.of(complaint);
+        Complaint.Status oldStatus = complaint.getStatus();
+
         mapToEntity(complaint, dto);
 
-        Complaint.Status oldStatus = complaint.getStatus();
         Complaint.Status newStatus = dto.getStatus();
 
         if (newStatus != null && newStatus != oldStatus) {
@@ -129,14 +219,10 @@ public class ComplaintService {
 
         String oldBeforeImage = complaint.getImageBefore();
         if (deleteImageBefore && oldBeforeImage != null) {
-            fileUploadUtil.deleteFile(uploadBeforeDir, oldBeforeImage);
             complaint.setImageBefore(null);
         } else if (imageBefore != null && !imageBefore.isEmpty()) {
             try {
-                String newImage = fileUploadUtil.saveFile(uploadBeforeDir, imageBefore, "image");
-                if (oldBeforeImage != null) {
-                    fileUploadUtil.deleteFile(uploadBeforeDir, oldBeforeImage);
-                }
+                String newImage = imageStorageService.store(imageBefore);
                 complaint.setImageBefore(newImage);
             } catch (IOException e) {
                 throw new IllegalArgumentException("Failed to save image: " + e.getMessage());
@@ -145,141 +231,50 @@ public class ComplaintService {
 
         String oldAfterImage = complaint.getImageAfter();
         if (deleteImageAfter && oldAfterImage != null) {
-            fileUploadUtil.deleteFile(uploadAfterDir, oldAfterImage);
             complaint.setImageAfter(null);
         } else if (imageAfter != null && !imageAfter.isEmpty()) {
             try {
-                String newImage = fileUploadUtil.saveFile(uploadAfterDir, imageAfter, "image");
-                if (oldAfterImage != null) {
-                    fileUploadUtil.deleteFile(uploadAfterDir, oldAfterImage);
-                }
+                String newImage = imageStorageService.store(imageAfter);
                 complaint.setImageAfter(newImage);
             } catch (IOException e) {
                 throw new IllegalArgumentException("Failed to save image: " + e.getMessage());
             }
         }
 
-        complaintRepository.save(complaint);
+        // Flush first so @PreUpdate has recomputed totalTimeMinutes before the rollup is taken
+        complaintRepository.saveAndFlush(complaint);
+        syncPartsInventory(complaint);
+        dashboardRollupService.recordComplaint(before, DashboardRollupService.ComplaintFacts.of(complaint));
+        searchIndexService.indexComplaints(List.of(complaint.getId()));
     }
 
+    @Transactional
     public void deleteComplaint(String id) {
         Complaint complaint = complaintRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Complaint not found with ID: " + id));
 
+        DashboardRollupService.ComplaintFacts before = DashboardRollupService.ComplaintFacts.of(complaint);
+        // Return the parts the complaint still holds to stock, in the same transaction as the delete
+        inventoryService.syncHeldParts(PartStockMovement.SourceType.COMPLAINT, id, Map.of());
         complaintRepository.delete(complaint);
+        dashboardRollupService.recordComplaint(before, null);
+        searchIndexService.removeComplaint(id);
     }
 
     public ImportUtil.ImportResult importComplaintsFromExcel(List<Map<String, Object>> data) {
-        List<String> errorMessages = new ArrayList<>();
-        int importedCount = 0;
-
-        if (data == null || data.isEmpty()) {
-            throw new IllegalArgumentException("No data to import.");
-        }
-
-        for (int i = 0; i < data.size(); i++) {
-            Map<String, Object> row = data.get(i);
-            try {
-                ComplaintDTO dto = new ComplaintDTO();
-
-                // === REQUIRED FIELDS (match @NotNull in DTO) ===
-
-                dto.setReportDate(importUtil.toLocalDateTime(row.get("reportDate")));
-                if (dto.getReportDate() == null) {
-                    throw new IllegalArgumentException("Report date is mandatory");
-                }
-
-                String priorityStr = importUtil.toString(row.get("priority"));
-                if (priorityStr == null || priorityStr.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Priority is mandatory");
-                }
-                try {
-                    dto.setPriority(Complaint.Priority.valueOf(priorityStr.trim().toUpperCase()));
-                } catch (Exception e) {
-                    throw new IllegalArgumentException("Invalid Priority: " + priorityStr + ". Use: LOW, MEDIUM, HIGH");
-                }
-
-                String categoryStr = importUtil.toString(row.get("category"));
-                if (categoryStr == null || categoryStr.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Category is mandatory");
-                }
-                try {
-                    dto.setCategory(Complaint.Category.valueOf(categoryStr.trim().toUpperCase()));
-                } catch (Exception e) {
-                    throw new IllegalArgumentException(
-                            "Invalid Category: " + categoryStr + ". Use: MECHANICAL, ELECTRICAL, IT");
-                }
-
-                String reporterEmpId = importUtil.toString(row.get("reporter"));
-                if (reporterEmpId == null || reporterEmpId.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Reporter is mandatory");
-                }
-                UserDTO reporterDTO = new UserDTO();
-                reporterDTO.setEmployeeId(reporterEmpId.trim());
-                dto.setReporter(reporterDTO);
-
-                // === OPTIONAL FIELDS ===
-
-                String code = importUtil.toString(row.get("code"));
-                if (code != null && !code.trim().isEmpty()) {
-                    dto.setCode(code.trim());
-                    if (complaintRepository.existsByCodeIgnoreCase(dto.getCode())) {
-                        throw new IllegalArgumentException("Duplicate complaint code: " + dto.getCode());
-                    }
-                }
-                dto.setSubject(importUtil.toString(row.get("subject")));
-                dto.setDescription(importUtil.toString(row.get("description")));
-                dto.setActionTaken(importUtil.toString(row.get("actionTaken")));
-                dto.setCloseTime(importUtil.toLocalDateTime(row.get("closeTime")));
-                dto.setTotalTimeMinutes(importUtil.toDurationInMinutes(row.get("totalTimeMinutes")));
-
-                String assigneeEmpId = importUtil.toString(row.get("assignee"));
-                if (assigneeEmpId != null && !assigneeEmpId.trim().isEmpty()) {
-                    UserDTO assigneeDTO = new UserDTO();
-                    assigneeDTO.setEmployeeId(assigneeEmpId.trim());
-                    dto.setAssignee(assigneeDTO);
-                }
-
-                String areaCode = importUtil.toString(row.get("area"));
-                if (areaCode != null && !areaCode.trim().isEmpty()) {
-                    AreaDTO areaDTO = new AreaDTO();
-                    areaDTO.setCode(areaCode.trim());
-                    dto.setArea(areaDTO);
-                }
-
-                String equipmentCode = importUtil.toString(row.get("equipment"));
-                if (equipmentCode != null && !equipmentCode.trim().isEmpty()) {
-                    EquipmentDTO equipmentDTO = new EquipmentDTO();
-                    equipmentDTO.setCode(equipmentCode.trim());
-                    dto.setEquipment(equipmentDTO);
-                }
-
-                String statusStr = importUtil.toString(row.get("status"));
-                if (statusStr != null && !statusStr.trim().isEmpty()) {
-                    try {
-                        dto.setStatus(Complaint.Status.valueOf(statusStr.trim().toUpperCase()));
-                    } catch (Exception ignored) {
-                        throw new IllegalArgumentException(
-                                "Invalid Status: " + statusStr + ". Use: OPEN, PENDING, CLOSED");
-                    }
-                }
-
-                createComplaint(dto, null);
-                importedCount++;
-
-            } catch (Exception e) {
-                String message = e.getMessage() != null ? e.getMessage() : "Unknown error";
-                errorMessages.add("Row " + (i + 1) + ": " + message);
-            }
-        }
+        return complaintImportService.importComplaints(data);
+    }
 
-        return new ImportUtil.ImportResult(importedCount, errorMessages);
+    public ImportUtil.ImportResult importComplaintsFromExcel(List<Map<String, Object>> data, int rowOffset,
+            ImportUtil.ParseContext dates) {
+        return complaintImportService.importComplaints(data, rowOffset, dates);
     }
 
     /**
      * Handle side effects of status transitions:
-     * - Closing: set closeTime, deduct inventory
-     * - Reopening: clear closeTime, restock parts
+     * - Closing: set closeTime
+     * - Reopening: clear closeTime
+     * Stock follows the status in {@link #syncPartsInventory}.
      */
 
     protected void handleStatusTransition(Complaint complaint, Complaint.Status oldStatus, Complaint.Status newStatus) {
@@ -289,14 +284,9 @@ public class ComplaintService {
             complaint.setCloseTime(now);
             // totalResolutionTimeMinutes will be calculated in @PreUpdate or @PrePersist
 
-            log.info("Complaint {} CLOSED: Deducting {} parts from inventory",
-                    complaint.getId(), complaint.getPartsUsed().size());
-            deductPartsFromInventory(complaint);
-
         } else if (oldStatus == Complaint.Status.CLOSED && newStatus != Complaint.Status.CLOSED) {
             // Reopening a CLOSED complaint
             log.warn("Reopening CLOSED complaint: {}", complaint.getId());
-            restockParts(complaint);
 
             complaint.setCloseTime(null);
             complaint.setTotalTimeMinutes(null);
@@ -306,29 +296,18 @@ public class ComplaintService {
     }
 
     /**
-     * Deduct all parts used in this complaint from stock
+     * A closed complaint holds its parts out of stock; any other status holds none. Closing
+     * deducts them, reopening returns them, and editing the parts of a closed complaint
+     * deducts or returns only the difference.
      */
-    private void deductPartsFromInventory(Complaint complaint) {
-        for (ComplaintPart cp : complaint.getPartsUsed()) {
-            Part part = cp.getPart();
-            log.info("Deducting {} x '{}' (Part ID: {}) from stock",
-                    cp.getQuantity(), part.getName(), part.getId());
-            part.useParts(cp.getQuantity());
-            partRepository.save(part);
-        }
-    }
-
-    /**
-     * Restock all parts used in this complaint
-     */
-    private void restockParts(Complaint complaint) {
-        for (ComplaintPart cp : complaint.getPartsUsed()) {
-            Part part = cp.getPart();
-            log.info("Restocking {} x '{}' (Part ID: {}) to inventory",
-                    cp.getQuantity(), part.getName(), part.getId());
-            part.addStock(cp.getQuantity());
-            partRepository.save(part);
+    private void syncPartsInventory(Complaint complaint) {
+        Map<String, Integer> held = new HashMap<>();
+        if (complaint.getStatus() == Complaint.Status.CLOSED) {
+            for (ComplaintPart cp : complaint.getPartsUsed()) {
+                held.merge(cp.getPart().getId(), Objects.requireNonNullElse(cp.getQuantity(), 0), Integer::sum);
+            }
         }
+        inventoryService.syncHeldParts(PartStockMovement.SourceType.COMPLAINT, complaint.getId(), held);
     }
 
     // ================== MAPPING METHODS ==================
@@ -388,39 +367,45 @@ public class ComplaintService {
 
         // PARTS HANDLING: Use merge/update pattern
         if (dto.getPartsUsed() != null) {
-            // Create a copy of current parts to allow safe iteration
-            List<ComplaintPart> existingParts = new ArrayList<>(complaint.getPartsUsed());
+            // Existing entries by part id, reused so unchanged parts are not deleted and re-inserted
+            Map<String, ComplaintPart> existingParts = new HashMap<>();
+            for (ComplaintPart cp : complaint.getPartsUsed()) {
+                existingParts.put(cp.getPart().getId(), cp);
+            }
+
+            // Quantity per part id; a part listed twice is counted once with the summed quantity
+            Map<String, Integer> quantities = new LinkedHashMap<>();
+            for (ComplaintPartDTO partDto : dto.getPartsUsed()) {
+                if (partDto.getQuantity() == null) {
+                    throw new IllegalArgumentException("Quantity is required for part ID: " + partDto.getPart().getId());
+                }
+                quantities.merge(partDto.getPart().getId(), partDto.getQuantity(), Integer::sum);
+            }
+
+            // All referenced parts in one query instead of one findById per part
+            Map<String, Part> parts = partRepository.findAllById(quantities.keySet()).stream()
+                    .collect(Collectors.toMap(Part::getId, Function.identity()));
 
             // Clear the list — thanks to orphanRemoval, old entries will be deleted
             complaint.getPartsUsed().clear();
 
-            for (ComplaintPartDTO partDto : dto.getPartsUsed()) {
-                Part part = partRepository.findById(partDto.getPart().getId())
-                        .orElseThrow(() -> new IllegalArgumentException(
-                                "Part not found with ID: " + partDto.getPart().getId()));
-
-                // Try to reuse an existing ComplaintPart if possible
-                ComplaintPart existing = existingParts.stream()
-                        .filter(cp -> cp.getPart().getId().equals(part.getId()))
-                        .findFirst()
-                        .orElse(null);
-
-                ComplaintPart cp;
-                if (existing != null) {
-                    // Reuse and update quantity
-                    existing.setQuantity(partDto.getQuantity());
-                    cp = existing;
-                } else {
-                    // Create new
+            quantities.forEach((partId, quantity) -> {
+                Part part = parts.get(partId);
+                if (part == null) {
+                    throw new IllegalArgumentException("Part not found with ID: " + partId);
+                }
+
+                ComplaintPart cp = existingParts.get(partId);
+                if (cp == null) {
                     cp = new ComplaintPart();
                     cp.setComplaint(complaint);
                     cp.setPart(part);
-                    cp.setQuantity(partDto.getQuantity());
                     cp.setId(new ComplaintPartId(complaint.getId(), part.getId()));
                 }
+                cp.setQuantity(quantity);
 
                 complaint.getPartsUsed().add(cp);
-            }
+            });
         } else {
             // If DTO has no parts, just clear
             complaint.getPartsUsed().clear();
@@ -0,0 +1,138 @@
+package ahqpck.maintenance.report.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import ahqpck.maintenance.report.dto.DashboardCacheStatsDTO;
+
+/**
+ * Result cache in front of the dashboard queries.
+ *
+ * Every entry remembers the half-open date range it was computed for. Ranges that end
+ * before today are closed and kept until a write touches one of their days; ranges that
+ * reach today (or have no bounds) expire after {@code app.dashboard.cache.live-ttl}.
+ */
+@Component
+public class DashboardCache {
+
+    private record Entry(LocalDate from, LocalDate toExclusive, boolean live, long generation, Object value) {
+
+        boolean covers(LocalDate day) {
+            return (from == null || !day.isBefore(from)) && (toExclusive == null || day.isBefore(toExclusive));
+        }
+    }
+
+    private final Cache<String, Entry> cache;
+    private final Duration liveTtl;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public DashboardCache(
+            @Value("${app.dashboard.cache.live-ttl:PT1M}") Duration liveTtl,
+            @Value("${app.dashboard.cache.max-entries:2000}") long maxEntries) {
+        this(liveTtl, maxEntries, Ticker.systemTicker());
+    }
+
+    // The ticker lets tests move the clock past the live TTL
+    DashboardCache(Duration liveTtl, long maxEntries, Ticker ticker) {
+        this.liveTtl = liveTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.live() ? liveTtl.toNanos() : Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Builds a cache key from the method name and its already normalized parameters.
+     */
+    public static String key(String method, Object... params) {
+        return method + Arrays.stream(params)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|", "(", ")"));
+    }
+
+    /**
+     * Returns the cached value for {@code key}, loading it on a miss.
+     * {@code from}/{@code toExclusive} describe the report dates the value depends on;
+     * {@code null} leaves that side unbounded.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, LocalDate from, LocalDate toExclusive, Supplier<T> loader) {
+        long loadGeneration = generation.get();
+        Entry entry = cache.get(key, k -> new Entry(from, toExclusive, isLive(toExclusive), loadGeneration,
+                loader.get()));
+
+        // A write committed while we were loading: serve the value once, but do not keep it
+        if (entry.generation() == loadGeneration && generation.get() != loadGeneration) {
+            cache.asMap().remove(key, entry);
+        }
+        return (T) entry.value();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDashboardDataChanged(DashboardDataChangedEvent event) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        if (event.affectsAll()) {
+            cache.invalidateAll();
+        } else if (!event.days().isEmpty()) {
+            cache.asMap().values().removeIf(entry -> event.days().stream().anyMatch(entry::covers));
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public DashboardCacheStatsDTO getStats() {
+        CacheStats stats = cache.stats();
+        return new DashboardCacheStatsDTO(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidations.get(),
+                liveTtl.toSeconds());
+    }
+
+    private static boolean isLive(LocalDate toExclusive) {
+        return toExclusive == null || toExclusive.isAfter(LocalDate.now());
+    }
+}
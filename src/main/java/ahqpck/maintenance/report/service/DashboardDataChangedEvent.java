@@ -0,0 +1,19 @@
+package ahqpck.maintenance.report.service;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Published whenever complaints or work reports change in a way that affects the dashboard.
+ * {@code days} holds the report dates whose buckets moved; {@code null} means everything.
+ */
+public record DashboardDataChangedEvent(Set<LocalDate> days) {
+
+    public static DashboardDataChangedEvent all() {
+        return new DashboardDataChangedEvent(null);
+    }
+
+    public boolean affectsAll() {
+        return days == null;
+    }
+}
@@ -0,0 +1,191 @@
+package ahqpck.maintenance.report.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import ahqpck.maintenance.report.dto.DashboardOverviewRequestDTO;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs the widgets of one dashboard page load in parallel.
+ *
+ * The pool is deliberately small and owned by this service: it only has to overlap the
+ * dashboard queries of a page, and must not grow past the connection pool. When the queue
+ * is full the calling thread runs the widget itself.
+ */
+@Service
+public class DashboardOverviewService {
+
+    public static final int MAX_WIDGETS = 32;
+
+    private final DashboardService dashboardService;
+    private final ThreadPoolExecutor executor;
+    private final Duration widgetTimeout;
+
+    public DashboardOverviewService(DashboardService dashboardService,
+            @Value("${app.dashboard.executor.pool-size:4}") int poolSize,
+            @Value("${app.dashboard.executor.queue-capacity:200}") int queueCapacity,
+            @Value("${app.dashboard.overview.widget-timeout:PT30S}") Duration widgetTimeout) {
+        this.dashboardService = dashboardService;
+        this.widgetTimeout = widgetTimeout;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Validates the request and starts every widget. The returned map keeps request order
+     * and is keyed by widget id (the type when no id was given).
+     */
+    public Map<String, CompletableFuture<Object>> submit(DashboardOverviewRequestDTO request) {
+        List<DashboardOverviewRequestDTO.Widget> widgets = request != null ? request.getWidgets() : null;
+        if (widgets == null || widgets.isEmpty()) {
+            throw new IllegalArgumentException("At least one widget is required");
+        }
+        if (widgets.size() > MAX_WIDGETS) {
+            throw new IllegalArgumentException("At most " + MAX_WIDGETS + " widgets can be requested at once");
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (DashboardOverviewRequestDTO.Widget widget : widgets) {
+            if (widget.getType() == null || widget.getType().isBlank()) {
+                throw new IllegalArgumentException("Widget type is required");
+            }
+            if (!ids.add(idOf(widget))) {
+                throw new IllegalArgumentException("Duplicate widget id: " + idOf(widget));
+            }
+        }
+
+        Map<String, CompletableFuture<Object>> results = new LinkedHashMap<>();
+        for (DashboardOverviewRequestDTO.Widget widget : widgets) {
+            Map<String, String> params = widget.getParams() != null ? widget.getParams() : Map.of();
+            results.put(idOf(widget),
+                    CompletableFuture.supplyAsync(() -> execute(widget.getType(), params), executor));
+        }
+        return results;
+    }
+
+    /**
+     * Waits for one widget. A failed or timed-out widget becomes {@code {"error": "..."}}
+     * so the rest of the page can still render.
+     */
+    public Object awaitResult(CompletableFuture<Object> future) {
+        try {
+            return future.get(widgetTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return Map.of("error", cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+        } catch (TimeoutException | CancellationException e) {
+            future.cancel(true);
+            return Map.of("error", "Widget timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return Map.of("error", "Interrupted");
+        }
+    }
+
+    /**
+     * Runs one widget; {@code type} and {@code params} mirror the single GET endpoints.
+     */
+    public Object execute(String type, Map<String, String> params) {
+        return switch (type) {
+            case "status-count" -> dashboardService.getStatusCount(
+                    dateTime(params, "from"), dateTime(params, "to")).orZero();
+            case "daily-complaint" -> dashboardService.getDailyComplaint(
+                    dateTime(params, "from"), dateTime(params, "to"));
+            case "complaint-buckets" -> dashboardService.getComplaintBuckets(
+                    date(params, "from"), date(params, "to"), params.get("granularity"));
+            case "monthly-complaint" -> dashboardService.getMonthlyComplaint(integer(params, "year"));
+            case "assignee-daily-status" -> dashboardService.getAssigneeDailyStatus(
+                    dateTime(params, "from"), dateTime(params, "to"), params.get("granularity"));
+            case "equipment-complaint-count" -> dashboardService.getEquipmentComplaintCount();
+            case "daily-breakdown" -> dashboardService.getDailyBreakdownTime(
+                    date(params, "from"), date(params, "to"));
+            case "monthly-breakdown" -> dashboardService.getMonthlyBreakdownTime(integer(params, "year"));
+            case "equipment-work-report" -> dashboardService.getEquipmentWorkReport();
+            case "daily-work-report" -> dashboardService.getDailyWorkReport(
+                    date(params, "from"), date(params, "to"));
+            case "monthly-work-report" -> dashboardService.getMonthlyWorkReport(integer(params, "year"));
+            case "daily-work-report-equipment" -> dashboardService.getDailyWorkReportEquipment(
+                    date(params, "from"), date(params, "to"), params.get("equipmentCode"));
+            case "monthly-work-report-equipment" -> dashboardService.getMonthlyWorkReportEquipment(
+                    integer(params, "year"), params.get("equipmentCode"));
+            case "equipment-count" -> dashboardService.getEquipmentCount(
+                    integer(params, "page"), integer(params, "offset"), integer(params, "limit"),
+                    params.get("rankBy"));
+            default -> throw new IllegalArgumentException("Unknown widget: " + type);
+        };
+    }
+
+    private static String idOf(DashboardOverviewRequestDTO.Widget widget) {
+        return widget.getId() != null && !widget.getId().isBlank() ? widget.getId() : widget.getType();
+    }
+
+    private static LocalDateTime dateTime(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid '" + name + "': " + value);
+        }
+    }
+
+    private static LocalDate date(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid '" + name + "': " + value);
+        }
+    }
+
+    private static Integer integer(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid '" + name + "': " + value);
+        }
+    }
+}
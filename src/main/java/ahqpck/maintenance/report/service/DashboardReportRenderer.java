@@ -0,0 +1,391 @@
+package ahqpck.maintenance.report.service;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusDTO;
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusDetailDTO;
+import ahqpck.maintenance.report.dto.DailyComplaintDTO;
+import ahqpck.maintenance.report.dto.EquipmentCountDTO;
+import ahqpck.maintenance.report.dto.StatusCountDTO;
+import ahqpck.maintenance.report.util.PdfWriter;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Renders the "Maintenance Dashboard Report" (the sections the Generate Report button used to
+ * screenshot) as a PDF with vector charts and tables, or as an XLSX sheet.
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardReportRenderer {
+
+    private static final int TOP_EQUIPMENT = 10;
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("dd/MM");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm");
+
+    // same colours as the dashboard charts
+    private static final Color PRIMARY = new Color(0x1572E8);
+    private static final Color OPEN = new Color(0xFDAF4B);
+    private static final Color CLOSED = new Color(0x59D05D);
+    private static final Color PENDING = new Color(0xD9534F);
+    private static final Color TEXT = new Color(0x333333);
+    private static final Color MUTED = new Color(0x888888);
+    private static final Color GRID = new Color(0xDDDDDD);
+    private static final Color STRIPE = new Color(0xF5F7FA);
+
+    private static final float MARGIN = 40;
+    private static final float ROW_HEIGHT = 16;
+
+    private final DashboardService dashboardService;
+
+    /** Everything one report shows, read once and rendered in either format. */
+    private record ReportData(LocalDate from, LocalDate to, LocalDateTime generatedAt, StatusCountDTO status,
+            List<DailyComplaintDTO> daily, AssigneeDailyStatusDTO assignees, List<EquipmentCountDTO> equipment) {
+    }
+
+    public void renderPdf(LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        new PdfLayout(load(from, to)).write(out);
+    }
+
+    public void renderXlsx(LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        ReportData data = load(from, to);
+        try (SpreadsheetWriter writer = SpreadsheetWriter.open(SpreadsheetWriter.Format.XLSX, out,
+                "Dashboard Report")) {
+            writer.row(List.of("Maintenance Dashboard Report"));
+            writer.row(List.of("Period", data.from(), data.to()));
+            writer.row(List.of("Generated on", data.generatedAt()));
+            writer.row(List.of());
+
+            StatusCountDTO status = data.status();
+            writer.row(List.of("Overall Ticket Statistics"));
+            writer.row(List.of("Total", "Open", "Pending", "Closed"));
+            writer.row(List.of(status.getTotalAllComplaints(), status.getTotalOpen(), status.getTotalPending(),
+                    status.getTotalClosed()));
+            writer.row(List.of());
+
+            writer.row(List.of("Daily Ticket Summary"));
+            writer.row(List.of("Date", "Open", "Pending", "Closed"));
+            for (DailyComplaintDTO day : data.daily()) {
+                writer.row(Arrays.asList(day.getDate(), count(day.getOpen()), count(day.getPending()),
+                        count(day.getClosed())));
+            }
+            writer.row(List.of());
+
+            writer.row(List.of("Engineers Responsibility"));
+            List<Object> header = new ArrayList<>(List.of("Engineer", "Employee ID", "Status"));
+            header.addAll(data.assignees().getDates());
+            header.add("Total");
+            writer.row(header);
+            for (AssigneeDailyStatusDetailDTO assignee : data.assignees().getData()) {
+                writer.row(assigneeRow(assignee, "Open", assignee.getOpen()));
+                writer.row(assigneeRow(assignee, "Pending", assignee.getPending()));
+                writer.row(assigneeRow(assignee, "Closed", assignee.getClosed()));
+            }
+            writer.row(List.of());
+
+            writer.row(List.of("Top Equipment Breakdowns"));
+            writer.row(List.of("#", "Code", "Name", "Occurrences", "Complaints", "Work Reports", "Total Time (min)"));
+            int rank = 0;
+            for (EquipmentCountDTO equipment : data.equipment()) {
+                writer.row(Arrays.asList(++rank, equipment.getEquipmentCode(), equipment.getEquipmentName(),
+                        count(equipment.getTotalOccurrences()), count(equipment.getTotalComplaints()),
+                        count(equipment.getTotalWorkReports()), count(equipment.getTotalTime())));
+            }
+        }
+    }
+
+    private ReportData load(LocalDate from, LocalDate to) {
+        // the status count treats 'to' as exclusive, the other queries include it
+        StatusCountDTO status = dashboardService.getStatusCount(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        List<DailyComplaintDTO> daily = dashboardService.getDailyComplaint(from.atStartOfDay(), to.atStartOfDay());
+        AssigneeDailyStatusDTO assignees = dashboardService.getAssigneeDailyStatus(from.atStartOfDay(),
+                to.atStartOfDay());
+        List<EquipmentCountDTO> equipment = dashboardService.getEquipmentCount(0, null, TOP_EQUIPMENT, "occurrences");
+        StatusCountDTO totals = new StatusCountDTO(status.getTotalAllComplaints(), status.getTotalOpen(),
+                status.getTotalClosed(), status.getTotalPending()).orZero();
+        return new ReportData(from, to, LocalDateTime.now(), totals, daily, assignees, equipment);
+    }
+
+    private static List<Object> assigneeRow(AssigneeDailyStatusDetailDTO assignee, String status, int[] counts) {
+        List<Object> row = new ArrayList<>(counts.length + 4);
+        row.add(assignee.getAssigneeName());
+        row.add(assignee.getAssigneeEmpId());
+        row.add(status);
+        for (int count : counts) {
+            row.add(count);
+        }
+        row.add(sum(counts));
+        return row;
+    }
+
+    private static long count(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    // ----------------------------------------------------------------------------------
+    // PDF
+    // ----------------------------------------------------------------------------------
+
+    /** Lays the report out top to bottom, starting a new page when a block does not fit. */
+    private static final class PdfLayout {
+
+        private final ReportData data;
+        private final PdfWriter pdf = new PdfWriter();
+        private final List<PdfWriter.Page> pages = new ArrayList<>();
+        private PdfWriter.Page page;
+        private float y;
+
+        PdfLayout(ReportData data) {
+            this.data = data;
+        }
+
+        void write(OutputStream out) throws IOException {
+            newPage();
+            page.text(MARGIN, y - 20, 20, true, TEXT, "Maintenance Dashboard Report");
+            page.text(MARGIN, y - 38, 11, false, MUTED,
+                    "Period: " + DATE.format(data.from()) + " to " + DATE.format(data.to()));
+            page.text(MARGIN, y - 52, 11, false, MUTED, "Generated on: " + DATE_TIME.format(data.generatedAt()));
+            y -= 76;
+
+            statusSection();
+            dailySection();
+            assigneeSection();
+            equipmentSection();
+
+            for (int i = 0; i < pages.size(); i++) {
+                String label = "Page " + (i + 1) + " of " + pages.size();
+                pages.get(i).textRight(PdfWriter.PAGE_WIDTH - MARGIN, 20, 9, false, MUTED, label);
+            }
+            pdf.write(out);
+        }
+
+        private void statusSection() {
+            title("Overall Ticket Statistics", 60);
+            StatusCountDTO status = data.status();
+            String[] labels = { "Total", "Open", "Pending", "Closed" };
+            long[] values = { status.getTotalAllComplaints(), status.getTotalOpen(), status.getTotalPending(),
+                    status.getTotalClosed() };
+            Color[] colors = { PRIMARY, OPEN, PENDING, CLOSED };
+
+            float gap = 10;
+            float width = (contentWidth() - gap * 3) / 4;
+            float height = 50;
+            for (int i = 0; i < labels.length; i++) {
+                float x = MARGIN + i * (width + gap);
+                page.rect(x, y - height, width, height, colors[i]);
+                page.text(x + 10, y - 18, 10, false, Color.WHITE, labels[i]);
+                page.text(x + 10, y - 40, 18, true, Color.WHITE, Long.toString(values[i]));
+            }
+            y -= height + 24;
+        }
+
+        private void dailySection() {
+            float chartHeight = 170;
+            title("Daily Ticket Summary", chartHeight + 50);
+            List<DailyComplaintDTO> days = data.daily();
+
+            long max = 0;
+            for (DailyComplaintDTO day : days) {
+                max = Math.max(max, Math.max(count(day.getOpen()), Math.max(count(day.getPending()),
+                        count(day.getClosed()))));
+            }
+            long step = niceStep(max);
+            long top = Math.max(step, ((max + step - 1) / step) * step);
+
+            float left = MARGIN + 30;
+            float right = MARGIN + contentWidth();
+            float bottom = y - chartHeight;
+            for (long value = 0; value <= top; value += step) {
+                float lineY = bottom + chartHeight * value / top;
+                page.line(left, lineY, right, lineY, 0.5f, GRID);
+                String label = Long.toString(value);
+                page.textRight(left - 4, lineY - 3, 8, false, MUTED, label);
+            }
+
+            if (days.isEmpty()) {
+                page.text(left + 10, bottom + chartHeight / 2, 10, false, MUTED, "No data");
+            } else {
+                float slot = (right - left) / days.size();
+                float bar = Math.min(12, slot * 0.8f / 3);
+                int labelEvery = (int) Math.ceil(days.size() / ((right - left) / 32));
+                for (int i = 0; i < days.size(); i++) {
+                    DailyComplaintDTO day = days.get(i);
+                    float x = left + i * slot + (slot - bar * 3) / 2;
+                    bar(x, bottom, bar, chartHeight * count(day.getOpen()) / top, OPEN);
+                    bar(x + bar, bottom, bar, chartHeight * count(day.getPending()) / top, PENDING);
+                    bar(x + bar * 2, bottom, bar, chartHeight * count(day.getClosed()) / top, CLOSED);
+                    if (i % labelEvery == 0) {
+                        page.text(left + i * slot + slot / 2 - 10, bottom - 12, 7, false, MUTED, dayLabel(day));
+                    }
+                }
+            }
+
+            float legendY = bottom - 30;
+            legend(left, legendY, OPEN, "Open");
+            legend(left + 60, legendY, PENDING, "Pending");
+            legend(left + 130, legendY, CLOSED, "Closed");
+            y = legendY - 24;
+        }
+
+        private void assigneeSection() {
+            float[] columns = { 0, 220, 300, 360, 420, 480 };
+            String[] header = { "Engineer", "Employee ID", "Open", "Pending", "Closed", "Total" };
+            title("Engineers Responsibility", ROW_HEIGHT * 3);
+            tableHeader(columns, header, 2);
+
+            List<AssigneeDailyStatusDetailDTO> assignees = data.assignees().getData();
+            if (assignees.isEmpty()) {
+                emptyRow();
+            }
+            for (int i = 0; i < assignees.size(); i++) {
+                if (y - ROW_HEIGHT < MARGIN) {
+                    newPage();
+                    tableHeader(columns, header, 2);
+                }
+                AssigneeDailyStatusDetailDTO assignee = assignees.get(i);
+                int open = sum(assignee.getOpen());
+                int pending = sum(assignee.getPending());
+                int closed = sum(assignee.getClosed());
+                tableRow(i, columns, 2, clip(assignee.getAssigneeName(), 40), assignee.getAssigneeEmpId(),
+                        Integer.toString(open), Integer.toString(pending), Integer.toString(closed),
+                        Integer.toString(open + pending + closed));
+            }
+            y -= 20;
+        }
+
+        private void equipmentSection() {
+            float[] columns = { 0, 30, 130, 480 };
+            String[] header = { "#", "Code", "Name", "Count" };
+            title("Top Equipment Breakdowns", ROW_HEIGHT * 3);
+            tableHeader(columns, header, 3);
+
+            List<EquipmentCountDTO> equipment = data.equipment();
+            if (equipment.isEmpty()) {
+                emptyRow();
+            }
+            for (int i = 0; i < equipment.size(); i++) {
+                if (y - ROW_HEIGHT < MARGIN) {
+                    newPage();
+                    tableHeader(columns, header, 3);
+                }
+                EquipmentCountDTO item = equipment.get(i);
+                tableRow(i, columns, 3, Integer.toString(i + 1), clip(item.getEquipmentCode(), 18),
+                        clip(item.getEquipmentName(), 62), Long.toString(count(item.getTotalOccurrences())));
+            }
+            y -= 20;
+        }
+
+        // ---- building blocks ----
+
+        private void newPage() {
+            page = pdf.newPage();
+            pages.add(page);
+            y = PdfWriter.PAGE_HEIGHT - MARGIN;
+        }
+
+        /** Section title; moves to a new page unless {@code keepWith} points fit below it. */
+        private void title(String text, float keepWith) {
+            if (y - 24 - keepWith < MARGIN) {
+                newPage();
+            }
+            page.text(MARGIN, y - 14, 14, true, TEXT, text);
+            y -= 24;
+        }
+
+        /** Columns from {@code firstNumeric} on hold numbers and are right-aligned. */
+        private void tableHeader(float[] columns, String[] cells, int firstNumeric) {
+            page.rect(MARGIN, y - ROW_HEIGHT, contentWidth(), ROW_HEIGHT, PRIMARY);
+            cells(columns, firstNumeric, y - ROW_HEIGHT + 5, true, Color.WHITE, cells);
+            y -= ROW_HEIGHT;
+        }
+
+        private void tableRow(int index, float[] columns, int firstNumeric, String... cells) {
+            if (index % 2 == 0) {
+                page.rect(MARGIN, y - ROW_HEIGHT, contentWidth(), ROW_HEIGHT, STRIPE);
+            }
+            cells(columns, firstNumeric, y - ROW_HEIGHT + 5, false, TEXT, cells);
+            y -= ROW_HEIGHT;
+        }
+
+        private void emptyRow() {
+            page.text(MARGIN + 4, y - ROW_HEIGHT + 5, 9, false, MUTED, "No data");
+            y -= ROW_HEIGHT;
+        }
+
+        private void cells(float[] columns, int firstNumeric, float baseline, boolean bold, Color color,
+                String[] cells) {
+            for (int c = 0; c < cells.length; c++) {
+                String cell = cells[c] != null ? cells[c] : "";
+                if (c >= firstNumeric) {
+                    float right = c + 1 < columns.length ? MARGIN + columns[c + 1] - 6 : MARGIN + contentWidth() - 4;
+                    page.textRight(right, baseline, 9, bold, color, cell);
+                } else {
+                    page.text(MARGIN + columns[c] + 4, baseline, 9, bold, color, cell);
+                }
+            }
+        }
+
+        private void bar(float x, float bottom, float width, float height, Color color) {
+            if (height > 0) {
+                page.rect(x, bottom, width, height, color);
+            }
+        }
+
+        private void legend(float x, float legendY, Color color, String label) {
+            page.rect(x, legendY, 8, 8, color);
+            page.text(x + 12, legendY + 1, 8, false, TEXT, label);
+        }
+
+        private static float contentWidth() {
+            return PdfWriter.PAGE_WIDTH - MARGIN * 2;
+        }
+
+        private static String dayLabel(DailyComplaintDTO day) {
+            try {
+                return DAY.format(LocalDate.parse(day.getDate()));
+            } catch (RuntimeException e) {
+                return day.getDate();
+            }
+        }
+
+        private static String clip(String text, int length) {
+            if (text == null) {
+                return "";
+            }
+            return text.length() > length ? text.substring(0, length - 3) + "..." : text;
+        }
+
+        /** Grid step of 1, 2 or 5 times a power of ten giving at most five lines. */
+        private static long niceStep(long max) {
+            long step = 1;
+            while (true) {
+                for (long factor : new long[] { 1, 2, 5 }) {
+                    if (max <= step * factor * 5) {
+                        return step * factor;
+                    }
+                }
+                step *= 10;
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package ahqpck.maintenance.report.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ahqpck.maintenance.report.dto.DashboardReportDTO;
+import ahqpck.maintenance.report.exception.NotFoundException;
+import ahqpck.maintenance.report.util.IdGenerator;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates dashboard reports in the background and keeps the files, so a report for a given
+ * period and format is built once and downloaded by everyone who asks for it.
+ *
+ * A report stays cached until a complaint or work report change touches one of its days;
+ * reports whose period reaches today are also rebuilt once they are older than
+ * {@code app.reports.live-ttl}. The equipment ranking is not tied to the period and shows the
+ * state at generation time. Files are deleted after {@code app.reports.retention}.
+ */
+@Slf4j
+@Service
+public class DashboardReportService {
+
+    public enum Format {
+        PDF("pdf", "application/pdf"),
+        XLSX("xlsx", SpreadsheetWriter.Format.XLSX.getContentType());
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value != null ? value.trim() : "")) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported report format: " + value);
+        }
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    /** A finished report file and how to send it. */
+    public record Artifact(Path file, String fileName, String contentType) {
+    }
+
+    /** Longest period one report may cover. */
+    private static final int MAX_DAYS = 366;
+
+    private final DashboardReportRenderer renderer;
+    private final Path dir;
+    private final Duration liveTtl;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    /** The current job for each format and period; replaced when the data changes. */
+    private final Map<String, ReportJob> cached = new ConcurrentHashMap<>();
+
+    public DashboardReportService(DashboardReportRenderer renderer,
+            @Value("${app.reports.dir:data/reports}") String dir,
+            @Value("${app.reports.live-ttl:PT10M}") Duration liveTtl,
+            @Value("${app.reports.retention:P7D}") Duration retention,
+            @Value("${app.reports.pool-size:1}") int poolSize,
+            @Value("${app.reports.queue-capacity:10}") int queueCapacity) {
+        this.renderer = renderer;
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.liveTtl = liveTtl;
+        this.retention = retention;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the cached report for the period, or queues a new one. Without dates the report
+     * covers the current month up to today.
+     */
+    public DashboardReportDTO submit(LocalDate from, LocalDate to, String format) {
+        Format reportFormat = Format.of(format != null ? format : "pdf");
+        LocalDate effectiveTo = to != null ? to : LocalDate.now();
+        LocalDate effectiveFrom = from != null ? from : effectiveTo.withDayOfMonth(1);
+        if (effectiveFrom.isAfter(effectiveTo)) {
+            throw new IllegalArgumentException("Invalid date range: 'from' must be before or equal to 'to'");
+        }
+        if (ChronoUnit.DAYS.between(effectiveFrom, effectiveTo) >= MAX_DAYS) {
+            throw new IllegalArgumentException("A report can cover at most " + MAX_DAYS + " days.");
+        }
+        pruneExpired();
+
+        String key = reportFormat + "|" + effectiveFrom + "|" + effectiveTo;
+        ReportJob created = new ReportJob(IdGenerator.newId(), key, reportFormat, effectiveFrom, effectiveTo);
+        ReportJob job = cached.compute(key,
+                (k, existing) -> existing != null && existing.isReusable(liveTtl) ? existing : created);
+        if (job != created) {
+            return job.toDto();
+        }
+
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            cached.remove(key, job);
+            jobs.remove(job.id);
+            throw new IllegalStateException("Too many reports are being generated. Please try again later.");
+        }
+        log.info("Report {} queued: {} {} to {}", job.id, reportFormat, effectiveFrom, effectiveTo);
+        return job.toDto();
+    }
+
+    public DashboardReportDTO getReport(String id) {
+        return findJob(id).toDto();
+    }
+
+    /** The report file, or empty while it is still being generated. */
+    public Optional<Artifact> getArtifact(String id) {
+        ReportJob job = findJob(id);
+        if (job.status == Status.FAILED) {
+            throw new IllegalStateException("Report generation failed: " + job.message);
+        }
+        if (job.status != Status.COMPLETED) {
+            return Optional.empty();
+        }
+        String fileName = "Dashboard_Report_" + job.from + "_" + job.to + "." + job.format.extension;
+        return Optional.of(new Artifact(job.file, fileName, job.format.contentType));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDashboardDataChanged(DashboardDataChangedEvent event) {
+        cached.values().removeIf(job -> event.affectsAll() || event.days().stream().anyMatch(job::covers));
+    }
+
+    private ReportJob findJob(String id) {
+        ReportJob job = jobs.get(id);
+        if (job == null) {
+            throw new NotFoundException("Report not found with ID: " + id);
+        }
+        return job;
+    }
+
+    private void run(ReportJob job) {
+        if (!job.start()) {
+            return;
+        }
+        Path file = dir.resolve(job.id + "." + job.format.extension);
+        try {
+            Files.createDirectories(dir);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                if (job.format == Format.PDF) {
+                    renderer.renderPdf(job.from, job.to, out);
+                } else {
+                    renderer.renderXlsx(job.from, job.to, out);
+                }
+            }
+            job.complete(file, Files.size(file));
+            log.info("Report {} generated in {} ms ({} bytes)", job.id,
+                    Duration.between(job.startedAt, job.finishedAt).toMillis(), job.sizeBytes);
+        } catch (Exception e) {
+            log.warn("Report {} failed", job.id, e);
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            cached.remove(job.key, job);
+            deleteQuietly(file);
+        }
+    }
+
+    /** Forgets reports finished longer than the retention ago and deletes their files. */
+    private void pruneExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.finishedAt == null || !job.finishedAt.isBefore(cutoff)) {
+                return false;
+            }
+            cached.remove(job.key, job);
+            if (job.file != null) {
+                deleteQuietly(job.file);
+            }
+            return true;
+        });
+
+        // files left behind by an earlier run of the application
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Set<Path> known = jobs.values().stream()
+                .map(job -> dir.resolve(job.id + "." + job.format.extension))
+                .collect(Collectors.toSet());
+        Instant fileCutoff = Instant.now().minus(retention);
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(file -> !known.contains(file)).forEach(file -> {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(fileCutoff)) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not delete old report file {}", file, e);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Could not list report directory {}", dir, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", file, e);
+        }
+    }
+
+    /** Mutable state of one report; guarded by its own monitor. */
+    private static class ReportJob {
+
+        private final String id;
+        private final String key;
+        private final Format format;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        private volatile Status status = Status.QUEUED;
+        private LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private Path file;
+        private long sizeBytes;
+        private String message;
+
+        ReportJob(String id, String key, Format format, LocalDate from, LocalDate to) {
+            this.id = id;
+            this.key = key;
+            this.format = format;
+            this.from = from;
+            this.to = to;
+        }
+
+        boolean covers(LocalDate day) {
+            return !day.isBefore(from) && !day.isAfter(to);
+        }
+
+        /** Queued, running, or finished and still current. */
+        synchronized boolean isReusable(Duration liveTtl) {
+            if (status == Status.FAILED) {
+                return false;
+            }
+            boolean live = !to.isBefore(finishedAt != null ? finishedAt.toLocalDate() : LocalDate.now());
+            return finishedAt == null || !live || finishedAt.plus(liveTtl).isAfter(LocalDateTime.now());
+        }
+
+        synchronized boolean start() {
+            if (status != Status.QUEUED) {
+                return false;
+            }
+            status = Status.RUNNING;
+            startedAt = LocalDateTime.now();
+            return true;
+        }
+
+        synchronized void complete(Path generated, long size) {
+            file = generated;
+            sizeBytes = size;
+            finishedAt = LocalDateTime.now();
+            status = Status.COMPLETED;
+        }
+
+        synchronized void fail(String failure) {
+            message = failure;
+            finishedAt = LocalDateTime.now();
+            status = Status.FAILED;
+        }
+
+        synchronized DashboardReportDTO toDto() {
+            return new DashboardReportDTO(id, format.name().toLowerCase(Locale.ROOT), from, to, status.name(),
+                    sizeBytes, submittedAt, finishedAt, message);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.entity.Equipment;
+import ahqpck.maintenance.report.entity.WorkReport;
+import ahqpck.maintenance.report.repository.ComplaintDailyStatRepository;
+import ahqpck.maintenance.report.repository.WorkReportDailyStatRepository;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps the dashboard rollup tables (complaint_daily_stats, work_report_daily_stats)
+ * in step with the complaints and work_reports tables.
+ *
+ * Callers take a snapshot of the row before changing it and hand both the snapshot and
+ * the flushed entity back here; the old bucket is decremented and the new one incremented
+ * inside the caller's transaction. Every change is announced with a
+ * {@link DashboardDataChangedEvent} so cached dashboard results can be dropped after commit.
+ * A bucket whose count drops to zero is deleted.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardRollupService.class);
+
+    private final ComplaintDailyStatRepository complaintDailyStatRepository;
+    private final WorkReportDailyStatRepository workReportDailyStatRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public record ComplaintFacts(LocalDate day, String status, String category, String equipmentCode,
+            String assignee, int totalTimeMinutes) {
+
+        public static ComplaintFacts of(Complaint complaint) {
+            if (complaint == null || complaint.getReportDate() == null || complaint.getStatus() == null
+                    || complaint.getCategory() == null) {
+                return null;
+            }
+            return new ComplaintFacts(
+                    complaint.getReportDate().toLocalDate(),
+                    complaint.getStatus().name(),
+                    complaint.getCategory().name(),
+                    equipmentCode(complaint.getEquipment()),
+                    complaint.getAssignee() != null ? complaint.getAssignee().getEmployeeId() : "",
+                    complaint.getTotalTimeMinutes() != null ? complaint.getTotalTimeMinutes() : 0);
+        }
+    }
+
+    public record WorkReportFacts(LocalDate day, String status, String category, String equipmentCode,
+            int totalTimeMinutes) {
+
+        public static WorkReportFacts of(WorkReport workReport) {
+            if (workReport == null || workReport.getReportDate() == null || workReport.getStatus() == null
+                    || workReport.getCategory() == null) {
+                return null;
+            }
+            return new WorkReportFacts(
+                    workReport.getReportDate(),
+                    workReport.getStatus().name(),
+                    workReport.getCategory().name(),
+                    equipmentCode(workReport.getEquipment()),
+                    workReport.getTotalTimeMinutes() != null ? workReport.getTotalTimeMinutes() : 0);
+        }
+    }
+
+    /**
+     * Moves a complaint from its previous bucket to its current one.
+     * Pass {@code before = null} for a new complaint and {@code after = null} for a deleted one.
+     */
+    public void recordComplaint(ComplaintFacts before, ComplaintFacts after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Set<LocalDate> days = new HashSet<>();
+        if (before != null) {
+            applyComplaint(before, -1);
+            days.add(before.day());
+        }
+        if (after != null) {
+            applyComplaint(after, 1);
+            days.add(after.day());
+        }
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(days));
+    }
+
+    /**
+     * Adds a batch of new complaints, issuing one upsert per distinct bucket instead of
+     * one per complaint. Used by the bulk importer.
+     */
+    public void recordNewComplaints(Collection<ComplaintFacts> added) {
+        Map<ComplaintFacts, long[]> deltas = new HashMap<>();
+        Set<LocalDate> days = new HashSet<>();
+        for (ComplaintFacts facts : added) {
+            if (facts == null) {
+                continue;
+            }
+            ComplaintFacts bucket = new ComplaintFacts(facts.day(), facts.status(), facts.category(),
+                    facts.equipmentCode(), facts.assignee(), 0);
+            long[] delta = deltas.computeIfAbsent(bucket, k -> new long[2]);
+            delta[0]++;
+            delta[1] += facts.totalTimeMinutes();
+            days.add(facts.day());
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        deltas.forEach((bucket, delta) -> complaintDailyStatRepository.upsert(bucket.day(), bucket.status(),
+                bucket.category(), bucket.equipmentCode(), bucket.assignee(), delta[0], delta[1]));
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(days));
+    }
+
+    /**
+     * Moves a work report from its previous bucket to its current one.
+     * Pass {@code before = null} for a new report and {@code after = null} for a deleted one.
+     */
+    public void recordWorkReport(WorkReportFacts before, WorkReportFacts after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Set<LocalDate> days = new HashSet<>();
+        if (before != null) {
+            applyWorkReport(before, -1);
+            days.add(before.day());
+        }
+        if (after != null) {
+            applyWorkReport(after, 1);
+            days.add(after.day());
+        }
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(days));
+    }
+
+    /**
+     * Recomputes both rollup tables from the source tables, one calendar month per transaction,
+     * so the tables are never locked for the whole history and dashboards keep reading a
+     * complete month while the next one is rebuilt.
+     * Use after bulk SQL loads or when the rollups are suspected to be out of sync.
+     */
+    public void rebuild() {
+        int complaintRows = rebuildByMonth(complaintDailyStatRepository.findFirstDay(),
+                complaintDailyStatRepository.findLastDay(), (from, to) -> {
+                    complaintDailyStatRepository.deleteRange(from, to);
+                    return complaintDailyStatRepository.rebuildFromComplaints(from, to);
+                });
+        int workReportRows = rebuildByMonth(workReportDailyStatRepository.findFirstDay(),
+                workReportDailyStatRepository.findLastDay(), (from, to) -> {
+                    workReportDailyStatRepository.deleteRange(from, to);
+                    return workReportDailyStatRepository.rebuildFromWorkReports(from, to);
+                });
+
+        log.info("Dashboard rollups rebuilt: {} complaint buckets, {} work report buckets",
+                complaintRows, workReportRows);
+        eventPublisher.publishEvent(DashboardDataChangedEvent.all());
+    }
+
+    /**
+     * Backfills the rollups on first start after the tables were introduced.
+     */
+    public void rebuildIfEmpty() {
+        if (complaintDailyStatRepository.count() == 0 && workReportDailyStatRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    private int rebuildByMonth(LocalDate first, LocalDate last, BiFunction<LocalDate, LocalDate, Integer> month) {
+        if (first == null) {
+            return 0;
+        }
+        int rows = 0;
+        for (LocalDate from = first.withDayOfMonth(1); !from.isAfter(last); from = from.plusMonths(1)) {
+            LocalDate start = from;
+            rows += transactionTemplate.execute(status -> month.apply(start, start.plusMonths(1)));
+        }
+        return rows;
+    }
+
+    // Stored trimmed so that codes saved with surrounding spaces still match the equipment filter
+    private static String equipmentCode(Equipment equipment) {
+        return equipment != null && equipment.getCode() != null ? equipment.getCode().trim() : "";
+    }
+
+    private void applyComplaint(ComplaintFacts facts, int sign) {
+        complaintDailyStatRepository.upsert(facts.day(), facts.status(), facts.category(), facts.equipmentCode(),
+                facts.assignee(), sign, (long) sign * facts.totalTimeMinutes());
+        if (sign < 0) {
+            complaintDailyStatRepository.deleteIfEmpty(facts.day(), facts.status(), facts.category(),
+                    facts.equipmentCode(), facts.assignee());
+        }
+    }
+
+    private void applyWorkReport(WorkReportFacts facts, int sign) {
+        workReportDailyStatRepository.upsert(facts.day(), facts.status(), facts.category(), facts.equipmentCode(),
+                sign, (long) sign * facts.totalTimeMinutes());
+        if (sign < 0) {
+            workReportDailyStatRepository.deleteIfEmpty(facts.day(), facts.status(), facts.category(),
+                    facts.equipmentCode());
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package ahqpck.maintenance.report.service;
 
 import ahqpck.maintenance.report.dto.AssigneeDailyStatusDTO;
-import ahqpck.maintenance.report.dto.AssigneeDailyStatusDetailDTO;
+import ahqpck.maintenance.report.dto.ComplaintBucketDTO;
 import ahqpck.maintenance.report.dto.DailyBreakdownDTO;
 import ahqpck.maintenance.report.dto.DailyComplaintDTO;
 import ahqpck.maintenance.report.dto.DailyWorkReportDTO;
@@ -14,30 +14,46 @@ import ahqpck.maintenance.report.dto.MonthlyComplaintDTO;
 import ahqpck.maintenance.report.dto.MonthlyWorkReportDTO;
 import ahqpck.maintenance.report.dto.MonthlyWorkReportEquipmentDTO;
 import ahqpck.maintenance.report.dto.StatusCountDTO;
+import ahqpck.maintenance.report.repository.DashboardQueryEngine.BucketSize;
+import ahqpck.maintenance.report.repository.DashboardQueryEngine.EquipmentRanking;
 import ahqpck.maintenance.report.repository.DashboardRepository;
+import ahqpck.maintenance.report.util.WorkloadMatrix;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
+    private static final int MAX_EQUIPMENT_COUNT_LIMIT = 100;
+
+    // hour and shift buckets are counted from the complaints table itself
+    private static final int MAX_HOURLY_RANGE_DAYS = 92;
+
+    // day, week, month and quarter buckets come from calendar_days
+    private static final int MAX_CALENDAR_BUCKETS = 1000;
+
     private final DashboardRepository dashboardRepository;
+    private final DashboardCache dashboardCache;
+    private final CalendarService calendarService;
 
     public StatusCountDTO getStatusCount(LocalDateTime from, LocalDateTime to) {
-        return dashboardRepository.getStatusCount(from, to);
+        // 'to' is exclusive of its own day, as before
+        LocalDate fromDate = from != null ? from.toLocalDate() : null;
+        LocalDate toDate = to != null ? to.toLocalDate() : null;
+        return dashboardCache.get(DashboardCache.key("statusCount", fromDate, toDate), fromDate, toDate,
+                () -> dashboardRepository.getStatusCount(fromDate, toDate));
     }
 
     public List<DailyComplaintDTO> getDailyComplaint(LocalDateTime from, LocalDateTime to) {
@@ -54,16 +70,61 @@ public class DashboardService {
         // or equal to 'to'");
         // }
 
-        return dashboardRepository.getDailyComplaint(effectiveFrom, effectiveTo);
+        LocalDate fromDate = effectiveFrom.toLocalDate();
+        LocalDate toExclusive = effectiveTo.toLocalDate().plusDays(1);
+        return dashboardCache.get(DashboardCache.key("dailyComplaint", fromDate, toExclusive), fromDate, toExclusive,
+                () -> dashboardRepository.getDailyComplaint(fromDate, toExclusive));
     }
 
-    public List<MonthlyComplaintDTO> getMonthlyComplaint(Integer year) {
+    /**
+     * Complaint status counts over any range, in hour, shift, day, week, month or quarter
+     * buckets. Defaults to the last 7 days by day; 'to' is inclusive.
+     */
+    public List<ComplaintBucketDTO> getComplaintBuckets(LocalDate from, LocalDate to, String granularity) {
+        BucketSize size = bucketSize(granularity);
+        LocalDate defaultTo = LocalDate.now();
+        LocalDate effectiveFrom = from != null ? from : defaultTo.minusDays(6);
+        LocalDate effectiveTo = to != null ? to : defaultTo;
+        if (effectiveFrom.isAfter(effectiveTo)) {
+            throw new IllegalArgumentException("Invalid date range: 'from' must be before or equal to 'to'");
+        }
 
-        Integer effectiveYear = (year != null && year > 1900) ? year : LocalDate.now().getYear();
-        return dashboardRepository.getMonthlyComplaint(effectiveYear);
+        LocalDate toExclusive = dailyRangeEnd(effectiveTo);
+        if ((size == BucketSize.HOUR || size == BucketSize.SHIFT)
+                && ChronoUnit.DAYS.between(effectiveFrom, toExclusive) > MAX_HOURLY_RANGE_DAYS) {
+            throw new IllegalArgumentException(
+                    "Hour and shift buckets cover at most " + MAX_HOURLY_RANGE_DAYS + " days");
+        }
+        if (calendarBucketCount(size, effectiveFrom, toExclusive) > MAX_CALENDAR_BUCKETS) {
+            throw new IllegalArgumentException("At most " + MAX_CALENDAR_BUCKETS
+                    + " buckets per request; use a shorter range or a larger granularity");
+        }
+        if (effectiveFrom.isBefore(toExclusive)) {
+            calendarService.ensureCovered(effectiveFrom, toExclusive.minusDays(1));
+        }
+        return dashboardCache.get(DashboardCache.key("complaintBuckets", size, effectiveFrom, toExclusive),
+                effectiveFrom, toExclusive,
+                () -> dashboardRepository.getComplaintBuckets(size, effectiveFrom, toExclusive,
+                        calendarService.getShiftStarts()));
+    }
+
+    public List<MonthlyComplaintDTO> getMonthlyComplaint(Integer year) {
+        LocalDate yearStart = yearStart(year);
+        LocalDate toExclusive = monthlyRangeEnd(yearStart);
+        return dashboardCache.get(DashboardCache.key("monthlyComplaint", yearStart, toExclusive), yearStart, toExclusive,
+                () -> dashboardRepository.getMonthlyComplaint(yearStart, toExclusive));
     }
 
     public AssigneeDailyStatusDTO getAssigneeDailyStatus(LocalDateTime from, LocalDateTime to) {
+        return getAssigneeDailyStatus(from, to, null);
+    }
+
+    /**
+     * Complaint counts per assignee and status for each day, week or month of the range.
+     * {@code dates} holds the first day of every bucket.
+     */
+    public AssigneeDailyStatusDTO getAssigneeDailyStatus(LocalDateTime from, LocalDateTime to, String granularity) {
+        WorkloadMatrix.Granularity bucketSize = WorkloadMatrix.Granularity.of(granularity);
 
         if (from == null || to == null) {
             to = LocalDateTime.now().with(LocalTime.MAX);
@@ -78,80 +139,15 @@ public class DashboardService {
             throw new IllegalArgumentException("Invalid date range: 'from' must be before or equal to 'to'");
         }
 
-        List<Object[]> results = dashboardRepository.getAssigneeDailyStatus(fromDate, toDate);
-
-        // Generate all dates in range
-        List<LocalDate> dateList = Stream.iterate(fromDate, d -> d.plusDays(1))
-                .takeWhile(d -> !d.isAfter(toDate))
-                .collect(Collectors.toList());
-
-        int numDays = dateList.size();
-
-        Map<String, AssigneeDailyStatusDetailDTO> assigneeMap = new LinkedHashMap<>();
-
-        // Pre-initialize all assignees with empty lists of zeros
-        for (Object[] row : results) {
-            String assigneeName = (String) row[0]; // u.name
-            String assigneeEmpId = (String) row[1]; // u.employee_id
-
-            // Create a unique key using name + empId to avoid collisions if names are
-            // duplicated
-            String assigneeKey = assigneeName + "|" + assigneeEmpId;
-
-            assigneeMap.computeIfAbsent(assigneeKey, k -> {
-                AssigneeDailyStatusDetailDTO dto = new AssigneeDailyStatusDetailDTO();
-                dto.setAssigneeName(assigneeName);
-                dto.setAssigneeEmpId(assigneeEmpId);
-                List<Integer> zeros = Collections.nCopies(numDays, 0);
-                dto.setOpen(new ArrayList<>(zeros));
-                dto.setPending(new ArrayList<>(zeros));
-                dto.setClosed(new ArrayList<>(zeros));
-                return dto;
-            });
-        }
+        List<Object[]> results = dashboardCache.get(DashboardCache.key("assigneeDailyStatus", fromDate, toDate),
+                fromDate, toDate.plusDays(1), () -> dashboardRepository.getAssigneeDailyStatus(fromDate, toDate));
 
-        // Now populate the counts
-        for (Object[] row : results) {
-            String assigneeName = (String) row[0];
-            String assigneeEmpId = (String) row[1];
-            String status = (String) row[2];
-            LocalDate reportDate = ((java.sql.Date) row[3]).toLocalDate();
-            Long count = ((Number) row[4]).longValue();
-
-            if (!dateList.contains(reportDate)) {
-                continue;
-            }
-
-            int dayIndex = dateList.indexOf(reportDate);
-
-            // Use composite key to look up DTO
-            String assigneeKey = assigneeName + "|" + assigneeEmpId;
-            AssigneeDailyStatusDetailDTO dto = assigneeMap.get(assigneeKey);
-
-            if ("OPEN".equals(status)) {
-                List<Integer> open = dto.getOpen();
-                open.set(dayIndex, Math.toIntExact(count));
-                dto.setOpen(open); // Not strictly needed since it's mutable, but safe
-            } else if ("PENDING".equals(status)) {
-                List<Integer> pending = dto.getPending();
-                pending.set(dayIndex, Math.toIntExact(count));
-                dto.setPending(pending);
-            } else if ("CLOSED".equals(status)) {
-                List<Integer> closed = dto.getClosed();
-                closed.set(dayIndex, Math.toIntExact(count));
-                dto.setClosed(closed);
-            }
-        }
-
-        AssigneeDailyStatusDTO response = new AssigneeDailyStatusDTO();
-        response.setDates(dateList.stream().map(LocalDate::toString).collect(Collectors.toList()));
-        response.setData(new ArrayList<>(assigneeMap.values()));
-
-        return response;
+        return WorkloadMatrix.build(results, fromDate, toDate, bucketSize);
     }
 
     public List<EquipmentComplaintCountDTO> getEquipmentComplaintCount() {
-        return dashboardRepository.getEquipmentComplaintCount();
+        return dashboardCache.get(DashboardCache.key("equipmentComplaintCount"), null, null,
+                dashboardRepository::getEquipmentComplaintCount);
     }
 
     public List<DailyBreakdownDTO> getDailyBreakdownTime(LocalDate from, LocalDate to) {
@@ -161,16 +157,21 @@ public class DashboardService {
         LocalDate effectiveFrom = from != null ? from : defaultFrom;
         LocalDate effectiveTo = to != null ? to : defaultTo;
 
-        return dashboardRepository.getDailyBreakdownTime(effectiveFrom, effectiveTo);
+        LocalDate toExclusive = dailyRangeEnd(effectiveTo);
+        return dashboardCache.get(DashboardCache.key("dailyBreakdownTime", effectiveFrom, toExclusive), effectiveFrom, toExclusive,
+                () -> dashboardRepository.getDailyBreakdownTime(effectiveFrom, toExclusive));
     }
 
     public List<MonthlyBreakdownDTO> getMonthlyBreakdownTime(Integer year) {
-        Integer effectiveYear = (year != null && year > 1900) ? year : LocalDate.now().getYear();
-        return dashboardRepository.getMonthlyBreakdownTime(effectiveYear);
+        LocalDate yearStart = yearStart(year);
+        LocalDate toExclusive = monthlyRangeEnd(yearStart);
+        return dashboardCache.get(DashboardCache.key("monthlyBreakdownTime", yearStart, toExclusive), yearStart, toExclusive,
+                () -> dashboardRepository.getMonthlyBreakdownTime(yearStart, toExclusive));
     }
 
     public List<EquipmentWorkReportDTO> getEquipmentWorkReport() {
-        return dashboardRepository.getEquipmentWorkReport();
+        return dashboardCache.get(DashboardCache.key("equipmentWorkReport"), null, null,
+                dashboardRepository::getEquipmentWorkReport);
     }
 
     public List<DailyWorkReportDTO> getDailyWorkReport(LocalDate from, LocalDate to) {
@@ -180,13 +181,17 @@ public class DashboardService {
         LocalDate effectiveFrom = from != null ? from : defaultFrom;
         LocalDate effectiveTo = to != null ? to : defaultTo;
 
-        return dashboardRepository.getDailyWorkReport(effectiveFrom, effectiveTo);
+        LocalDate toExclusive = dailyRangeEnd(effectiveTo);
+        return dashboardCache.get(DashboardCache.key("dailyWorkReport", effectiveFrom, toExclusive), effectiveFrom, toExclusive,
+                () -> dashboardRepository.getDailyWorkReport(effectiveFrom, toExclusive));
     }
 
     // === Monthly Work Report Count ===
     public List<MonthlyWorkReportDTO> getMonthlyWorkReport(Integer year) {
-        Integer effectiveYear = (year != null && year > 1900) ? year : LocalDate.now().getYear();
-        return dashboardRepository.getMonthlyWorkReport(effectiveYear);
+        LocalDate yearStart = yearStart(year);
+        LocalDate toExclusive = monthlyRangeEnd(yearStart);
+        return dashboardCache.get(DashboardCache.key("monthlyWorkReport", yearStart, toExclusive), yearStart, toExclusive,
+                () -> dashboardRepository.getMonthlyWorkReport(yearStart, toExclusive));
     }
 
     public List<DailyWorkReportEquipmentDTO> getDailyWorkReportEquipment(LocalDate from, LocalDate to,
@@ -197,19 +202,90 @@ public class DashboardService {
         LocalDate effectiveFrom = from != null ? from : defaultFrom;
         LocalDate effectiveTo = to != null ? to : defaultTo;
 
-        String effectiveEquipmentCode = (equipmentCode != null && !equipmentCode.trim().isEmpty())
-                ? equipmentCode.trim()
-                : null;
-
-        return dashboardRepository.getDailyWorkReportEquipment(effectiveFrom, effectiveTo, effectiveEquipmentCode);
+        LocalDate toExclusive = dailyRangeEnd(effectiveTo);
+        String code = normalizeEquipmentCode(equipmentCode);
+        return dashboardCache.get(DashboardCache.key("dailyWorkReportEquipment", effectiveFrom, toExclusive, code),
+                effectiveFrom, toExclusive,
+                () -> dashboardRepository.getDailyWorkReportEquipment(effectiveFrom, toExclusive, code));
     }
 
     public List<MonthlyWorkReportEquipmentDTO> getMonthlyWorkReportEquipment(Integer year, String equipmentCode) {
-        Integer effectiveYear = (year != null && year > 1900) ? year : LocalDate.now().getYear();
-        return dashboardRepository.getMonthlyWorkReportEquipment(effectiveYear, equipmentCode);
+        LocalDate yearStart = yearStart(year);
+        LocalDate toExclusive = monthlyRangeEnd(yearStart);
+        String code = normalizeEquipmentCode(equipmentCode);
+        return dashboardCache.get(DashboardCache.key("monthlyWorkReportEquipment", yearStart, toExclusive, code),
+                yearStart, toExclusive,
+                () -> dashboardRepository.getMonthlyWorkReportEquipment(yearStart, toExclusive, code));
+    }
+
+    /**
+     * Top-N equipment health list. Without a limit the full ranking is returned, as before.
+     * An explicit offset wins over page; page alone starts at page * limit.
+     */
+    public List<EquipmentCountDTO> getEquipmentCount(Integer page, Integer offset, Integer limit, String rankBy) {
+        EquipmentRanking ranking = "time".equalsIgnoreCase(rankBy) ? EquipmentRanking.TIME
+                : EquipmentRanking.OCCURRENCES;
+
+        if (limit == null) {
+            return dashboardCache.get(DashboardCache.key("equipmentCount", ranking), null, null,
+                    () -> dashboardRepository.getEquipmentCount(ranking, 0, null));
+        }
+
+        int effectiveLimit = Math.min(Math.max(limit, 1), MAX_EQUIPMENT_COUNT_LIMIT);
+        int rowOffset = offset != null ? Math.max(offset, 0)
+                : (page != null && page > 0 ? page : 0) * effectiveLimit;
+        return dashboardCache.get(DashboardCache.key("equipmentCount", ranking, rowOffset, effectiveLimit), null, null,
+                () -> dashboardRepository.getEquipmentCount(ranking, rowOffset, effectiveLimit));
+    }
+
+    // ================== RANGE HELPERS ==================
+
+    private LocalDate yearStart(Integer year) {
+        int effectiveYear = (year != null && year > 1900) ? year : LocalDate.now().getYear();
+        return LocalDate.of(effectiveYear, 1, 1);
+    }
+
+    // Exclusive end of a yearly chart: end of the year, but never past the current month
+    private LocalDate monthlyRangeEnd(LocalDate yearStart) {
+        LocalDate endOfCurrentMonth = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+        LocalDate endOfYear = yearStart.plusYears(1);
+        return endOfYear.isBefore(endOfCurrentMonth) ? endOfYear : endOfCurrentMonth;
+    }
+
+    // Exclusive end of a daily chart: the day after 'to', but never past today
+    private LocalDate dailyRangeEnd(LocalDate to) {
+        LocalDate today = LocalDate.now();
+        return (to.isAfter(today) ? today : to).plusDays(1);
+    }
+
+    // Number of day, week, month or quarter buckets touched by [from, toExclusive); 0 for the others
+    private static long calendarBucketCount(BucketSize size, LocalDate from, LocalDate toExclusive) {
+        if (!from.isBefore(toExclusive)) {
+            return 0;
+        }
+        LocalDate last = toExclusive.minusDays(1);
+        return switch (size) {
+            case DAY -> ChronoUnit.DAYS.between(from, toExclusive);
+            case WEEK -> ChronoUnit.WEEKS.between(from.with(DayOfWeek.MONDAY), last.with(DayOfWeek.MONDAY)) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(last)) + 1;
+            case QUARTER -> IsoFields.QUARTER_YEARS.between(from.with(IsoFields.DAY_OF_QUARTER, 1),
+                    last.with(IsoFields.DAY_OF_QUARTER, 1)) + 1;
+            default -> 0;
+        };
+    }
+
+    private static BucketSize bucketSize(String granularity) {
+        if (granularity == null || granularity.isBlank()) {
+            return BucketSize.DAY;
+        }
+        try {
+            return BucketSize.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported granularity: " + granularity);
+        }
     }
 
-    public List<EquipmentCountDTO> getEquipmentCount() {
-        return dashboardRepository.getEquipmentCount();
+    private String normalizeEquipmentCode(String equipmentCode) {
+        return (equipmentCode != null && !equipmentCode.trim().isEmpty()) ? equipmentCode.trim() : null;
     }
 }
\ No newline at end of file
@@ -5,13 +5,13 @@ import ahqpck.maintenance.report.entity.Equipment;
 import ahqpck.maintenance.report.exception.NotFoundException;
 import ahqpck.maintenance.report.repository.EquipmentRepository;
 import ahqpck.maintenance.report.specification.EquipmentSpecification;
-import ahqpck.maintenance.report.util.FileUploadUtil;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,6 +21,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -31,13 +32,25 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EquipmentService {
 
-    @Value("${app.upload-equipment-image.dir:src/main/resources/static/upload/equipment/image}")
-    private String uploadDir;
-
     private final EquipmentRepository equipmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private final FileUploadUtil fileUploadUtil;
+    private final ImageStorageService imageStorageService;
     private final ImportUtil importUtil;
+    private final ExportService exportService;
+
+    private static final List<ExportService.Column<Equipment>> EXPORT_COLUMNS = List.of(
+            new ExportService.Column<>("code", Equipment::getCode),
+            new ExportService.Column<>("name", Equipment::getName),
+            new ExportService.Column<>("model", Equipment::getModel),
+            new ExportService.Column<>("unit", Equipment::getUnit),
+            new ExportService.Column<>("qty", Equipment::getQty),
+            new ExportService.Column<>("manufacturer", Equipment::getManufacturer),
+            new ExportService.Column<>("serialNo", Equipment::getSerialNo),
+            new ExportService.Column<>("manufacturedDate", Equipment::getManufacturedDate),
+            new ExportService.Column<>("commissionedDate", Equipment::getCommissionedDate),
+            new ExportService.Column<>("capacity", Equipment::getCapacity),
+            new ExportService.Column<>("remarks", Equipment::getRemarks));
 
     public Page<EquipmentDTO> getAllEquipments(String keyword, int page, int size, String sortBy, boolean asc) {
         Sort sort = asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
@@ -49,6 +62,15 @@ public class EquipmentService {
         return equipmentPage.map(this::toDTO);
     }
 
+    /**
+     * Writes every equipment matching the keyword to {@code out}, in list order.
+     */
+    public long exportEquipments(String keyword, String sortBy, boolean asc, SpreadsheetWriter.Format format,
+            OutputStream out) throws IOException {
+        return exportService.export(Equipment.class, EquipmentSpecification.search(keyword),
+                ExportService.sort(sortBy, asc), List.of(), EXPORT_COLUMNS, format, "Equipments", out);
+    }
+
     public void createEquipment(EquipmentDTO dto, MultipartFile imageFile) {
         if (equipmentRepository.existsByCodeIgnoreCase(dto.getCode())) {
             throw new IllegalArgumentException("Equipment with this code already exists.");
@@ -59,7 +81,7 @@ public class EquipmentService {
 
         if (imageFile != null && !imageFile.isEmpty()) {
             try {
-                String fileName = fileUploadUtil.saveFile(uploadDir, imageFile, "image");
+                String fileName = imageStorageService.store(imageFile);
                 equipment.setImage(fileName);
             } catch (IOException e) {
                 throw new IllegalArgumentException("Failed to save image: " + e.getMessage());
@@ -67,6 +89,7 @@ public class EquipmentService {
         }
 
         equipmentRepository.save(equipment);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("equipments"));
     }
 
     public void updateEquipment(EquipmentDTO dto, MultipartFile imageFile, boolean deleteImage) {
@@ -78,14 +101,10 @@ public class EquipmentService {
 
         String oldImage = equipment.getImage();
         if (deleteImage && oldImage != null) {
-            fileUploadUtil.deleteFile(uploadDir, oldImage);
             equipment.setImage(null);
         } else if (imageFile != null && !imageFile.isEmpty()) {
             try {
-                String newImage = fileUploadUtil.saveFile(uploadDir, imageFile, "image");
-                if (oldImage != null) {
-                    fileUploadUtil.deleteFile(uploadDir, oldImage);
-                }
+                String newImage = imageStorageService.store(imageFile);
                 equipment.setImage(newImage);
             } catch (IOException e) {
                 throw new IllegalArgumentException("Failed to save image: " + e.getMessage());
@@ -93,20 +112,29 @@ public class EquipmentService {
         }
 
         equipmentRepository.save(equipment);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("equipments"));
     }
 
     public void deleteEquipment(String id) {
         Equipment equipment = equipmentRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Equipment not found with ID: " + id));
 
-        if (equipment.getImage() != null) {
-            fileUploadUtil.deleteFile(uploadDir, equipment.getImage());
-        }
         equipmentRepository.delete(equipment);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("equipments"));
     }
 
     // Add this method to EquipmentService
     public ImportUtil.ImportResult importEquipmentsFromExcel(List<Map<String, Object>> data) {
+        return importEquipmentsFromExcel(data, 0, new ImportUtil.ParseContext());
+    }
+
+    /**
+     * Imports one chunk of a larger file; {@code rowOffset} is the number of data rows
+     * before this chunk, so error messages keep the row numbers of the whole file.
+     * {@code dates} is shared by all chunks of the file, so each date column keeps one format.
+     */
+    public ImportUtil.ImportResult importEquipmentsFromExcel(List<Map<String, Object>> data, int rowOffset,
+            ImportUtil.ParseContext dates) {
         List<String> errorMessages = new ArrayList<>();
         int importedCount = 0;
 
@@ -136,8 +164,8 @@ public class EquipmentService {
                 dto.setQty(importUtil.toInteger(row.get("qty")));
                 dto.setManufacturer(importUtil.toString(row.get("manufacturer")));
                 dto.setSerialNo(importUtil.toString(row.get("serialNo")));
-                dto.setManufacturedDate(importUtil.toLocalDate(row.get("manufacturedDate")));
-                dto.setCommissionedDate(importUtil.toLocalDate(row.get("commissionedDate")));
+                dto.setManufacturedDate(dates.toLocalDate(row, "manufacturedDate"));
+                dto.setCommissionedDate(dates.toLocalDate(row, "commissionedDate"));
                 dto.setCapacity(importUtil.toString(row.get("capacity")));
                 dto.setRemarks(importUtil.toString(row.get("remarks")));
 
@@ -150,7 +178,7 @@ public class EquipmentService {
 
             } catch (Exception e) {
                 String message = e.getMessage() != null ? e.getMessage() : "Unknown error";
-                errorMessages.add("Row " + (i + 1) + ": " + message);
+                errorMessages.add("Row " + (rowOffset + i + 1) + ": " + message);
             }
         }
 
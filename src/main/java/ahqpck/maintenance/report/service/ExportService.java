@@ -0,0 +1,163 @@
+package ahqpck.maintenance.report.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams every row matching a list's filters into a CSV or XLSX file.
+ *
+ * The rows are read forward-only with a JDBC fetch size inside a read-only transaction, written
+ * straight to the output stream, and the session is cleared every {@code app.export.fetch-size}
+ * rows. Memory use therefore does not grow with the size of the export.
+ *
+ * MySQL only honours the fetch size with useCursorFetch, which also switches the connection to
+ * server-side prepared statements. Exports therefore run on a small pool of their own
+ * ({@code app.export.max-connections}) with that flag, in a Hibernate session opened on one of
+ * its connections; the application's datasource is left as it is. Lazy associations read by the
+ * columns are loaded on the same connection while the cursor is open.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    /** One column of an export: header text and how to read the cell from the entity. */
+    public record Column<T>(String header, Function<T, ?> value) {
+    }
+
+    private final SessionFactory sessionFactory;
+    private final HikariDataSource exportDataSource;
+    private final int fetchSize;
+
+    public ExportService(EntityManagerFactory entityManagerFactory, DataSourceProperties dataSourceProperties,
+            @Value("${app.export.fetch-size:500}") int fetchSize,
+            @Value("${app.export.max-connections:2}") int maxConnections) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.exportDataSource = exportDataSource(dataSourceProperties, maxConnections);
+        this.fetchSize = fetchSize;
+    }
+
+    @PreDestroy
+    public void close() {
+        exportDataSource.close();
+    }
+
+    /** The list's order with the id as tie-breaker. */
+    public static Sort sort(String sortBy, boolean asc) {
+        Sort.Direction direction = asc ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(new Sort.Order(direction, sortBy), new Sort.Order(direction, "id"));
+    }
+
+    /**
+     * @param spec    the list's filters; may set its own ORDER BY when {@code sort} is unsorted
+     * @param fetches to-one associations read by the columns, joined in the same query
+     * @return number of rows written (without the header)
+     */
+    public <T> long export(Class<T> entityClass, Specification<T> spec, Sort sort, List<String> fetches,
+            List<Column<T>> columns, SpreadsheetWriter.Format format, String sheetName, OutputStream out)
+            throws IOException {
+        long started = System.nanoTime();
+        long rows;
+        try (Connection connection = exportDataSource.getConnection();
+                Session session = sessionFactory.withOptions().connection(connection).openSession()) {
+            connection.setReadOnly(true);
+            session.setDefaultReadOnly(true);
+            session.beginTransaction();
+            try {
+                rows = export(session, entityClass, spec, sort, fetches, columns, format, sheetName, out);
+            } finally {
+                // nothing was written; ends the read-only transaction
+                session.getTransaction().rollback();
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not open an export connection", e);
+        }
+        log.info("Exported {} {} row(s) as {} in {} ms", rows, entityClass.getSimpleName(), format,
+                (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private <T> long export(Session session, Class<T> entityClass, Specification<T> spec, Sort sort,
+            List<String> fetches, List<Column<T>> columns, SpreadsheetWriter.Format format, String sheetName,
+            OutputStream out) throws IOException {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        fetches.forEach(association -> root.fetch(association, JoinType.LEFT));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        long rows = 0;
+        try (Stream<T> stream = session.createQuery(query)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .getResultStream();
+                SpreadsheetWriter writer = SpreadsheetWriter.open(format, out, sheetName)) {
+            writer.row(columns.stream().map(Column::header).toList());
+
+            List<Object> cells = new ArrayList<>(columns.size());
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T entity = iterator.next();
+                cells.clear();
+                for (Column<T> column : columns) {
+                    cells.add(column.value().apply(entity));
+                }
+                writer.row(cells);
+
+                if (++rows % fetchSize == 0) {
+                    session.clear();
+                }
+            }
+        }
+        return rows;
+    }
+
+    /** The application's datasource settings with useCursorFetch added, on a pool of its own. */
+    private static HikariDataSource exportDataSource(DataSourceProperties properties, int maxConnections) {
+        String url = properties.determineUrl();
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true")
+                .build();
+        dataSource.setPoolName("export");
+        dataSource.setMaximumPoolSize(maxConnections);
+        dataSource.setMinimumIdle(0);
+        return dataSource;
+    }
+}
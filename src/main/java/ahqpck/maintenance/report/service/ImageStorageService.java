@@ -0,0 +1,169 @@
+package ahqpck.maintenance.report.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import ahqpck.maintenance.report.util.FileUploadUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores uploaded images (part, equipment, user and complaint photos) in the {@link BlobStore}.
+ * The entity columns hold the blob key; pages load it from /blobs/{key}.
+ *
+ * Also moves images saved by earlier versions under static/upload into the store on start-up,
+ * and removes blobs no row refers to any more.
+ */
+@Slf4j
+@Service
+public class ImageStorageService {
+
+    private static final long MAX_SIZE = 10 * 1024 * 1024;
+
+    /** A column holding an image key, and where earlier versions kept its files. */
+    private record ImageColumn(String table, String column, String legacyDir) {
+    }
+
+    private final BlobStore blobStore;
+    private final ImageVariantService imageVariantService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration cleanupGrace;
+    private final List<ImageColumn> columns;
+
+    public ImageStorageService(BlobStore blobStore, ImageVariantService imageVariantService,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.blobs.cleanup-grace:P1D}") Duration cleanupGrace,
+            @Value("${app.upload-part-image.dir:src/main/resources/static/upload/part/image}") String partDir,
+            @Value("${app.upload-equipment-image.dir:src/main/resources/static/upload/equipment/image}") String equipmentDir,
+            @Value("${app.upload-user-image.dir:src/main/resources/static/upload/user/image}") String userDir,
+            @Value("${app.upload-complaint-image-before.dir:src/main/resources/static/upload/complaint/image/before}") String beforeDir,
+            @Value("${app.upload-complaint-image-after.dir:src/main/resources/static/upload/complaint/image/after}") String afterDir) {
+        this.blobStore = blobStore;
+        this.imageVariantService = imageVariantService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cleanupGrace = cleanupGrace;
+        this.columns = List.of(
+                new ImageColumn("parts", "image", partDir),
+                new ImageColumn("equipments", "image", equipmentDir),
+                new ImageColumn("users", "image", userDir),
+                new ImageColumn("complaints", "image_before", beforeDir),
+                new ImageColumn("complaints", "image_after", afterDir));
+    }
+
+    /**
+     * Validates and stores an uploaded image and queues its thumbnails.
+     *
+     * @return blob key to keep in the entity
+     * @throws IOException if the file is too large, not an image, or cannot be stored
+     */
+    public String store(MultipartFile file) throws IOException {
+        if (file.getSize() > MAX_SIZE) {
+            throw new IOException("File size exceeds 10 MB limit.");
+        }
+        FileUploadUtil.validateFileType(file, "image");
+
+        String name = file.getOriginalFilename();
+        String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        String key;
+        try (InputStream in = file.getInputStream()) {
+            key = blobStore.put(in, extension);
+        }
+        imageVariantService.generateAsync(key);
+        return key;
+    }
+
+    /**
+     * Copies images still named by file in the old upload folders into the blob store and
+     * points their rows at the blob. The old files are left in place.
+     */
+    public void initialize() {
+        int moved = 0;
+        for (ImageColumn image : columns) {
+            List<Object[]> updates = new ArrayList<>();
+            List<String[]> rows = jdbcTemplate.query(
+                    "SELECT id, " + image.column() + " FROM " + image.table()
+                            + " WHERE " + image.column() + " IS NOT NULL AND " + image.column() + " <> ''",
+                    (rs, rowNum) -> new String[] { rs.getString(1), rs.getString(2) });
+            for (String[] row : rows) {
+                String fileName = row[1];
+                if (BlobStore.isKey(fileName)) {
+                    continue;
+                }
+                Path file = Paths.get(image.legacyDir()).resolve(fileName).normalize();
+                if (!Files.isRegularFile(file) || fileName.lastIndexOf('.') < 0) {
+                    log.warn("Image {} of {} {} not found in {}", fileName, image.table(), row[0], image.legacyDir());
+                    continue;
+                }
+                String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+                try (InputStream in = Files.newInputStream(file)) {
+                    String key = blobStore.put(in, extension);
+                    imageVariantService.generateAsync(key);
+                    updates.add(new Object[] { key, row[0] });
+                } catch (IOException | IllegalArgumentException e) {
+                    log.warn("Failed to move image {} into the blob store: {}", file, e.getMessage());
+                }
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE " + image.table() + " SET " + image.column() + " = ? WHERE id = ?",
+                        updates);
+                moved += updates.size();
+            }
+        }
+        if (moved > 0) {
+            log.info("Moved {} uploaded image(s) into the blob store", moved);
+        }
+    }
+
+    /**
+     * Deletes blobs (with their thumbnails) that no image column refers to. Blobs stored within
+     * {@code app.blobs.cleanup-grace} are kept, as the row that will refer to them may not be
+     * committed yet.
+     */
+    @Scheduled(cron = "${app.blobs.cleanup-cron:0 0 3 * * *}")
+    public void cleanUp() {
+        Set<String> referenced = new HashSet<>();
+        for (ImageColumn image : columns) {
+            jdbcTemplate.query("SELECT DISTINCT " + image.column() + " FROM " + image.table()
+                    + " WHERE " + image.column() + " IS NOT NULL", rs -> {
+                        String value = rs.getString(1);
+                        if (BlobStore.isKey(value)) {
+                            referenced.add(BlobStore.hashOf(value));
+                        }
+                    });
+        }
+
+        Instant cutoff = Instant.now().minus(cleanupGrace);
+        AtomicInteger deleted = new AtomicInteger();
+        try {
+            blobStore.forEach((key, storedAt) -> {
+                if (storedAt.isBefore(cutoff) && !referenced.contains(BlobStore.hashOf(key))) {
+                    try {
+                        blobStore.delete(key);
+                        deleted.incrementAndGet();
+                    } catch (IOException e) {
+                        log.warn("Failed to delete blob {}: {}", key, e.getMessage());
+                    }
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Blob cleanup stopped: {}", e.getMessage());
+        }
+        log.info("Blob cleanup: {} unreferenced file(s) deleted", deleted.get());
+    }
+}
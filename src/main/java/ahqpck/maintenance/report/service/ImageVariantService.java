@@ -0,0 +1,199 @@
+package ahqpck.maintenance.report.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes downscaled JPEG copies of uploaded images in the background.
+ *
+ * For blob {@code <hash>.<ext>} the copies are the derived blobs {@code <hash>.thumb.jpg} (list
+ * pages) and {@code <hash>.medium.jpg} (detail pages). They are made on a small pool owned by
+ * this service; when its queue is full an image simply gets no copies, and templates fall back
+ * to the original whenever a copy is missing.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    public enum Variant {
+        THUMB("thumb", 200), MEDIUM("medium", 800);
+
+        private final String suffix;
+        private final int maxSide;
+
+        Variant(String suffix, int maxSide) {
+            this.suffix = suffix;
+            this.maxSide = maxSide;
+        }
+    }
+
+    private final BlobStore blobStore;
+    private final ThreadPoolExecutor executor;
+    private final float quality;
+
+    public ImageVariantService(BlobStore blobStore,
+            @Value("${app.images.variants.pool-size:2}") int poolSize,
+            @Value("${app.images.variants.queue-capacity:100}") int queueCapacity,
+            @Value("${app.images.variants.jpeg-quality:0.8}") float quality) {
+        this.blobStore = blobStore;
+        this.quality = quality;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /** Key of a variant of blob {@code key}. */
+    public static String variantKey(String key, Variant variant) {
+        return BlobStore.hashOf(key) + "." + variant.suffix + ".jpg";
+    }
+
+    /** Queues the variants of a blob that was just stored. */
+    public void generateAsync(String key) {
+        try {
+            executor.execute(() -> generate(key));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image queue full, no thumbnails for {}", key);
+        }
+    }
+
+    private void generate(String key) {
+        long started = System.nanoTime();
+        try {
+            Resource original = blobStore.get(key).orElse(null);
+            if (original == null) {
+                return;
+            }
+            BufferedImage image;
+            try (InputStream in = original.getInputStream()) {
+                image = read(in, Variant.MEDIUM.maxSide);
+            }
+            if (image == null) {
+                log.info("No thumbnails for {}: format not readable", key);
+                return;
+            }
+            // the thumbnail is scaled from the medium copy, not from the full image again
+            BufferedImage medium = scale(image, Variant.MEDIUM.maxSide);
+            blobStore.putDerived(variantKey(key, Variant.MEDIUM), encode(medium));
+            blobStore.putDerived(variantKey(key, Variant.THUMB), encode(scale(medium, Variant.THUMB.maxSide)));
+            log.debug("Image variants of {} written in {} ms", key, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Failed to create image variants of {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes the image, skipping pixels while the result stays at least twice {@code targetSide}
+     * so a large photo is never held at full resolution.
+     */
+    private static BufferedImage read(InputStream in, int targetSide) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longest / (targetSide * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Fits the image in a {@code maxSide} square on a white background (JPEG has no alpha). */
+    private static BufferedImage scale(BufferedImage source, int maxSide) {
+        int longest = Math.max(source.getWidth(), source.getHeight());
+        double factor = Math.min(1.0, (double) maxSide / longest);
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+
+        BufferedImage current = source;
+        // halve first: one bilinear step from far above the target size looks grainy
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != width || current.getHeight() != height
+                || current.getType() != BufferedImage.TYPE_INT_RGB) {
+            current = draw(current, width, height);
+        }
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
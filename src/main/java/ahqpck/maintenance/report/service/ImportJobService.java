@@ -0,0 +1,274 @@
+package ahqpck.maintenance.report.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import ahqpck.maintenance.report.dto.ImportJobDTO;
+import ahqpck.maintenance.report.exception.NotFoundException;
+import ahqpck.maintenance.report.util.IdGenerator;
+import ahqpck.maintenance.report.util.ImportUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs file imports in the background so the request that uploaded the file returns at once.
+ *
+ * Jobs run on a small pool owned by this service; when its queue is full new uploads are
+ * rejected instead of piling up. Job state lives in memory only and finished jobs are
+ * forgotten after {@code app.import.jobs.retention}.
+ */
+@Slf4j
+@Service
+public class ImportJobService {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    /** Stored error lines per job; the rest are only counted. */
+    public static final int MAX_STORED_ERRORS = 100_000;
+
+    private final SpreadsheetImportService spreadsheetImportService;
+    private final Map<String, SpreadsheetImportService.ChunkImporter> importers;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+
+    public ImportJobService(SpreadsheetImportService spreadsheetImportService,
+            ComplaintService complaintService,
+            WorkReportService workReportService,
+            UserService userService,
+            EquipmentService equipmentService,
+            AreaService areaService,
+            @Value("${app.import.jobs.pool-size:2}") int poolSize,
+            @Value("${app.import.jobs.queue-capacity:20}") int queueCapacity,
+            @Value("${app.import.jobs.retention:PT24H}") Duration retention) {
+        this.spreadsheetImportService = spreadsheetImportService;
+        this.retention = retention;
+        this.importers = Map.of(
+                "complaints", complaintService::importComplaintsFromExcel,
+                "work-reports", workReportService::importWorkReportsFromExcel,
+                "users", userService::importUsersFromExcel,
+                "equipments", equipmentService::importEquipmentsFromExcel,
+                "areas", (rows, rowOffset, dates) -> areaService.importAreasFromExcel(rows, rowOffset));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(ImportJob::requestCancel);
+        executor.shutdown();
+    }
+
+    /**
+     * Spools the upload and queues it. {@code type} is one of complaints, work-reports, users,
+     * equipments or areas; the other parameters are those of
+     * {@link SpreadsheetImportService#importFile(MultipartFile, String, Integer, String, SpreadsheetImportService.ChunkImporter)}.
+     */
+    public ImportJobDTO submit(String type, MultipartFile file, String sheet, Integer headerRow, String columnsJson)
+            throws IOException {
+        String normalizedType = type != null ? type.trim().toLowerCase(Locale.ROOT) : "";
+        SpreadsheetImportService.ChunkImporter importer = importers.get(normalizedType);
+        if (importer == null) {
+            throw new IllegalArgumentException("Unknown import type: " + type);
+        }
+        if (headerRow != null && headerRow < 1) {
+            throw new IllegalArgumentException("Header row must be 1 or greater.");
+        }
+        pruneFinishedJobs();
+
+        Path spooled = spreadsheetImportService.spool(file);
+        ImportJob job = new ImportJob(IdGenerator.newId(), normalizedType,
+                file.getOriginalFilename());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, spooled, sheet, headerRow, columnsJson, importer));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(spooled);
+            throw new IllegalStateException("Too many imports are queued. Please try again later.");
+        }
+        log.info("Import job {} queued: {} ({})", job.id, job.fileName, normalizedType);
+        return job.toDto();
+    }
+
+    public ImportJobDTO getJob(String id) {
+        return findJob(id).toDto();
+    }
+
+    public List<ImportJobDTO> getJobs() {
+        pruneFinishedJobs();
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((ImportJob job) -> job.submittedAt).reversed())
+                .map(ImportJob::toDto)
+                .toList();
+    }
+
+    /**
+     * A queued job is cancelled at once; a running one stops before its next chunk, keeping
+     * the rows already imported.
+     */
+    public ImportJobDTO cancel(String id) {
+        ImportJob job = findJob(id);
+        job.requestCancel();
+        return job.toDto();
+    }
+
+    /** The row errors collected so far, one per line; available while the job is still running. */
+    public List<String> getErrors(String id) {
+        return findJob(id).errorsSnapshot();
+    }
+
+    private ImportJob findJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new NotFoundException("Import job not found with ID: " + id);
+        }
+        return job;
+    }
+
+    private void run(ImportJob job, Path file, String sheet, Integer headerRow, String columnsJson,
+            SpreadsheetImportService.ChunkImporter importer) {
+        try {
+            if (!job.start()) {
+                return;
+            }
+            ImportUtil.ImportResult result = spreadsheetImportService.importFile(file, job.fileName, sheet, headerRow,
+                    columnsJson, importer, job);
+            job.finish(Status.COMPLETED, "Imported " + result.getImportedCount() + " record(s).");
+        } catch (CancellationException e) {
+            job.finish(Status.CANCELLED, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Import job {} failed", job.id, e);
+            job.finish(Status.FAILED, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete spooled import file {}", file, e);
+            }
+        }
+        log.info("Import job {} finished: {}", job.id, job.toDto());
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    /** Mutable state of one job; guarded by its own monitor. */
+    private static class ImportJob implements SpreadsheetImportService.ImportProgress {
+
+        private final String id;
+        private final String type;
+        private final String fileName;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final List<String> errors = new ArrayList<>();
+
+        private volatile boolean cancelRequested;
+        private volatile Status status = Status.QUEUED;
+        private LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private long startedNanos;
+        private long finishedNanos;
+        private long processedRows;
+        private long importedRows;
+        private long failedRows;
+        private String message;
+
+        ImportJob(String id, String type, String fileName) {
+            this.id = id;
+            this.type = type;
+            this.fileName = fileName;
+        }
+
+        synchronized boolean start() {
+            if (status != Status.QUEUED) {
+                return false;
+            }
+            status = Status.RUNNING;
+            startedAt = LocalDateTime.now();
+            startedNanos = System.nanoTime();
+            return true;
+        }
+
+        synchronized void finish(Status finalStatus, String finalMessage) {
+            status = finalStatus;
+            message = finalMessage;
+            finishedAt = LocalDateTime.now();
+            finishedNanos = System.nanoTime();
+        }
+
+        synchronized void requestCancel() {
+            cancelRequested = true;
+            if (status == Status.QUEUED) {
+                finish(Status.CANCELLED, "Cancelled before it started.");
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelRequested;
+        }
+
+        @Override
+        public synchronized void chunkImported(int rows, ImportUtil.ImportResult result) {
+            processedRows += rows;
+            importedRows += result.getImportedCount();
+            failedRows += result.getErrorMessages().size();
+            for (String error : result.getErrorMessages()) {
+                if (errors.size() >= MAX_STORED_ERRORS) {
+                    break;
+                }
+                errors.add(error);
+            }
+        }
+
+        synchronized List<String> errorsSnapshot() {
+            List<String> snapshot = new ArrayList<>(errors);
+            if (failedRows > errors.size()) {
+                snapshot.add("... and " + (failedRows - errors.size()) + " more error(s)");
+            }
+            return snapshot;
+        }
+
+        synchronized ImportJobDTO toDto() {
+            double rowsPerSecond = 0;
+            if (startedAt != null) {
+                long elapsed = (finishedAt != null ? finishedNanos : System.nanoTime()) - startedNanos;
+                rowsPerSecond = elapsed > 0 ? processedRows * 1_000_000_000.0 / elapsed : 0;
+            }
+            return new ImportJobDTO(id, type, fileName, status.name(), processedRows, importedRows, failedRows,
+                    Math.round(rowsPerSecond * 10) / 10.0, submittedAt, startedAt, finishedAt, message);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.entity.Part;
+import ahqpck.maintenance.report.entity.PartStockMovement.SourceType;
+import ahqpck.maintenance.report.repository.PartRepository;
+import ahqpck.maintenance.report.repository.PartStockMovementRepository;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps parts.stock_quantity and the part_stock_movements ledger in step.
+ *
+ * Stock is never read into Java and written back. A job (complaint or work report) states how
+ * many of each part it holds; the difference to what the ledger says it already holds is applied
+ * with conditional UPDATEs sent as one JDBC batch in part id order, together with the matching
+ * ledger rows. Two jobs closing at once therefore cannot overwrite each other's deduction, stock
+ * never goes below zero, and a shortage on any part rolls the whole job back. Every UPDATE also
+ * bumps parts.version, so a part form saved meanwhile fails instead of writing back an old quantity.
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    // A negative quantity returns parts to stock; the condition then always holds
+    private static final String TAKE_SQL = "UPDATE parts SET stock_quantity = stock_quantity - ?, "
+            + "version = version + 1 WHERE id = ? AND stock_quantity >= ?";
+
+    private static final String INSERT_MOVEMENT_SQL = "INSERT INTO part_stock_movements "
+            + "(part_id, delta, source_type, source_id, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartRepository partRepository;
+    private final PartStockMovementRepository movementRepository;
+
+    /**
+     * Takes or returns stock so that the job holds exactly {@code held} (part id to quantity).
+     * Pass an empty map to return everything the job holds.
+     *
+     * @throws IllegalStateException when a part does not have enough stock; nothing is changed
+     */
+    @Transactional
+    public void syncHeldParts(SourceType sourceType, String sourceId, Map<String, Integer> held) {
+        Map<String, Integer> taken = new TreeMap<>();
+        held.forEach((partId, quantity) -> {
+            if (quantity == null || quantity < 0) {
+                throw new IllegalArgumentException("Quantity of part " + partId + " must not be negative");
+            }
+            taken.merge(partId, quantity, Integer::sum);
+        });
+        for (Object[] row : movementRepository.findHeldBySource(sourceType.name(), sourceId)) {
+            taken.merge((String) row[0], -((Number) row[1]).intValue(), Integer::sum);
+        }
+        taken.values().removeIf(quantity -> quantity == 0);
+        if (taken.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> updates = new ArrayList<>(taken.size());
+        List<Object[]> movements = new ArrayList<>(taken.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        taken.forEach((partId, quantity) -> {
+            updates.add(new Object[] { quantity, partId, quantity });
+            movements.add(new Object[] { partId, -quantity, sourceType.name(), sourceId, now });
+        });
+
+        int[] counts = jdbcTemplate.batchUpdate(TAKE_SQL, updates);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                String partId = (String) updates.get(i)[1];
+                throw shortage(partId, (Integer) updates.get(i)[0]);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, movements);
+
+        log.info("{} {}: stock changed for {} part(s): {}", sourceType, sourceId, taken.size(), taken);
+    }
+
+    /**
+     * Records a stock change already written to the part (new part, quantity edited by hand).
+     */
+    @Transactional
+    public void recordManualChange(String partId, int delta, SourceType sourceType) {
+        if (delta == 0) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_MOVEMENT_SQL, partId, delta, sourceType.name(), null,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Seeds the ledger with the current stock of parts that existed before it, then records the
+     * parts held by jobs that were already closed, so editing, reopening or deleting such a job
+     * moves only what it actually changes.
+     */
+    @Transactional
+    public void initialize() {
+        int opened = movementRepository.insertOpeningBalances();
+        if (opened > 0) {
+            log.info("Inventory ledger: recorded opening balance for {} part(s)", opened);
+        }
+        // two rows (credit and debit) per adopted part line
+        int complaintLines = movementRepository.adoptClosedComplaints() / 2;
+        int workReportLines = movementRepository.adoptClosedWorkReports() / 2;
+        if (complaintLines + workReportLines > 0) {
+            log.info("Inventory ledger: adopted {} complaint and {} work report part line(s) closed before the ledger",
+                    complaintLines, workReportLines);
+        }
+    }
+
+    /**
+     * Recomputes every part's stock from the ledger and corrects the parts that differ.
+     * All part rows are locked first, so jobs in flight finish before the ledger is summed.
+     *
+     * @return number of parts corrected
+     */
+    @Scheduled(cron = "${app.inventory.reconcile-cron:0 30 2 * * *}")
+    @Transactional
+    public int reconcile() {
+        partRepository.lockAll();
+        movementRepository.insertOpeningBalances();
+
+        List<Object[]> mismatches = movementRepository.findStockMismatches();
+        for (Object[] row : mismatches) {
+            log.warn("Inventory ledger: part {} has stock {} but ledger says {}; using the ledger",
+                    row[1], row[2], row[3]);
+        }
+        if (!mismatches.isEmpty()) {
+            movementRepository.applyLedgerStock();
+        }
+        log.info("Inventory ledger reconciled: {} part(s) corrected", mismatches.size());
+        return mismatches.size();
+    }
+
+    private IllegalStateException shortage(String partId, int requested) {
+        // the loaded entity may hold a stale quantity, read the current one
+        String name = partRepository.findById(partId).map(Part::getName).orElse(partId);
+        List<Integer> available = jdbcTemplate.queryForList("SELECT stock_quantity FROM parts WHERE id = ?",
+                Integer.class, partId);
+        return new IllegalStateException("Not enough stock for part: " + name +
+                " (Available: " + (available.isEmpty() ? 0 : available.get(0)) + ", Requested: " + requested + ")");
+    }
+}
@@ -0,0 +1,131 @@
+package ahqpck.maintenance.report.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link BlobStore} on the local file system, outside the application jar.
+ *
+ * A blob lives at {@code <app.blobs.dir>/<first two hex digits>/<key>}. Uploads are written to
+ * {@code tmp/} while being hashed and then moved into place, so a key never shows a partial file.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.blobs", name = "store", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private static final String TEMP_DIR = "tmp";
+
+    private final Path root;
+
+    public LocalBlobStore(@Value("${app.blobs.dir:data/blobs}") String dir) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String put(InputStream content, String extension) throws IOException {
+        if (extension == null || !extension.matches("[a-z0-9]+")) {
+            throw new IllegalArgumentException("Invalid file extension: " + extension);
+        }
+        Path tempDir = Files.createDirectories(root.resolve(TEMP_DIR));
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String key = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            Path target = path(key);
+            if (Files.exists(target)) {
+                // same bytes stored before; refresh the time so cleanup treats it as new
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            } else {
+                move(temp, target);
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void putDerived(String key, byte[] content) throws IOException {
+        Path tempDir = Files.createDirectories(root.resolve(TEMP_DIR));
+        Path temp = Files.createTempFile(tempDir, "derived-", ".tmp");
+        try {
+            Files.write(temp, content);
+            move(temp, path(key));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> get(String key) {
+        Path file = path(key);
+        return Files.isRegularFile(file) ? Optional.of(new FileSystemResource(file)) : Optional.empty();
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, Instant> action) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (Files.isRegularFile(file) && BlobStore.isKey(name)) {
+                    action.accept(name, Files.getLastModifiedTime(file).toInstant());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(path(key));
+    }
+
+    private Path path(String key) {
+        if (!BlobStore.isKey(key)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,37 +1,51 @@
 package ahqpck.maintenance.report.service;
 
+import ahqpck.maintenance.report.dto.CursorPageDTO;
+import ahqpck.maintenance.report.dto.OptionDTO;
 import ahqpck.maintenance.report.dto.PartDTO;
 import ahqpck.maintenance.report.entity.Part;
+import ahqpck.maintenance.report.entity.PartStockMovement;
 import ahqpck.maintenance.report.exception.NotFoundException;
 import ahqpck.maintenance.report.repository.PartRepository;
 import ahqpck.maintenance.report.specification.PartSpecification;
-import ahqpck.maintenance.report.util.FileUploadUtil;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.KeysetCursor;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PartService {
 
-    @Value("${app.upload-part-image.dir:src/main/resources/static/upload/part/image}")
-    private String uploadDir;
+    /** Columns the part list can be cursor paged by. */
+    private static final Map<String, Function<String, ?>> CURSOR_SORT_KEYS = Map.of(
+            "name", Function.identity(),
+            "code", Function.identity());
 
     private final PartRepository partRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AutocompleteService autocompleteService;
+    private final InventoryService inventoryService;
     private final Validator validator;
 
-    private final FileUploadUtil fileUploadUtil;
+    private final ImageStorageService imageStorageService;
     private final ImportUtil importUtil;
 
     public Page<PartDTO> getAllParts(String keyword, int page, int size, String sortBy, boolean asc) {
@@ -44,12 +58,54 @@ public class PartService {
         return partPage.map(this::toDTO);
     }
 
+    /**
+     * Keyset paged variant of {@link #getAllParts}: no OFFSET and no COUNT query.
+     *
+     * @param cursor    {@code nextCursor} of the previous page, blank for the first page
+     * @param withTotal also return a total (exact when filtered, the table estimate otherwise)
+     */
+    public CursorPageDTO<PartDTO> scrollParts(String keyword, String cursor, int size, String sortBy, boolean asc,
+            boolean withTotal) {
+        Specification<Part> spec = PartSpecification.search(keyword);
+        CursorPageDTO<PartDTO> result = KeysetCursor.scroll(partRepository, spec, cursor, size, sortBy, asc,
+                CURSOR_SORT_KEYS, this::toDTO);
+
+        if (withTotal) {
+            boolean filtered = keyword != null && !keyword.isBlank();
+            result.setTotal(filtered ? partRepository.count(spec) : partRepository.estimateRowCount());
+            result.setTotalExact(filtered);
+        }
+        return result;
+    }
+
+    /**
+     * Part picker typeahead: the best {@code limit} prefix matches on code and name from the
+     * in-memory index, loaded by id for their current stock.
+     */
+    public List<PartDTO> suggestParts(String query, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, AutocompleteService.MAX_LIMIT));
+        List<String> ids = autocompleteService.suggest("parts", query, boundedLimit).stream()
+                .map(OptionDTO::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Part> parts = partRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Part::getId, Function.identity()));
+        return ids.stream()
+                .map(parts::get)
+                .filter(Objects::nonNull)
+                .map(this::toDTO)
+                .toList();
+    }
+
     public PartDTO getPartById(String id) {
         Part part = partRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Part not found with ID: " + id));
         return toDTO(part);
     }
 
+    @Transactional
     public void createPart(PartDTO dto, MultipartFile imageFile) {
 
         if (partRepository.existsByCodeIgnoreCase(dto.getCode())) {
@@ -66,7 +122,7 @@ public class PartService {
 
         if (imageFile != null && !imageFile.isEmpty()) {
             try {
-                String fileName = fileUploadUtil.saveFile(uploadDir, imageFile, "image");
+                String fileName = imageStorageService.store(imageFile);
                 part.setImage(fileName);
             } catch (IOException e) {
                 throw new IllegalArgumentException("Failed to save image: " + e.getMessage());
@@ -74,44 +130,52 @@ public class PartService {
         }
 
         partRepository.save(part);
+        inventoryService.recordManualChange(part.getId(), part.getStockQuantity(),
+                PartStockMovement.SourceType.OPENING);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("parts"));
     }
 
+    @Transactional
     public void updatePart(PartDTO dto, MultipartFile imageFile, boolean deleteImage) {
         String id = dto.getId();
         Part part = partRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Part not found with ID: " + id));
 
+        if (dto.getVersion() != null && !dto.getVersion().equals(part.getVersion())) {
+            throw new IllegalStateException("Part was changed by someone else (stock may have been used). "
+                    + "Reload the page and try again.");
+        }
+        int oldStock = part.getStockQuantity();
+
         mapToEntity(part, dto);
 
         String oldImage = part.getImage();
 
         if (deleteImage && oldImage != null) {
-            fileUploadUtil.deleteFile(uploadDir, oldImage);
             part.setImage(null);
         } else if (imageFile != null && !imageFile.isEmpty()) {
 
             try {
-                String newImage = fileUploadUtil.saveFile(uploadDir, imageFile, "image");
-                if (oldImage != null) {
-                    fileUploadUtil.deleteFile(uploadDir, oldImage);
-                }
+                String newImage = imageStorageService.store(imageFile);
                 part.setImage(newImage);
             } catch (IOException e) {
                 throw new IllegalArgumentException("Failed to save image: " + e.getMessage());
             }
         }
 
-        partRepository.save(part);
+        // Flush so a stock change made meanwhile fails the version check before it is recorded
+        partRepository.saveAndFlush(part);
+        inventoryService.recordManualChange(part.getId(), part.getStockQuantity() - oldStock,
+                PartStockMovement.SourceType.ADJUSTMENT);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("parts"));
     }
 
     public void deletePart(String id) {
         Part part = partRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Part not found with ID: " + id));
 
-        if (part.getImage() != null) {
-            fileUploadUtil.deleteFile(uploadDir, part.getImage());
-        }
         partRepository.delete(part);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("parts"));
     }
 
     private void mapToEntity(Part part, PartDTO dto) {
@@ -133,6 +197,7 @@ public class PartService {
         dto.setSupplier(part.getSupplier());
         dto.setImage(part.getImage());
         dto.setStockQuantity(part.getStockQuantity());
+        dto.setVersion(part.getVersion());
         return dto;
     }
 }
\ No newline at end of file
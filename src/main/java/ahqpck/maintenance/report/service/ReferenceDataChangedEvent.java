@@ -0,0 +1,8 @@
+package ahqpck.maintenance.report.service;
+
+/**
+ * Published when users, areas, equipment or parts are created, changed or deleted, so the
+ * reference data snapshot is rebuilt after commit.
+ */
+public record ReferenceDataChangedEvent(String type) {
+}
@@ -0,0 +1,95 @@
+package ahqpck.maintenance.report.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ahqpck.maintenance.report.dto.OptionDTO;
+import ahqpck.maintenance.report.dto.ReferenceDataDTO;
+import ahqpck.maintenance.report.dto.UserOptionDTO;
+import ahqpck.maintenance.report.repository.AreaRepository;
+import ahqpck.maintenance.report.repository.EquipmentRepository;
+import ahqpck.maintenance.report.repository.PartRepository;
+import ahqpck.maintenance.report.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory snapshot of the users, areas, equipment and parts offered in the forms' select
+ * boxes, as id/code/name only.
+ *
+ * The snapshot is loaded on first use and dropped after every committed
+ * {@link ReferenceDataChangedEvent}; the next read loads a new one with a new version. The
+ * lists are unmodifiable and shared between requests.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataService {
+
+    private record Snapshot(long generation, ReferenceDataDTO data) {
+    }
+
+    /** Distinguishes versions of different runs, so a client's ETag never matches after a restart. */
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    private final UserRepository userRepository;
+    private final AreaRepository areaRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final PartRepository partRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataDTO getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.generation() == generation.get()) {
+            return current.data();
+        }
+        synchronized (this) {
+            long loadGeneration = generation.get();
+            current = snapshot;
+            if (current == null || current.generation() != loadGeneration) {
+                current = new Snapshot(loadGeneration, load(RUN_ID + "-" + loadGeneration));
+                // A write committed while loading bumps the generation, so the next read reloads
+                snapshot = current;
+            }
+            return current.data();
+        }
+    }
+
+    public List<UserOptionDTO> getUsers() {
+        return getSnapshot().getUsers();
+    }
+
+    public List<OptionDTO> getAreas() {
+        return getSnapshot().getAreas();
+    }
+
+    public List<OptionDTO> getEquipments() {
+        return getSnapshot().getEquipments();
+    }
+
+    public List<OptionDTO> getParts() {
+        return getSnapshot().getParts();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        generation.incrementAndGet();
+        log.debug("Reference data changed ({}), snapshot dropped", event.type());
+    }
+
+    private ReferenceDataDTO load(String version) {
+        long started = System.nanoTime();
+        ReferenceDataDTO data = new ReferenceDataDTO(version,
+                List.copyOf(userRepository.findOptions()),
+                List.copyOf(areaRepository.findOptions()),
+                List.copyOf(equipmentRepository.findOptions()),
+                List.copyOf(partRepository.findOptions()));
+        log.debug("Loaded reference data {} in {} ms", version, (System.nanoTime() - started) / 1_000_000);
+        return data;
+    }
+}
@@ -0,0 +1,163 @@
+package ahqpck.maintenance.report.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.entity.SearchDocument;
+import ahqpck.maintenance.report.entity.WorkReport;
+import ahqpck.maintenance.report.repository.SearchDocumentRepository;
+import ahqpck.maintenance.report.specification.ComplaintSpecification;
+import ahqpck.maintenance.report.specification.FullTextSpecification;
+import ahqpck.maintenance.report.specification.WorkReportSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the search_documents table in step with complaints and work reports and turns a list
+ * keyword into a specification.
+ *
+ * Documents are re-rendered with INSERT ... SELECT after each save, in the caller's transaction,
+ * so they always reflect the committed rows. Keywords are matched word by word as prefixes
+ * ({@code pump le} finds "Pump leaking"). The old LIKE search is used instead when
+ * {@code app.search.mode=like}, when the FULLTEXT index could not be created, or when a word is
+ * shorter than MySQL indexes ({@code app.search.min-word-length}, innodb_ft_min_token_size).
+ * Renaming a user, area or equipment does not touch existing documents; call {@link #rebuild()}
+ * after bulk renames.
+ */
+@Slf4j
+@Service
+public class SearchIndexService {
+
+    /** List {@code sortBy} value that orders by match score. */
+    public static final String RELEVANCE_SORT = "relevance";
+
+    private final SearchDocumentRepository searchDocumentRepository;
+    private final boolean fulltextMode;
+    private final int minWordLength;
+
+    private volatile boolean fulltextAvailable;
+
+    public SearchIndexService(SearchDocumentRepository searchDocumentRepository,
+            @Value("${app.search.mode:fulltext}") String mode,
+            @Value("${app.search.min-word-length:3}") int minWordLength) {
+        this.searchDocumentRepository = searchDocumentRepository;
+        this.fulltextMode = !"like".equalsIgnoreCase(mode.trim());
+        this.minWordLength = minWordLength;
+    }
+
+    /**
+     * Creates the FULLTEXT index when missing and backfills the documents on first start.
+     * Falls back to LIKE search when either fails.
+     */
+    public void initialize() {
+        if (!fulltextMode) {
+            log.info("Search runs in LIKE mode (app.search.mode=like)");
+            return;
+        }
+        try {
+            if (searchDocumentRepository.countFulltextIndex() == 0) {
+                log.info("Creating FULLTEXT index on search_documents...");
+                searchDocumentRepository.createFulltextIndex();
+            }
+            rebuildIfEmpty();
+            fulltextAvailable = true;
+        } catch (RuntimeException e) {
+            log.warn("Full-text search unavailable, falling back to LIKE search", e);
+        }
+    }
+
+    /**
+     * Drops and re-renders every search document from the source tables.
+     */
+    @Transactional
+    public void rebuild() {
+        searchDocumentRepository.deleteAllRows();
+        int complaints = searchDocumentRepository.rebuildFromComplaints();
+        int workReports = searchDocumentRepository.rebuildFromWorkReports();
+        log.info("Search documents rebuilt: {} complaints, {} work reports", complaints, workReports);
+    }
+
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (searchDocumentRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    public void indexComplaints(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            searchDocumentRepository.indexComplaints(ids);
+        }
+    }
+
+    public void indexWorkReports(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            searchDocumentRepository.indexWorkReports(ids);
+        }
+    }
+
+    public void removeComplaint(String id) {
+        searchDocumentRepository.deleteDocument(SearchDocument.COMPLAINT, id);
+    }
+
+    public void removeWorkReport(String id) {
+        searchDocumentRepository.deleteDocument(SearchDocument.WORK_REPORT, id);
+    }
+
+    /**
+     * The keyword filter for the complaint list.
+     *
+     * @param orderByRelevance best matches first; the pageable must then be unsorted
+     */
+    public Specification<Complaint> searchComplaints(String keyword, boolean orderByRelevance) {
+        return search(SearchDocument.COMPLAINT, keyword, orderByRelevance, ComplaintSpecification::search);
+    }
+
+    /**
+     * The keyword filter for the work report list.
+     *
+     * @param orderByRelevance best matches first; the pageable must then be unsorted
+     */
+    public Specification<WorkReport> searchWorkReports(String keyword, boolean orderByRelevance) {
+        return search(SearchDocument.WORK_REPORT, keyword, orderByRelevance, WorkReportSpecification::search);
+    }
+
+    private <T> Specification<T> search(String docType, String keyword, boolean orderByRelevance,
+            Function<String, Specification<T>> likeSearch) {
+        String booleanQuery = fulltextAvailable ? toBooleanQuery(keyword) : null;
+        if (booleanQuery == null) {
+            Specification<T> like = likeSearch.apply(keyword);
+            return orderByRelevance ? like.and(FullTextSpecification.newestFirst()) : like;
+        }
+        return FullTextSpecification.matching(docType, booleanQuery, orderByRelevance);
+    }
+
+    /**
+     * {@code "Pump  leak"} becomes {@code "+pump* +leak*"}. Returns null for a blank keyword or
+     * when a word is too short for the index, so the caller uses LIKE instead.
+     */
+    String toBooleanQuery(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}_]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.length() < minWordLength) {
+                return null;
+            }
+            terms.add("+" + word + "*");
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+}
@@ -0,0 +1,245 @@
+package ahqpck.maintenance.report.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SpreadsheetReader;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports an uploaded XLSX/CSV file without materializing it: rows are streamed by
+ * {@link SpreadsheetReader}, mapped to the import keys and handed to the entity import in
+ * chunks of {@code app.import.chunk-size} rows, so memory stays flat however large the file is.
+ */
+@Slf4j
+@Service
+public class SpreadsheetImportService {
+
+    /**
+     * Imports one chunk; {@code rowOffset} is the number of data rows before it. {@code dates}
+     * is the same for every chunk of a file.
+     */
+    @FunctionalInterface
+    public interface ChunkImporter {
+        ImportUtil.ImportResult importChunk(List<Map<String, Object>> rows, int rowOffset,
+                ImportUtil.ParseContext dates);
+    }
+
+    /** Told about every imported chunk; {@link #isCancelled()} is checked before each one. */
+    public interface ImportProgress {
+
+        ImportProgress NONE = (rows, result) -> {
+        };
+
+        void chunkImported(int rows, ImportUtil.ImportResult result);
+
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
+    /** Keeps the flash message (and the session holding it) bounded for files full of errors. */
+    public static final int MAX_ERROR_MESSAGES = 500;
+
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public SpreadsheetImportService(ObjectMapper objectMapper,
+            @Value("${app.import.chunk-size:1000}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports an upload within the current request.
+     *
+     * @param sheet       XLSX sheet name; the first sheet when blank
+     * @param headerRow   1-based header row; the first non-blank row when null
+     * @param columnsJson column index to import key, e.g. {@code {"0":"code","3":"reportDate"}};
+     *                    when blank every header column is imported under its lower-cased name
+     */
+    public ImportUtil.ImportResult importFile(MultipartFile file, String sheet, Integer headerRow,
+            String columnsJson, ChunkImporter importer) throws IOException {
+        Path temp = spool(file);
+        try {
+            return importFile(temp, file.getOriginalFilename(), sheet, headerRow, columnsJson, importer,
+                    ImportProgress.NONE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Validates the upload and copies it to a temp file, which the caller must delete. XLSX
+     * needs random access to its zip entries, and background jobs outlive the request that
+     * owned the multipart file.
+     */
+    public Path spool(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("No file uploaded.");
+        }
+        String fileName = file.getOriginalFilename();
+        if (!SpreadsheetReader.isSupported(fileName)) {
+            throw new IllegalArgumentException("Unsupported file type. Please upload an .xlsx, .csv or .tsv file.");
+        }
+
+        Path temp = Files.createTempFile("import-", "-" + sanitize(fileName));
+        try {
+            file.transferTo(temp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    /**
+     * Imports a spooled file. Throws {@link CancellationException} when {@code progress}
+     * reports cancellation; chunks imported before that stay committed.
+     */
+    public ImportUtil.ImportResult importFile(Path file, String fileName, String sheet, Integer headerRow,
+            String columnsJson, ChunkImporter importer, ImportProgress progress) throws IOException {
+        if (headerRow != null && headerRow < 1) {
+            throw new IllegalArgumentException("Header row must be 1 or greater.");
+        }
+
+        Map<Integer, String> columns = parseColumns(columnsJson);
+        ChunkedImport chunkedImport = new ChunkedImport(headerRow != null ? headerRow - 1 : null, columns,
+                importer, progress);
+        SpreadsheetReader.read(file, fileName, sheet, chunkedImport::accept);
+
+        ImportUtil.ImportResult result = chunkedImport.finish();
+        log.info("Streamed import of {} finished: {} rows, {} imported, {} rejected",
+                fileName, chunkedImport.dataRows, result.getImportedCount(), chunkedImport.errorCount);
+        return result;
+    }
+
+    private Map<Integer, String> parseColumns(String columnsJson) throws IOException {
+        if (columnsJson == null || columnsJson.isBlank()) {
+            return null;
+        }
+        Map<Integer, String> columns = new TreeMap<>(objectMapper.readValue(columnsJson,
+                new TypeReference<Map<Integer, String>>() {
+                }));
+        columns.values().removeIf(key -> key == null || key.isBlank());
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Select at least one column to import.");
+        }
+        return columns;
+    }
+
+    private static String sanitize(String fileName) {
+        return fileName.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /** Row-by-row state of one import. */
+    private class ChunkedImport {
+
+        private Integer headerIndex;
+        private Map<Integer, String> columns;
+        private final ChunkImporter importer;
+        private final ImportProgress progress;
+        // date formats detected in earlier chunks carry over, so a column is read one way throughout
+        private final ImportUtil.ParseContext dates = new ImportUtil.ParseContext();
+
+        private List<Map<String, Object>> chunk = new ArrayList<>(chunkSize);
+        private final List<String> errorMessages = new ArrayList<>();
+        private int importedCount;
+        private int errorCount;
+        private int dataRows;
+
+        ChunkedImport(Integer headerIndex, Map<Integer, String> columns, ChunkImporter importer,
+                ImportProgress progress) {
+            this.headerIndex = headerIndex;
+            this.columns = columns;
+            this.importer = importer;
+            this.progress = progress;
+        }
+
+        void accept(int rowIndex, List<Object> cells) {
+            if (headerIndex == null) {
+                headerIndex = rowIndex;
+                readHeader(cells);
+                return;
+            }
+            if (rowIndex < headerIndex) {
+                return;
+            }
+            if (rowIndex == headerIndex) {
+                readHeader(cells);
+                return;
+            }
+
+            Map<String, Object> row = new HashMap<>();
+            if (columns != null) {
+                columns.forEach((index, key) -> row.put(key, index < cells.size() ? cells.get(index) : null));
+            }
+            chunk.add(row);
+            dataRows++;
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        ImportUtil.ImportResult finish() {
+            if (dataRows == 0) {
+                throw new IllegalArgumentException("No data to import.");
+            }
+            flush();
+            if (errorCount > errorMessages.size()) {
+                errorMessages.add("... and " + (errorCount - errorMessages.size()) + " more error(s)");
+            }
+            return new ImportUtil.ImportResult(importedCount, errorMessages);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            if (progress.isCancelled()) {
+                throw new CancellationException("Import cancelled after " + (dataRows - chunk.size()) + " row(s).");
+            }
+            ImportUtil.ImportResult result = importer.importChunk(chunk, dataRows - chunk.size(), dates);
+            progress.chunkImported(chunk.size(), result);
+            importedCount += result.getImportedCount();
+            errorCount += result.getErrorMessages().size();
+            for (String message : result.getErrorMessages()) {
+                if (errorMessages.size() >= MAX_ERROR_MESSAGES) {
+                    break;
+                }
+                errorMessages.add(message);
+            }
+            chunk = new ArrayList<>(chunkSize);
+        }
+
+        /** Without an explicit mapping every non-blank header cell becomes a column. */
+        private void readHeader(List<Object> cells) {
+            if (columns != null) {
+                return;
+            }
+            columns = new LinkedHashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                Object cell = cells.get(i);
+                if (cell != null && !cell.toString().isBlank()) {
+                    columns.put(i, cell.toString().trim().toLowerCase());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.entity.Role;
+import ahqpck.maintenance.report.entity.User;
+import ahqpck.maintenance.report.repository.RoleRepository;
+import ahqpck.maintenance.report.repository.UserRepository;
+import ahqpck.maintenance.report.util.IdGenerator;
+import ahqpck.maintenance.report.util.ImportUtil;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Set-based user import.
+ *
+ * Rows are parsed and validated in memory, existing employee ids and emails are looked up
+ * with two {@code IN (...)} queries and the roles are read once. Passwords are hashed in
+ * parallel on a fork-join pool owned by this service, since BCrypt is what makes a large
+ * import slow. Users and their user_roles rows are then inserted with JDBC batches in chunks
+ * of {@value #CHUNK_SIZE}, each in its own transaction; a failed chunk is retried row by row
+ * so the error report still points at the offending rows.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    static final int CHUNK_SIZE = 500;
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users "
+            + "(id, name, employee_id, email, password, created_at, account_activation_token, status, "
+            + "designation, nationality, join_date, phone_number) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ImportUtil importUtil;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ForkJoinPool hashPool;
+
+    private record ParsedRow(int rowNumber, String name, String employeeId, String email, String password,
+            User.Status status, String designation, String nationality, LocalDate joinDate, String phoneNumber,
+            Set<Role.Name> roles) {
+    }
+
+    /** A validated row ready to be written. */
+    private record NewUser(int rowNumber, String id, ParsedRow row, String passwordHash, List<Role> roles) {
+    }
+
+    public UserImportService(UserRepository userRepository,
+            RoleRepository roleRepository,
+            PasswordEncoder passwordEncoder,
+            ImportUtil importUtil,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.import.users.hash-parallelism:0}") int hashParallelism) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.importUtil = importUtil;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.hashPool = new ForkJoinPool(hashParallelism > 0
+                ? hashParallelism
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+
+    public ImportUtil.ImportResult importUsers(List<Map<String, Object>> data) {
+        return importUsers(data, 0, new ImportUtil.ParseContext());
+    }
+
+    /**
+     * Imports one chunk of a larger file; {@code rowOffset} is the number of data rows before
+     * this chunk, so error messages keep the row numbers of the whole file.
+     * {@code dates} is shared by all chunks of the file, so each date column keeps one format.
+     */
+    public ImportUtil.ImportResult importUsers(List<Map<String, Object>> data, int rowOffset,
+            ImportUtil.ParseContext dates) {
+        if (data == null || data.isEmpty()) {
+            throw new IllegalArgumentException("No data to import.");
+        }
+
+        TreeMap<Integer, String> errors = new TreeMap<>();
+
+        // 1. Parse every row in memory
+        List<ParsedRow> parsed = new ArrayList<>(data.size());
+        for (int i = 0; i < data.size(); i++) {
+            try {
+                parsed.add(parseRow(rowOffset + i + 1, data.get(i), dates));
+            } catch (Exception e) {
+                errors.put(rowOffset + i + 1, messageOf(e));
+            }
+        }
+
+        // 2. Check uniqueness against the table and against earlier rows of the same file
+        Set<String> takenEmployeeIds = findExisting(parsed, ParsedRow::employeeId,
+                userRepository::findExistingEmployeeIds);
+        Set<String> takenEmails = findExisting(parsed, ParsedRow::email, userRepository::findExistingEmails);
+        Map<Role.Name, Role> roles = new EnumMap<>(Role.Name.class);
+        roleRepository.findAll().forEach(role -> roles.put(role.getName(), role));
+
+        List<ParsedRow> valid = new ArrayList<>(parsed.size());
+        List<List<Role>> validRoles = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            try {
+                if (takenEmployeeIds.contains(key(row.employeeId()))) {
+                    throw new IllegalArgumentException("User with this employee ID already exists.");
+                }
+                if (takenEmails.contains(key(row.email()))) {
+                    throw new IllegalArgumentException("User with this email already exists.");
+                }
+                validRoles.add(resolveRoles(row, roles));
+                valid.add(row);
+                takenEmployeeIds.add(key(row.employeeId()));
+                takenEmails.add(key(row.email()));
+            } catch (IllegalArgumentException e) {
+                errors.put(row.rowNumber(), messageOf(e));
+            }
+        }
+
+        // 3. Hash all passwords at once
+        List<String> hashes = hashPasswords(valid);
+
+        List<NewUser> users = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            ParsedRow row = valid.get(i);
+            users.add(new NewUser(row.rowNumber(), IdGenerator.newId(), row, hashes.get(i), validRoles.get(i)));
+        }
+
+        // 4. Persist in chunked transactions
+        int importedCount = 0;
+        for (int from = 0; from < users.size(); from += CHUNK_SIZE) {
+            importedCount += persistChunk(users.subList(from, Math.min(from + CHUNK_SIZE, users.size())), errors);
+        }
+        if (importedCount > 0) {
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent("users"));
+        }
+
+        log.info("User import finished: {} imported, {} rejected", importedCount, errors.size());
+
+        List<String> errorMessages = new ArrayList<>(errors.size());
+        errors.forEach((rowNumber, message) -> errorMessages.add("Row " + rowNumber + ": " + message));
+        return new ImportUtil.ImportResult(importedCount, errorMessages);
+    }
+
+    private ParsedRow parseRow(int rowNumber, Map<String, Object> row, ImportUtil.ParseContext dates) {
+        String name = trimToNull(importUtil.toString(row.get("name")));
+        if (name == null) {
+            throw new IllegalArgumentException("Name is mandatory");
+        }
+
+        String employeeId = trimToNull(importUtil.toString(row.get("employeeId")));
+        if (employeeId == null) {
+            throw new IllegalArgumentException("Employee id is mandatory");
+        }
+
+        String email = trimToNull(importUtil.toString(row.get("email")));
+        if (email == null) {
+            throw new IllegalArgumentException("Email is mandatory");
+        }
+        if (!isValidEmail(email)) {
+            throw new IllegalArgumentException("Email should be valid");
+        }
+
+        // New users always get created_at = now and are activated by email, as in UserService.createUser;
+        // the columns are still parsed so a malformed value is reported
+        dates.toLocalDateTime(row, "createdAt");
+        dates.toLocalDateTime(row, "activatedAt");
+
+        User.Status status = User.Status.INACTIVE;
+        String statusStr = trimToNull(importUtil.toString(row.get("status")));
+        if (statusStr != null) {
+            try {
+                status = User.Status.valueOf(statusStr.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid Status: " + statusStr + ". Use valid enum values.");
+            }
+        }
+
+        Set<Role.Name> roles = new LinkedHashSet<>();
+        String rolesStr = importUtil.toString(row.get("roles"));
+        if (rolesStr != null) {
+            for (String roleName : rolesStr.split(",")) {
+                String trimmed = roleName.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                try {
+                    roles.add(Role.Name.valueOf(trimmed.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid or missing role: " + trimmed);
+                }
+            }
+        }
+
+        String password = importUtil.toString(row.get("password"));
+        if (password == null || password.isBlank()) {
+            throw new IllegalArgumentException("Password is required.");
+        }
+
+        return new ParsedRow(
+                rowNumber,
+                name,
+                employeeId,
+                email,
+                password,
+                status,
+                importUtil.toString(row.get("designation")),
+                importUtil.toString(row.get("nationality")),
+                dates.toLocalDate(row, "joinDate"),
+                importUtil.toString(row.get("phoneNumber")),
+                roles);
+    }
+
+    private static List<Role> resolveRoles(ParsedRow row, Map<Role.Name, Role> roles) {
+        if (row.roles().isEmpty()) {
+            Role viewer = roles.get(Role.Name.VIEWER);
+            if (viewer == null) {
+                throw new IllegalArgumentException("Default role VIEWER not found");
+            }
+            return List.of(viewer);
+        }
+        List<Role> resolved = new ArrayList<>(row.roles().size());
+        for (Role.Name name : row.roles()) {
+            Role role = roles.get(name);
+            if (role == null) {
+                throw new IllegalArgumentException("Invalid or missing role: " + name);
+            }
+            resolved.add(role);
+        }
+        return resolved;
+    }
+
+    /**
+     * BCrypt takes tens of milliseconds per password; the pool spreads the rows over the cores.
+     * Each password gets its own salt, so equal passwords are still hashed separately.
+     */
+    private List<String> hashPasswords(List<ParsedRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return hashPool.submit(() -> rows.parallelStream()
+                    .map(row -> passwordEncoder.encode(row.password()))
+                    .toList())
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User import was interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to hash passwords: " + rootMessageOf(e), e);
+        }
+    }
+
+    /**
+     * Writes one chunk in a single transaction. On failure the chunk is rolled back and its
+     * rows are retried individually so only the bad rows are reported.
+     */
+    private int persistChunk(List<NewUser> chunk, Map<Integer, String> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            return chunk.size();
+        } catch (RuntimeException chunkFailure) {
+            log.warn("User import chunk of {} rows failed, retrying row by row: {}",
+                    chunk.size(), rootMessageOf(chunkFailure));
+        }
+
+        int imported = 0;
+        for (NewUser user : chunk) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(user)));
+                imported++;
+            } catch (RuntimeException e) {
+                errors.put(user.rowNumber(), rootMessageOf(e));
+            }
+        }
+        return imported;
+    }
+
+    private void insert(List<NewUser> users) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> userRows = new ArrayList<>(users.size());
+        List<Object[]> roleRows = new ArrayList<>(users.size());
+        for (NewUser user : users) {
+            ParsedRow row = user.row();
+            userRows.add(new Object[] {
+                    user.id(),
+                    row.name(),
+                    row.employeeId(),
+                    row.email(),
+                    user.passwordHash(),
+                    now,
+                    UUID.randomUUID().toString(),
+                    row.status().name(),
+                    row.designation(),
+                    row.nationality(),
+                    row.joinDate() != null ? Date.valueOf(row.joinDate()) : null,
+                    row.phoneNumber()
+            });
+            for (Role role : user.roles()) {
+                roleRows.add(new Object[] { user.id(), role.getId() });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, userRows);
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, roleRows);
+    }
+
+    /** Upper-cased values of {@code field} that already exist in the users table. */
+    private static Set<String> findExisting(List<ParsedRow> rows, Function<ParsedRow, String> field,
+            Function<Collection<String>, List<String>> finder) {
+        List<String> values = rows.stream().map(field).distinct().toList();
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < values.size(); from += LOOKUP_BATCH_SIZE) {
+            for (String value : finder.apply(values.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, values.size())))) {
+                existing.add(key(value));
+            }
+        }
+        return existing;
+    }
+
+    private static boolean isValidEmail(String email) {
+        int at = email.indexOf('@');
+        int dot = email.lastIndexOf('.');
+        return at > 0 && dot > at + 1 && dot < email.length() - 1;
+    }
+
+    private static String key(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private static String messageOf(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : "Unknown error";
+    }
+
+    // Persistence failures wrap the useful message (e.g. a constraint violation) several levels deep
+    private static String rootMessageOf(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String message = root.getMessage() != null ? root.getMessage() : e.getMessage();
+        return message != null ? message : "Unknown error";
+    }
+}
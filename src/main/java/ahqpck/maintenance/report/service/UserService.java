@@ -1,5 +1,6 @@
 package ahqpck.maintenance.report.service;
 
+import ahqpck.maintenance.report.dto.CursorPageDTO;
 import ahqpck.maintenance.report.dto.UserDTO;
 import ahqpck.maintenance.report.dto.WorkReportDTO;
 import ahqpck.maintenance.report.dto.AreaDTO;
@@ -14,14 +15,15 @@ import ahqpck.maintenance.report.repository.RoleRepository;
 import ahqpck.maintenance.report.repository.UserRepository;
 import ahqpck.maintenance.report.specification.UserSpecification;
 import ahqpck.maintenance.report.util.EmailUtil;
-import ahqpck.maintenance.report.util.FileUploadUtil;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.KeysetCursor;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -32,14 +34,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -47,16 +51,37 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserService {
 
-    @Value("${app.upload-user-image.dir:src/main/resources/static/upload/user/image}")
-    private String uploadDir;
+    /** Columns the user list can be cursor paged by. */
+    private static final Map<String, Function<String, ?>> CURSOR_SORT_KEYS = Map.of(
+            "name", Function.identity(),
+            "employeeId", Function.identity(),
+            "email", Function.identity(),
+            "createdAt", LocalDateTime::parse);
+
+    private static final List<ExportService.Column<User>> EXPORT_COLUMNS = List.of(
+            new ExportService.Column<>("employeeId", User::getEmployeeId),
+            new ExportService.Column<>("name", User::getName),
+            new ExportService.Column<>("email", User::getEmail),
+            new ExportService.Column<>("designation", User::getDesignation),
+            new ExportService.Column<>("nationality", User::getNationality),
+            new ExportService.Column<>("phoneNumber", User::getPhoneNumber),
+            new ExportService.Column<>("joinDate", User::getJoinDate),
+            new ExportService.Column<>("status", User::getStatus),
+            new ExportService.Column<>("roles", u -> u.getRoles().stream()
+                    .map(role -> role.getName().name()).sorted().collect(Collectors.joining(","))),
+            new ExportService.Column<>("createdAt", User::getCreatedAt),
+            new ExportService.Column<>("activatedAt", User::getActivatedAt));
 
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final RoleRepository roleRepository;
+    private final UserImportService userImportService;
 
-    private final FileUploadUtil fileUploadUtil;
+    private final ImageStorageService imageStorageService;
     private final ImportUtil importUtil;
     private final EmailUtil emailUtil;
+    private final ExportService exportService;
 
     public Page<UserDTO> getAllUsers(String keyword, int page, int size, String sortBy, boolean asc) {
         Sort sort = asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
@@ -68,6 +93,41 @@ public class UserService {
         return userPage.map(this::toDTO);
     }
 
+    /**
+     * Keyset paged variant of {@link #getAllUsers}: no OFFSET and no COUNT query.
+     *
+     * @param cursor    {@code nextCursor} of the previous page, blank for the first page
+     * @param withTotal also return a total (exact when filtered, the table estimate otherwise)
+     */
+    public CursorPageDTO<UserDTO> scrollUsers(String keyword, String cursor, int size, String sortBy, boolean asc,
+            boolean withTotal) {
+        Specification<User> spec = UserSpecification.search(keyword);
+        CursorPageDTO<UserDTO> result = KeysetCursor.scroll(userRepository, spec, cursor, size, sortBy, asc,
+                CURSOR_SORT_KEYS, this::toDTO);
+
+        if (withTotal) {
+            boolean filtered = keyword != null && !keyword.isBlank();
+            result.setTotal(filtered ? userRepository.count(spec) : userRepository.estimateRowCount());
+            result.setTotalExact(filtered);
+        }
+        return result;
+    }
+
+    /**
+     * Writes every user matching the keyword to {@code out}, in list order. Passwords and
+     * tokens are not exported.
+     */
+    public long exportUsers(String keyword, String sortBy, boolean asc, SpreadsheetWriter.Format format,
+            OutputStream out) throws IOException {
+        return exportService.export(User.class, UserSpecification.search(keyword), ExportService.sort(sortBy, asc),
+                List.of(), EXPORT_COLUMNS, format, "Users", out);
+    }
+
+    /** Whether the list can be cursor paged when sorted by {@code sortBy}. */
+    public boolean isCursorSortable(String sortBy) {
+        return CURSOR_SORT_KEYS.containsKey(sortBy);
+    }
+
     public List<RoleDTO> getAllRoles() {
         List<RoleDTO> roles = roleRepository.findAll().stream()
                 .map(RoleDTO::new)
@@ -102,7 +162,7 @@ public class UserService {
 
         if (imageFile != null && !imageFile.isEmpty()) {
             try {
-                String fileName = fileUploadUtil.saveFile(uploadDir, imageFile, "image");
+                String fileName = imageStorageService.store(imageFile);
                 user.setImage(fileName);
             } catch (IOException e) {
                 throw new IllegalArgumentException("Failed to save image: " + e.getMessage());
@@ -120,6 +180,7 @@ public class UserService {
 
         user.getRoles().addAll(roles);
         userRepository.save(user);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("users"));
 
         // try {
         // emailUtil.sendAccountActivationEmail(user.getEmail(), token);
@@ -159,14 +220,10 @@ public class UserService {
 
         String oldImage = user.getImage();
         if (deleteImage && oldImage != null) {
-            fileUploadUtil.deleteFile(uploadDir, oldImage);
             user.setImage(null);
         } else if (imageFile != null && !imageFile.isEmpty()) {
             try {
-                String newImage = fileUploadUtil.saveFile(uploadDir, imageFile, "image");
-                if (oldImage != null) {
-                    fileUploadUtil.deleteFile(uploadDir, oldImage);
-                }
+                String newImage = imageStorageService.store(imageFile);
                 user.setImage(newImage);
             } catch (IOException e) {
                 throw new IllegalArgumentException("Failed to save image: " + e.getMessage());
@@ -187,115 +244,24 @@ public class UserService {
         }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("users"));
     }
 
     public void deleteUser(String id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User not found with ID: " + id));
 
-        if (user.getImage() != null) {
-            fileUploadUtil.deleteFile(uploadDir, user.getImage());
-        }
         userRepository.delete(user);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("users"));
     }
 
     public ImportUtil.ImportResult importUsersFromExcel(List<Map<String, Object>> data) {
-        List<String> errorMessages = new ArrayList<>();
-        int importedCount = 0;
-
-        if (data == null || data.isEmpty()) {
-            throw new IllegalArgumentException("No data to import.");
-        }
-
-        for (int i = 0; i < data.size(); i++) {
-            Map<String, Object> row = data.get(i);
-            try {
-                UserDTO dto = new UserDTO();
-
-                dto.setName(importUtil.toString(row.get("name")));
-                if (dto.getName() == null || dto.getName().trim().isEmpty()) {
-                    throw new IllegalArgumentException("Name is mandatory");
-                }
-
-                dto.setEmployeeId(importUtil.toString(row.get("employeeId")));
-                if (dto.getEmployeeId() == null || dto.getEmployeeId().trim().isEmpty()) {
-                    throw new IllegalArgumentException("Employee id is mandatory");
-                }
-
-                String email = importUtil.toString(row.get("email"));
-                if (email == null || email.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Email is mandatory");
-                }
-                if (!isValidEmail(email)) {
-                    throw new IllegalArgumentException("Email should be valid");
-                }
-                dto.setEmail(email.trim());
-
-                dto.setPassword(importUtil.toString(row.get("password")));
-                dto.setImage(importUtil.toString(row.get("image")));
-                dto.setCreatedAt(importUtil.toLocalDateTime(row.get("createdAt")));
-                dto.setActivatedAt(importUtil.toLocalDateTime(row.get("activatedAt")));
-
-                String statusStr = importUtil.toString(row.get("status"));
-                if (statusStr != null && !statusStr.trim().isEmpty()) {
-                    try {
-                        dto.setStatus(User.Status.valueOf(statusStr.trim().toUpperCase()));
-                    } catch (IllegalArgumentException e) {
-                        throw new IllegalArgumentException("Invalid Status: " + statusStr + ". Use valid enum values.");
-                    }
-                }
-
-                dto.setDesignation(importUtil.toString(row.get("designation")));
-                dto.setNationality(importUtil.toString(row.get("nationality")));
-                dto.setJoinDate(importUtil.toLocalDate(row.get("joinDate")));
-                dto.setPhoneNumber(importUtil.toString(row.get("phoneNumber")));
-
-                Set<RoleDTO> roles = new HashSet<>();
-
-                String rolesStr = importUtil.toString(row.get("roles"));
-                if (rolesStr != null && !rolesStr.trim().isEmpty()) {
-                    for (String roleName : rolesStr.split(",")) {
-                        String trimmed = roleName.trim();
-                        if (trimmed.isEmpty())
-                            continue;
-
-                        try {
-                            Role.Name nameEnum = Role.Name.valueOf(trimmed.toUpperCase());
-                            Role role = roleRepository.findByName(nameEnum)
-                                    .orElseThrow(() -> new IllegalArgumentException("Role not found: " + trimmed));
-
-                            RoleDTO roleDTO = new RoleDTO();
-                            roleDTO.setId(role.getId());
-                            roleDTO.setName(role.getName());
-                            roles.add(roleDTO);
-                        } catch (IllegalArgumentException e) {
-                            throw new IllegalArgumentException("Invalid or missing role: " + trimmed);
-                        }
-                    }
-                }
-
-                dto.setRoles(roles);
-
-                createUser(dto, null);
-                importedCount++;
-
-            } catch (Exception e) {
-                String message = e.getMessage() != null ? e.getMessage() : "Unknown error";
-                errorMessages.add("Row " + (i + 1) + ": " + message);
-            }
-        }
-
-        return new ImportUtil.ImportResult(importedCount, errorMessages);
+        return userImportService.importUsers(data);
     }
 
-    private boolean isValidEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
-            return false;
-        }
-        email = email.trim();
-        int at = email.indexOf('@');
-        int dot = email.lastIndexOf('.');
-        return at > 0 && dot > at + 1 && dot < email.length() - 1;
+    public ImportUtil.ImportResult importUsersFromExcel(List<Map<String, Object>> data, int rowOffset,
+            ImportUtil.ParseContext dates) {
+        return userImportService.importUsers(data, rowOffset, dates);
     }
 
     private void mapToEntity(User user, UserDTO dto) {
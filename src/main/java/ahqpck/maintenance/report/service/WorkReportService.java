@@ -1,6 +1,7 @@
 package ahqpck.maintenance.report.service;
 
 import ahqpck.maintenance.report.dto.AreaDTO;
+import ahqpck.maintenance.report.dto.CursorPageDTO;
 import ahqpck.maintenance.report.dto.EquipmentDTO;
 import ahqpck.maintenance.report.dto.PartDTO;
 import ahqpck.maintenance.report.dto.UserDTO;
@@ -11,6 +12,7 @@ import ahqpck.maintenance.report.entity.Complaint;
 import ahqpck.maintenance.report.entity.ComplaintPart;
 import ahqpck.maintenance.report.entity.Equipment;
 import ahqpck.maintenance.report.entity.Part;
+import ahqpck.maintenance.report.entity.PartStockMovement;
 import ahqpck.maintenance.report.entity.User;
 import ahqpck.maintenance.report.entity.WorkReport;
 import ahqpck.maintenance.report.entity.WorkReportPart;
@@ -23,6 +25,8 @@ import ahqpck.maintenance.report.repository.UserRepository;
 import ahqpck.maintenance.report.specification.WorkReportSpecification;
 import ahqpck.maintenance.report.exception.NotFoundException;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.KeysetCursor;
+import ahqpck.maintenance.report.util.SpreadsheetWriter;
 import ahqpck.maintenance.report.util.ZeroPaddedCodeGenerator;
 import lombok.RequiredArgsConstructor;
 
@@ -36,13 +40,20 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -51,12 +62,47 @@ public class WorkReportService {
 
     private static final Logger log = LoggerFactory.getLogger(WorkReportService.class);
 
+    /** Columns the work report list can be cursor paged by. */
+    private static final Map<String, Function<String, ?>> CURSOR_SORT_KEYS = Map.of(
+            "reportDate", LocalDate::parse,
+            "startTime", LocalDateTime::parse,
+            "updatedAt", LocalDateTime::parse,
+            "code", Function.identity());
+
+    /** To-one associations read by toDTO and the export, fetched in the list query itself. */
+    private static final List<String> LIST_FETCHES = List.of("area", "equipment", "supervisor");
+
+    private static final List<ExportService.Column<WorkReport>> EXPORT_COLUMNS = List.of(
+            new ExportService.Column<>("code", WorkReport::getCode),
+            new ExportService.Column<>("reportDate", WorkReport::getReportDate),
+            new ExportService.Column<>("shift", WorkReport::getShift),
+            new ExportService.Column<>("category", WorkReport::getCategory),
+            new ExportService.Column<>("status", WorkReport::getStatus),
+            new ExportService.Column<>("scope", WorkReport::getScope),
+            new ExportService.Column<>("workType", WorkReport::getWorkType),
+            new ExportService.Column<>("area", w -> w.getArea() != null ? w.getArea().getCode() : null),
+            new ExportService.Column<>("equipment", w -> w.getEquipment() != null ? w.getEquipment().getCode() : null),
+            new ExportService.Column<>("problem", WorkReport::getProblem),
+            new ExportService.Column<>("solution", WorkReport::getSolution),
+            new ExportService.Column<>("startTime", WorkReport::getStartTime),
+            new ExportService.Column<>("stopTime", WorkReport::getStopTime),
+            new ExportService.Column<>("totalTimeMinutes", WorkReport::getTotalTimeMinutes),
+            new ExportService.Column<>("supervisor", w -> w.getSupervisor() != null ? w.getSupervisor().getEmployeeId() : null),
+            new ExportService.Column<>("technicians", w -> w.getTechnicians().stream()
+                    .map(User::getEmployeeId).sorted().collect(Collectors.joining(","))),
+            new ExportService.Column<>("remark", WorkReport::getRemark));
+
     private final WorkReportRepository workReportRepository;
     private final AreaRepository areaRepository;
     private final EquipmentRepository equipmentRepository;
     private final UserRepository userRepository;
     private final PartRepository partRepository;
 
+    private final DashboardRollupService dashboardRollupService;
+    private final SearchIndexService searchIndexService;
+    private final InventoryService inventoryService;
+    private final ExportService exportService;
+
     private final ImportUtil importUtil;
     private final ZeroPaddedCodeGenerator codeGenerator;
 
@@ -64,18 +110,69 @@ public class WorkReportService {
     public Page<WorkReportDTO> getAllWorkReports(String keyword, LocalDateTime reportDateFrom,
             LocalDateTime reportDateTo, WorkReport.Category category, String equipmentCode, int page, int size,
             String sortBy, boolean asc) {
-        Sort sort = asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        boolean byRelevance = SearchIndexService.RELEVANCE_SORT.equals(sortBy);
+        Sort sort = byRelevance ? Sort.unsorted() : asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Specification<WorkReport> spec = WorkReportSpecification.search(keyword)
-                .and(WorkReportSpecification.withReportDateRange(reportDateFrom, reportDateTo))
-                .and(WorkReportSpecification.withCategory(category))
-                .and(WorkReportSpecification.withEquipment(equipmentCode));
+        Specification<WorkReport> spec = filter(keyword, reportDateFrom, reportDateTo, category, equipmentCode,
+                byRelevance);
         Page<WorkReport> workReportPage = workReportRepository.findAll(spec, pageable);
 
         return workReportPage.map(this::toDTO);
     }
 
+    /**
+     * Keyset paged variant of {@link #getAllWorkReports}: no OFFSET and no COUNT query.
+     *
+     * @param cursor    {@code nextCursor} of the previous page, blank for the first page
+     * @param withTotal also return a total (exact when filtered, the table estimate otherwise)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<WorkReportDTO> scrollWorkReports(String keyword, LocalDateTime reportDateFrom,
+            LocalDateTime reportDateTo, WorkReport.Category category, String equipmentCode, String cursor, int size,
+            String sortBy, boolean asc, boolean withTotal) {
+        Specification<WorkReport> spec = filter(keyword, reportDateFrom, reportDateTo, category, equipmentCode, false);
+        CursorPageDTO<WorkReportDTO> result = KeysetCursor.scroll(workReportRepository, spec, cursor, size, sortBy,
+                asc, CURSOR_SORT_KEYS, LIST_FETCHES, this::toDTO);
+
+        if (withTotal) {
+            boolean filtered = (keyword != null && !keyword.isBlank()) || reportDateFrom != null
+                    || reportDateTo != null || category != null
+                    || (equipmentCode != null && !equipmentCode.isBlank());
+            result.setTotal(filtered ? workReportRepository.count(spec) : workReportRepository.estimateRowCount());
+            result.setTotalExact(filtered);
+        }
+        return result;
+    }
+
+    /** Whether the list can be cursor paged when sorted by {@code sortBy}. */
+    public boolean isCursorSortable(String sortBy) {
+        return CURSOR_SORT_KEYS.containsKey(sortBy);
+    }
+
+    /**
+     * Writes every work report matching the list filters to {@code out}, in list order.
+     * Columns use the import keys so the file can be imported again.
+     */
+    public long exportWorkReports(String keyword, LocalDateTime reportDateFrom, LocalDateTime reportDateTo,
+            WorkReport.Category category, String equipmentCode, String sortBy, boolean asc,
+            SpreadsheetWriter.Format format, OutputStream out) throws IOException {
+        boolean byRelevance = SearchIndexService.RELEVANCE_SORT.equals(sortBy);
+        Specification<WorkReport> spec = filter(keyword, reportDateFrom, reportDateTo, category, equipmentCode,
+                byRelevance);
+        return exportService.export(WorkReport.class, spec,
+                byRelevance ? Sort.unsorted() : ExportService.sort(sortBy, asc),
+                LIST_FETCHES, EXPORT_COLUMNS, format, "Work Reports", out);
+    }
+
+    private Specification<WorkReport> filter(String keyword, LocalDateTime reportDateFrom,
+            LocalDateTime reportDateTo, WorkReport.Category category, String equipmentCode, boolean byRelevance) {
+        return searchIndexService.searchWorkReports(keyword, byRelevance)
+                .and(WorkReportSpecification.withReportDateRange(reportDateFrom, reportDateTo))
+                .and(WorkReportSpecification.withCategory(category))
+                .and(WorkReportSpecification.withEquipment(equipmentCode));
+    }
+
     public WorkReportDTO getWorkReportById(String id) {
         WorkReport workReport = workReportRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Work report not found with ID: " + id));
@@ -90,6 +187,9 @@ public class WorkReportService {
             if (dto.getCode() == null || dto.getCode().trim().isEmpty()) {
                 String generatedCode = codeGenerator.generate(WorkReport.class, "code", "WR");
                 workReport.setCode(generatedCode);
+            } else {
+                workReport.setCode(dto.getCode().trim());
+                codeGenerator.advancePast(WorkReport.class, "code", "WR", workReport.getCode());
             }
 
             validateNoDuplicateBreakdown(dto);
@@ -105,17 +205,20 @@ public class WorkReportService {
                             .orElseThrow(() -> new IllegalArgumentException(
                                     "Technician not found with employee ID: " + trimmedEmpId));
                     technicians.add(technician);
-                    System.out.println("techIds success");
+                    log.debug("Technician {} assigned to work report {}", trimmedEmpId, workReport.getCode());
                 }
             } else {
                 throw new IllegalArgumentException("At least one technician must be assigned.");
             }
 
             workReport.setTechnicians(technicians);
-            workReportRepository.save(workReport);
+            workReportRepository.saveAndFlush(workReport);
+            syncPartsInventory(workReport);
+            dashboardRollupService.recordWorkReport(null, DashboardRollupService.WorkReportFacts.of(workReport));
+            searchIndexService.indexWorkReports(List.of(workReport.getId()));
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to create work report {}", dto.getCode(), e);
             throw e;
         }
     }
@@ -125,6 +228,8 @@ public class WorkReportService {
         WorkReport workReport = workReportRepository.findById(dto.getId())
                 .orElseThrow(() -> new NotFoundException("Work report not found with ID: " + dto.getId()));
 
+        DashboardRollupService.WorkReportFacts before = DashboardRollupService.WorkReportFacts.of(workReport);
+
         try {
             mapToEntity(workReport, dto);
 
@@ -144,9 +249,12 @@ public class WorkReportService {
             }
 
             workReport.setTechnicians(technicians);
-            workReportRepository.save(workReport);
+            workReportRepository.saveAndFlush(workReport);
+            syncPartsInventory(workReport);
+            dashboardRollupService.recordWorkReport(before, DashboardRollupService.WorkReportFacts.of(workReport));
+            searchIndexService.indexWorkReports(List.of(workReport.getId()));
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to update work report {}", dto.getId(), e);
             throw e;
         }
     }
@@ -156,17 +264,32 @@ public class WorkReportService {
         WorkReport workReport = workReportRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Work report not found with ID: " + id));
 
+        DashboardRollupService.WorkReportFacts before = DashboardRollupService.WorkReportFacts.of(workReport);
+        // Return the parts the work report still holds to stock, in the same transaction as the delete
+        inventoryService.syncHeldParts(PartStockMovement.SourceType.WORK_REPORT, id, Map.of());
         workReportRepository.delete(workReport);
+        dashboardRollupService.recordWorkReport(before, null);
+        searchIndexService.removeWorkReport(id);
     }
 
     public ImportUtil.ImportResult importWorkReportsFromExcel(List<Map<String, Object>> data) {
+        return importWorkReportsFromExcel(data, 0, new ImportUtil.ParseContext());
+    }
+
+    /**
+     * Imports one chunk of a larger file; {@code rowOffset} is the number of data rows
+     * before this chunk, so error messages keep the row numbers of the whole file.
+     * {@code dates} is shared by all chunks of the file, so each date column keeps one format.
+     */
+    public ImportUtil.ImportResult importWorkReportsFromExcel(List<Map<String, Object>> data, int rowOffset,
+            ImportUtil.ParseContext dates) {
         List<String> errorMessages = new ArrayList<>();
         int importedCount = 0;
-        System.out.println("data imported " + data);
 
         if (data == null || data.isEmpty()) {
             throw new IllegalArgumentException("No data to import.");
         }
+        log.debug("Importing {} work report rows after row {}", data.size(), rowOffset);
 
         for (int i = 0; i < data.size(); i++) {
             Map<String, Object> row = data.get(i);
@@ -180,12 +303,12 @@ public class WorkReportService {
                     throw new IllegalArgumentException("Problem is required");
                 }
 
-                dto.setReportDate(importUtil.toLocalDate(row.get("reportDate")));
+                dto.setReportDate(dates.toLocalDate(row, "reportDate"));
                 if (dto.getReportDate() == null) {
                     throw new IllegalArgumentException("Report date is mandatory");
                 }
 
-                dto.setStartTime(importUtil.toLocalDateTime(row.get("startTime")));
+                dto.setStartTime(dates.toLocalDateTime(row, "startTime"));
                 if (dto.getStartTime() == null) {
                     throw new IllegalArgumentException("Start time is mandatory");
                 }
@@ -265,7 +388,7 @@ public class WorkReportService {
                 dto.setSolution(importUtil.toString(row.get("solution")));
                 dto.setWorkType(importUtil.toString(row.get("workType")));
                 dto.setRemark(importUtil.toString(row.get("remark")));
-                dto.setStopTime(importUtil.toLocalDateTime(row.get("stopTime")));
+                dto.setStopTime(dates.toLocalDateTime(row, "stopTime"));
                 dto.setTotalTimeMinutes(importUtil.toDurationInMinutes(row.get("totalTimeMinutes")));
 
                 String statusStr = importUtil.toString(row.get("status"));
@@ -304,7 +427,7 @@ public class WorkReportService {
 
             } catch (Exception e) {
                 String message = e.getMessage() != null ? e.getMessage() : "Unknown error";
-                errorMessages.add("Row " + (i + 1) + ": " + message);
+                errorMessages.add("Row " + (rowOffset + i + 1) + ": " + message);
             }
         }
 
@@ -312,54 +435,18 @@ public class WorkReportService {
     }
 
     /**
-     * Handle side effects of status transitions:
-     * - Closing: set closeTime, deduct inventory
-     * - Reopening: clear closeTime, restock parts
-     */
-
-    protected void handleStatusTransition(WorkReport workReport, WorkReport.Status oldStatus,
-            WorkReport.Status newStatus) {
-        if (newStatus == WorkReport.Status.CLOSED && oldStatus != WorkReport.Status.CLOSED) {
-            // Transitioning TO CLOSED
-
-            log.info("workReport {} CLOSED: Deducting {} parts from inventory",
-                    workReport.getId(), workReport.getPartsUsed().size());
-            deductPartsFromInventory(workReport);
-
-        } else if (oldStatus == WorkReport.Status.CLOSED && newStatus != WorkReport.Status.CLOSED) {
-            // Reopening a CLOSED workReport
-            log.warn("Reopening CLOSED workReport: {}", workReport.getId());
-            restockParts(workReport);
-
-            workReport.setStatus(newStatus); // Allow transition to any non-CLOSED
-        }
-        // For other transitions (e.g. OPEN → PENDING), no side effects
-    }
-
-    /**
-     * Deduct all parts used in this workReport from stock
-     */
-    private void deductPartsFromInventory(WorkReport workReport) {
-        for (WorkReportPart cp : workReport.getPartsUsed()) {
-            Part part = cp.getPart();
-            log.info("Deducting {} x '{}' (Part ID: {}) from stock",
-                    cp.getQuantity(), part.getName(), part.getId());
-            part.useParts(cp.getQuantity());
-            partRepository.save(part);
-        }
-    }
-
-    /**
-     * Restock all parts used in this workReport
+     * A closed work report holds its parts out of stock; any other status holds none. Closing
+     * deducts them, reopening returns them, and editing the parts of a closed report deducts or
+     * returns only the difference.
      */
-    private void restockParts(WorkReport workReport) {
-        for (WorkReportPart cp : workReport.getPartsUsed()) {
-            Part part = cp.getPart();
-            log.info("Restocking {} x '{}' (Part ID: {}) to inventory",
-                    cp.getQuantity(), part.getName(), part.getId());
-            part.addStock(cp.getQuantity());
-            partRepository.save(part);
+    private void syncPartsInventory(WorkReport workReport) {
+        Map<String, Integer> held = new HashMap<>();
+        if (workReport.getStatus() == WorkReport.Status.CLOSED) {
+            for (WorkReportPart cp : workReport.getPartsUsed()) {
+                held.merge(cp.getPart().getId(), Objects.requireNonNullElse(cp.getQuantity(), 0), Integer::sum);
+            }
         }
+        inventoryService.syncHeldParts(PartStockMovement.SourceType.WORK_REPORT, workReport.getId(), held);
     }
 
     private void validateNoDuplicateBreakdown(WorkReportDTO dto) {
@@ -447,39 +534,45 @@ public class WorkReportService {
 
         // PARTS HANDLING: Use merge/update pattern
         if (dto.getPartsUsed() != null) {
-            // Create a copy of current parts to allow safe iteration
-            List<WorkReportPart> existingParts = new ArrayList<>(workReport.getPartsUsed());
+            // Existing entries by part id, reused so unchanged parts are not deleted and re-inserted
+            Map<String, WorkReportPart> existingParts = new HashMap<>();
+            for (WorkReportPart cp : workReport.getPartsUsed()) {
+                existingParts.put(cp.getPart().getId(), cp);
+            }
+
+            // Quantity per part id; a part listed twice is counted once with the summed quantity
+            Map<String, Integer> quantities = new LinkedHashMap<>();
+            for (WorkReportPartDTO partDto : dto.getPartsUsed()) {
+                if (partDto.getQuantity() == null) {
+                    throw new IllegalArgumentException("Quantity is required for part ID: " + partDto.getPart().getId());
+                }
+                quantities.merge(partDto.getPart().getId(), partDto.getQuantity(), Integer::sum);
+            }
+
+            // All referenced parts in one query instead of one findById per part
+            Map<String, Part> parts = partRepository.findAllById(quantities.keySet()).stream()
+                    .collect(Collectors.toMap(Part::getId, Function.identity()));
 
             // Clear the list — thanks to orphanRemoval, old entries will be deleted
             workReport.getPartsUsed().clear();
 
-            for (WorkReportPartDTO partDto : dto.getPartsUsed()) {
-                Part part = partRepository.findById(partDto.getPart().getId())
-                        .orElseThrow(() -> new IllegalArgumentException(
-                                "Part not found with ID: " + partDto.getPart().getId()));
-
-                // Try to reuse an existing workReportPart if possible
-                WorkReportPart existing = existingParts.stream()
-                        .filter(cp -> cp.getPart().getId().equals(part.getId()))
-                        .findFirst()
-                        .orElse(null);
-
-                WorkReportPart cp;
-                if (existing != null) {
-                    // Reuse and update quantity
-                    existing.setQuantity(partDto.getQuantity());
-                    cp = existing;
-                } else {
-                    // Create new
+            quantities.forEach((partId, quantity) -> {
+                Part part = parts.get(partId);
+                if (part == null) {
+                    throw new IllegalArgumentException("Part not found with ID: " + partId);
+                }
+
+                WorkReportPart cp = existingParts.get(partId);
+                if (cp == null) {
                     cp = new WorkReportPart();
                     cp.setWorkReport(workReport);
                     cp.setPart(part);
-                    cp.setQuantity(partDto.getQuantity());
                     cp.setId(new WorkReportPartId(workReport.getId(), part.getId()));
                 }
+                cp.setQuantity(quantity);
 
                 workReport.getPartsUsed().add(cp);
-            }
+            });
         } else {
             // If DTO has no parts, just clear
             workReport.getPartsUsed().clear();
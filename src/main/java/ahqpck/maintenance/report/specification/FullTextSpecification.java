@@ -0,0 +1,49 @@
+package ahqpck.maintenance.report.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import ahqpck.maintenance.report.config.SearchFunctionContributor;
+import ahqpck.maintenance.report.entity.SearchDocument;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Restricts complaints or work reports to those whose search document matches a MySQL
+ * boolean-mode full-text query.
+ */
+public class FullTextSpecification {
+
+    /**
+     * @param docType          {@link SearchDocument#COMPLAINT} or {@link SearchDocument#WORK_REPORT}
+     * @param booleanQuery     e.g. {@code +pump* +leak*}
+     * @param orderByRelevance order by match score, then newest report date first; the pageable
+     *                         passed along with this specification must then be unsorted
+     */
+    public static <T> Specification<T> matching(String docType, String booleanQuery, boolean orderByRelevance) {
+        return (root, query, cb) -> {
+            // Second root instead of an IN subquery so the score can be used in ORDER BY;
+            // (doc_type, doc_id) is the primary key, so this never duplicates rows.
+            Root<SearchDocument> doc = query.from(SearchDocument.class);
+            Expression<Double> score = cb.function(SearchFunctionContributor.MATCH_AGAINST, Double.class,
+                    doc.get("content"), cb.literal(booleanQuery));
+
+            if (orderByRelevance) {
+                // Spring Data drops these orders again for the count query
+                query.orderBy(cb.desc(score), cb.desc(root.get("reportDate")));
+            }
+
+            return cb.and(
+                    cb.equal(doc.get("id").get("docType"), docType),
+                    cb.equal(doc.get("id").get("docId"), root.get("id")),
+                    cb.greaterThan(score, 0.0));
+        };
+    }
+
+    /** Newest first; used when relevance ordering was asked for but the LIKE search is in use. */
+    public static <T> Specification<T> newestFirst() {
+        return (root, query, cb) -> {
+            query.orderBy(cb.desc(root.get("reportDate")));
+            return cb.conjunction();
+        };
+    }
+}
@@ -1,38 +1,57 @@
 package ahqpck.maintenance.report.util;
 
-import java.math.BigInteger;
 import java.util.UUID;
 
+/**
+ * Fixed-width (22 character) Base62 encoding of 128-bit values.
+ *
+ * The value is divided as four unsigned 32-bit limbs held in longs, so encoding needs no
+ * BigInteger and allocates only the result. Digits are ordered 0-9, A-Z, a-z, so encoded
+ * strings sort the same way as the numbers they encode under a binary collation (such as
+ * ascii_bin, see {@link IdGenerator#ID_COLUMN_DEFINITION}), but not under a case-insensitive one.
+ */
 public class Base62 {
-    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
-    private static final int BASE = ALPHABET.length();
+    private static final char[] ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int BASE = ALPHABET.length;
+    private static final long LIMB_MASK = 0xFFFF_FFFFL;
+
+    /** 62^22 > 2^128, so every UUID fits in 22 digits. */
+    public static final int ENCODED_LENGTH = 22;
 
     public static String encode(UUID uuid) {
-        BigInteger number = new BigInteger(1, uuidToBytes(uuid));
-        StringBuilder sb = new StringBuilder();
-        while (number.compareTo(BigInteger.ZERO) > 0) {
-            sb.append(ALPHABET.charAt(number.mod(BigInteger.valueOf(BASE)).intValue()));
-            number = number.divide(BigInteger.valueOf(BASE));
-        }
-        // Pad to 22 chars (typical Base62 UUID length)
-        while (sb.length() < 22) {
-            sb.append('0');
-        }
-        return sb.reverse().toString();
+        return encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
     }
 
-    // Helper to convert UUID to byte[]
-    private static byte[] uuidToBytes(UUID uuid) {
-        byte[] byteArray = new byte[16];
-        longToBytes(uuid.getMostSignificantBits(), byteArray, 0);
-        longToBytes(uuid.getLeastSignificantBits(), byteArray, 8);
-        return byteArray;
-    }
+    /**
+     * Encodes the unsigned 128-bit value {@code msb:lsb}, left-padded with '0'.
+     */
+    public static String encode(long msb, long lsb) {
+        char[] out = new char[ENCODED_LENGTH];
+        long limb0 = msb >>> 32;
+        long limb1 = msb & LIMB_MASK;
+        long limb2 = lsb >>> 32;
+        long limb3 = lsb & LIMB_MASK;
+
+        // Long division by 62, one output digit per pass; remainders stay below 62 * 2^32
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            long remainder = limb0 % BASE;
+            limb0 /= BASE;
+
+            long dividend = (remainder << 32) | limb1;
+            limb1 = dividend / BASE;
+            remainder = dividend % BASE;
+
+            dividend = (remainder << 32) | limb2;
+            limb2 = dividend / BASE;
+            remainder = dividend % BASE;
+
+            dividend = (remainder << 32) | limb3;
+            limb3 = dividend / BASE;
+            remainder = dividend % BASE;
 
-    private static void longToBytes(long value, byte[] array, int offset) {
-        for (int i = 7; i >= 0; i--) {
-            array[offset + i] = (byte) (value & 0xFF);
-            value >>>= 8;
+            out[i] = ALPHABET[(int) remainder];
         }
+        return new String(out);
     }
-}
\ No newline at end of file
+}
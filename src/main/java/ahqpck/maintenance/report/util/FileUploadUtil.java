@@ -19,6 +19,8 @@ import java.util.UUID;
  * 3. AUDIO  -> .mp3, .wav, .ogg, .aac
  * 4. DOC    -> .pdf, .doc, .docx, .xls, .xlsx, .ppt, .pptx, .txt, .csv
  * 5. ANY    -> All file types (use with caution)
+ *
+ * Images are stored through ImageStorageService instead, which only uses the validation here.
  */
 @Component
 public class FileUploadUtil {
@@ -56,8 +58,9 @@ public class FileUploadUtil {
             Files.createDirectories(uploadPath);
         }
 
-        Path filePath = uploadPath.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        // transferTo moves the multipart temp file when it is on disk instead of copying it
+        Path filePath = uploadPath.resolve(fileName).toAbsolutePath();
+        file.transferTo(filePath.toFile());
 
         return fileName;
     }
@@ -69,7 +72,7 @@ public class FileUploadUtil {
      * @param fileType  "image", "video", "audio", "doc", or "any"
      * @throws IOException if file type is not allowed
      */
-    private static void validateFileType(MultipartFile file, String fileType) throws IOException {
+    public static void validateFileType(MultipartFile file, String fileType) throws IOException {
         String contentType = file.getContentType();
         String originalName = file.getOriginalFilename();
 
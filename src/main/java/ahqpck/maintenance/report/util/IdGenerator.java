@@ -0,0 +1,72 @@
+package ahqpck.maintenance.report.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Primary key generator for the entities.
+ *
+ * {@link #newId()} returns a time-ordered UUID (version 7 layout: 48-bit Unix milliseconds,
+ * then a 12-bit counter, then 62 random bits) encoded with {@link Base62}. Because the
+ * timestamp leads, new rows land at the end of the InnoDB primary key index instead of on
+ * random pages. Ids from one JVM are strictly increasing; the counter borrows from the next
+ * millisecond when more than 4096 ids are requested within one.
+ *
+ * That order only holds in a binary collation: a case-insensitive one sorts 'a' with 'A'.
+ * Id columns, and the columns referencing them, are therefore declared with
+ * {@link #ID_COLUMN_DEFINITION}.
+ */
+public final class IdGenerator {
+
+    /** Column type of ids and the columns referencing them; the same on both sides of a foreign key. */
+    public static final String ID_COLUMN_DEFINITION = "CHAR(22) CHARACTER SET ascii COLLATE ascii_bin";
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /** Last issued {@code millis << 12 | counter}. */
+    private static final AtomicLong lastTimestamp = new AtomicLong();
+
+    private static final ThreadLocal<SecureRandom> random = ThreadLocal.withInitial(SecureRandom::new);
+
+    private IdGenerator() {
+    }
+
+    /** A new time-ordered id, 22 characters long. */
+    public static String newId() {
+        return Base62.encode(nextMostSignificantBits(), nextLeastSignificantBits());
+    }
+
+    /** A random (version 4) id, as the entities used to generate. */
+    public static String newRandomId() {
+        return Base62.encode(UUID.randomUUID());
+    }
+
+    public static UUID newUuidV7() {
+        return new UUID(nextMostSignificantBits(), nextLeastSignificantBits());
+    }
+
+    /** 48-bit milliseconds, version 7, 12-bit counter. */
+    private static long nextMostSignificantBits() {
+        long timestamp = nextTimestamp();
+        long millis = timestamp >>> COUNTER_BITS;
+        return (millis << 16) | (0x7L << 12) | (timestamp & COUNTER_MASK);
+    }
+
+    /** IETF variant, 62 random bits. */
+    private static long nextLeastSignificantBits() {
+        return (random.get().nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+    }
+
+    private static long nextTimestamp() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        while (true) {
+            long last = lastTimestamp.get();
+            long next = now > last ? now : last + 1;
+            if (lastTimestamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package ahqpck.maintenance.report.util;
 
+import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
@@ -15,6 +23,28 @@ import org.springframework.stereotype.Component;
 @Component
 public class ImportUtil {
 
+    private static final Pattern NUMBER = Pattern.compile("\\d+(\\.\\d+)?");
+    private static final Pattern CLOCK = Pattern.compile("(\\d{1,2}):(\\d{2})(?::(\\d{2}))?");
+
+    // tried in this order; the first match wins unless the column already has a format
+    // strict, so 31/02/2025 is rejected instead of being moved to 28/02; strict needs uuuu, not yyyy
+    private static final List<DateTimeFormatter> DATE_FORMATS = Stream.of(
+            "uuuu-MM-dd", "dd/MM/uuuu", "MM/dd/uuuu", "dd-MM-uuuu", "MM-dd-uuuu",
+            "MMM uuuu", "MMMM uuuu", "MM/uuuu", "M/uuuu", "uuuu-MM", "uuuu/MM")
+            .map(ImportUtil::strictFormat)
+            .toList();
+
+    private static final List<DateTimeFormatter> DATE_TIME_FORMATS = Stream.of(
+            "uuuu-MM-dd'T'HH:mm:ss", "uuuu-MM-dd HH:mm:ss",
+            "dd/MM/uuuu HH:mm:ss", "MM/dd/uuuu HH:mm:ss",
+            "dd-MM-uuuu HH:mm:ss", "MM-dd-uuuu HH:mm:ss",
+            "uuuu-MM-dd HH:mm", "dd/MM/uuuu HH:mm",
+            "MM/dd/uuuu HH:mm", "dd-MM-uuuu HH:mm",
+            "MM-dd-uuuu HH:mm", "uuuu-MM-dd h:mm a",
+            "dd/MM/uuuu h:mm a", "MM/dd/uuuu h:mm a")
+            .map(ImportUtil::strictFormat)
+            .toList();
+
     public String toString(Object obj) {
         return obj != null ? obj.toString().trim() : null;
     }
@@ -37,16 +67,16 @@ public class ImportUtil {
         }
 
         String str = obj.toString().trim();
-        if (str.matches("^\\d+(\\.\\d+)?$")) {
+        if (NUMBER.matcher(str).matches()) {
             double serial = Double.parseDouble(str);
             return serial < 1.0 ? (int) Math.round(serial * 24 * 60) : (int) serial;
         }
 
-        if (str.matches("^\\d{1,2}:\\d{2}(:\\d{2})?$")) {
-            String[] parts = str.split(":");
-            int hours = Integer.parseInt(parts[0]);
-            int minutes = Integer.parseInt(parts[1]);
-            int seconds = parts.length > 2 ? Integer.parseInt(parts[2]) : 0;
+        Matcher clock = CLOCK.matcher(str);
+        if (clock.matches()) {
+            int hours = Integer.parseInt(clock.group(1));
+            int minutes = Integer.parseInt(clock.group(2));
+            int seconds = clock.group(3) != null ? Integer.parseInt(clock.group(3)) : 0;
             return (int) Math.round(hours * 60 + minutes + seconds / 60.0);
         }
 
@@ -54,6 +84,35 @@ public class ImportUtil {
     }
 
     public LocalDate toLocalDate(Object obj) {
+        return parseLocalDate(obj, null, null);
+    }
+
+    public LocalDateTime toLocalDateTime(Object obj) {
+        return parseLocalDateTime(obj, null, null);
+    }
+
+    /**
+     * Date and date-time parsing for one import. Each column keeps the format its first value
+     * matched and tries it first, so a file written in one format is parsed with a single
+     * attempt per cell, and an ambiguous value such as 03/04/2025 is read the same way in every
+     * row. A value the kept format does not match is still tried against the other formats,
+     * but does not change the column's format. Not thread-safe; create one per import file.
+     */
+    public static final class ParseContext {
+
+        private final Map<String, Integer> dateFormats = new HashMap<>();
+        private final Map<String, Integer> dateTimeFormats = new HashMap<>();
+
+        public LocalDate toLocalDate(Map<String, Object> row, String column) {
+            return parseLocalDate(row.get(column), dateFormats, column);
+        }
+
+        public LocalDateTime toLocalDateTime(Map<String, Object> row, String column) {
+            return parseLocalDateTime(row.get(column), dateTimeFormats, column);
+        }
+    }
+
+    private static LocalDate parseLocalDate(Object obj, Map<String, Integer> formats, String column) {
         if (obj == null || obj.toString().trim().isEmpty()) return null;
 
         if (obj instanceof Date) {
@@ -61,38 +120,18 @@ public class ImportUtil {
         }
 
         String str = obj.toString().trim();
-        if (str.matches("\\d+(\\.\\d+)?")) {
+        if (NUMBER.matcher(str).matches()) {
             return convertExcelDate(Double.parseDouble(str));
         }
 
-        return Stream.of(
-                "yyyy-MM-dd", "dd/MM/yyyy", "MM/dd/yyyy", "dd-MM-yyyy", "MM-dd-yyyy",
-                "MMM yyyy", "MMMM yyyy", "MM/yyyy", "M/yyyy", "yyyy-MM", "yyyy/MM")
-                .map(pattern -> {
-                    try {
-                        DateTimeFormatter f = DateTimeFormatter.ofPattern(pattern);
-                        var parsed = f.parse(str);
-                        if (parsed.isSupported(ChronoField.YEAR) && parsed.isSupported(ChronoField.MONTH_OF_YEAR)) {
-                            int year = parsed.get(ChronoField.YEAR);
-                            int month = parsed.get(ChronoField.MONTH_OF_YEAR);
-                            int day = parsed.isSupported(ChronoField.DAY_OF_MONTH) ? parsed.get(ChronoField.DAY_OF_MONTH) : 1;
-                            return LocalDate.of(year, month, day);
-                        }
-                        return null;
-                    } catch (Exception ignored) { return null; }
-                })
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Invalid date: " + str));
-    }
-
-    private static LocalDate convertExcelDate(double serial) {
-        int n = (int) serial;
-        if (n >= 60) n--;
-        return LocalDate.of(1899, 12, 31).plusDays(n);
+        LocalDate date = detect(DATE_FORMATS, str, formats, column, ImportUtil::dateOf);
+        if (date == null) {
+            throw new IllegalArgumentException("Invalid date: " + str);
+        }
+        return date;
     }
 
-    public LocalDateTime toLocalDateTime(Object obj) {
+    private static LocalDateTime parseLocalDateTime(Object obj, Map<String, Integer> formats, String column) {
         if (obj == null || obj.toString().trim().isEmpty()) return null;
 
         if (obj instanceof Date) {
@@ -100,26 +139,92 @@ public class ImportUtil {
         }
 
         String str = obj.toString().trim();
-        if (str.matches("\\d+(\\.\\d+)?")) {
+        if (NUMBER.matcher(str).matches()) {
             return convertExcelDateTime(Double.parseDouble(str));
         }
 
-        return Stream.of(
-                "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd HH:mm:ss",
-                "dd/MM/yyyy HH:mm:ss", "MM/dd/yyyy HH:mm:ss",
-                "dd-MM-yyyy HH:mm:ss", "MM-dd-yyyy HH:mm:ss",
-                "yyyy-MM-dd HH:mm", "dd/MM/yyyy HH:mm",
-                "MM/dd/yyyy HH:mm", "dd-MM-yyyy HH:mm",
-                "MM-dd-yyyy HH:mm", "yyyy-MM-dd h:mm a",
-                "dd/MM/yyyy h:mm a", "MM/dd/yyyy h:mm a")
-                .map(pattern -> {
-                    try {
-                        return LocalDateTime.parse(str, DateTimeFormatter.ofPattern(pattern));
-                    } catch (DateTimeParseException ignored) { return null; }
-                })
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Invalid datetime: " + str));
+        LocalDateTime dateTime = detect(DATE_TIME_FORMATS, str, formats, column, ImportUtil::dateTimeOf);
+        if (dateTime == null) {
+            throw new IllegalArgumentException("Invalid datetime: " + str);
+        }
+        return dateTime;
+    }
+
+    /**
+     * Tries the column's format, then the others in order. The first format a column matches
+     * is kept for it. {@code formats} may be null when there is no column to remember.
+     */
+    private static <T> T detect(List<DateTimeFormatter> candidates, String str, Map<String, Integer> formats,
+            String column, Function<TemporalAccessor, T> convert) {
+        Integer known = formats != null ? formats.get(column) : null;
+        if (known != null) {
+            T value = convert.apply(tryParse(candidates.get(known), str));
+            if (value != null) {
+                return value;
+            }
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            if (known != null && i == known) {
+                continue;
+            }
+            T value = convert.apply(tryParse(candidates.get(i), str));
+            if (value != null) {
+                if (formats != null && known == null) {
+                    formats.put(column, i);
+                }
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static DateTimeFormatter strictFormat(String pattern) {
+        return DateTimeFormatter.ofPattern(pattern).withResolverStyle(ResolverStyle.STRICT);
+    }
+
+    /**
+     * Parses {@code str} with {@code formatter}, or returns null. Text of another shape is
+     * rejected by the unresolved parse, which does not throw; only text that fits the pattern
+     * but holds an impossible value (31/02) costs an exception.
+     */
+    private static TemporalAccessor tryParse(DateTimeFormatter formatter, String str) {
+        ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(str, position) == null || position.getIndex() != str.length()) {
+            return null;
+        }
+        try {
+            return formatter.parse(str);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // month-only formats (MMM yyyy, yyyy-MM, ...) give the first day of the month
+    private static LocalDate dateOf(TemporalAccessor parsed) {
+        if (parsed == null || !parsed.isSupported(ChronoField.YEAR) || !parsed.isSupported(ChronoField.MONTH_OF_YEAR)) {
+            return null;
+        }
+        int year = parsed.get(ChronoField.YEAR);
+        int month = parsed.get(ChronoField.MONTH_OF_YEAR);
+        int day = parsed.isSupported(ChronoField.DAY_OF_MONTH) ? parsed.get(ChronoField.DAY_OF_MONTH) : 1;
+        return LocalDate.of(year, month, day);
+    }
+
+    private static LocalDateTime dateTimeOf(TemporalAccessor parsed) {
+        if (parsed == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.from(parsed);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static LocalDate convertExcelDate(double serial) {
+        int n = (int) serial;
+        if (n >= 60) n--;
+        return LocalDate.of(1899, 12, 31).plusDays(n);
     }
 
     private static LocalDateTime convertExcelDateTime(double serial) {
@@ -0,0 +1,123 @@
+package ahqpck.maintenance.report.util;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import ahqpck.maintenance.report.dto.CursorPageDTO;
+
+/**
+ * Keyset ("seek") paging for the list screens.
+ *
+ * Rows are ordered by the sort column and then by id, and the next page is fetched with
+ * {@code WHERE (sort, id) > (last sort value, last id)} instead of an OFFSET, so deep pages cost
+ * the same as the first one and no COUNT query is issued. The position is handed to clients as
+ * an opaque Base64 cursor that also records the sort it belongs to.
+ *
+ * Only non-null columns can be used: each list passes the columns it allows with a parser that
+ * turns the cursor's text back into the column's type.
+ */
+public final class KeysetCursor {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Loads the page after {@code cursor} (the first page when the cursor is blank).
+     *
+     * @param sortKeys sortable columns of the entity and how to parse their cursor values
+     */
+    public static <T, D> CursorPageDTO<D> scroll(JpaSpecificationExecutor<T> repository, Specification<T> spec,
+            String cursor, int size, String sortBy, boolean asc, Map<String, Function<String, ?>> sortKeys,
+            Function<T, D> mapper) {
+        return scroll(repository, spec, cursor, size, sortBy, asc, sortKeys, List.of(), mapper);
+    }
+
+    /**
+     * As {@link #scroll(JpaSpecificationExecutor, Specification, String, int, String, boolean, Map, Function)},
+     * loading the page with a fetch graph of {@code fetches} so the mapper does not trigger
+     * one lazy load per row.
+     */
+    public static <T, D> CursorPageDTO<D> scroll(JpaSpecificationExecutor<T> repository, Specification<T> spec,
+            String cursor, int size, String sortBy, boolean asc, Map<String, Function<String, ?>> sortKeys,
+            List<String> fetches, Function<T, D> mapper) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        Function<String, ?> parser = sortKeys.get(sortBy);
+        if (parser == null) {
+            throw new IllegalArgumentException("Cursor paging cannot sort by '" + sortBy + "'. Use one of "
+                    + sortKeys.keySet() + ".");
+        }
+
+        Sort.Direction direction = asc ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(new Sort.Order(direction, sortBy), new Sort.Order(direction, "id"));
+        ScrollPosition position = decode(cursor, sortBy, asc, parser);
+
+        Window<T> window = repository.findBy(spec,
+                query -> query.sortBy(sort).project(fetches).limit(size).scroll(position));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = encode((KeysetScrollPosition) window.positionAt(window.size() - 1), sortBy, asc);
+        }
+        return new CursorPageDTO<>(window.map(mapper).getContent(), size, nextCursor, window.hasNext(), null, null);
+    }
+
+    private static ScrollPosition decode(String cursor, String sortBy, boolean asc, Function<String, ?> parser) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(Base64.getUrlDecoder().decode(cursor.trim()));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        if (!sortBy.equals(node.path("s").asText()) || asc != node.path("a").asBoolean()
+                || !node.hasNonNull("k") || !node.hasNonNull("i")) {
+            throw new IllegalArgumentException("The cursor does not belong to this sort order.");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            keys.put(sortBy, parser.apply(node.get("k").asText()));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        keys.put("id", node.get("i").asText());
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String encode(KeysetScrollPosition position, String sortBy, boolean asc) {
+        Map<String, ?> keys = position.getKeys();
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("s", sortBy);
+        node.put("a", asc);
+        node.put("k", String.valueOf(keys.get(sortBy)));
+        node.put("i", String.valueOf(keys.get("id")));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(node));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+}
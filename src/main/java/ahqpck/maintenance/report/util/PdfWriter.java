@@ -0,0 +1,197 @@
+package ahqpck.maintenance.report.util;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a small PDF made of text, lines and filled rectangles on A4 pages. Enough for
+ * report tables and bar charts without an external library; counterpart of the hand-written
+ * XLSX in {@link SpreadsheetWriter}.
+ *
+ * Coordinates are PDF points with the origin at the bottom-left corner of the page. Text uses
+ * the standard Helvetica fonts, so only Latin-1 characters are shown; others print as '?'.
+ */
+public final class PdfWriter {
+
+    public static final float PAGE_WIDTH = 595.28f;
+    public static final float PAGE_HEIGHT = 841.89f;
+
+    /** Helvetica digit width per point of font size; digits are all the same width. */
+    private static final float DIGIT_WIDTH = 0.556f;
+
+    private final List<Page> pages = new ArrayList<>();
+
+    public Page newPage() {
+        Page page = new Page();
+        pages.add(page);
+        return page;
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /** Approximate width of {@code text} in points; exact for digits. */
+    public static float textWidth(String text, float size) {
+        return text.length() * DIGIT_WIDTH * size;
+    }
+
+    /** Writes the document to {@code out}, leaving it open. */
+    public void write(OutputStream target) throws IOException {
+        if (pages.isEmpty()) {
+            newPage();
+        }
+        CountingOutputStream out = new CountingOutputStream(target);
+        // objects: 1 catalog, 2 page tree, 3 and 4 fonts, then a page and its content per page
+        int objectCount = 4 + pages.size() * 2;
+        long[] offsets = new long[objectCount + 1];
+
+        out.ascii("%PDF-1.4\n%âãÏÓ\n");
+
+        offsets[1] = out.count;
+        out.ascii("1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < pages.size(); i++) {
+            kids.append(5 + i * 2).append(" 0 R ");
+        }
+        offsets[2] = out.count;
+        out.ascii("2 0 obj\n<< /Type /Pages /Kids [" + kids + "] /Count " + pages.size() + " >>\nendobj\n");
+
+        offsets[3] = out.count;
+        out.ascii("3 0 obj\n<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\nendobj\n");
+        offsets[4] = out.count;
+        out.ascii("4 0 obj\n<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>\nendobj\n");
+
+        for (int i = 0; i < pages.size(); i++) {
+            int pageObject = 5 + i * 2;
+            int contentObject = pageObject + 1;
+
+            offsets[pageObject] = out.count;
+            out.ascii(pageObject + " 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 "
+                    + number(PAGE_WIDTH) + " " + number(PAGE_HEIGHT) + "]"
+                    + " /Resources << /Font << /F1 3 0 R /F2 4 0 R >> >>"
+                    + " /Contents " + contentObject + " 0 R >>\nendobj\n");
+
+            byte[] content = deflate(pages.get(i).content.toString().getBytes(StandardCharsets.ISO_8859_1));
+            offsets[contentObject] = out.count;
+            out.ascii(contentObject + " 0 obj\n<< /Length " + content.length + " /Filter /FlateDecode >>\nstream\n");
+            out.write(content);
+            out.ascii("\nendstream\nendobj\n");
+        }
+
+        long xref = out.count;
+        StringBuilder table = new StringBuilder("xref\n0 " + (objectCount + 1) + "\n0000000000 65535 f \n");
+        for (int i = 1; i <= objectCount; i++) {
+            table.append(String.format(Locale.ROOT, "%010d 00000 n \n", offsets[i]));
+        }
+        table.append("trailer\n<< /Size ").append(objectCount + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        out.ascii(table.toString());
+        out.flush();
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(buffer)) {
+            deflater.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String number(float value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    /** The drawing operations of one page. */
+    public static final class Page {
+
+        private final StringBuilder content = new StringBuilder();
+
+        private Page() {
+        }
+
+        public Page text(float x, float y, float size, boolean bold, Color color, String text) {
+            content.append("BT /").append(bold ? "F2 " : "F1 ").append(number(size)).append(" Tf ")
+                    .append(rgb(color)).append(" rg ")
+                    .append(number(x)).append(' ').append(number(y)).append(" Td (")
+                    .append(escape(text)).append(") Tj ET\n");
+            return this;
+        }
+
+        /** Text ending at {@code right}; exact for numbers, approximate otherwise. */
+        public Page textRight(float right, float y, float size, boolean bold, Color color, String text) {
+            return text(right - textWidth(text, size), y, size, bold, color, text);
+        }
+
+        public Page rect(float x, float y, float width, float height, Color fill) {
+            content.append(rgb(fill)).append(" rg ")
+                    .append(number(x)).append(' ').append(number(y)).append(' ')
+                    .append(number(width)).append(' ').append(number(height)).append(" re f\n");
+            return this;
+        }
+
+        public Page line(float x1, float y1, float x2, float y2, float width, Color color) {
+            content.append(rgb(color)).append(" RG ").append(number(width)).append(" w ")
+                    .append(number(x1)).append(' ').append(number(y1)).append(" m ")
+                    .append(number(x2)).append(' ').append(number(y2)).append(" l S\n");
+            return this;
+        }
+
+        private static String rgb(Color color) {
+            return String.format(Locale.ROOT, "%.3f %.3f %.3f",
+                    color.getRed() / 255f, color.getGreen() / 255f, color.getBlue() / 255f);
+        }
+
+        /** Escapes a PDF string literal; characters outside Latin-1 become '?'. */
+        private static String escape(String text) {
+            StringBuilder escaped = new StringBuilder(text.length() + 8);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '(' || c == ')' || c == '\\') {
+                    escaped.append('\\').append(c);
+                } else if (c < 0x20) {
+                    escaped.append(' ');
+                } else if (c > 0xFF) {
+                    escaped.append('?');
+                } else {
+                    escaped.append(c);
+                }
+            }
+            return escaped.toString();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        void ascii(String text) throws IOException {
+            write(text.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
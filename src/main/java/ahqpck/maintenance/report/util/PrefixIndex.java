@@ -0,0 +1,190 @@
+package ahqpck.maintenance.report.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index for typeahead over a fixed list of items.
+ *
+ * Every item is split into normalized tokens (lower case, accents removed, split on anything
+ * that is not a letter or digit; a code such as "EQ-001" also yields "eq001"). All tokens
+ * are kept in one sorted array, so the items having a token that starts with a prefix are
+ * found with a binary search and a short forward scan. A query of several words matches the
+ * items that have a token starting with each word.
+ *
+ * Matches are ranked: exact key, then key prefix, then any other token; ties keep the order
+ * of the list given to {@link #build}. The key is the first text of an item (its code).
+ */
+public final class PrefixIndex<T> {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final List<T> items;
+    private final String[] keys;
+    private final String[][] itemTokens;
+    private final String[] tokens;
+    private final int[] owners;
+
+    private PrefixIndex(List<T> items, String[] keys, String[][] itemTokens, String[] tokens, int[] owners) {
+        this.items = items;
+        this.keys = keys;
+        this.itemTokens = itemTokens;
+        this.tokens = tokens;
+        this.owners = owners;
+    }
+
+    /**
+     * @param texts the searchable texts of an item, key first; null texts are skipped
+     */
+    public static <T> PrefixIndex<T> build(List<T> items, Function<T, List<String>> texts) {
+        List<T> copy = List.copyOf(items);
+        String[] keys = new String[copy.size()];
+        String[][] itemTokens = new String[copy.size()][];
+        List<String> allTokens = new ArrayList<>();
+        List<Integer> allOwners = new ArrayList<>();
+
+        for (int i = 0; i < copy.size(); i++) {
+            List<String> itemTexts = texts.apply(copy.get(i));
+            keys[i] = itemTexts.isEmpty() ? "" : compact(itemTexts.get(0));
+
+            Set<String> unique = new LinkedHashSet<>();
+            for (String text : itemTexts) {
+                List<String> words = tokenize(text);
+                unique.addAll(words);
+                if (words.size() > 1) {
+                    unique.add(String.join("", words));
+                }
+            }
+            itemTokens[i] = unique.toArray(String[]::new);
+            for (String token : unique) {
+                allTokens.add(token);
+                allOwners.add(i);
+            }
+        }
+
+        Integer[] order = new Integer[allTokens.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byToken = allTokens.get(a).compareTo(allTokens.get(b));
+            return byToken != 0 ? byToken : Integer.compare(allOwners.get(a), allOwners.get(b));
+        });
+        String[] tokens = new String[order.length];
+        int[] owners = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            tokens[i] = allTokens.get(order[i]);
+            owners[i] = allOwners.get(order[i]);
+        }
+        return new PrefixIndex<>(copy, keys, itemTokens, tokens, owners);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /** Up to {@code limit} items matching every word of {@code query}; empty for a blank query. */
+    public List<T> search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        // scan the token range of the most selective word, check the others per item
+        int from = 0;
+        int to = tokens.length;
+        for (String word : words) {
+            int start = lowerBound(word);
+            int end = lowerBound(word + Character.MAX_VALUE);
+            if (end - start < to - from) {
+                from = start;
+                to = end;
+            }
+        }
+        String compactQuery = String.join("", words);
+
+        boolean[] seen = new boolean[items.size()];
+        List<int[]> matches = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            int owner = owners[i];
+            if (seen[owner]) {
+                continue;
+            }
+            seen[owner] = true;
+            if (matchesAll(owner, words)) {
+                matches.add(new int[] { rank(owner, compactQuery), owner });
+            }
+        }
+
+        matches.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+        List<T> result = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && result.size() < limit; i++) {
+            result.add(items.get(matches.get(i)[1]));
+        }
+        return result;
+    }
+
+    /** Lower-cased, accent-free words of {@code text}. */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : SEPARATORS.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String compact(String text) {
+        return String.join("", tokenize(text));
+    }
+
+    private boolean matchesAll(int item, List<String> words) {
+        for (String word : words) {
+            boolean found = false;
+            for (String token : itemTokens[item]) {
+                if (token.startsWith(word)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int rank(int item, String compactQuery) {
+        if (keys[item].equals(compactQuery)) {
+            return 0;
+        }
+        return keys[item].startsWith(compactQuery) ? 1 : 2;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = tokens.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tokens[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,455 @@
+package ahqpck.maintenance.report.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streams the rows of an uploaded spreadsheet one at a time.
+ *
+ * XLSX sheets are read with StAX straight from the zip entry, so only the shared string
+ * table is held in memory, never the sheet itself. CSV/TSV files are read record by record.
+ * Cell values match what the import wizard used to send: strings, booleans, and numbers
+ * (whole numbers as {@link Long}, so codes like {@code 1001} do not turn into {@code 1001.0}).
+ */
+public final class SpreadsheetReader {
+
+    /** Receives one non-blank row; {@code rowIndex} is the 0-based row of the sheet. */
+    @FunctionalInterface
+    public interface RowHandler {
+        void row(int rowIndex, List<Object> cells);
+    }
+
+    private static final int MAX_COLUMNS = 16_384;
+    private static final String WORKBOOK = "xl/workbook.xml";
+    private static final String WORKBOOK_RELS = "xl/_rels/workbook.xml.rels";
+    private static final String DEFAULT_SHARED_STRINGS = "xl/sharedStrings.xml";
+
+    private SpreadsheetReader() {
+    }
+
+    public static boolean isSupported(String fileName) {
+        String extension = extensionOf(fileName);
+        return extension.equals("xlsx") || isDelimited(extension);
+    }
+
+    /**
+     * Reads {@code file}, choosing the format from {@code fileName}. {@code sheetName} only
+     * applies to XLSX; when it is blank the first sheet is used.
+     */
+    public static void read(Path file, String fileName, String sheetName, RowHandler handler) throws IOException {
+        String extension = extensionOf(fileName);
+        if (extension.equals("xlsx")) {
+            readXlsx(file, sheetName, handler);
+        } else if (isDelimited(extension)) {
+            readDelimited(file, handler);
+        } else {
+            throw new IllegalArgumentException("Unsupported file type: " + fileName);
+        }
+    }
+
+    // ----------------------------------------------------------------------------------
+    // XLSX
+    // ----------------------------------------------------------------------------------
+
+    private static void readXlsx(Path file, String sheetName, RowHandler handler) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            Map<String, String> relationships = readRelationships(zip);
+            String sheetPath = resolveSheet(zip, relationships, sheetName);
+            List<String> sharedStrings = readSharedStrings(zip, relationships);
+
+            ZipEntry sheet = zip.getEntry(sheetPath);
+            if (sheet == null) {
+                throw new IllegalArgumentException("Sheet not found in workbook: " + sheetPath);
+            }
+            try (InputStream in = zip.getInputStream(sheet)) {
+                readSheet(in, sharedStrings, handler);
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid XLSX file: " + e.getMessage(), e);
+        }
+    }
+
+    /** Relationship id to zip path; the shared strings part is also stored under its type. */
+    private static Map<String, String> readRelationships(ZipFile zip) throws IOException, XMLStreamException {
+        Map<String, String> relationships = new HashMap<>();
+        ZipEntry entry = zip.getEntry(WORKBOOK_RELS);
+        if (entry == null) {
+            return relationships;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader xml = newXmlReader(in);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("Relationship")) {
+                        String target = xml.getAttributeValue(null, "Target");
+                        if (target == null) {
+                            continue;
+                        }
+                        String path = target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                        relationships.put(xml.getAttributeValue(null, "Id"), path);
+                        String type = xml.getAttributeValue(null, "Type");
+                        if (type != null && type.endsWith("/sharedStrings")) {
+                            relationships.put("sharedStrings", path);
+                        }
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+        return relationships;
+    }
+
+    private static String resolveSheet(ZipFile zip, Map<String, String> relationships, String sheetName)
+            throws IOException, XMLStreamException {
+        ZipEntry entry = zip.getEntry(WORKBOOK);
+        if (entry == null) {
+            throw new IllegalArgumentException("Not an XLSX workbook.");
+        }
+
+        Map<String, String> sheets = new LinkedHashMap<>();
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader xml = newXmlReader(in);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("sheet")) {
+                        sheets.put(xml.getAttributeValue(null, "name"), relationshipIdOf(xml));
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+        if (sheets.isEmpty()) {
+            throw new IllegalArgumentException("The workbook has no sheets.");
+        }
+
+        String relationshipId;
+        if (sheetName == null || sheetName.isBlank()) {
+            relationshipId = sheets.values().iterator().next();
+        } else if (sheets.containsKey(sheetName)) {
+            relationshipId = sheets.get(sheetName);
+        } else {
+            throw new IllegalArgumentException("Sheet not found: " + sheetName);
+        }
+
+        String path = relationships.get(relationshipId);
+        if (path == null) {
+            throw new IllegalArgumentException("Sheet not found: " + sheetName);
+        }
+        return path;
+    }
+
+    /** The {@code r:id} attribute; matched by local name because strict OOXML uses another namespace. */
+    private static String relationshipIdOf(XMLStreamReader xml) {
+        for (int i = 0; i < xml.getAttributeCount(); i++) {
+            String prefix = xml.getAttributePrefix(i);
+            if (xml.getAttributeLocalName(i).equals("id") && prefix != null && !prefix.isEmpty()) {
+                return xml.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static List<String> readSharedStrings(ZipFile zip, Map<String, String> relationships)
+            throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry(relationships.getOrDefault("sharedStrings", DEFAULT_SHARED_STRINGS));
+        if (entry == null) {
+            return strings;
+        }
+
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader xml = newXmlReader(in);
+            try {
+                StringBuilder text = new StringBuilder();
+                boolean inText = false;
+                int phoneticDepth = 0;
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        switch (xml.getLocalName()) {
+                            case "si" -> text.setLength(0);
+                            case "rPh" -> phoneticDepth++;
+                            case "t" -> inText = phoneticDepth == 0;
+                            default -> {
+                            }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        switch (xml.getLocalName()) {
+                            case "si" -> strings.add(text.toString());
+                            case "rPh" -> phoneticDepth--;
+                            case "t" -> inText = false;
+                            default -> {
+                            }
+                        }
+                    } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                        text.append(xml.getText());
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+        return strings;
+    }
+
+    private static void readSheet(InputStream in, List<String> sharedStrings, RowHandler handler)
+            throws XMLStreamException {
+        XMLStreamReader xml = newXmlReader(in);
+        try {
+            List<Object> cells = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+            int rowIndex = -1;
+            int columnIndex = -1;
+            String cellType = null;
+            boolean inValue = false;
+
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "row" -> {
+                            String r = xml.getAttributeValue(null, "r");
+                            rowIndex = r != null ? Integer.parseInt(r) - 1 : rowIndex + 1;
+                            columnIndex = -1;
+                            cells.clear();
+                        }
+                        case "c" -> {
+                            String r = xml.getAttributeValue(null, "r");
+                            columnIndex = r != null ? columnIndexOf(r) : columnIndex + 1;
+                            cellType = xml.getAttributeValue(null, "t");
+                            text.setLength(0);
+                        }
+                        case "v" -> inValue = true;
+                        case "t" -> inValue = "inlineStr".equals(cellType);
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "v", "t" -> inValue = false;
+                        case "c" -> {
+                            if (columnIndex < MAX_COLUMNS) {
+                                Object value = cellValue(cellType, text.toString(), sharedStrings);
+                                while (cells.size() <= columnIndex) {
+                                    cells.add(null);
+                                }
+                                cells.set(columnIndex, value);
+                            }
+                        }
+                        case "row" -> emit(rowIndex, cells, handler);
+                        default -> {
+                        }
+                    }
+                } else if (inValue && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    text.append(xml.getText());
+                }
+            }
+        } finally {
+            xml.close();
+        }
+    }
+
+    private static Object cellValue(String type, String raw, List<String> sharedStrings) {
+        if (type == null || type.equals("n")) {
+            return raw.isEmpty() ? null : toNumber(raw);
+        }
+        return switch (type) {
+            case "s" -> {
+                int index = Integer.parseInt(raw.trim());
+                yield index < sharedStrings.size() ? sharedStrings.get(index) : null;
+            }
+            case "b" -> raw.equals("1");
+            case "inlineStr", "str", "e", "d" -> raw;
+            default -> raw;
+        };
+    }
+
+    /** "AB12" to 27. */
+    private static int columnIndexOf(String reference) {
+        int index = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            index = index * 26 + (c - 'A' + 1);
+        }
+        return index - 1;
+    }
+
+    private static Object toNumber(String raw) {
+        try {
+            double value = Double.parseDouble(raw);
+            if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+                return (long) value;
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            return raw;
+        }
+    }
+
+    private static XMLStreamReader newXmlReader(InputStream in) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory.createXMLStreamReader(in);
+    }
+
+    // ----------------------------------------------------------------------------------
+    // CSV / TSV
+    // ----------------------------------------------------------------------------------
+
+    /**
+     * Reads RFC 4180 style records; quoted fields may contain the delimiter, doubled quotes
+     * and line breaks. The delimiter (comma, semicolon or tab) is taken from the first line.
+     */
+    private static void readDelimited(Path file, RowHandler handler) throws IOException {
+        char delimiter = detectDelimiter(file);
+        try (Reader reader = newReader(file)) {
+            List<Object> cells = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean fieldStarted = false;
+            int rowIndex = 0;
+
+            int c = reader.read();
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+            while (c != -1) {
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        field.append(ch);
+                    }
+                } else if (ch == '"' && !fieldStarted) {
+                    quoted = true;
+                    fieldStarted = true;
+                } else if (ch == delimiter) {
+                    cells.add(fieldValue(field));
+                    fieldStarted = false;
+                } else if (ch == '\n' || ch == '\r') {
+                    cells.add(fieldValue(field));
+                    fieldStarted = false;
+                    emit(rowIndex++, cells, handler);
+                    cells.clear();
+                    if (ch == '\r') {
+                        int next = reader.read();
+                        if (next != '\n') {
+                            c = next;
+                            continue;
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                    fieldStarted = true;
+                }
+                c = reader.read();
+            }
+            if (fieldStarted || field.length() > 0 || !cells.isEmpty()) {
+                cells.add(fieldValue(field));
+                emit(rowIndex, cells, handler);
+            }
+        }
+    }
+
+    private static char detectDelimiter(Path file) throws IOException {
+        String firstLine;
+        try (BufferedReader reader = newReader(file)) {
+            firstLine = reader.readLine();
+        }
+        if (firstLine == null) {
+            return ',';
+        }
+
+        int commas = 0, semicolons = 0, tabs = 0;
+        boolean quoted = false;
+        for (char ch : firstLine.toCharArray()) {
+            if (ch == '"') {
+                quoted = !quoted;
+            } else if (!quoted) {
+                switch (ch) {
+                    case ',' -> commas++;
+                    case ';' -> semicolons++;
+                    case '\t' -> tabs++;
+                    default -> {
+                    }
+                }
+            }
+        }
+        if (tabs > commas && tabs > semicolons) {
+            return '\t';
+        }
+        return semicolons > commas ? ';' : ',';
+    }
+
+    /** Unlike {@link Files#newBufferedReader}, replaces malformed bytes instead of failing. */
+    private static BufferedReader newReader(Path file) throws IOException {
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8));
+    }
+
+    private static String fieldValue(StringBuilder field) {
+        String value = field.toString();
+        field.setLength(0);
+        return value.isBlank() ? null : value;
+    }
+
+    // ----------------------------------------------------------------------------------
+
+    private static void emit(int rowIndex, List<Object> cells, RowHandler handler) {
+        int last = cells.size() - 1;
+        while (last >= 0 && isBlank(cells.get(last))) {
+            last--;
+        }
+        if (last >= 0) {
+            handler.row(rowIndex, new ArrayList<>(cells.subList(0, last + 1)));
+        }
+    }
+
+    private static boolean isBlank(Object value) {
+        return value == null || (value instanceof String s && s.isBlank());
+    }
+
+    private static boolean isDelimited(String extension) {
+        return extension.equals("csv") || extension.equals("tsv") || extension.equals("txt");
+    }
+
+    private static String extensionOf(String fileName) {
+        if (fileName == null || !fileName.contains(".")) {
+            return "";
+        }
+        return fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+}
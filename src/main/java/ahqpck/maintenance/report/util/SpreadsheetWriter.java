@@ -0,0 +1,265 @@
+package ahqpck.maintenance.report.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes rows to a CSV or XLSX file as they come, so an export never holds more than the
+ * current row in memory. Counterpart of {@link SpreadsheetReader}.
+ *
+ * XLSX output is a single sheet with inline strings (no shared string table, which would
+ * have to be kept until the end). Dates are written as text in the formats the importers
+ * read back. Closing the writer finishes the file but leaves {@code out} open.
+ */
+public abstract class SpreadsheetWriter implements Closeable {
+
+    public enum Format {
+        CSV("csv", "text/csv; charset=UTF-8"),
+        XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value != null ? value.trim() : "")) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    /** Excel's limit for the text of one cell. */
+    private static final int MAX_CELL_LENGTH = 32_767;
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    public static SpreadsheetWriter open(Format format, OutputStream out, String sheetName) throws IOException {
+        return format == Format.XLSX ? new Xlsx(out, sheetName) : new Csv(out);
+    }
+
+    /** Appends one row; null cells are left empty. */
+    public abstract void row(List<?> cells) throws IOException;
+
+    static String text(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return DATE_TIME.format(dateTime);
+        }
+        if (value instanceof LocalDate date) {
+            return DATE.format(date);
+        }
+        if (value instanceof TemporalAccessor temporal) {
+            return temporal.toString();
+        }
+        String text = value.toString();
+        return text.length() > MAX_CELL_LENGTH ? text.substring(0, MAX_CELL_LENGTH) : text;
+    }
+
+    // ----------------------------------------------------------------------------------
+    // CSV
+    // ----------------------------------------------------------------------------------
+
+    private static final class Csv extends SpreadsheetWriter {
+
+        private final Writer writer;
+
+        Csv(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // BOM so Excel opens the file as UTF-8
+            writer.write('\uFEFF');
+        }
+
+        @Override
+        public void row(List<?> cells) throws IOException {
+            for (int i = 0; i < cells.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(text(cells.get(i)));
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // ----------------------------------------------------------------------------------
+    // XLSX
+    // ----------------------------------------------------------------------------------
+
+    private static final class Xlsx extends SpreadsheetWriter {
+
+        private final ZipOutputStream zip;
+        private final Writer writer;
+        private int rowNumber;
+
+        Xlsx(OutputStream out, String sheetName) throws IOException {
+            this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+            this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+
+            entry("[Content_Types].xml", """
+                    <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                    <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+                    <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+                    <Default Extension="xml" ContentType="application/xml"/>\
+                    <Override PartName="/xl/workbook.xml" \
+                    ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+                    <Override PartName="/xl/worksheets/sheet1.xml" \
+                    ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+                    </Types>""");
+            entry("_rels/.rels", """
+                    <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                    <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+                    <Relationship Id="rId1" \
+                    Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+                    Target="xl/workbook.xml"/>\
+                    </Relationships>""");
+            entry("xl/workbook.xml", """
+                    <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                    <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+                    xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+                    <sheets><sheet name="%s" sheetId="1" r:id="rId1"/></sheets>\
+                    </workbook>""".formatted(escape(sheetName(sheetName))));
+            entry("xl/_rels/workbook.xml.rels", """
+                    <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                    <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+                    <Relationship Id="rId1" \
+                    Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" \
+                    Target="worksheets/sheet1.xml"/>\
+                    </Relationships>""");
+
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                    + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        }
+
+        private void entry(String name, String content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            writer.write(content);
+            writer.flush();
+            zip.closeEntry();
+        }
+
+        @Override
+        public void row(List<?> cells) throws IOException {
+            rowNumber++;
+            writer.write("<row r=\"");
+            writer.write(Integer.toString(rowNumber));
+            writer.write("\">");
+            for (int i = 0; i < cells.size(); i++) {
+                Object value = cells.get(i);
+                if (value == null) {
+                    continue;
+                }
+                String ref = columnName(i) + rowNumber;
+                if (value instanceof Number number && !(value instanceof Double d && (d.isNaN() || d.isInfinite()))) {
+                    writer.write("<c r=\"" + ref + "\"><v>" + number + "</v></c>");
+                } else if (value instanceof Boolean bool) {
+                    writer.write("<c r=\"" + ref + "\" t=\"b\"><v>" + (bool ? 1 : 0) + "</v></c>");
+                } else {
+                    writer.write("<c r=\"" + ref + "\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                    writer.write(escape(text(value)));
+                    writer.write("</t></is></c>");
+                }
+            }
+            writer.write("</row>");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.write("</sheetData></worksheet>");
+            writer.flush();
+            zip.closeEntry();
+            zip.finish();
+        }
+
+        /** 0 is A, 25 is Z, 26 is AA. */
+        private static String columnName(int index) {
+            StringBuilder name = new StringBuilder(3);
+            for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+                name.insert(0, (char) ('A' + (n - 1) % 26));
+            }
+            return name.toString();
+        }
+
+        /** Sheet names are limited to 31 characters and cannot contain : \ / ? * [ ] */
+        private static String sheetName(String name) {
+            String cleaned = name == null ? "" : name.replaceAll("[:\\\\/?*\\[\\]]", " ").trim();
+            if (cleaned.isEmpty()) {
+                return "Sheet1";
+            }
+            return cleaned.length() > 31 ? cleaned.substring(0, 31) : cleaned;
+        }
+
+        /** XML-escapes text and drops characters XML 1.0 does not allow. */
+        private static String escape(String text) {
+            StringBuilder escaped = null;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                String replacement = switch (c) {
+                    case '<' -> "&lt;";
+                    case '>' -> "&gt;";
+                    case '&' -> "&amp;";
+                    case '"' -> "&quot;";
+                    default -> c < 0x20 && c != '\t' && c != '\n' && c != '\r' || c == 0xFFFE || c == 0xFFFF ? "" : null;
+                };
+                if (replacement == null) {
+                    if (escaped != null) {
+                        escaped.append(c);
+                    }
+                    continue;
+                }
+                if (escaped == null) {
+                    escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+                }
+                escaped.append(replacement);
+            }
+            return escaped != null ? escaped.toString() : text;
+        }
+    }
+}
@@ -2,11 +2,17 @@ package ahqpck.maintenance.report.util;
 
 import org.springframework.validation.BindingResult;
 
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.time.LocalDate;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class WebUtil {
 
+    /** Rows per request when a list is shown with size=All and loaded by infinite scroll. */
+    public static final int ALL_CHUNK_SIZE = 100;
+
     /**
      * Extracts validation errors from BindingResult into a single string.
      * Format: "Field1: Error1 | Field2: Error2"
@@ -33,4 +39,31 @@ public class WebUtil {
     public static String generateActivationToken() {
         return UUID.randomUUID().toString(); // 36-char unique token
     }
-}
\ No newline at end of file
+
+    /** True for the list page size "All". */
+    public static boolean isAllPageSize(String size) {
+        return "All".equalsIgnoreCase(size);
+    }
+
+    /**
+     * Parses a list page size. "All" no longer means every row: it is capped at
+     * {@link KeysetCursor#MAX_PAGE_SIZE} like any other size, larger lists are exported instead.
+     */
+    public static int parsePageSize(String size) {
+        if (isAllPageSize(size)) {
+            return KeysetCursor.MAX_PAGE_SIZE;
+        }
+        int parsed = Integer.parseInt(size);
+        if (parsed < 1) {
+            throw new IllegalArgumentException("Page size must be 1 or greater.");
+        }
+        return Math.min(parsed, KeysetCursor.MAX_PAGE_SIZE);
+    }
+
+    /** Sets the headers of a file download named {@code <baseName>-<today>.<ext>}. */
+    public static void prepareDownload(HttpServletResponse response, String baseName, SpreadsheetWriter.Format format) {
+        response.setContentType(format.getContentType());
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"" + baseName + "-" + LocalDate.now() + "." + format.getExtension() + "\"");
+    }
+}
@@ -0,0 +1,136 @@
+package ahqpck.maintenance.report.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusDTO;
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusDetailDTO;
+
+/**
+ * Complaint counts per status, assignee and period bucket (day, week or month), kept in
+ * {@code int[status][assignee][bucket]}.
+ *
+ * The bucket of a date is computed from its distance to the start of the range, so adding a
+ * row costs the same however long the range is.
+ */
+public final class WorkloadMatrix {
+
+    public enum Granularity {
+        DAY, WEEK, MONTH;
+
+        /** {@code null} or blank is DAY. */
+        public static Granularity of(String value) {
+            if (value == null || value.isBlank()) {
+                return DAY;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported granularity: " + value);
+            }
+        }
+    }
+
+    private static final int OPEN = 0;
+    private static final int PENDING = 1;
+    private static final int CLOSED = 2;
+
+    private final LocalDate from;
+    private final Granularity granularity;
+    /** First day of bucket 0; may lie before {@code from} for weeks and months. */
+    private final LocalDate origin;
+    private final int bucketCount;
+
+    private WorkloadMatrix(LocalDate from, LocalDate to, Granularity granularity) {
+        this.from = from;
+        this.granularity = granularity;
+        this.origin = switch (granularity) {
+            case DAY -> from;
+            case WEEK -> from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> from.withDayOfMonth(1);
+        };
+        this.bucketCount = bucket(to) + 1;
+    }
+
+    /**
+     * Builds the assignee status table from rows of (name, employee id, status, day, count),
+     * as returned by {@code DashboardRepository.getAssigneeDailyStatus}. Assignees keep the
+     * order of the rows; days outside {@code from..to} are ignored.
+     */
+    public static AssigneeDailyStatusDTO build(List<Object[]> rows, LocalDate from, LocalDate to,
+            Granularity granularity) {
+        WorkloadMatrix matrix = new WorkloadMatrix(from, to, granularity);
+
+        // employee_id is unique, so it identifies the assignee on its own
+        Map<String, Integer> assigneeIndex = new HashMap<>();
+        List<Object[]> assignees = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (assigneeIndex.putIfAbsent((String) row[1], assignees.size()) == null) {
+                assignees.add(row);
+            }
+        }
+
+        int[][][] counts = new int[3][assignees.size()][matrix.bucketCount];
+        for (Object[] row : rows) {
+            int status = statusIndex((String) row[2]);
+            if (status < 0) {
+                continue;
+            }
+            int bucket = matrix.bucket(((java.sql.Date) row[3]).toLocalDate());
+            if (bucket < 0 || bucket >= matrix.bucketCount) {
+                continue;
+            }
+            counts[status][assigneeIndex.get((String) row[1])][bucket] += Math.toIntExact(((Number) row[4]).longValue());
+        }
+
+        List<AssigneeDailyStatusDetailDTO> data = new ArrayList<>(assignees.size());
+        for (int a = 0; a < assignees.size(); a++) {
+            Object[] assignee = assignees.get(a);
+            data.add(new AssigneeDailyStatusDetailDTO((String) assignee[0], (String) assignee[1],
+                    counts[OPEN][a], counts[PENDING][a], counts[CLOSED][a]));
+        }
+        return new AssigneeDailyStatusDTO(matrix.labels(), data);
+    }
+
+    private int bucket(LocalDate date) {
+        return switch (granularity) {
+            case DAY -> (int) ChronoUnit.DAYS.between(origin, date);
+            case WEEK -> Math.floorDiv((int) ChronoUnit.DAYS.between(origin, date), 7);
+            case MONTH -> (int) ChronoUnit.MONTHS.between(origin, date.withDayOfMonth(1));
+        };
+    }
+
+    /** First day of each bucket (never before {@code from}), as yyyy-MM-dd. */
+    private List<String> labels() {
+        String[] labels = new String[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            LocalDate start = switch (granularity) {
+                case DAY -> origin.plusDays(i);
+                case WEEK -> origin.plusWeeks(i);
+                case MONTH -> origin.plusMonths(i);
+            };
+            labels[i] = (start.isBefore(from) ? from : start).toString();
+        }
+        return Arrays.asList(labels);
+    }
+
+    private static int statusIndex(String status) {
+        if (status == null) {
+            return -1;
+        }
+        return switch (status) {
+            case "OPEN" -> OPEN;
+            case "PENDING" -> PENDING;
+            case "CLOSED" -> CLOSED;
+            default -> -1;
+        };
+    }
+}
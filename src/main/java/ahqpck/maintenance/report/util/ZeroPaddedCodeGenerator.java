@@ -1,20 +1,65 @@
 package ahqpck.maintenance.report.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import ahqpck.maintenance.report.entity.CodeSequence;
+import ahqpck.maintenance.report.repository.CodeSequenceRepository;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 
+/**
+ * Hands out codes like CP000001 from the code_sequences table.
+ *
+ * Each JVM reserves a block of {@code app.code-sequence.block-size} numbers per prefix in a
+ * short transaction of its own (SELECT ... FOR UPDATE on the prefix row) and then serves codes
+ * from memory, so concurrent creates never get the same code and nodes never share a block.
+ * Numbers left in a block when the application stops are skipped. The first reservation for a
+ * prefix seeds the row from the highest existing code of the entity table.
+ *
+ * A code typed in by hand on one node can fall inside a block another node already holds, so
+ * every code is checked against the entity table before it is handed out and skipped if taken.
+ */
 @Component
 public class ZeroPaddedCodeGenerator {
 
+    /** Numbers {@code [next, limit)} reserved by this JVM for one prefix. */
+    private static final class Block {
+        private long next;
+        private long limit;
+    }
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final CodeSequenceRepository codeSequenceRepository;
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+    private final ConcurrentHashMap<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public ZeroPaddedCodeGenerator(CodeSequenceRepository codeSequenceRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.code-sequence.block-size:50}") int blockSize) {
+        this.codeSequenceRepository = codeSequenceRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
     /**
      * Generates the next zero-padded code for a given entity and prefix.
      *
@@ -24,6 +69,112 @@ public class ZeroPaddedCodeGenerator {
      * @return Next code in format: {prefix}{6-digit number}, e.g., CP000001
      */
     public String generate(Class<?> entityClass, String codeField, String prefix) {
+        Block block = blocks.computeIfAbsent(prefix, p -> new Block());
+        while (true) {
+            long number;
+            synchronized (block) {
+                if (block.next >= block.limit) {
+                    block.next = reserve(entityClass, codeField, prefix, blockSize);
+                    block.limit = block.next + blockSize;
+                }
+                number = block.next++;
+            }
+            String code = format(prefix, number);
+            if (usedCodes(entityClass, codeField, List.of(code)).isEmpty()) {
+                return code;
+            }
+        }
+    }
+
+    /**
+     * Generates {@code count} consecutive codes from one reservation of their own, for bulk inserts.
+     *
+     * @return Codes in ascending order, e.g., CP000042, CP000043, ...
+     */
+    public List<String> generate(Class<?> entityClass, String codeField, String prefix, int count) {
+        List<String> codes = new ArrayList<>(count);
+        while (codes.size() < count) {
+            // later reservations are higher, so the codes stay in ascending order
+            int missing = count - codes.size();
+            long first = reserve(entityClass, codeField, prefix, missing);
+            List<String> reserved = new ArrayList<>(missing);
+            for (int i = 0; i < missing; i++) {
+                reserved.add(format(prefix, first + i));
+            }
+            Set<String> used = usedCodes(entityClass, codeField, reserved);
+            reserved.stream().filter(code -> !used.contains(code)).forEach(codes::add);
+        }
+        return codes;
+    }
+
+    /**
+     * Makes sure codes given explicitly (e.g. in an import file) are never generated later:
+     * the sequence is moved past the highest of them that has the form {prefix}{digits}.
+     */
+    public void advancePast(Class<?> entityClass, String codeField, String prefix, Collection<String> codes) {
+        long highest = codes.stream()
+                .mapToLong(code -> numberOf(prefix, code))
+                .max()
+                .orElse(-1);
+        if (highest < 0) {
+            return;
+        }
+
+        requiresNew.executeWithoutResult(status -> {
+            ensureSequence(entityClass, codeField, prefix);
+            codeSequenceRepository.advancePast(prefix, highest);
+        });
+
+        Block block = blocks.get(prefix);
+        if (block != null) {
+            synchronized (block) {
+                if (block.next <= highest) {
+                    block.next = highest + 1;
+                }
+            }
+        }
+    }
+
+    /** {@link #advancePast(Class, String, String, Collection)} for a single code typed in by a user. */
+    public void advancePast(Class<?> entityClass, String codeField, String prefix, String code) {
+        advancePast(entityClass, codeField, prefix, List.of(code));
+    }
+
+    /** Reserves {@code size} numbers and returns the first one. */
+    private long reserve(Class<?> entityClass, String codeField, String prefix, int size) {
+        return requiresNew.execute(status -> {
+            ensureSequence(entityClass, codeField, prefix);
+            CodeSequence sequence = codeSequenceRepository.findForUpdate(prefix)
+                    .orElseThrow(() -> new IllegalStateException("Code sequence missing for prefix " + prefix));
+            long first = sequence.getNextValue();
+            sequence.setNextValue(first + size);
+            return first;
+        });
+    }
+
+    private void ensureSequence(Class<?> entityClass, String codeField, String prefix) {
+        if (!codeSequenceRepository.existsById(prefix)) {
+            codeSequenceRepository.insertIfAbsent(prefix, nextNumberFromTable(entityClass, codeField, prefix));
+        }
+    }
+
+    /** The given codes that already exist in the entity table, upper-cased (the column compares without case). */
+    private Set<String> usedCodes(Class<?> entityClass, String codeField, List<String> codes) {
+        String jpql = "SELECT e." + codeField + " " +
+                      "FROM " + entityClass.getSimpleName() + " e " +
+                      "WHERE e." + codeField + " IN :codes";
+
+        TypedQuery<String> query = entityManager.createQuery(jpql, String.class);
+        query.setParameter("codes", codes);
+        // the entity being created is not flushed just to look up its future code
+        query.setFlushMode(FlushModeType.COMMIT);
+        return query.getResultList().stream()
+                .map(code -> code.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
+    /** One-off MAX lookup used to seed the sequence of a prefix. */
+    private long nextNumberFromTable(Class<?> entityClass, String codeField, String prefix) {
         String jpql = "SELECT MAX(e." + codeField + ") " +
                       "FROM " + entityClass.getSimpleName() + " e " +
                       "WHERE e." + codeField + " LIKE :prefixPattern";
@@ -32,21 +183,27 @@ public class ZeroPaddedCodeGenerator {
             TypedQuery<String> query = entityManager.createQuery(jpql, String.class);
             query.setParameter("prefixPattern", prefix + "%");
 
-            String maxCode = query.getSingleResult();
-            int nextNumber = 1;
-
-            if (maxCode != null && maxCode.length() > prefix.length()) {
-                try {
-                    nextNumber = Integer.parseInt(maxCode.substring(prefix.length())) + 1;
-                } catch (NumberFormatException e) {
-                    // If parsing fails, fall back to 1
-                }
-            }
-
-            return prefix + String.format("%06d", nextNumber);
+            long number = numberOf(prefix, query.getSingleResult());
+            return number >= 0 ? number + 1 : 1;
         } catch (IllegalArgumentException | NoResultException e) {
             // Handle invalid query or no results gracefully
-            return prefix + "000001";
+            return 1;
+        }
+    }
+
+    /** The numeric part of {prefix}{digits}, or -1 for any other code. */
+    private static long numberOf(String prefix, String code) {
+        if (code == null || code.length() <= prefix.length() || !code.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(code.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
         }
     }
-}
\ No newline at end of file
+
+    private static String format(String prefix, long number) {
+        return prefix + String.format("%06d", number);
+    }
+}
@@ -10,6 +10,17 @@ class ImportWizard {
             formId: 'importForm',
             formAction: '',
 
+            // XLSX/CSV files are uploaded as-is to formAction + fileActionSuffix and parsed
+            // on the server in chunks; only the first previewRows rows are read here
+            fileActionSuffix: '/file',
+            previewRows: 50,
+
+            // When set (e.g. 'complaints'), streamable files run as a background job through
+            // /api/import-jobs and the modal shows its progress instead of reloading the page
+            jobType: '',
+            jobsUrl: '/api/import-jobs',
+            pollIntervalMs: 1000,
+
             // Buttons
             nextBtnId: 'nextBtn',
             prevBtnId: 'prevBtn',
@@ -21,6 +32,8 @@ class ImportWizard {
             dataFieldName: 'data',
             sheetFieldName: 'sheet',
             headerRowFieldName: 'headerRow',
+            fileFieldName: 'file',
+            columnsFieldName: 'columns',
 
             // Auto-select columns containing these keywords
             likelyFields: [],
@@ -38,6 +51,7 @@ class ImportWizard {
         };
 
         this.workbook = null;
+        this.file = null;
         this.selectedSheet = "";
         this.headerRowIndex = 0;
         this.parsedData = [];
@@ -81,11 +95,14 @@ class ImportWizard {
         input.addEventListener('change', (e) => {
             const file = e.target.files[0];
             if (!file) return;
+            this.file = file;
 
             const reader = new FileReader();
             reader.onload = (ev) => {
                 try {
-                    this.workbook = XLSX.read(new Uint8Array(ev.target.result), { type: 'array' });
+                    const readOptions = { type: 'array' };
+                    if (this.isStreamable()) readOptions.sheetRows = this.options.previewRows;
+                    this.workbook = XLSX.read(new Uint8Array(ev.target.result), readOptions);
 
                     const sheetNames = this.workbook.SheetNames;
                     const select = document.getElementById(this.options.sheetSelectId);
@@ -112,6 +129,20 @@ class ImportWizard {
         });
     }
 
+    // Legacy .xls workbooks cannot be streamed on the server and still go through the JSON form
+    isStreamable() {
+        return !!this.file && /\.(xlsx|csv|tsv|txt)$/i.test(this.file.name);
+    }
+
+    selectedColumns() {
+        const columns = {};
+        document.querySelectorAll(`#${this.options.columnCheckboxesId} .col-btn.selected`).forEach(btn => {
+            const display = btn.textContent.trim();
+            columns[this.rangeStart.c + parseInt(btn.dataset.idx)] = this.options.fieldMapping[display] || display.toLowerCase();
+        });
+        return columns;
+    }
+
     bindSheetSelection() {
         const select = document.getElementById(this.options.sheetSelectId);
         if (!select) return;
@@ -142,6 +173,8 @@ class ImportWizard {
         const sheet = this.workbook.Sheets[this.selectedSheet];
         const { rowIndex, headerRow } = this.detectHeaderRow(sheet);
         this.headerRowIndex = rowIndex;
+        // sheet_to_json indexes from the top-left of the used range, the server from A1
+        this.rangeStart = XLSX.utils.decode_range(sheet['!ref'] || 'A1').s;
         document.getElementById(this.options.headerRowId).textContent = `Row ${rowIndex + 1}`;
 
         const container = document.getElementById(this.options.columnCheckboxesId);
@@ -198,8 +231,11 @@ class ImportWizard {
             tbody.appendChild(tr);
         }
 
-        // Build parsed data
+        this.hasDataRows = rows.length > this.headerRowIndex + 1;
+
+        // Build parsed data (only needed when the file cannot be uploaded as-is)
         this.parsedData = [];
+        if (this.isStreamable()) return;
         for (let i = this.headerRowIndex + 1; i < rows.length; i++) {
             const row = rows[i];
             const obj = {};
@@ -228,7 +264,8 @@ class ImportWizard {
 
     bindFinalImport() {
         document.getElementById(this.options.importBtnId).addEventListener('click', () => {
-            if (this.parsedData.length === 0) {
+            const streamable = this.isStreamable();
+            if (streamable ? !this.hasDataRows : this.parsedData.length === 0) {
                 this.options.onError(new Error("No data to import."));
                 return;
             }
@@ -236,6 +273,11 @@ class ImportWizard {
             if (this.options.onBeforeImport() === false) return;
 
             const form = document.getElementById(this.options.formId);
+            if (streamable) {
+                this.submitFile(form);
+                return;
+            }
+
             document.getElementById('importData').value = JSON.stringify(this.parsedData);
             document.getElementById('importSheet').value = this.selectedSheet;
             document.getElementById('importHeaderRow').value = this.headerRowIndex + 1;
@@ -247,4 +289,129 @@ class ImportWizard {
             this.options.onSuccess();
         });
     }
+
+    submitFile(form) {
+        const columns = this.selectedColumns();
+        if (Object.keys(columns).length === 0) {
+            this.options.onError(new Error("Select at least one column to import."));
+            return;
+        }
+
+        if (this.options.jobType) {
+            this.submitJob(columns);
+            return;
+        }
+
+        // The file input already sits in the multipart form; it only needs a name to be sent
+        document.getElementById(this.options.fileInputId).name = this.options.fileFieldName;
+        document.getElementById('importData').disabled = true;
+        document.getElementById('importSheet').value = this.selectedSheet;
+        document.getElementById('importHeaderRow').value = this.rangeStart.r + this.headerRowIndex + 1;
+
+        let columnsInput = form.querySelector(`input[name="${this.options.columnsFieldName}"]`);
+        if (!columnsInput) {
+            columnsInput = document.createElement('input');
+            columnsInput.type = 'hidden';
+            columnsInput.name = this.options.columnsFieldName;
+            form.appendChild(columnsInput);
+        }
+        columnsInput.value = JSON.stringify(columns);
+
+        form.action = this.options.formAction + this.options.fileActionSuffix;
+        form.submit();
+        this.options.onSuccess();
+    }
+
+    async submitJob(columns) {
+        const body = new FormData();
+        body.append('type', this.options.jobType);
+        body.append('file', this.file);
+        body.append('sheet', this.selectedSheet);
+        body.append('headerRow', this.rangeStart.r + this.headerRowIndex + 1);
+        body.append('columns', JSON.stringify(columns));
+
+        try {
+            const response = await fetch(this.options.jobsUrl, { method: 'POST', body });
+            const job = await response.json();
+            if (!response.ok) throw new Error(job.error || response.statusText);
+
+            this.showProgress(job);
+            this.options.onSuccess();
+            this.pollJob(job.id);
+        } catch (err) {
+            this.options.onError(err);
+        }
+    }
+
+    showProgress(job) {
+        this.showStep(-1);
+        [this.options.prevBtnId, this.options.nextBtnId, this.options.importBtnId].forEach(id => {
+            const el = document.getElementById(id);
+            if (el) el.style.display = 'none';
+        });
+        document.getElementById('importProgress').style.display = 'block';
+
+        const cancelBtn = document.getElementById('cancelImportBtn');
+        if (cancelBtn && !cancelBtn.dataset.bound) {
+            cancelBtn.dataset.bound = 'true';
+            cancelBtn.addEventListener('click', () => {
+                cancelBtn.disabled = true;
+                fetch(`${this.options.jobsUrl}/${this.jobId}/cancel`, { method: 'POST' });
+            });
+        }
+        this.jobId = job.id;
+        this.renderJob(job);
+    }
+
+    pollJob(id) {
+        const timer = setInterval(async () => {
+            try {
+                const response = await fetch(`${this.options.jobsUrl}/${id}`);
+                if (!response.ok) throw new Error(response.statusText);
+                const job = await response.json();
+                this.renderJob(job);
+                if (!['QUEUED', 'RUNNING'].includes(job.status)) {
+                    clearInterval(timer);
+                    this.jobFinished(job);
+                }
+            } catch (err) {
+                clearInterval(timer);
+                this.options.onError(err);
+            }
+        }, this.options.pollIntervalMs);
+    }
+
+    renderJob(job) {
+        const running = ['QUEUED', 'RUNNING'].includes(job.status);
+        const text = job.status === 'QUEUED'
+            ? 'Waiting to start...'
+            : `${job.processedRows} row(s) processed, ${job.importedRows} imported, ${job.failedRows} failed`
+            + (job.rowsPerSecond ? ` (${job.rowsPerSecond} rows/s)` : '');
+        document.getElementById('importProgressText').textContent = text;
+        document.getElementById('importProgressMessage').textContent = job.message || '';
+
+        const bar = document.getElementById('importProgressBar');
+        bar.classList.toggle('progress-bar-animated', running);
+        bar.classList.toggle('bg-success', job.status === 'COMPLETED' && job.failedRows === 0);
+        bar.classList.toggle('bg-warning', job.status === 'COMPLETED' && job.failedRows > 0);
+        bar.classList.toggle('bg-danger', job.status === 'FAILED' || job.status === 'CANCELLED');
+
+        const errorsLink = document.getElementById('importErrorsLink');
+        errorsLink.href = `${this.options.jobsUrl}/${job.id}/errors`;
+        errorsLink.style.display = job.failedRows > 0 ? 'inline-block' : 'none';
+
+        const cancelBtn = document.getElementById('cancelImportBtn');
+        if (cancelBtn) cancelBtn.style.display = running ? 'inline-block' : 'none';
+    }
+
+    jobFinished(job) {
+        // Without row errors there is nothing left to look at: show the imported data
+        if (job.status === 'COMPLETED' && job.failedRows === 0) {
+            window.location.reload();
+            return;
+        }
+        if (window.jQuery) {
+            window.jQuery('#importModal').one('hidden.bs.modal', () => window.location.reload());
+        }
+    }
 }
\ No newline at end of file
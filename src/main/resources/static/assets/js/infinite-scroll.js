@@ -0,0 +1,97 @@
+// Loads more rows of a list shown with size=All as the user scrolls.
+//
+// The <tbody> carries data-infinite-scroll and data-max-rows; its last row is a sentinel
+// (tr.infinite-scroll-sentinel) whose data-next-url returns the next chunk of rows. The
+// server renders the chunk with fragment=rows, including the next sentinel when there is one.
+// Past data-max-rows the list stops growing and points to Export instead.
+class InfiniteScroll {
+    constructor(tbody) {
+        this.tbody = tbody;
+        this.table = tbody.closest('table');
+        this.maxRows = parseInt(tbody.dataset.maxRows || '5000', 10);
+        this.loading = false;
+        this.observer = new IntersectionObserver(entries => {
+            if (entries.some(entry => entry.isIntersecting)) {
+                this.loadMore();
+            }
+        }, { rootMargin: '400px' });
+
+        this.syncHiddenColumns();
+        this.observeSentinel();
+    }
+
+    sentinel() {
+        return this.tbody.querySelector('tr.infinite-scroll-sentinel');
+    }
+
+    rowCount() {
+        return this.tbody.querySelectorAll('tr:not(.infinite-scroll-sentinel)').length;
+    }
+
+    observeSentinel() {
+        const sentinel = this.sentinel();
+        if (sentinel) {
+            this.observer.observe(sentinel);
+        }
+    }
+
+    async loadMore() {
+        const sentinel = this.sentinel();
+        if (this.loading || !sentinel) return;
+
+        if (this.rowCount() >= this.maxRows) {
+            this.observer.disconnect();
+            sentinel.querySelector('td').textContent =
+                `Showing the first ${this.rowCount()} rows. Use Export to download the full list.`;
+            return;
+        }
+
+        this.loading = true;
+        try {
+            const url = new URL(sentinel.dataset.nextUrl, window.location.origin);
+            url.searchParams.set('fragment', 'rows');
+            const response = await fetch(url, { headers: { 'Accept': 'text/html' } });
+            if (!response.ok) throw new Error(`HTTP ${response.status}`);
+
+            // <tr> only parses inside a table
+            const doc = new DOMParser().parseFromString(`<table>${await response.text()}</table>`, 'text/html');
+            const rows = Array.from(doc.querySelectorAll('tr'));
+
+            this.observer.unobserve(sentinel);
+            sentinel.remove();
+            rows.forEach(row => this.tbody.appendChild(document.importNode(row, true)));
+            this.applyHiddenColumns(this.tbody.querySelectorAll('tr'));
+
+            this.tbody.dispatchEvent(new CustomEvent('infinite-scroll:rows-added', { bubbles: true }));
+            this.observeSentinel();
+        } catch (error) {
+            console.error('Failed to load more rows:', error);
+            sentinel.querySelector('td').textContent = 'Failed to load more rows. Reload the page to try again.';
+            this.observer.disconnect();
+        } finally {
+            this.loading = false;
+        }
+    }
+
+    // Column toggles hide <th> and the <td>s present at the time; new rows follow the header.
+    applyHiddenColumns(rows) {
+        const ths = Array.from(this.table.querySelectorAll('thead tr th'));
+        rows.forEach(row => {
+            Array.from(row.children).forEach((td, index) => {
+                if (td.hasAttribute('colspan') || !ths[index]) return;
+                td.style.display = ths[index].style.display === 'none' ? 'none' : '';
+            });
+        });
+    }
+
+    syncHiddenColumns() {
+        const headerRow = this.table.querySelector('thead tr');
+        if (!headerRow) return;
+        new MutationObserver(() => this.applyHiddenColumns(this.tbody.querySelectorAll('tr')))
+            .observe(headerRow, { attributes: true, attributeFilter: ['style'], subtree: true });
+    }
+}
+
+document.addEventListener('DOMContentLoaded', () => {
+    document.querySelectorAll('tbody[data-infinite-scroll]').forEach(tbody => new InfiniteScroll(tbody));
+});
@@ -15,6 +15,63 @@ function toApiDateTime(dateStr, isEnd = false) {
     return date.toISOString().slice(0, 16); // "2025-08-01T00:00"
 }
 
+// Dashboard requests issued in the same tick are sent as one /api/dashboards/overview batch.
+// dashboardFetch() resolves with a minimal Response-like object so callers keep using ok/json().
+const DASHBOARD_BATCH_MAX_WIDGETS = 32;
+const dashboardBatch = { queue: [], scheduled: false };
+
+function dashboardFetch(url) {
+    const parsed = new URL(url, window.location.origin);
+    const type = parsed.pathname.substring(parsed.pathname.indexOf('/api/dashboards/') + '/api/dashboards/'.length);
+    const params = Object.fromEntries(parsed.searchParams.entries());
+
+    return new Promise((resolve, reject) => {
+        dashboardBatch.queue.push({ type, params, resolve, reject });
+        if (!dashboardBatch.scheduled) {
+            dashboardBatch.scheduled = true;
+            setTimeout(flushDashboardBatch, 0);
+        }
+    });
+}
+
+function flushDashboardBatch() {
+    const pending = dashboardBatch.queue;
+    dashboardBatch.queue = [];
+    dashboardBatch.scheduled = false;
+
+    for (let i = 0; i < pending.length; i += DASHBOARD_BATCH_MAX_WIDGETS) {
+        sendDashboardBatch(pending.slice(i, i + DASHBOARD_BATCH_MAX_WIDGETS));
+    }
+}
+
+async function sendDashboardBatch(pending) {
+    const widgets = pending.map((p, i) => ({ id: String(i), type: p.type, params: p.params }));
+
+    try {
+        const response = await fetch(`${baseUrl}/api/dashboards/overview`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ widgets })
+        });
+        if (!response.ok) throw new Error(`HTTP ${response.status}: ${response.statusText}`);
+
+        const results = await response.json();
+        pending.forEach((p, i) => {
+            const result = results[String(i)];
+            const failed = result !== null && typeof result === 'object' && !Array.isArray(result)
+                && Object.keys(result).length === 1 && 'error' in result;
+            p.resolve({
+                ok: !failed,
+                status: failed ? 500 : 200,
+                statusText: failed ? result.error : 'OK',
+                json: () => Promise.resolve(result)
+            });
+        });
+    } catch (err) {
+        pending.forEach(p => p.reject(err));
+    }
+}
+
 function populateYearSelector(selectId, selectedYear = null) {
     const select = document.getElementById(selectId);
     const currentYear = new Date().getFullYear();
@@ -55,7 +112,7 @@ function fetchComplaintStats(from, to) {
         url += '?' + params.toString();
     }
 
-    fetch(url)
+    dashboardFetch(url)
         .then(response => {
             if (!response.ok) throw new Error('Network error');
             return response.json();
@@ -127,7 +184,7 @@ function updateComplaintChart(mode, from = null, to = null, year = null, month =
 
         if (params.length > 0) url += '?' + params.join('&');
 
-        fetch(url)
+        dashboardFetch(url)
             .then(r => r.json())
             .then(data => {
                 if (!Array.isArray(data) || data.length === 0) return;
@@ -176,7 +233,7 @@ function updateComplaintChart(mode, from = null, to = null, year = null, month =
         console.log("Monthly fetch:", fromApi, toApi);
         const url = `/api/dashboards/daily-complaint?from=${fromApi}&to=${toApi}`;
 
-        fetch(url)
+        dashboardFetch(url)
             .then(r => r.json())
             .then(data => {
                 if (!Array.isArray(data)) return;
@@ -195,7 +252,7 @@ function updateComplaintChart(mode, from = null, to = null, year = null, month =
         const toApi = toApiDateTime(to, true);
         const url = `/api/dashboards/daily-complaint?from=${fromApi}&to=${toApi}`;
 
-        fetch(url)
+        dashboardFetch(url)
             .then(r => r.json())
             .then(data => {
                 if (!Array.isArray(data)) return;
@@ -838,7 +895,7 @@ function fetchEngineerData(from = null, to = null) {
         url += `?from=${from}&to=${to}`;
     }
 
-    fetch(url)
+    dashboardFetch(url)
         .then(res => res.json())
         .then(data => {
             currentFrom = data.dates[0];
@@ -1089,7 +1146,7 @@ function updateWrChart(mode, from = null, to = null, year = null, equipmentCode
 
     console.log("Fetching:", url);
 
-    fetch(url)
+    dashboardFetch(url)
         .then(r => {
             if (!r.ok) throw new Error(`HTTP error! status: ${r.status}`);
             return r.json();
@@ -1160,7 +1217,7 @@ function initWrChartForm() {
 
     populateYearSelector('wr-year-select', now.getFullYear());
 
-    fetch('/api/dashboards/equipment-complaint-count')
+    dashboardFetch('/api/dashboards/equipment-complaint-count')
         .then(r => r.json())
         .then(equipmentList => {
             const select = document.getElementById('wr-equipment');
@@ -1252,7 +1309,7 @@ function updateBreakdownChart(mode, from = null, to = null, year = null) {
     if (breakdownChart) breakdownChart.destroy();
 
     if (mode === 'yearly') {
-        fetch(`/api/dashboards/monthly-breakdown?year=${year}`)
+        dashboardFetch(`/api/dashboards/monthly-breakdown?year=${year}`)
             .then(r => {
                 if (!r.ok) throw new Error(`HTTP ${r.status}`);
                 return r.json();
@@ -1333,7 +1390,7 @@ function updateBreakdownChart(mode, from = null, to = null, year = null) {
             .catch(err => console.error('Monthly breakdown fetch error:', err));
 
     } else {
-        fetch(`/api/dashboards/daily-breakdown?from=${from}&to=${to}`)
+        dashboardFetch(`/api/dashboards/daily-breakdown?from=${from}&to=${to}`)
             .then(r => {
                 if (!r.ok) throw new Error(`HTTP ${r.status}`);
                 return r.json();
@@ -1478,72 +1535,76 @@ function formatMinutes(minutes) {
     return `${formatNumber(minutes)} min`;
 }
 
-async function initEquipmentWorkList() {
+const EQUIPMENT_WORK_PAGE_SIZE = 5;
+let equipmentWorkPage = 0;
+let equipmentWorkHasNext = false;
+
+function initEquipmentWorkList() {
     const container = document.getElementById('equipment-work-list-container');
     if (!container) {
         console.error('❌ Container not found');
         return;
     }
 
-    container.innerHTML = '<div class="text-center py-3">Loading...</div>';
-
-    try {
-        const response = await fetch('/api/dashboards/equipment-count');
-        if (!response.ok) throw new Error(`HTTP ${response.status}: ${response.statusText}`);
+    const prevBtn = document.getElementById('equipment-work-prev-btn');
+    const nextBtn = document.getElementById('equipment-work-next-btn');
+    const refreshBtn = document.getElementById('equipment-work-refresh-btn');
 
-        const allData = await response.json();
-        allData.sort((a, b) => (b.totalTime || 0) - (a.totalTime || 0));
+    if (prevBtn) {
+        prevBtn.addEventListener('click', () => {
+            if (equipmentWorkPage > 0) loadEquipmentWorkPage(equipmentWorkPage - 1);
+        });
+    }
 
-        let currentPage = 1;
+    if (nextBtn) {
+        nextBtn.addEventListener('click', () => {
+            if (equipmentWorkHasNext) loadEquipmentWorkPage(equipmentWorkPage + 1);
+        });
+    }
 
-        // Render initial page
-        renderPage(allData, currentPage);
+    if (refreshBtn) {
+        refreshBtn.addEventListener('click', () => loadEquipmentWorkPage(0));
+    }
 
-        // Setup buttons
-        const prevBtn = document.getElementById('equipment-work-prev-btn');
-        const nextBtn = document.getElementById('equipment-work-next-btn');
-        const refreshBtn = document.getElementById('equipment-work-refresh-btn');
+    // Scroll navigation
+    container.addEventListener('wheel', (e) => {
+        if (e.deltaY === 0) return;
+        e.preventDefault();
 
-        if (prevBtn) {
-            prevBtn.addEventListener('click', () => {
-                if (currentPage > 1) {
-                    currentPage--;
-                    renderPage(allData, currentPage);
-                }
-            });
+        if (e.deltaY > 0 && equipmentWorkHasNext) {
+            loadEquipmentWorkPage(equipmentWorkPage + 1);
+        } else if (e.deltaY < 0 && equipmentWorkPage > 0) {
+            loadEquipmentWorkPage(equipmentWorkPage - 1);
         }
+    });
 
-        if (nextBtn) {
-            nextBtn.addEventListener('click', () => {
-                if (allData.length > currentPage * 5) {
-                    currentPage++;
-                    renderPage(allData, currentPage);
-                }
-            });
-        }
+    container.style.cursor = 'grab';
+    container.setAttribute('title', 'Scroll to navigate pages');
 
-        if (refreshBtn) {
-            refreshBtn.addEventListener('click', () => {
-                initEquipmentWorkList(); // Reload everything
-            });
-        }
+    loadEquipmentWorkPage(0);
+}
 
-        // Scroll navigation
-        container.addEventListener('wheel', (e) => {
-            if (e.deltaY === 0) return;
-            e.preventDefault();
-
-            if (e.deltaY > 0 && currentPage * 5 < allData.length) {
-                currentPage++;
-                renderPage(allData, currentPage);
-            } else if (e.deltaY < 0 && currentPage > 1) {
-                currentPage--;
-                renderPage(allData, currentPage);
-            }
+async function loadEquipmentWorkPage(page) {
+    const container = document.getElementById('equipment-work-list-container');
+    if (!container) return;
+
+    container.innerHTML = '<div class="text-center py-3">Loading...</div>';
+
+    try {
+        // Ask for one extra row to know whether a next page exists
+        const params = new URLSearchParams({
+            offset: page * EQUIPMENT_WORK_PAGE_SIZE,
+            limit: EQUIPMENT_WORK_PAGE_SIZE + 1,
+            rankBy: 'time'
         });
+        const response = await dashboardFetch(`/api/dashboards/equipment-count?${params}`);
+        if (!response.ok) throw new Error(`HTTP ${response.status}: ${response.statusText}`);
+
+        const data = await response.json();
+        equipmentWorkPage = page;
+        equipmentWorkHasNext = data.length > EQUIPMENT_WORK_PAGE_SIZE;
 
-        container.style.cursor = 'grab';
-        container.setAttribute('title', 'Scroll to navigate pages');
+        renderPage(data.slice(0, EQUIPMENT_WORK_PAGE_SIZE), page);
 
     } catch (err) {
         console.error('🚨 Error loading equipment work data:', err);
@@ -1555,13 +1616,11 @@ async function initEquipmentWorkList() {
     }
 }
 
-function renderPage(allData, page) {
+function renderPage(pageData, page) {
     const container = document.getElementById('equipment-work-list-container');
     if (!container) return;
 
-    const start = (page - 1) * 5;
-    const end = start + 5;
-    const pageData = allData.slice(start, end);
+    const start = page * EQUIPMENT_WORK_PAGE_SIZE;
 
     container.innerHTML = '';
 
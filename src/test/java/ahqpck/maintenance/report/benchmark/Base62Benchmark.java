@@ -0,0 +1,85 @@
+package ahqpck.maintenance.report.benchmark;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import ahqpck.maintenance.report.util.Base62;
+import ahqpck.maintenance.report.util.IdGenerator;
+
+/**
+ * Id encoding: the BigInteger encoder the entities used before against {@link Base62}.
+ *
+ * Run from the IDE, or after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> ahqpck.maintenance.report.benchmark.Base62Benchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Base62Benchmark {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final BigInteger BASE = BigInteger.valueOf(ALPHABET.length());
+
+    private UUID uuid;
+
+    @Setup
+    public void setUp() {
+        uuid = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public String bigInteger() {
+        BigInteger value = new BigInteger(1, ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array());
+        StringBuilder sb = new StringBuilder();
+        while (value.compareTo(BigInteger.ZERO) > 0) {
+            BigInteger[] divmod = value.divideAndRemainder(BASE);
+            sb.append(ALPHABET.charAt(divmod[1].intValue()));
+            value = divmod[0];
+        }
+        while (sb.length() < Base62.ENCODED_LENGTH) {
+            sb.append('0');
+        }
+        return sb.reverse().toString();
+    }
+
+    @Benchmark
+    public String limbs() {
+        return Base62.encode(uuid);
+    }
+
+    @Benchmark
+    public String newId() {
+        return IdGenerator.newId();
+    }
+
+    @Benchmark
+    public String newRandomId() {
+        return IdGenerator.newRandomId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(Base62Benchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package ahqpck.maintenance.report.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import ahqpck.maintenance.report.util.ImportUtil;
+
+/**
+ * Date-time parsing of one imported column: a {@link ImportUtil.ParseContext} per file, which
+ * keeps the column's format, against parsing every cell without one (all formats in order).
+ *
+ * The patterns are chosen by how far down the format list they are; {@code dd/MM/yyyy HH:mm}
+ * is matched only after seven other formats have failed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImportDateParsingBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({ "yyyy-MM-dd'T'HH:mm:ss", "dd/MM/yyyy HH:mm", "MM/dd/yyyy h:mm a" })
+    public String pattern;
+
+    private final ImportUtil importUtil = new ImportUtil();
+    private List<Map<String, Object>> rows;
+
+    @Setup
+    public void setUp() {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern(pattern, Locale.ROOT);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 7, 30);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("reportDate", start.plusHours(7L * i).format(format));
+            rows.add(row);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void perFileContext(Blackhole blackhole) {
+        ImportUtil.ParseContext dates = new ImportUtil.ParseContext();
+        for (Map<String, Object> row : rows) {
+            blackhole.consume(dates.toLocalDateTime(row, "reportDate"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void everyFormatPerCell(Blackhole blackhole) {
+        for (Map<String, Object> row : rows) {
+            blackhole.consume(importUtil.toLocalDateTime(row.get("reportDate")));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ImportDateParsingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package ahqpck.maintenance.report.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import ahqpck.maintenance.report.repository.CalendarDayRepository;
+
+class CalendarServiceTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2015, 1, 1);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CalendarDayRepository repository = mock(CalendarDayRepository.class);
+    private final CalendarService service = new CalendarService(jdbcTemplate, repository, FIRST_DAY.toString(), 5,
+            "07:00,15:00,23:00");
+
+    @Test
+    void daysBeforeTheFirstDayAreNotAdded() {
+        when(repository.findFirstDay()).thenReturn(FIRST_DAY);
+        when(repository.findLastDay()).thenReturn(LocalDate.now().plusYears(5));
+
+        service.ensureCovered(LocalDate.of(1, 1, 1), LocalDate.of(2015, 3, 1));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void emptyTableIsFilledOnlyWithinTheBounds() {
+        service.ensureCovered(LocalDate.of(1, 1, 1), LocalDate.of(2015, 1, 10));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).hasSize(10);
+        assertThat(rows.getValue().get(0)[0]).isEqualTo(Date.valueOf(FIRST_DAY));
+    }
+
+    @Test
+    void daysFurtherAheadThanYearsAheadAreNotAdded() {
+        LocalDate lastDay = LocalDate.now().plusYears(5);
+        when(repository.findFirstDay()).thenReturn(FIRST_DAY);
+        when(repository.findLastDay()).thenReturn(lastDay);
+
+        service.ensureCovered(LocalDate.now(), LocalDate.of(9999, 12, 31));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,132 @@
+package ahqpck.maintenance.report.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.dto.ComplaintDTO;
+import ahqpck.maintenance.report.dto.ComplaintPartDTO;
+import ahqpck.maintenance.report.dto.PartDTO;
+import ahqpck.maintenance.report.dto.UserDTO;
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.entity.Part;
+import ahqpck.maintenance.report.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Saving a complaint loads its parts with one query and inserts the part rows in one JDBC
+ * batch, so the statement count does not depend on how many parts the form lists.
+ *
+ * Runs against the configured database like {@code ReportApplicationTests}; the seeded rows are
+ * rolled back. The codes are not of the CP000001 form, so the code sequence is not touched.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ComplaintWriteStatementCountTest {
+
+    private static final int PARTS = 8;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    private Statistics statistics;
+    private final List<String> partIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User reporter = new User();
+        reporter.setEmployeeId("TEST-WRITE-1");
+        reporter.setName("Statement count reporter");
+        reporter.setEmail("test-write-1@example.com");
+        reporter.setStatus(User.Status.ACTIVE);
+        entityManager.persist(reporter);
+
+        for (int i = 0; i < PARTS; i++) {
+            Part part = Part.builder()
+                    .code(String.format("TEST-WRITE-PART%02d", i))
+                    .name("Statement count part " + i)
+                    .stockQuantity(100)
+                    .build();
+            entityManager.persist(part);
+            partIds.add(part.getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void createCostsTheSameStatementsForOneOrManyParts() {
+        long onePart = statementsToCreate("TEST-WRITE-A", 1);
+        long manyParts = statementsToCreate("TEST-WRITE-B", PARTS);
+
+        assertThat(manyParts).isEqualTo(onePart);
+    }
+
+    @Test
+    void partListedTwiceIsSavedOnce() {
+        ComplaintDTO dto = complaint("TEST-WRITE-C", 1);
+        dto.getPartsUsed().add(part(partIds.get(0), 2));
+
+        complaintService.createComplaint(dto, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        Complaint saved = entityManager.createQuery("SELECT c FROM Complaint c WHERE c.code = :code", Complaint.class)
+                .setParameter("code", "TEST-WRITE-C")
+                .getSingleResult();
+        assertThat(saved.getPartsUsed()).hasSize(1);
+        assertThat(saved.getPartsUsed().get(0).getQuantity()).isEqualTo(3);
+    }
+
+    private long statementsToCreate(String code, int parts) {
+        ComplaintDTO dto = complaint(code, parts);
+        entityManager.clear();
+        statistics.clear();
+
+        complaintService.createComplaint(dto, null);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private ComplaintDTO complaint(String code, int parts) {
+        UserDTO reporter = new UserDTO();
+        reporter.setEmployeeId("TEST-WRITE-1");
+
+        ComplaintDTO dto = new ComplaintDTO();
+        dto.setCode(code);
+        dto.setSubject("Statement count");
+        dto.setCategory(Complaint.Category.MECHANICAL);
+        dto.setReporter(reporter);
+        for (int i = 0; i < parts; i++) {
+            dto.getPartsUsed().add(part(partIds.get(i), 1));
+        }
+        return dto;
+    }
+
+    private static ComplaintPartDTO part(String partId, int quantity) {
+        PartDTO part = new PartDTO();
+        part.setId(partId);
+        ComplaintPartDTO dto = new ComplaintPartDTO();
+        dto.setPart(part);
+        dto.setQuantity(quantity);
+        return dto;
+    }
+}
@@ -0,0 +1,93 @@
+package ahqpck.maintenance.report.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class DashboardCacheTest {
+
+    private static final Duration LIVE_TTL = Duration.ofMinutes(1);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final DashboardCache cache = new DashboardCache(LIVE_TTL, 100, nanos::get);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate closedFrom = today.minusMonths(2).withDayOfMonth(1);
+    private final LocalDate closedTo = closedFrom.plusMonths(1);
+
+    @Test
+    void closedRangeIsKeptPastTheLiveTtl() {
+        load(closedFrom, closedTo);
+        advance(Duration.ofDays(1));
+        load(closedFrom, closedTo);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void liveRangeExpiresAfterTheLiveTtl() {
+        load(today.minusDays(6), today.plusDays(1));
+        advance(LIVE_TTL.minusSeconds(1));
+        load(today.minusDays(6), today.plusDays(1));
+        assertThat(loads).hasValue(1);
+
+        advance(Duration.ofSeconds(2));
+        load(today.minusDays(6), today.plusDays(1));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void unboundedRangeIsLive() {
+        load(null, null);
+        advance(LIVE_TTL.plusSeconds(1));
+        load(null, null);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void writeInsideClosedRangeDropsIt() {
+        load(closedFrom, closedTo);
+        cache.onDashboardDataChanged(new DashboardDataChangedEvent(Set.of(closedFrom.plusDays(3))));
+        load(closedFrom, closedTo);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void writeOutsideClosedRangeKeepsIt() {
+        load(closedFrom, closedTo);
+        // toExclusive is not part of the range
+        cache.onDashboardDataChanged(new DashboardDataChangedEvent(Set.of(closedTo, today)));
+        load(closedFrom, closedTo);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void writeToEverythingDropsAll() {
+        load(closedFrom, closedTo);
+        cache.onDashboardDataChanged(DashboardDataChangedEvent.all());
+        load(closedFrom, closedTo);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private void load(LocalDate from, LocalDate toExclusive) {
+        cache.get(DashboardCache.key("test", from, toExclusive), from, toExclusive, () -> {
+            loads.incrementAndGet();
+            return "value";
+        });
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,133 @@
+package ahqpck.maintenance.report.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ahqpck.maintenance.report.repository.ComplaintDailyStatRepository;
+import ahqpck.maintenance.report.repository.WorkReportDailyStatRepository;
+
+class DashboardRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 4);
+
+    private ComplaintDailyStatRepository complaintStats;
+    private WorkReportDailyStatRepository workReportStats;
+    private ApplicationEventPublisher eventPublisher;
+    private DashboardRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        complaintStats = mock(ComplaintDailyStatRepository.class);
+        workReportStats = mock(WorkReportDailyStatRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new DashboardRollupService(complaintStats, workReportStats, eventPublisher,
+                mock(TransactionTemplate.class));
+    }
+
+    @Test
+    void newComplaintIncrementsItsBucket() {
+        service.recordComplaint(null, complaint(DAY, "OPEN", 30));
+
+        verify(complaintStats).upsert(DAY, "OPEN", "MECHANICAL", "EQ-1", "E001", 1, 30);
+        verify(complaintStats, never()).deleteIfEmpty(any(), anyString(), anyString(), anyString(), anyString());
+        assertThat(publishedDays()).containsExactly(DAY);
+    }
+
+    @Test
+    void movedComplaintDecrementsOldBucketAndDeletesItWhenEmpty() {
+        LocalDate nextDay = DAY.plusDays(1);
+        service.recordComplaint(complaint(DAY, "OPEN", 30), complaint(nextDay, "CLOSED", 45));
+
+        InOrder order = inOrder(complaintStats);
+        order.verify(complaintStats).upsert(DAY, "OPEN", "MECHANICAL", "EQ-1", "E001", -1, -30);
+        order.verify(complaintStats).deleteIfEmpty(DAY, "OPEN", "MECHANICAL", "EQ-1", "E001");
+        order.verify(complaintStats).upsert(nextDay, "CLOSED", "MECHANICAL", "EQ-1", "E001", 1, 45);
+        assertThat(publishedDays()).containsExactlyInAnyOrder(DAY, nextDay);
+    }
+
+    @Test
+    void deletedComplaintOnlyDecrements() {
+        service.recordComplaint(complaint(DAY, "CLOSED", 10), null);
+
+        verify(complaintStats).upsert(DAY, "CLOSED", "MECHANICAL", "EQ-1", "E001", -1, -10);
+        verify(complaintStats).deleteIfEmpty(DAY, "CLOSED", "MECHANICAL", "EQ-1", "E001");
+        verify(complaintStats, times(1)).upsert(any(), anyString(), anyString(), anyString(), anyString(),
+                anyLong(), anyLong());
+    }
+
+    @Test
+    void unchangedComplaintTouchesNothing() {
+        service.recordComplaint(complaint(DAY, "OPEN", 30), complaint(DAY, "OPEN", 30));
+
+        verifyNoInteractions(complaintStats, eventPublisher);
+    }
+
+    @Test
+    void newComplaintsAreSummedPerBucket() {
+        service.recordNewComplaints(Arrays.asList(
+                complaint(DAY, "OPEN", 10),
+                complaint(DAY, "OPEN", 20),
+                null,
+                complaint(DAY, "CLOSED", 5)));
+
+        verify(complaintStats).upsert(DAY, "OPEN", "MECHANICAL", "EQ-1", "E001", 2, 30);
+        verify(complaintStats).upsert(DAY, "CLOSED", "MECHANICAL", "EQ-1", "E001", 1, 5);
+        verify(complaintStats, times(2)).upsert(any(), anyString(), anyString(), anyString(), anyString(),
+                anyLong(), anyLong());
+        assertThat(publishedDays()).containsExactly(DAY);
+    }
+
+    @Test
+    void noNewComplaintsPublishesNothing() {
+        service.recordNewComplaints(List.of());
+
+        verifyNoInteractions(complaintStats, eventPublisher);
+    }
+
+    @Test
+    void movedWorkReportDecrementsOldBucketAndDeletesItWhenEmpty() {
+        DashboardRollupService.WorkReportFacts before = new DashboardRollupService.WorkReportFacts(
+                DAY, "OPEN", "CORRECTIVE", "EQ-1", 60);
+        DashboardRollupService.WorkReportFacts after = new DashboardRollupService.WorkReportFacts(
+                DAY, "CLOSED", "CORRECTIVE", "EQ-1", 90);
+
+        service.recordWorkReport(before, after);
+
+        InOrder order = inOrder(workReportStats);
+        order.verify(workReportStats).upsert(DAY, "OPEN", "CORRECTIVE", "EQ-1", -1, -60);
+        order.verify(workReportStats).deleteIfEmpty(DAY, "OPEN", "CORRECTIVE", "EQ-1");
+        order.verify(workReportStats).upsert(DAY, "CLOSED", "CORRECTIVE", "EQ-1", 1, 90);
+        verify(workReportStats, never()).deleteIfEmpty(eq(DAY), eq("CLOSED"), anyString(), anyString());
+    }
+
+    private static DashboardRollupService.ComplaintFacts complaint(LocalDate day, String status, int minutes) {
+        return new DashboardRollupService.ComplaintFacts(day, status, "MECHANICAL", "EQ-1", "E001", minutes);
+    }
+
+    private Set<LocalDate> publishedDays() {
+        ArgumentCaptor<DashboardDataChangedEvent> event = ArgumentCaptor.forClass(DashboardDataChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue().days();
+    }
+}
@@ -0,0 +1,145 @@
+package ahqpck.maintenance.report.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.entity.Area;
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.entity.Equipment;
+import ahqpck.maintenance.report.entity.Part;
+import ahqpck.maintenance.report.entity.User;
+import ahqpck.maintenance.report.entity.WorkReport;
+import ahqpck.maintenance.report.util.IdGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The list pages load their associations with the page query (entity graph) and their
+ * collections in batches, so the number of statements does not grow with the page size.
+ *
+ * Runs against the configured database like {@code ReportApplicationTests}; the seeded rows are
+ * rolled back.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ListPageStatementCountTest {
+
+    private static final String EQUIPMENT_CODE = "TEST-STMT-EQ";
+    private static final int ROWS = 30;
+    private static final int[] PAGE_SIZES = {5, 10, 25};
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private WorkReportService workReportService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User reporter = user("TEST-STMT-1");
+        User technician = user("TEST-STMT-2");
+        Area area = new Area();
+        area.setCode("TEST-STMT-AREA");
+        area.setName("Statement count area");
+        area.setResponsiblePerson(reporter);
+        Equipment equipment = new Equipment();
+        equipment.setCode(EQUIPMENT_CODE);
+        equipment.setName("Statement count equipment");
+        Part part = Part.builder().code("TEST-STMT-PART").name("Statement count part").build();
+        entityManager.persist(area);
+        entityManager.persist(equipment);
+        entityManager.persist(part);
+
+        for (int i = 0; i < ROWS; i++) {
+            Complaint complaint = Complaint.builder()
+                    .id(IdGenerator.newId())
+                    .code(String.format("TEST-STMT-CP%03d", i))
+                    .reportDate(LocalDateTime.of(2020, 1, 1, 8, 0).plusHours(i))
+                    .category(Complaint.Category.MECHANICAL)
+                    .reporter(reporter)
+                    .assignee(technician)
+                    .area(area)
+                    .equipment(equipment)
+                    .build();
+            complaint.addPart(part, 1);
+            entityManager.persist(complaint);
+
+            WorkReport workReport = WorkReport.builder()
+                    .id(IdGenerator.newId())
+                    .code(String.format("TEST-STMT-WR%03d", i))
+                    .problem("Statement count")
+                    .reportDate(LocalDate.of(2020, 1, 1).plusDays(i))
+                    .startTime(LocalDateTime.of(2020, 1, 1, 8, 0).plusDays(i))
+                    .shift(WorkReport.Shift.DAY)
+                    .category(WorkReport.Category.CORRECTIVE_MAINTENANCE)
+                    .scope(WorkReport.Scope.MECHANICAL)
+                    .area(area)
+                    .equipment(equipment)
+                    .supervisor(reporter)
+                    .build();
+            workReport.getTechnicians().add(technician);
+            workReport.addPart(part, 1);
+            entityManager.persist(workReport);
+        }
+
+        // Start every page from an empty persistence context, as a request does
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void complaintPageCostsTheSameStatementsForEveryPageSize() {
+        assertSameStatementCount(size -> complaintService.getAllComplaints(null, null, null, null, null,
+                EQUIPMENT_CODE, 0, size, "reportDate", false));
+    }
+
+    @Test
+    void workReportPageCostsTheSameStatementsForEveryPageSize() {
+        assertSameStatementCount(size -> workReportService.getAllWorkReports(null, null, null, null,
+                EQUIPMENT_CODE, 0, size, "reportDate", false));
+    }
+
+    private void assertSameStatementCount(IntFunction<?> loadPage) {
+        long[] counts = IntStream.of(PAGE_SIZES).mapToLong(size -> {
+            entityManager.clear();
+            statistics.clear();
+            loadPage.apply(size);
+            return statistics.getPrepareStatementCount();
+        }).toArray();
+
+        // Page query, count query and one batch per collection, however many rows the page has
+        assertThat(counts).containsOnly(counts[0]);
+    }
+
+    private User user(String employeeId) {
+        User user = new User();
+        user.setEmployeeId(employeeId);
+        user.setName(employeeId);
+        user.setEmail(employeeId.toLowerCase() + "@example.com");
+        user.setStatus(User.Status.ACTIVE);
+        entityManager.persist(user);
+        return user;
+    }
+}
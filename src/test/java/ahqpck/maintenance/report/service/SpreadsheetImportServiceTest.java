@@ -0,0 +1,67 @@
+package ahqpck.maintenance.report.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ahqpck.maintenance.report.util.ImportUtil;
+
+class SpreadsheetImportServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void everyChunkOfAFileSharesOneParseContext() throws IOException {
+        Path file = dir.resolve("complaints.csv");
+        Files.writeString(file, "reportDate\n13/02/2025\n03/04/2025\n05/06/2025\n", StandardCharsets.UTF_8);
+        // one row per chunk, so the format found in the first chunk must carry over to the others
+        SpreadsheetImportService service = new SpreadsheetImportService(new ObjectMapper(), 1);
+
+        List<ImportUtil.ParseContext> contexts = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        List<LocalDate> parsed = new ArrayList<>();
+        ImportUtil.ImportResult result = service.importFile(file, "complaints.csv", null, null, null,
+                (rows, rowOffset, dates) -> {
+                    contexts.add(dates);
+                    offsets.add(rowOffset);
+                    rows.forEach(row -> parsed.add(dates.toLocalDate(row, "reportdate")));
+                    return new ImportUtil.ImportResult(rows.size(), List.of());
+                }, SpreadsheetImportService.ImportProgress.NONE);
+
+        assertThat(result.getImportedCount()).isEqualTo(3);
+        assertThat(offsets).containsExactly(0, 1, 2);
+        assertThat(contexts).hasSize(3).allSatisfy(context -> assertThat(context).isSameAs(contexts.get(0)));
+        assertThat(parsed).containsExactly(LocalDate.of(2025, 2, 13), LocalDate.of(2025, 4, 3),
+                LocalDate.of(2025, 6, 5));
+    }
+
+    @Test
+    void eachFileStartsWithANewParseContext() throws IOException {
+        Path file = dir.resolve("dates.csv");
+        Files.writeString(file, "day\n03/04/2025\n", StandardCharsets.UTF_8);
+        SpreadsheetImportService service = new SpreadsheetImportService(new ObjectMapper(), 100);
+
+        List<ImportUtil.ParseContext> contexts = new ArrayList<>();
+        SpreadsheetImportService.ChunkImporter importer = (rows, rowOffset, dates) -> {
+            contexts.add(dates);
+            return new ImportUtil.ImportResult(rows.size(), List.of());
+        };
+        service.importFile(file, "dates.csv", null, null, null, importer, SpreadsheetImportService.ImportProgress.NONE);
+        service.importFile(file, "dates.csv", null, null, null, importer, SpreadsheetImportService.ImportProgress.NONE);
+
+        assertThat(contexts).hasSize(2);
+        assertThat(contexts.get(1)).isNotSameAs(contexts.get(0));
+    }
+}
@@ -0,0 +1,106 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class Base62Test {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    @Test
+    void matchesTheBigIntegerEncoderOnEdgeValues() {
+        long[] values = {0L, 1L, 61L, 62L, 63L, 0xFFFF_FFFFL, 0x1_0000_0000L, Long.MAX_VALUE, Long.MIN_VALUE, -1L};
+        for (long msb : values) {
+            for (long lsb : values) {
+                assertThat(Base62.encode(msb, lsb)).isEqualTo(bigIntegerEncode(new UUID(msb, lsb)));
+            }
+        }
+    }
+
+    @Test
+    void matchesTheBigIntegerEncoderOnRandomValues() {
+        SplittableRandom random = new SplittableRandom(62);
+        for (int i = 0; i < 100_000; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            assertThat(Base62.encode(uuid)).isEqualTo(bigIntegerEncode(uuid));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            UUID uuid = UUID.randomUUID();
+            assertThat(Base62.encode(uuid)).isEqualTo(bigIntegerEncode(uuid));
+        }
+    }
+
+    @Test
+    void isLeftPaddedToTwentyTwoCharacters() {
+        assertThat(Base62.encode(0L, 0L)).isEqualTo("0000000000000000000000");
+        assertThat(Base62.encode(0L, 61L)).isEqualTo("000000000000000000000z");
+        assertThat(Base62.encode(0L, 62L)).isEqualTo("0000000000000000000010");
+        // 2^128 - 1, the largest value, still fits
+        assertThat(Base62.encode(-1L, -1L)).isEqualTo("7n42DGM5Tflk9n8mt7Fhc7");
+        assertThat(Base62.encode(-1L, -1L)).hasSize(Base62.ENCODED_LENGTH);
+    }
+
+    @Test
+    void sortsLikeTheUnsignedValue() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            UUID a = new UUID(random.nextLong(), random.nextLong());
+            UUID b = new UUID(random.nextLong(), random.nextLong());
+            int expected = Integer.signum(unsigned(a).compareTo(unsigned(b)));
+            assertThat(Integer.signum(Base62.encode(a).compareTo(Base62.encode(b)))).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void newIdsAreFixedWidthAndStrictlyIncreasing() {
+        List<String> ids = new ArrayList<>();
+        // More than 4096 ids, so some land in the same millisecond and borrow from the next
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(IdGenerator.newId());
+        }
+
+        assertThat(ids).allMatch(id -> ((String) id).length() == Base62.ENCODED_LENGTH);
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void newUuidV7HasVersionAndVariantBits() {
+        UUID uuid = IdGenerator.newUuidV7();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(Math.abs((uuid.getMostSignificantBits() >>> 16) - System.currentTimeMillis()))
+                .isLessThan(60_000L);
+    }
+
+    /** The encoder this class replaced, kept as the reference. */
+    private static String bigIntegerEncode(UUID uuid) {
+        BigInteger value = unsigned(uuid);
+        BigInteger base = BigInteger.valueOf(ALPHABET.length());
+        StringBuilder sb = new StringBuilder();
+        while (value.compareTo(BigInteger.ZERO) > 0) {
+            BigInteger[] divmod = value.divideAndRemainder(base);
+            sb.append(ALPHABET.charAt(divmod[1].intValue()));
+            value = divmod[0];
+        }
+        while (sb.length() < Base62.ENCODED_LENGTH) {
+            sb.append('0');
+        }
+        return sb.reverse().toString();
+    }
+
+    private static BigInteger unsigned(UUID uuid) {
+        ByteBuffer bytes = ByteBuffer.allocate(16);
+        bytes.putLong(uuid.getMostSignificantBits());
+        bytes.putLong(uuid.getLeastSignificantBits());
+        return new BigInteger(1, bytes.array());
+    }
+}
@@ -0,0 +1,90 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ImportUtilTest {
+
+    private final ImportUtil importUtil = new ImportUtil();
+    private final ImportUtil.ParseContext dates = new ImportUtil.ParseContext();
+
+    @Test
+    void columnKeepsTheFormatOfItsFirstValue() {
+        // 13/02 only fits day-first, so 03/04 in the same column is the 3rd of April
+        assertThat(date("13/02/2025")).isEqualTo(LocalDate.of(2025, 2, 13));
+        assertThat(date("03/04/2025")).isEqualTo(LocalDate.of(2025, 4, 3));
+    }
+
+    @Test
+    void valueThatDoesNotFitIsParsedWithoutChangingTheColumnFormat() {
+        assertThat(date("03/04/2025")).isEqualTo(LocalDate.of(2025, 4, 3));
+        // month-first is tried only for this value ...
+        assertThat(date("02/13/2025")).isEqualTo(LocalDate.of(2025, 2, 13));
+        // ... and the column is still read day-first afterwards
+        assertThat(date("05/06/2025")).isEqualTo(LocalDate.of(2025, 6, 5));
+    }
+
+    @Test
+    void columnsKeepTheirOwnFormat() {
+        assertThat(dates.toLocalDate(Map.of("a", "12/31/2025"), "a")).isEqualTo(LocalDate.of(2025, 12, 31));
+        assertThat(dates.toLocalDate(Map.of("b", "03/04/2025"), "b")).isEqualTo(LocalDate.of(2025, 4, 3));
+        assertThat(dates.toLocalDate(Map.of("a", "03/04/2025"), "a")).isEqualTo(LocalDate.of(2025, 3, 4));
+    }
+
+    @Test
+    void dateTimeColumnKeepsItsFormat() {
+        assertThat(dates.toLocalDateTime(Map.of("t", "13/02/2025 08:15"), "t"))
+                .isEqualTo(LocalDateTime.of(2025, 2, 13, 8, 15));
+        assertThat(dates.toLocalDateTime(Map.of("t", "03/04/2025 17:00"), "t"))
+                .isEqualTo(LocalDateTime.of(2025, 4, 3, 17, 0));
+        assertThat(dates.toLocalDateTime(Map.of("t", "2025-04-03T17:00:30"), "t"))
+                .isEqualTo(LocalDateTime.of(2025, 4, 3, 17, 0, 30));
+    }
+
+    @Test
+    void excelSerialsAreConvertedWithoutAFormat() {
+        assertThat(date(45717L)).isEqualTo(LocalDate.of(2025, 3, 1));
+        assertThat(date("45717")).isEqualTo(LocalDate.of(2025, 3, 1));
+        // Excel counts a 29/02/1900 that never existed; serials after it are shifted back
+        assertThat(date(59L)).isEqualTo(LocalDate.of(1900, 2, 28));
+        assertThat(date(61L)).isEqualTo(LocalDate.of(1900, 3, 1));
+        assertThat(dates.toLocalDateTime(Map.of("t", 45717.75), "t")).isEqualTo(LocalDateTime.of(2025, 3, 1, 18, 0));
+
+        // a serial does not fix the column's format
+        assertThat(date("03/04/2025")).isEqualTo(LocalDate.of(2025, 4, 3));
+    }
+
+    @Test
+    void rejectsImpossibleDates() {
+        assertThatThrownBy(() -> date("31/02/2025"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("31/02/2025");
+        assertThatThrownBy(() -> date("29/02/2025")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dates.toLocalDateTime(Map.of("t", "31/04/2025 10:00"), "t"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> date("yesterday")).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(date("29/02/2024")).isEqualTo(LocalDate.of(2024, 2, 29));
+    }
+
+    @Test
+    void monthOnlyValuesGiveTheFirstDay() {
+        assertThat(importUtil.toLocalDate("2025-03")).isEqualTo(LocalDate.of(2025, 3, 1));
+        assertThat(importUtil.toLocalDate("03/2025")).isEqualTo(LocalDate.of(2025, 3, 1));
+    }
+
+    @Test
+    void blankIsNull() {
+        assertThat(date(" ")).isNull();
+        assertThat(importUtil.toLocalDateTime(null)).isNull();
+    }
+
+    private LocalDate date(Object value) {
+        return dates.toLocalDate(Map.of("d", value), "d");
+    }
+}
@@ -0,0 +1,142 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+
+import ahqpck.maintenance.report.dto.CursorPageDTO;
+
+class KeysetCursorTest {
+
+    private static final Map<String, Function<String, ?>> SORT_KEYS = Map.of(
+            "reportDate", LocalDateTime::parse,
+            "code", Function.identity());
+
+    private static final LocalDateTime LAST_DATE = LocalDateTime.of(2025, 3, 4, 8, 30);
+
+    record Row(String id, LocalDateTime reportDate) {
+    }
+
+    private JpaSpecificationExecutor<Row> repository;
+    private FetchableFluentQuery<Row> query;
+    private Window<Row> window;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(JpaSpecificationExecutor.class);
+        query = mock(FetchableFluentQuery.class, RETURNS_SELF);
+        window = Window.from(List.of(new Row("a1", LAST_DATE.minusDays(1)), new Row("b2", LAST_DATE)),
+                index -> ScrollPosition.forward(Map.of("reportDate", LAST_DATE, "id", "b2")), true);
+
+        when(repository.findBy(any(), any()))
+                .thenAnswer(invocation -> invocation.<Function<FetchableFluentQuery<Row>, ?>>getArgument(1)
+                        .apply(query));
+        when(query.scroll(any())).thenAnswer(invocation -> window);
+    }
+
+    @Test
+    void blankCursorStartsAtTheFirstRow() {
+        CursorPageDTO<Row> page = scroll(" ", "reportDate", false);
+
+        assertThat(scrolledFrom().isInitial()).isTrue();
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void nextCursorDecodesToTheLastRowsKeys() {
+        String cursor = scroll(null, "reportDate", false).getNextCursor();
+
+        scroll(cursor, "reportDate", false);
+
+        KeysetScrollPosition position = scrolledFrom();
+        assertThat(position.scrollsForward()).isTrue();
+        // The sort value is parsed back to its column type, so the query compares dates, not text
+        assertThat(position.getKeys()).isEqualTo(Map.of("reportDate", LAST_DATE, "id", "b2"));
+    }
+
+    @Test
+    void cursorIsUrlSafeBase64OfTheSortAndKeys() {
+        String cursor = scroll(null, "reportDate", true).getNextCursor();
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8))
+                .isEqualTo("{\"s\":\"reportDate\",\"a\":true,\"k\":\"2025-03-04T08:30\",\"i\":\"b2\"}");
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        window = Window.from(List.of(new Row("a1", LAST_DATE)), index -> ScrollPosition.keyset(), false);
+
+        CursorPageDTO<Row> page = scroll(null, "reportDate", false);
+
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    @Test
+    void rejectsCursorOfAnotherSort() {
+        String cursor = scroll(null, "reportDate", false).getNextCursor();
+
+        assertThatThrownBy(() -> scroll(cursor, "code", false))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("sort order");
+        assertThatThrownBy(() -> scroll(cursor, "reportDate", true))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("sort order");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String badKey = Base64.getUrlEncoder().encodeToString(
+                "{\"s\":\"reportDate\",\"a\":false,\"k\":\"yesterday\",\"i\":\"b2\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> scroll("not base64!", "reportDate", false))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor.");
+        assertThatThrownBy(() -> scroll(Base64.getUrlEncoder().encodeToString("[1,".getBytes()), "reportDate", false))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor.");
+        assertThatThrownBy(() -> scroll(badKey, "reportDate", false))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor.");
+    }
+
+    @Test
+    void rejectsUnknownSortAndPageSizeOutOfRange() {
+        assertThatThrownBy(() -> scroll(null, "description", false))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("description");
+        assertThatThrownBy(() -> KeysetCursor.scroll(repository, null, null, 0, "code", true, SORT_KEYS, row -> row))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.scroll(repository, null, null, KeysetCursor.MAX_PAGE_SIZE + 1, "code",
+                true, SORT_KEYS, row -> row)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CursorPageDTO<Row> scroll(String cursor, String sortBy, boolean asc) {
+        return KeysetCursor.scroll(repository, null, cursor, 2, sortBy, asc, SORT_KEYS, row -> row);
+    }
+
+    private KeysetScrollPosition scrolledFrom() {
+        ArgumentCaptor<ScrollPosition> position = ArgumentCaptor.forClass(ScrollPosition.class);
+        verify(query, atLeastOnce()).scroll(position.capture());
+        return (KeysetScrollPosition) position.getValue();
+    }
+}
@@ -0,0 +1,73 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexTest {
+
+    record Item(String code, String name) {
+    }
+
+    private static final Item PUMP_0010 = new Item("EQ-0010", "Pump Motor");
+    private static final Item PUMP_001 = new Item("EQ-001", "Hydraulic Pump");
+    private static final Item MIXER = new Item("EQ-100", "Crème Brûlée Mixer");
+    private static final Item STATION = new Item("PMP-01", "Pump station EQ");
+    private static final Item UNNAMED = new Item("ZZ-9", null);
+
+    private final PrefixIndex<Item> index = PrefixIndex.build(List.of(PUMP_0010, PUMP_001, MIXER, STATION, UNNAMED),
+            item -> Arrays.asList(item.code(), item.name()));
+
+    @Test
+    void exactKeyRanksBeforeKeyPrefixBeforeOtherTokens() {
+        assertThat(index.search("EQ-001", 10)).containsExactly(PUMP_001, PUMP_0010);
+        assertThat(index.search("eq", 10)).containsExactly(PUMP_0010, PUMP_001, MIXER, STATION);
+    }
+
+    @Test
+    void tiesKeepTheOrderOfTheList() {
+        assertThat(index.search("pump", 10)).containsExactly(PUMP_0010, PUMP_001, STATION);
+    }
+
+    @Test
+    void codesMatchWithoutTheirSeparators() {
+        assertThat(index.search("eq001", 10)).containsExactly(PUMP_001, PUMP_0010);
+        assertThat(index.search("pmp 01", 10)).containsExactly(STATION);
+    }
+
+    @Test
+    void everyWordMustMatchSomeToken() {
+        assertThat(index.search("pump hyd", 10)).containsExactly(PUMP_001);
+        assertThat(index.search("pump mixer", 10)).isEmpty();
+    }
+
+    @Test
+    void ignoresCaseAndAccents() {
+        assertThat(index.search("CREME bru", 10)).containsExactly(MIXER);
+        assertThat(index.search("Brûl", 10)).containsExactly(MIXER);
+    }
+
+    @Test
+    void skipsNullTexts() {
+        assertThat(index.search("zz", 10)).containsExactly(UNNAMED);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void honoursLimitAndBlankQueries() {
+        assertThat(index.search("eq", 2)).containsExactly(PUMP_0010, PUMP_001);
+        assertThat(index.search("eq", 0)).isEmpty();
+        assertThat(index.search("  - ", 10)).isEmpty();
+        assertThat(index.search(null, 10)).isEmpty();
+        assertThat(index.search("nothing", 10)).isEmpty();
+    }
+
+    @Test
+    void tokenizeSplitsOnAnythingButLettersAndDigits() {
+        assertThat(PrefixIndex.tokenize("  Crème-brûlée / EQ_01 ")).containsExactly("creme", "brulee", "eq", "01");
+        assertThat(PrefixIndex.tokenize(" ")).isEmpty();
+    }
+}
@@ -0,0 +1,160 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpreadsheetReaderTest {
+
+    private static final String SHARED_STRINGS = """
+            <sst xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">
+              <si><t>code</t></si>
+              <si><t>reportDate</t></si>
+              <si><r><t>Pump </t></r><r><rPr><b/></rPr><t>A</t></r></si>
+              <si><t>ポンプ</t><rPh sb="0" eb="3"><t>ポンプ</t></rPh></si>
+            </sst>
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsSharedStringsIncludingRichTextAndSkipsPhoneticRuns() throws IOException {
+        Path file = xlsx(SHARED_STRINGS, """
+                <row r="1"><c r="A1" t="s"><v>0</v></c><c r="B1" t="s"><v>1</v></c></row>
+                <row r="2"><c r="A2" t="s"><v>2</v></c><c r="B2" t="s"><v>3</v></c></row>
+                """);
+
+        Map<Integer, List<Object>> rows = read(file, "data.xlsx");
+
+        assertThat(rows.get(0)).containsExactly("code", "reportDate");
+        assertThat(rows.get(1)).containsExactly("Pump A", "ポンプ");
+    }
+
+    @Test
+    void readsInlineStringsAndFormulaResults() throws IOException {
+        Path file = xlsx(null, """
+                <row r="1">
+                  <c r="A1" t="inlineStr"><is><t>inline</t></is></c>
+                  <c r="B1" t="str"><f>A1&amp;"!"</f><v>inline!</v></c>
+                  <c r="C1" t="b"><v>1</v></c>
+                </row>
+                """);
+
+        assertThat(read(file, "data.xlsx").get(0)).containsExactly("inline", "inline!", true);
+    }
+
+    @Test
+    void keepsDateCellsAsExcelSerialsThatImportUtilConverts() throws IOException {
+        // s="1" is a date style; the reader leaves date cells as serial numbers like the import wizard did
+        Path file = xlsx(null, """
+                <row r="1">
+                  <c r="A1" s="1"><v>45717</v></c>
+                  <c r="B1" s="2"><v>45717.5</v></c>
+                  <c r="C1" t="d"><v>2025-03-01T12:00:00</v></c>
+                </row>
+                """);
+
+        List<Object> cells = read(file, "data.xlsx").get(0);
+        ImportUtil importUtil = new ImportUtil();
+
+        assertThat(cells).containsExactly(45717L, 45717.5, "2025-03-01T12:00:00");
+        assertThat(importUtil.toLocalDate(cells.get(0))).isEqualTo(LocalDate.of(2025, 3, 1));
+        assertThat(importUtil.toLocalDateTime(cells.get(1))).isEqualTo(LocalDateTime.of(2025, 3, 1, 12, 0));
+        assertThat(importUtil.toLocalDateTime(cells.get(2))).isEqualTo(LocalDateTime.of(2025, 3, 1, 12, 0));
+    }
+
+    @Test
+    void placesCellsByReferenceAndSkipsBlankRows() throws IOException {
+        Path file = xlsx(null, """
+                <row r="1"><c r="A1"><v>1001</v></c><c r="D1"><v>2.5</v></c></row>
+                <row r="2"><c r="A2" t="inlineStr"><is><t> </t></is></c></row>
+                <row r="5"><c r="AB5"><v>7</v></c></row>
+                """);
+
+        Map<Integer, List<Object>> rows = read(file, "data.xlsx");
+
+        assertThat(rows).containsOnlyKeys(0, 4);
+        assertThat(rows.get(0)).containsExactly(1001L, null, null, 2.5);
+        assertThat(rows.get(4)).hasSize(28).last().isEqualTo(7L);
+    }
+
+    @Test
+    void readsQuotedCsvFields() throws IOException {
+        Path file = dir.resolve("data.csv");
+        Files.writeString(file, "\uFEFFcode;description\r\nCP-1;\"Leak; \"\"big\"\"\nsecond line\"\r\n\r\nCP-2;\n",
+                StandardCharsets.UTF_8);
+
+        Map<Integer, List<Object>> rows = read(file, "data.csv");
+
+        assertThat(rows.get(0)).containsExactly("code", "description");
+        assertThat(rows.get(1)).containsExactly("CP-1", "Leak; \"big\"\nsecond line");
+        assertThat(rows.get(3)).containsExactly("CP-2");
+        assertThat(rows).doesNotContainKey(2);
+    }
+
+    @Test
+    void rejectsUnknownSheet() throws IOException {
+        Path file = xlsx(null, "<row r=\"1\"><c r=\"A1\"><v>1</v></c></row>");
+
+        assertThatThrownBy(() -> SpreadsheetReader.read(file, "data.xlsx", "Missing", (rowIndex, cells) -> {
+        })).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Missing");
+    }
+
+    private Map<Integer, List<Object>> read(Path file, String fileName) throws IOException {
+        Map<Integer, List<Object>> rows = new LinkedHashMap<>();
+        SpreadsheetReader.read(file, fileName, null, (rowIndex, cells) -> rows.put(rowIndex, new ArrayList<>(cells)));
+        return rows;
+    }
+
+    /** A minimal workbook with one sheet named Data. */
+    private Path xlsx(String sharedStrings, String sheetRows) throws IOException {
+        Path file = Files.createTempFile(dir, "book", ".xlsx");
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            put(zip, "xl/workbook.xml", """
+                    <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"
+                        xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">
+                      <sheets><sheet name="Data" sheetId="1" r:id="rId1"/></sheets>
+                    </workbook>
+                    """);
+            List<String> relationships = new ArrayList<>(Arrays.asList(
+                    "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/"
+                            + "relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>"));
+            if (sharedStrings != null) {
+                relationships.add("<Relationship Id=\"rId2\" Type=\"http://schemas.openxmlformats.org/"
+                        + "officeDocument/2006/relationships/sharedStrings\" Target=\"sharedStrings.xml\"/>");
+                put(zip, "xl/sharedStrings.xml", sharedStrings);
+            }
+            put(zip, "xl/_rels/workbook.xml.rels",
+                    "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                            + String.join("", relationships) + "</Relationships>");
+            put(zip, "xl/worksheets/sheet1.xml",
+                    "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>"
+                            + sheetRows + "</sheetData></worksheet>");
+        }
+        return file;
+    }
+
+    private static void put(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,113 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusDTO;
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusDetailDTO;
+import ahqpck.maintenance.report.util.WorkloadMatrix.Granularity;
+
+class WorkloadMatrixTest {
+
+    @Test
+    void countsPerStatusAssigneeAndDay() {
+        List<Object[]> rows = List.of(
+                row("Ana", "E1", "OPEN", "2025-03-01", 2),
+                row("Budi", "E2", "PENDING", "2025-03-05", 4),
+                row("Ana", "E1", "CLOSED", "2025-03-03", 1),
+                row("Ana", "E1", "OPEN", "2025-03-01", 1));
+
+        AssigneeDailyStatusDTO result = WorkloadMatrix.build(rows, date("2025-03-01"), date("2025-03-05"),
+                Granularity.DAY);
+
+        assertThat(result.getDates())
+                .containsExactly("2025-03-01", "2025-03-02", "2025-03-03", "2025-03-04", "2025-03-05");
+        assertThat(result.getData()).hasSize(2);
+
+        AssigneeDailyStatusDetailDTO ana = result.getData().get(0);
+        assertThat(ana.getAssigneeName()).isEqualTo("Ana");
+        assertThat(ana.getOpen()).containsExactly(3, 0, 0, 0, 0);
+        assertThat(ana.getPending()).containsExactly(0, 0, 0, 0, 0);
+        assertThat(ana.getClosed()).containsExactly(0, 0, 1, 0, 0);
+
+        AssigneeDailyStatusDetailDTO budi = result.getData().get(1);
+        assertThat(budi.getAssigneeEmpId()).isEqualTo("E2");
+        assertThat(budi.getPending()).containsExactly(0, 0, 0, 0, 4);
+    }
+
+    @Test
+    void ignoresDaysOutsideTheRangeAndUnknownStatuses() {
+        List<Object[]> rows = List.of(
+                row("Ana", "E1", "OPEN", "2025-02-28", 5),
+                row("Ana", "E1", "OPEN", "2025-03-03", 5),
+                row("Ana", "E1", "CANCELLED", "2025-03-02", 5),
+                row("Ana", "E1", "CLOSED", "2025-03-02", 1));
+
+        AssigneeDailyStatusDetailDTO ana = WorkloadMatrix.build(rows, date("2025-03-01"), date("2025-03-02"),
+                Granularity.DAY).getData().get(0);
+
+        assertThat(ana.getOpen()).containsExactly(0, 0);
+        assertThat(ana.getClosed()).containsExactly(0, 1);
+    }
+
+    @Test
+    void weeksStartOnMondayAndTheFirstLabelIsClampedToFrom() {
+        // 2025-03-05 is a Wednesday, 2025-03-09 the Sunday of the same week
+        List<Object[]> rows = List.of(
+                row("Ana", "E1", "OPEN", "2025-03-09", 1),
+                row("Ana", "E1", "OPEN", "2025-03-10", 2),
+                row("Ana", "E1", "OPEN", "2025-03-20", 3));
+
+        AssigneeDailyStatusDTO result = WorkloadMatrix.build(rows, date("2025-03-05"), date("2025-03-20"),
+                Granularity.WEEK);
+
+        assertThat(result.getDates()).containsExactly("2025-03-05", "2025-03-10", "2025-03-17");
+        assertThat(result.getData().get(0).getOpen()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void monthsStartOnTheFirst() {
+        List<Object[]> rows = List.of(
+                row("Ana", "E1", "PENDING", "2025-01-31", 1),
+                row("Ana", "E1", "PENDING", "2025-02-28", 2),
+                row("Ana", "E1", "PENDING", "2025-03-01", 3));
+
+        AssigneeDailyStatusDTO result = WorkloadMatrix.build(rows, date("2025-01-15"), date("2025-03-02"),
+                Granularity.MONTH);
+
+        assertThat(result.getDates()).containsExactly("2025-01-15", "2025-02-01", "2025-03-01");
+        assertThat(result.getData().get(0).getPending()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void noRowsStillHasTheLabels() {
+        AssigneeDailyStatusDTO result = WorkloadMatrix.build(List.of(), date("2025-03-01"), date("2025-03-03"),
+                Granularity.DAY);
+
+        assertThat(result.getDates()).hasSize(3);
+        assertThat(result.getData()).isEmpty();
+    }
+
+    @Test
+    void granularityDefaultsToDayAndRejectsUnknownValues() {
+        assertThat(Granularity.of(null)).isEqualTo(Granularity.DAY);
+        assertThat(Granularity.of(" ")).isEqualTo(Granularity.DAY);
+        assertThat(Granularity.of(" week ")).isEqualTo(Granularity.WEEK);
+        assertThatThrownBy(() -> Granularity.of("hour"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("hour");
+    }
+
+    private static Object[] row(String name, String employeeId, String status, String day, long count) {
+        return new Object[] { name, employeeId, status, Date.valueOf(day), count };
+    }
+
+    private static LocalDate date(String value) {
+        return LocalDate.parse(value);
+    }
+}
@@ -0,0 +1,167 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import ahqpck.maintenance.report.entity.CodeSequence;
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.repository.CodeSequenceRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+class ZeroPaddedCodeGeneratorTest {
+
+    private static final int BLOCK_SIZE = 3;
+
+    private final CodeSequence sequence = new CodeSequence("CP", 1L);
+    // codes already saved in the complaints table, e.g. typed in on another node
+    private final Set<String> existing = new HashSet<>();
+    private CodeSequenceRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private EntityManager entityManager;
+    private List<String> lookedUp;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(CodeSequenceRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(repository.existsById("CP")).thenReturn(true);
+        when(repository.findForUpdate("CP")).thenAnswer(invocation -> Optional.of(sequence));
+        when(repository.advancePast(eq("CP"), anyLong())).thenAnswer(invocation -> {
+            long number = invocation.getArgument(1);
+            sequence.setNextValue(Math.max(sequence.getNextValue(), number + 1));
+            return 1;
+        });
+
+        entityManager = mock(EntityManager.class);
+        TypedQuery<String> query = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(String.class))).thenReturn(query);
+        when(query.setParameter(eq("codes"), any())).thenAnswer(invocation -> {
+            lookedUp = invocation.getArgument(1);
+            return query;
+        });
+        when(query.getResultList()).thenAnswer(invocation -> lookedUp.stream().filter(existing::contains).toList());
+    }
+
+    @Test
+    void servesCodesFromOneBlockBeforeReservingTheNext() {
+        ZeroPaddedCodeGenerator generator = newGenerator();
+
+        assertThat(generate(generator, 3)).containsExactly("CP000001", "CP000002", "CP000003");
+        verify(repository, times(1)).findForUpdate("CP");
+        assertThat(sequence.getNextValue()).isEqualTo(4L);
+
+        assertThat(generator.generate(Complaint.class, "code", "CP")).isEqualTo("CP000004");
+        verify(repository, times(2)).findForUpdate("CP");
+        assertThat(sequence.getNextValue()).isEqualTo(7L);
+    }
+
+    @Test
+    void nodesGetDisjointBlocks() {
+        ZeroPaddedCodeGenerator first = newGenerator();
+        ZeroPaddedCodeGenerator second = newGenerator();
+
+        assertThat(first.generate(Complaint.class, "code", "CP")).isEqualTo("CP000001");
+        assertThat(second.generate(Complaint.class, "code", "CP")).isEqualTo("CP000004");
+        assertThat(first.generate(Complaint.class, "code", "CP")).isEqualTo("CP000002");
+        assertThat(second.generate(Complaint.class, "code", "CP")).isEqualTo("CP000005");
+    }
+
+    @Test
+    void bulkGenerateReservesExactlyTheCount() {
+        ZeroPaddedCodeGenerator generator = newGenerator();
+
+        assertThat(generator.generate(Complaint.class, "code", "CP", 5))
+                .containsExactly("CP000001", "CP000002", "CP000003", "CP000004", "CP000005");
+        assertThat(sequence.getNextValue()).isEqualTo(6L);
+        assertThat(generator.generate(Complaint.class, "code", "CP", 0)).isEmpty();
+    }
+
+    @Test
+    void advancePastMovesTheSequenceAndTheLocalBlock() {
+        ZeroPaddedCodeGenerator generator = newGenerator();
+        assertThat(generator.generate(Complaint.class, "code", "CP")).isEqualTo("CP000001");
+
+        // Inside the block this node holds: the block skips the typed-in code
+        generator.advancePast(Complaint.class, "code", "CP", "CP000002");
+        assertThat(generator.generate(Complaint.class, "code", "CP")).isEqualTo("CP000003");
+
+        // Beyond it: the next block starts after the typed-in code
+        generator.advancePast(Complaint.class, "code", "CP", "cp000010");
+        assertThat(generator.generate(Complaint.class, "code", "CP")).isEqualTo("CP000011");
+        assertThat(sequence.getNextValue()).isEqualTo(14L);
+    }
+
+    @Test
+    void advancePastUsesTheHighestCodeOfTheBatch() {
+        ZeroPaddedCodeGenerator generator = newGenerator();
+
+        generator.advancePast(Complaint.class, "code", "CP", List.of("CP000007", "CP000042", "CP000013"));
+
+        verify(repository).advancePast("CP", 42);
+        assertThat(generator.generate(Complaint.class, "code", "CP")).isEqualTo("CP000043");
+    }
+
+    @Test
+    void advancePastIgnoresCodesOfAnotherForm() {
+        ZeroPaddedCodeGenerator generator = newGenerator();
+
+        generator.advancePast(Complaint.class, "code", "CP", List.of("WR000050", "CP-12", "CP", "manual"));
+
+        verify(repository, never()).advancePast(anyString(), anyLong());
+        assertThat(generator.generate(Complaint.class, "code", "CP")).isEqualTo("CP000001");
+    }
+
+    @Test
+    void skipsCodeTypedInOnAnotherNodeInsideTheHeldBlock() {
+        ZeroPaddedCodeGenerator generator = newGenerator();
+        assertThat(generator.generate(Complaint.class, "code", "CP")).isEqualTo("CP000001");
+
+        // saved by another node, which only moved the shared sequence past it
+        existing.add("CP000002");
+
+        assertThat(generator.generate(Complaint.class, "code", "CP")).isEqualTo("CP000003");
+    }
+
+    @Test
+    void bulkGenerateReservesAgainForTakenCodes() {
+        ZeroPaddedCodeGenerator generator = newGenerator();
+        existing.add("CP000002");
+
+        assertThat(generator.generate(Complaint.class, "code", "CP", 3))
+                .containsExactly("CP000001", "CP000003", "CP000004");
+        assertThat(sequence.getNextValue()).isEqualTo(5L);
+    }
+
+    private ZeroPaddedCodeGenerator newGenerator() {
+        ZeroPaddedCodeGenerator generator = new ZeroPaddedCodeGenerator(repository, transactionManager, BLOCK_SIZE);
+        ReflectionTestUtils.setField(generator, "entityManager", entityManager);
+        return generator;
+    }
+
+    private static List<String> generate(ZeroPaddedCodeGenerator generator, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> generator.generate(Complaint.class, "code", "CP"))
+                .toList();
+    }
+}